@@ -0,0 +1,91 @@
+package com.zara.prices.benchmark;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.zara.prices.domain.model.Price;
+import com.zara.prices.infrastructure.persistence.PriceEntity;
+import com.zara.prices.infrastructure.persistence.PriceJpaMapper;
+import com.zara.prices.infrastructure.web.PriceResponse;
+import com.zara.prices.infrastructure.web.PriceWebMapper;
+
+/**
+ * Conversiones de la ruta de consulta, sin base de datos: entidad JPA a dominio,
+ * dominio a DTO y serialización JSON del DTO.
+ *
+ * <p>El {@code ObjectMapper} se configura como el de Spring Boot (módulos de
+ * {@code java.time}, fechas ISO-8601), así que los bytes medidos son los mismos que
+ * escribe {@code GET /prices}.</p>
+ */
+@State(Scope.Thread)
+@BenchmarkMode({ Mode.Throughput, Mode.AverageTime })
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class PriceMappingBenchmark {
+
+    private final PriceJpaMapper jpaMapper = new PriceJpaMapper();
+    private final PriceWebMapper webMapper = new PriceWebMapper();
+
+    private ObjectWriter responseWriter;
+    private PriceEntity entity;
+    private Price price;
+    private PriceResponse response;
+
+    @Setup
+    public void setUp() {
+        responseWriter = Jackson2ObjectMapperBuilder.json()
+                .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .build()
+                .writerFor(PriceResponse.class);
+        entity = new PriceEntity();
+        entity.setBrandId(1L);
+        entity.setProductId(35455L);
+        entity.setPriceList(2);
+        entity.setStartDate(LocalDateTime.parse("2020-06-14T15:00:00"));
+        entity.setEndDate(LocalDateTime.parse("2020-06-14T18:30:00"));
+        entity.setPriority(1);
+        entity.setPrice(new BigDecimal("25.45"));
+        entity.setCurrency("EUR");
+        price = jpaMapper.toDomain(entity);
+        response = webMapper.toResponse(price);
+    }
+
+    @Benchmark
+    public Price jpaToDomain() {
+        return jpaMapper.toDomain(entity);
+    }
+
+    @Benchmark
+    public PriceResponse domainToResponse() {
+        return webMapper.toResponse(price);
+    }
+
+    @Benchmark
+    public byte[] serializeResponse() throws JsonProcessingException {
+        return responseWriter.writeValueAsBytes(response);
+    }
+
+    /** Las tres etapas encadenadas, como tras una consulta al repositorio */
+    @Benchmark
+    public byte[] entityToJson() throws JsonProcessingException {
+        return responseWriter.writeValueAsBytes(webMapper.toResponse(jpaMapper.toDomain(entity)));
+    }
+}
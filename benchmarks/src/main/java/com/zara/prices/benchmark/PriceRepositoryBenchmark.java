@@ -0,0 +1,141 @@
+package com.zara.prices.benchmark;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.zara.DemoApplication;
+import com.zara.prices.domain.model.Price;
+import com.zara.prices.domain.port.out.PriceRepository;
+import com.zara.prices.infrastructure.persistence.PriceRepositoryImpl;
+import com.zara.prices.infrastructure.persistence.jdbc.JdbcPriceRepository;
+
+/**
+ * Consulta de mayor prioridad de los adaptadores de base de datos contra H2 en memoria.
+ *
+ * <p>Arranca el contexto de la aplicación sin servidor web, con el adaptador
+ * {@code adapter} ({@link PriceRepositoryImpl} sobre Hibernate o
+ * {@link JdbcPriceRepository} sobre JDBC plano) y el pool de Hikari reales, y carga {@code products} productos de la cadena 1 con cuatro
+ * tarifas cada uno, la misma forma que el producto 35455 de los datos de ejemplo: una
+ * tarifa base de todo el año y tres promociones de prioridad 1. Cada invocación consulta
+ * un producto y una fecha aleatorios; una de cada cuatro cae fuera de toda tarifa.</p>
+ *
+ * <p>Con {@code -prof gc}, {@code gc.alloc.rate.norm} da los bytes asignados por consulta
+ * en cada adaptador.</p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({ Mode.Throughput, Mode.AverageTime })
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class PriceRepositoryBenchmark {
+
+    /** Primer identificador de producto generado */
+    private static final long FIRST_PRODUCT = 100_000;
+
+    private static final LocalDateTime YEAR_START = LocalDateTime.of(2020, 1, 1, 0, 0);
+
+    @Param({ "10000", "100000" })
+    private int products;
+
+    /** Valor de {@code app.prices.repository} */
+    @Param({ "jpa", "jdbc" })
+    private String adapter;
+
+    private ConfigurableApplicationContext context;
+    private PriceRepository repository;
+
+    @Setup(Level.Trial)
+    public void startContext() {
+        context = new SpringApplicationBuilder(DemoApplication.class)
+                .web(WebApplicationType.NONE)
+                .run("--spring.datasource.url=jdbc:h2:mem:benchmark;DB_CLOSE_DELAY=-1",
+                     "--spring.sql.init.mode=never",
+                     "--app.prices.repository=" + adapter,
+                     "--logging.level.root=WARN");
+        load(context.getBean(JdbcTemplate.class));
+        repository = context.getBean(PriceRepository.class);
+    }
+
+    @TearDown(Level.Trial)
+    public void closeContext() {
+        context.close();
+    }
+
+    private void load(JdbcTemplate jdbcTemplate) {
+        String insert = "INSERT INTO PRICES (BRAND_ID, START_DATE, END_DATE, PRICE_LIST, PRODUCT_ID, PRIORITY, PRICE, CURRENCY) "
+                + "VALUES (1, ?, ?, ?, ?, ?, ?, 'EUR')";
+        SplittableRandom random = new SplittableRandom(42);
+        List<Object[]> batch = new ArrayList<>(4_000);
+        for (int i = 0; i < products; i++) {
+            long productId = FIRST_PRODUCT + i;
+            double base = 10 + random.nextInt(9_000) / 100.0;
+            batch.add(row(YEAR_START, YEAR_START.plusYears(1).minusSeconds(1), 1, productId, 0, base));
+            for (int promo = 0; promo < 3; promo++) {
+                LocalDateTime start = YEAR_START.plusDays(random.nextInt(360)).plusHours(random.nextInt(24));
+                batch.add(row(start, start.plusHours(1 + random.nextInt(72)), 2 + promo, productId, 1, base * 0.8));
+            }
+            if (batch.size() >= 4_000) {
+                jdbcTemplate.batchUpdate(insert, batch);
+                batch.clear();
+            }
+        }
+        jdbcTemplate.batchUpdate(insert, batch);
+    }
+
+    private static Object[] row(LocalDateTime start, LocalDateTime end, int priceList, long productId,
+                                int priority, double price) {
+        return new Object[] { Timestamp.valueOf(start), Timestamp.valueOf(end), priceList, productId, priority,
+                Math.round(price * 100) / 100.0 };
+    }
+
+    /** Consultas precalculadas por hilo, para no medir la generación de claves */
+    @State(Scope.Thread)
+    public static class Lookups {
+
+        private static final int SIZE = 4_096;
+
+        private final long[] productIds = new long[SIZE];
+        private final LocalDateTime[] dates = new LocalDateTime[SIZE];
+        private int next;
+
+        @Setup(Level.Trial)
+        public void generate(PriceRepositoryBenchmark benchmark) {
+            SplittableRandom random = new SplittableRandom();
+            for (int i = 0; i < SIZE; i++) {
+                productIds[i] = FIRST_PRODUCT + random.nextInt(benchmark.products);
+                // Tres de cada cuatro fechas dentro de 2020; el resto, en 2021, sin tarifa
+                dates[i] = YEAR_START.plusMinutes(random.nextLong(4L * 365 * 24 * 60 / 3));
+            }
+        }
+    }
+
+    @Benchmark
+    public Optional<Price> findHighestPriorityApplicable(Lookups lookups) {
+        int i = lookups.next++ & (Lookups.SIZE - 1);
+        return repository.findHighestPriorityApplicable(1L, lookups.productIds[i], lookups.dates[i]);
+    }
+}
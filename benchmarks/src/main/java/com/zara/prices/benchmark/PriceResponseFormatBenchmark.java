@@ -0,0 +1,183 @@
+package com.zara.prices.benchmark;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+import com.fasterxml.jackson.dataformat.smile.databind.SmileMapper;
+import com.google.protobuf.CodedInputStream;
+import com.google.protobuf.WireFormat;
+import com.zara.prices.domain.model.ApplicablePrice;
+import com.zara.prices.domain.model.Price;
+import com.zara.prices.infrastructure.web.CompactPriceHttpMessageConverter;
+import com.zara.prices.infrastructure.web.CompactPriceResponse;
+import com.zara.prices.infrastructure.web.PriceProtobufHttpMessageConverter;
+import com.zara.prices.infrastructure.web.PriceResponse;
+import com.zara.prices.infrastructure.web.PriceResponseBodyCache;
+import com.zara.prices.infrastructure.web.PriceResponseBodyHttpMessageConverter;
+import com.zara.prices.infrastructure.web.PriceWebMapper;
+
+/**
+ * Coste de cada formato de respuesta de {@code GET /prices}, en los dos extremos.
+ *
+ * <p>{@code write} parte de la tarifa ganadora y su validez, como {@code GET /prices}: la convierte
+ * a DTO y la escribe con el mismo conversor HTTP que usa la aplicación para ese
+ * formato. {@code json-cached} es el JSON de la aplicación, que en lugar de convertir
+ * y serializar copia el cuerpo ya serializado de {@link PriceResponseBodyCache}.
+ * {@code read} es el lado del cliente, que convierte los bytes a un objeto con fechas
+ * y precio ya interpretados ({@link PriceResponse} en JSON, {@link CompactPriceResponse}
+ * en los binarios). El tamaño de cada cuerpo se imprime al preparar el benchmark.</p>
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class PriceResponseFormatBenchmark {
+
+    @Param({ "json", "json-cached", "cbor", "smile", "protobuf" })
+    private String format;
+
+    private final ApplicablePrice price = new ApplicablePrice(Price.of(1L, 35455L,
+            LocalDateTime.parse("2020-06-14T15:00:00"), LocalDateTime.parse("2020-06-14T18:30:00"), 1,
+            new BigDecimal("25.45"), "EUR", 2), LocalDateTime.parse("2020-06-14T18:30:00.000001"));
+
+    private final PriceWebMapper webMapper = new PriceWebMapper();
+
+    private final BufferedMessage message = new BufferedMessage();
+
+    private Function<ApplicablePrice, Object> toBody = webMapper::toResponse;
+    private HttpMessageConverter<Object> converter;
+    private MediaType mediaType;
+    private ObjectReader reader;
+    private byte[] body;
+
+    @Setup
+    @SuppressWarnings("unchecked")
+    public void setUp() throws IOException {
+        ObjectMapper json = Jackson2ObjectMapperBuilder.json()
+                .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .build();
+        switch (format) {
+            case "json" -> {
+                converter = (HttpMessageConverter<Object>) (HttpMessageConverter<?>) new MappingJackson2HttpMessageConverter(json);
+                mediaType = MediaType.APPLICATION_JSON;
+                reader = json.readerFor(PriceResponse.class);
+            }
+            case "json-cached" -> {
+                PriceResponseBodyCache cache = new PriceResponseBodyCache(webMapper, json, 10_000);
+                toBody = cache::get;
+                converter = (HttpMessageConverter<Object>) (HttpMessageConverter<?>) new PriceResponseBodyHttpMessageConverter();
+                mediaType = MediaType.APPLICATION_JSON;
+                reader = json.readerFor(PriceResponse.class);
+            }
+            case "cbor" -> {
+                converter = (HttpMessageConverter<Object>) (HttpMessageConverter<?>) CompactPriceHttpMessageConverter.cbor();
+                mediaType = MediaType.APPLICATION_CBOR;
+                reader = new CBORMapper().readerFor(CompactPriceResponse.class);
+            }
+            case "smile" -> {
+                converter = (HttpMessageConverter<Object>) (HttpMessageConverter<?>) CompactPriceHttpMessageConverter.smile();
+                mediaType = CompactPriceHttpMessageConverter.APPLICATION_SMILE;
+                reader = new SmileMapper().readerFor(CompactPriceResponse.class);
+            }
+            case "protobuf" -> {
+                converter = (HttpMessageConverter<Object>) (HttpMessageConverter<?>) new PriceProtobufHttpMessageConverter();
+                mediaType = PriceProtobufHttpMessageConverter.APPLICATION_PROTOBUF;
+            }
+            default -> throw new IllegalArgumentException("Formato desconocido: " + format);
+        }
+        body = write();
+        System.out.printf("%n%s: %d bytes por respuesta%n", format, body.length);
+    }
+
+    @Benchmark
+    public byte[] write() throws IOException {
+        message.reset();
+        converter.write(toBody.apply(price), mediaType, message);
+        return message.body.toByteArray();
+    }
+
+    @Benchmark
+    public Object read() throws IOException {
+        return reader != null ? reader.readValue(body) : readProtobuf(body);
+    }
+
+    /** Lectura del mensaje {@code com.zara.prices.PriceResponse} de {@code prices.proto} */
+    private static CompactPriceResponse readProtobuf(byte[] bytes) throws IOException {
+        CodedInputStream input = CodedInputStream.newInstance(bytes);
+        long productId = 0;
+        long brandId = 0;
+        int priceList = 0;
+        long start = 0;
+        long end = 0;
+        long priceMinor = 0;
+        int priceScale = 0;
+        String currency = "";
+        Long validUntil = null;
+        for (int tag = input.readTag(); tag != 0; tag = input.readTag()) {
+            switch (WireFormat.getTagFieldNumber(tag)) {
+                case 1 -> productId = input.readInt64();
+                case 2 -> brandId = input.readInt64();
+                case 3 -> priceList = input.readInt32();
+                case 4 -> start = input.readInt64();
+                case 5 -> end = input.readInt64();
+                case 6 -> priceMinor = input.readInt64();
+                case 7 -> priceScale = input.readInt32();
+                case 8 -> currency = input.readString();
+                case 9 -> validUntil = input.readInt64();
+                default -> input.skipField(tag);
+            }
+        }
+        return new CompactPriceResponse(productId, brandId, priceList, start, end, priceMinor, priceScale, currency, validUntil);
+    }
+
+    /** Mensaje HTTP en memoria que se reutiliza entre invocaciones */
+    private static final class BufferedMessage implements HttpOutputMessage {
+
+        private final ByteArrayOutputStream body = new ByteArrayOutputStream(256);
+        private HttpHeaders headers = new HttpHeaders();
+
+        void reset() {
+            body.reset();
+            headers = new HttpHeaders();
+        }
+
+        @Override
+        public OutputStream getBody() {
+            return body;
+        }
+
+        @Override
+        public HttpHeaders getHeaders() {
+            return headers;
+        }
+    }
+}
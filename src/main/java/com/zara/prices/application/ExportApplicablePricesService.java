@@ -0,0 +1,43 @@
+package com.zara.prices.application;
+
+import java.time.LocalDateTime;
+import java.util.function.Consumer;
+
+import com.zara.prices.domain.model.Price;
+import com.zara.prices.domain.port.in.ExportApplicablePricesUseCase;
+import com.zara.prices.domain.port.out.PriceExportRepository;
+
+/**
+ * Implementación del caso de uso de exportación de precios aplicables.
+ *
+ * <p>La selección de la tarifa ganadora de cada producto se resuelve en el
+ * repositorio, como en la consulta individual; el servicio solo encadena el
+ * recorrido con el receptor y cuenta los productos entregados.</p>
+ */
+public class ExportApplicablePricesService implements ExportApplicablePricesUseCase {
+
+    /** Repositorio que recorre los precios de la cadena */
+    private final PriceExportRepository repository;
+
+    /**
+     * Constructor con inyección de dependencias.
+     *
+     * @param repository implementación del repositorio de exportación
+     */
+    public ExportApplicablePricesService(PriceExportRepository repository) {
+        this.repository = repository;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public long export(Long brandId, LocalDateTime date, Consumer<Price> sink) {
+        long[] exported = new long[1];
+        repository.forEachApplicable(brandId, date, price -> {
+            sink.accept(price);
+            exported[0]++;
+        });
+        return exported[0];
+    }
+}
@@ -1,11 +1,15 @@
 package com.zara.prices.application;
 
 import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
 
+import com.zara.prices.domain.model.ApplicablePrice;
 import com.zara.prices.domain.model.Price;
+import com.zara.prices.domain.model.PriceQuery;
+import com.zara.prices.domain.model.PriceTimeline;
 import com.zara.prices.domain.port.in.GetApplicablePriceUseCase;
 import com.zara.prices.domain.port.out.PriceRepository;
-import com.zara.prices.domain.service.PriceNotFoundException;
 
 /**
  * Implementación del caso de uso para obtener el precio aplicable.
@@ -16,15 +20,14 @@ import com.zara.prices.domain.service.PriceNotFoundException;
  * <p>Responsabilidades:</p>
  * <ul>
  *   <li>Obtener el precio de mayor prioridad desde el repositorio</li>
- *   <li>Manejar el Optional retornado del repositorio</li>
- *   <li>Lanzar excepción si no hay precio aplicable</li>
+ *   <li>Retornar el Optional del repositorio tal cual, sin excepciones en la ruta de fallo</li>
  * </ul>
  * 
  * <p>Flujo de ejecución:</p>
  * <ol>
  *   <li>Consulta optimizada al repositorio que trae solo el precio de mayor prioridad</li>
  *   <li>El repositorio retorna Optional con el resultado</li>
- *   <li>Se retorna el precio o se lanza PriceNotFoundException</li>
+ *   <li>Se retorna el Optional; {@link #get} lanza PriceNotFoundException si está vacío</li>
  * </ol>
  * 
  * <p>Esta implementación es más eficiente que versiones anteriores,
@@ -55,11 +58,42 @@ public class GetApplicablePriceService implements GetApplicablePriceUseCase {
      * desde el repositorio sin procesamiento adicional en memoria.</p>
      */
     @Override
-    public Price get(Long brandId, Long productId, LocalDateTime date) {
+    public Optional<Price> find(Long brandId, Long productId, LocalDateTime date) {
         // Obtener el precio de mayor prioridad directamente desde la BD
-        return repository.findHighestPriorityApplicable(brandId, productId, date)
-                .orElseThrow(() -> new PriceNotFoundException(
-                    "No hay precios aplicables para los parámetros proporcionados"));
+        return repository.findHighestPriorityApplicable(brandId, productId, date);
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * <p>Una sola consulta al repositorio trae la tarifa ganadora y el fin de su tramo,
+     * sin cargar la línea temporal del producto.</p>
+     */
+    @Override
+    public Optional<ApplicablePrice> findApplicable(Long brandId, Long productId, LocalDateTime date) {
+        return repository.findHighestPriorityApplicableWithValidity(brandId, productId, date);
     }
-}
 
+    /**
+     * {@inheritDoc}
+     *
+     * <p>Todas las consultas se envían al repositorio en una sola llamada.</p>
+     */
+    @Override
+    public List<Optional<Price>> findAll(List<PriceQuery> queries) {
+        if (queries.isEmpty()) {
+            return List.of();
+        }
+        return repository.findHighestPriorityApplicable(queries);
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * <p>El repositorio trae las tarifas del producto y las aplana en una sola pasada.</p>
+     */
+    @Override
+    public Optional<PriceTimeline> findTimeline(Long brandId, Long productId) {
+        return repository.findTimeline(brandId, productId);
+    }
+}
@@ -0,0 +1,63 @@
+package com.zara.prices.application;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import com.zara.prices.domain.model.Price;
+import com.zara.prices.domain.model.PriceQuery;
+import com.zara.prices.domain.model.PriceTimeline;
+import com.zara.prices.domain.port.in.ReactiveGetApplicablePriceUseCase;
+import com.zara.prices.domain.port.out.ReactivePriceRepository;
+
+import reactor.core.publisher.Mono;
+
+/**
+ * Implementación reactiva del caso de uso para obtener el precio aplicable.
+ *
+ * <p>Sigue el mismo flujo que {@link GetApplicablePriceService}: todo se delega en el
+ * repositorio reactivo, que ya retorna el precio de mayor prioridad.</p>
+ */
+public class ReactiveGetApplicablePriceService implements ReactiveGetApplicablePriceUseCase {
+
+    /** Repositorio reactivo de precios */
+    private final ReactivePriceRepository repository;
+
+    /**
+     * Constructor con inyección de dependencias.
+     *
+     * @param repository implementación reactiva del repositorio de precios
+     */
+    public ReactiveGetApplicablePriceService(ReactivePriceRepository repository) {
+        this.repository = repository;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Mono<Price> find(Long brandId, Long productId, LocalDateTime date) {
+        return repository.findHighestPriorityApplicable(brandId, productId, date);
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * <p>Todas las consultas se envían al repositorio en una sola llamada.</p>
+     */
+    @Override
+    public Mono<List<Optional<Price>>> findAll(List<PriceQuery> queries) {
+        if (queries.isEmpty()) {
+            return Mono.just(List.of());
+        }
+        return repository.findHighestPriorityApplicable(queries);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Mono<PriceTimeline> findTimeline(Long brandId, Long productId) {
+        return repository.findTimeline(brandId, productId);
+    }
+}
@@ -0,0 +1,36 @@
+package com.zara.prices.domain.model;
+
+import java.time.LocalDateTime;
+
+/**
+ * Tarifa ganadora en una fecha junto con el instante hasta el que sigue siéndolo.
+ *
+ * <p>{@code validUntil} es el fin (exclusivo) del tramo de la {@link PriceTimeline}
+ * que contiene la fecha: hasta entonces la respuesta no cambia, porque ni termina la
+ * tarifa ganadora ni empieza otra que la supere. Los fines de tramo son exclusivos,
+ * así que una tarifa que acaba a las 18:30:00 es válida hasta las 18:30:00.000001.</p>
+ *
+ * @param price tarifa ganadora
+ * @param validUntil fin (exclusivo) del tramo en el que gana
+ */
+public record ApplicablePrice(Price price, LocalDateTime validUntil) {
+
+    /**
+     * Calcula la validez de la tarifa ganadora sin construir la línea temporal.
+     *
+     * <p>El tramo termina cuando acaba la tarifa ganadora o cuando empieza, antes de eso,
+     * otra que la supera; es el mismo instante que daría {@link PriceTimeline#applicableAt}.</p>
+     *
+     * @param price tarifa ganadora en la fecha consultada
+     * @param outrankedFrom inicio de la primera tarifa posterior a la fecha que la supera
+     *                      antes de que termine, o {@code null} si no hay ninguna
+     * @return tarifa ganadora con el fin (exclusivo) de su tramo
+     */
+    public static ApplicablePrice of(Price price, LocalDateTime outrankedFrom) {
+        long until = price.endMicros() + 1;
+        if (outrankedFrom != null) {
+            until = Math.min(until, EpochMicros.of(outrankedFrom));
+        }
+        return new ApplicablePrice(price, EpochMicros.toDateTime(until));
+    }
+}
@@ -0,0 +1,46 @@
+package com.zara.prices.domain.model;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+
+/**
+ * Codificación de fechas de tarifa como microsegundos desde epoch.
+ *
+ * <p>Las fechas de PRICES no llevan zona horaria; se codifican tomando UTC como
+ * referencia fija, de modo que el orden de los {@code long} resultantes es el
+ * mismo que el de los {@link LocalDateTime} originales y se pueden comparar y
+ * buscar con aritmética primitiva.</p>
+ *
+ * <p>La precisión de microsegundo es la misma que la del tipo TIMESTAMP de
+ * PostgreSQL y H2; los nanosegundos sobrantes de una fecha de consulta se truncan.</p>
+ */
+public final class EpochMicros {
+
+    private static final long MICROS_PER_SECOND = 1_000_000L;
+    private static final int NANOS_PER_MICRO = 1_000;
+
+    private EpochMicros() {
+    }
+
+    /**
+     * Convierte una fecha a microsegundos desde epoch.
+     *
+     * @param dateTime fecha a convertir
+     * @return microsegundos desde 1970-01-01T00:00:00
+     */
+    public static long of(LocalDateTime dateTime) {
+        return dateTime.toEpochSecond(ZoneOffset.UTC) * MICROS_PER_SECOND + dateTime.getNano() / NANOS_PER_MICRO;
+    }
+
+    /**
+     * Convierte microsegundos desde epoch a fecha.
+     *
+     * @param micros microsegundos desde 1970-01-01T00:00:00
+     * @return fecha equivalente
+     */
+    public static LocalDateTime toDateTime(long micros) {
+        long seconds = Math.floorDiv(micros, MICROS_PER_SECOND);
+        int nanos = (int) Math.floorMod(micros, MICROS_PER_SECOND) * NANOS_PER_MICRO;
+        return LocalDateTime.ofEpochSecond(seconds, nanos, ZoneOffset.UTC);
+    }
+}
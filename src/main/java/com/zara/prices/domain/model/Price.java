@@ -2,91 +2,100 @@ package com.zara.prices.domain.model;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
-
-import lombok.AllArgsConstructor;
-import lombok.Builder;
-import lombok.Getter;
-import lombok.NoArgsConstructor;
-import lombok.ToString;
+import java.util.Currency;
 
 /**
  * Entidad de dominio que representa el precio de un producto.
- * 
+ *
  * <p>Esta clase encapsula la información completa de una tarifa de precio,
  * incluyendo el rango de fechas de aplicación, la prioridad para desambiguación
  * y el precio final.</p>
- * 
+ *
  * <p>Cuando múltiples tarifas son aplicables para un producto en una fecha,
  * se selecciona aquella con mayor valor de {@code priority}.</p>
- * 
+ *
+ * <p>Es un record de primitivos, porque es lo que guardan las cachés y las líneas
+ * temporales: las fechas van en microsegundos desde epoch ({@link EpochMicros}), el
+ * precio en unidades mínimas con su escala ({@code 35.50} es {@code priceMinor=3550},
+ * {@code priceScale=2}) y la moneda es la instancia compartida de {@link Currency}.
+ * Ocupa un único objeto de tamaño fijo, sin {@code Long}, {@code LocalDateTime} ni
+ * {@code BigDecimal} colgando, y su {@code equals}/{@code hashCode} no reserva memoria.</p>
+ *
+ * <p>La conversión desde y hacia los tipos de las columnas y del JSON se hace solo en
+ * los adaptadores, con {@link #of} y {@link #startDate()}, {@link #endDate()},
+ * {@link #amount()} y {@link #currencyCode()}; el dominio compara los primitivos.</p>
+ *
+ * @param brandId identificador de la cadena/marca (ej: 1 = ZARA)
+ * @param productId identificador del producto
+ * @param startMicros inicio de aplicación (inclusivo), en microsegundos desde epoch
+ * @param endMicros fin de aplicación (inclusivo), en microsegundos desde epoch
+ * @param priority prioridad para desambiguación; mayor valor = mayor prioridad
+ * @param priceMinor precio final de venta (PVP) sin separador decimal
+ * @param priceScale decimales de {@code priceMinor}
+ * @param currency moneda del precio
+ * @param priceList identificador de la tarifa de precios
+ *
  *  @author Eduardo Pindado Aguilar
- * @version 1.0
+ * @version 2.0
  * @since 2026-01-26
  */
-@Getter
-@NoArgsConstructor
-@AllArgsConstructor
-@Builder
-@ToString
-public class Price {
-    /** Identificador de la cadena/marca (ej: 1 = ZARA) */
-    private Long brandId;
-    /** Identificador del producto */
-    private Long productId;
-    /** Fecha y hora de inicio de aplicación del precio */
-    private LocalDateTime start;
-    /** Fecha y hora de fin de aplicación del precio */
-    private LocalDateTime end;
-    /** Prioridad para desambiguación. Mayor valor = mayor prioridad */
-    private Integer priority;
-    /** Precio final de venta (PVP) */
-    private BigDecimal price;
-    /** Código ISO de la moneda (ej: EUR, USD) */
-    private String currency;
-    /** Identificador de la tarifa de precios */
-    private Integer priceList;
+public record Price(long brandId, long productId, long startMicros, long endMicros, int priority,
+                    long priceMinor, int priceScale, Currency currency, int priceList) {
 
-    @Override
-    public boolean equals(Object o) {
-        if (this == o) return true;
-        if (o == null || getClass() != o.getClass()) return false;
-        Price priceObj = (Price) o;
-        return java.util.Objects.equals(brandId, priceObj.brandId)
-                && java.util.Objects.equals(productId, priceObj.productId)
-                && java.util.Objects.equals(start, priceObj.start)
-                && java.util.Objects.equals(end, priceObj.end)
-                && java.util.Objects.equals(priority, priceObj.priority)
-                && java.util.Objects.equals(price, priceObj.price)
-                && java.util.Objects.equals(currency, priceObj.currency)
-                && java.util.Objects.equals(priceList, priceObj.priceList);
+    /**
+     * Crea una tarifa a partir de los tipos con los que llega de la base de datos o de la API.
+     *
+     * @param brandId identificador de la cadena
+     * @param productId identificador del producto
+     * @param start fecha de inicio (inclusiva)
+     * @param end fecha de fin (inclusiva)
+     * @param priority prioridad de la tarifa
+     * @param price precio final; debe caber en un {@code long} sin escala
+     * @param currency código ISO 4217 de la moneda
+     * @param priceList identificador de tarifa
+     * @return tarifa en forma compacta
+     * @throws ArithmeticException si el precio no cabe en un {@code long} sin escala
+     * @throws IllegalArgumentException si la moneda no es un código ISO 4217
+     */
+    public static Price of(long brandId, long productId, LocalDateTime start, LocalDateTime end,
+                           int priority, BigDecimal price, String currency, int priceList) {
+        return new Price(brandId, productId, EpochMicros.of(start), EpochMicros.of(end), priority,
+                price.unscaledValue().longValueExact(), price.scale(), Currency.getInstance(currency), priceList);
     }
 
-    @Override
-    public int hashCode() {
-        return java.util.Objects.hash(brandId, productId, start, end, priority, price, currency, priceList);
+    /**
+     * Fecha de inicio de aplicación, para los adaptadores.
+     *
+     * @return inicio (inclusivo)
+     */
+    public LocalDateTime startDate() {
+        return EpochMicros.toDateTime(startMicros);
     }
 
     /**
-     * Constructor alternativo sin el campo priority.
-     * Útil cuando la prioridad no es relevante o se asignará posteriormente.
-     * 
-     * @param brandId identificador de la cadena
-     * @param productId identificador del producto
-     * @param start fecha de inicio
-     * @param end fecha de fin
-     * @param price precio final
-     * @param currency código de moneda
-     * @param priceList identificador de tarifa
+     * Fecha de fin de aplicación, para los adaptadores.
+     *
+     * @return fin (inclusivo)
+     */
+    public LocalDateTime endDate() {
+        return EpochMicros.toDateTime(endMicros);
+    }
+
+    /**
+     * Precio final como decimal, para los adaptadores.
+     *
+     * @return {@code priceMinor / 10^priceScale}
+     */
+    public BigDecimal amount() {
+        return BigDecimal.valueOf(priceMinor, priceScale);
+    }
+
+    /**
+     * Código ISO 4217 de la moneda, para los adaptadores.
+     *
+     * @return código de tres letras (ej: EUR); la cadena es la de {@link Currency}, sin copias
      */
-    public Price(Long brandId, Long productId,
-                 LocalDateTime start, LocalDateTime end,
-                 BigDecimal price, String currency, Integer priceList) {
-        this.brandId = brandId;
-        this.productId = productId;
-        this.start = start;
-        this.end = end;
-        this.price = price;
-        this.currency = currency;
-        this.priceList = priceList;
+    public String currencyCode() {
+        return currency.getCurrencyCode();
     }
 }
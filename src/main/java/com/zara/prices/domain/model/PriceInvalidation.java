@@ -0,0 +1,66 @@
+package com.zara.prices.domain.model;
+
+/**
+ * Aviso de que parte de las tarifas ha cambiado y las copias derivadas ya no valen.
+ *
+ * <p>Tres alcances, de más a menos preciso:</p>
+ * <ul>
+ *   <li>{@link Product}: han cambiado las tarifas de un producto de una cadena</li>
+ *   <li>{@link PriceList}: ha cambiado una tarifa de precios, en todos sus productos</li>
+ *   <li>{@link All}: se ha sustituido PRICES entera (carga masiva) o se han podido perder avisos</li>
+ * </ul>
+ */
+public sealed interface PriceInvalidation {
+
+    /**
+     * Invalidación de las tarifas de un producto.
+     *
+     * @param product producto cuyas tarifas han cambiado
+     * @return aviso con alcance de producto
+     */
+    static PriceInvalidation product(ProductKey product) {
+        return new Product(product);
+    }
+
+    /**
+     * Invalidación de una tarifa de precios.
+     *
+     * @param priceList identificador de la tarifa
+     * @return aviso con alcance de tarifa
+     */
+    static PriceInvalidation priceList(int priceList) {
+        return new PriceList(priceList);
+    }
+
+    /**
+     * Invalidación de todas las tarifas.
+     *
+     * @return aviso compartido con alcance total
+     */
+    static PriceInvalidation all() {
+        return All.INSTANCE;
+    }
+
+    /**
+     * Han cambiado las tarifas de un producto.
+     *
+     * @param key cadena y producto
+     */
+    record Product(ProductKey key) implements PriceInvalidation {
+    }
+
+    /**
+     * Ha cambiado una tarifa de precios.
+     *
+     * @param priceList identificador de la tarifa
+     */
+    record PriceList(int priceList) implements PriceInvalidation {
+    }
+
+    /**
+     * Han podido cambiar todas las tarifas.
+     */
+    enum All implements PriceInvalidation {
+        INSTANCE
+    }
+}
@@ -0,0 +1,16 @@
+package com.zara.prices.domain.model;
+
+import java.time.LocalDateTime;
+
+/**
+ * Consulta de precio aplicable: un producto de una cadena en una fecha.
+ *
+ * <p>Unidad de las consultas por lotes: cada elemento se resuelve de forma
+ * independiente y su resultado ocupa la misma posición que la consulta.</p>
+ *
+ * @param brandId identificador de la cadena/marca (ej: 1 = ZARA)
+ * @param productId identificador del producto
+ * @param date fecha y hora para la cual se consulta el precio
+ */
+public record PriceQuery(Long brandId, Long productId, LocalDateTime date) {
+}
@@ -0,0 +1,262 @@
+package com.zara.prices.domain.model;
+
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.Optional;
+import java.util.PriorityQueue;
+
+/**
+ * Línea temporal de precio efectivo de un producto.
+ *
+ * <p>Aplana las tarifas de un producto, que pueden solaparse, en tramos disjuntos
+ * ordenados en el tiempo. Cada tramo guarda la tarifa que gana en todo su rango,
+ * de modo que la prioridad se resuelve una sola vez al construir la línea temporal
+ * y una consulta posterior es una única búsqueda binaria sin comparar prioridades.</p>
+ *
+ * <p>Para el producto 35455 de los datos de ejemplo, las tarifas 1-4 dan lugar a
+ * seis tramos: 1, 2, 1, 3, 1 y 4.</p>
+ *
+ * <p>Regla de desambiguación: gana la tarifa de mayor prioridad; a igual prioridad,
+ * la que empezó más tarde y, si persiste el empate, la de mayor {@code priceList}.</p>
+ *
+ * <p>Los tramos son semiabiertos {@code [from, until)} en microsegundos desde epoch
+ * (ver {@link EpochMicros}); la fecha de fin de una tarifa, inclusiva en PRICES,
+ * se convierte sumando un microsegundo.</p>
+ */
+public final class PriceTimeline {
+
+    /** Orden de preferencia entre tarifas simultáneamente vigentes: la primera gana */
+    private static final Comparator<Active> RANK = Comparator
+            .comparingInt((Active a) -> a.price.priority()).reversed()
+            .thenComparing(Comparator.comparingLong((Active a) -> a.from).reversed())
+            .thenComparing(Comparator.comparingInt((Active a) -> a.price.priceList()).reversed());
+
+    /** Línea temporal sin tramos, compartida por todos los productos sin tarifas */
+    private static final PriceTimeline EMPTY = new PriceTimeline(new long[0], new long[0], new Price[0]);
+
+    /** Inicio de cada tramo (inclusivo), en orden ascendente */
+    private final long[] froms;
+
+    /** Fin de cada tramo (exclusivo) */
+    private final long[] untils;
+
+    /** Tarifa ganadora de cada tramo */
+    private final Price[] prices;
+
+    private PriceTimeline(long[] froms, long[] untils, Price[] prices) {
+        this.froms = froms;
+        this.untils = untils;
+        this.prices = prices;
+    }
+
+    /**
+     * Construye la línea temporal de un producto a partir de sus tarifas.
+     *
+     * <p>Barrido en O(n log n): recorre los inicios y fines de tarifa en orden y,
+     * en cada frontera, toma la tarifa vigente de mayor rango de un montículo.</p>
+     *
+     * @param tariffs tarifas de un único producto, en cualquier orden
+     * @return línea temporal inmutable (sin tramos si no hay tarifas válidas)
+     */
+    public static PriceTimeline of(Collection<Price> tariffs) {
+        Active[] sorted = tariffs.stream()
+                .map(Active::new)
+                .filter(a -> a.until > a.from)
+                .sorted(Comparator.comparingLong(a -> a.from))
+                .toArray(Active[]::new);
+
+        // Cada frontera cierra como mucho un tramo y hay a lo sumo 2n fronteras
+        long[] froms = new long[2 * sorted.length];
+        long[] untils = new long[2 * sorted.length];
+        Price[] winners = new Price[2 * sorted.length];
+        int segments = 0;
+
+        PriorityQueue<Active> byRank = new PriorityQueue<>(RANK);
+        PriorityQueue<Active> byUntil = new PriorityQueue<>(Comparator.comparingLong((Active a) -> a.until));
+        Active current = null;
+        long currentFrom = 0;
+        int next = 0;
+        while (next < sorted.length || !byUntil.isEmpty()) {
+            long boundary = Math.min(
+                    next < sorted.length ? sorted[next].from : Long.MAX_VALUE,
+                    byUntil.isEmpty() ? Long.MAX_VALUE : byUntil.peek().until);
+            while (!byUntil.isEmpty() && byUntil.peek().until == boundary) {
+                byUntil.poll().expired = true;
+            }
+            while (next < sorted.length && sorted[next].from == boundary) {
+                byRank.add(sorted[next]);
+                byUntil.add(sorted[next++]);
+            }
+            while (!byRank.isEmpty() && byRank.peek().expired) {
+                byRank.poll();
+            }
+            Active winner = byRank.peek();
+            if (winner != current) {
+                if (current != null) {
+                    froms[segments] = currentFrom;
+                    untils[segments] = boundary;
+                    winners[segments++] = current.price;
+                }
+                current = winner;
+                currentFrom = boundary;
+            }
+        }
+        return new PriceTimeline(
+                Arrays.copyOf(froms, segments),
+                Arrays.copyOf(untils, segments),
+                Arrays.copyOf(winners, segments));
+    }
+
+    /**
+     * Reconstruye una línea temporal a partir de tramos ya aplanados, por ejemplo
+     * los que guarda un almacén que solo conserva la tarifa ganadora de cada tramo.
+     *
+     * @param froms inicio de cada tramo (inclusivo), en orden ascendente
+     * @param untils fin de cada tramo (exclusivo)
+     * @param prices tarifa ganadora de cada tramo
+     * @return línea temporal inmutable; los arrays pasan a ser propiedad de la línea temporal
+     * @throws IllegalArgumentException si los arrays no tienen la misma longitud o los tramos se solapan
+     */
+    public static PriceTimeline ofSegments(long[] froms, long[] untils, Price[] prices) {
+        if (froms.length != untils.length || froms.length != prices.length) {
+            throw new IllegalArgumentException("Los tramos deben tener inicio, fin y tarifa");
+        }
+        for (int i = 0; i < froms.length; i++) {
+            if (untils[i] <= froms[i] || (i > 0 && froms[i] < untils[i - 1])) {
+                throw new IllegalArgumentException("Tramo vacío o solapado en la posición " + i);
+            }
+        }
+        return froms.length == 0 ? EMPTY : new PriceTimeline(froms, untils, prices);
+    }
+
+    /**
+     * Línea temporal sin tramos.
+     *
+     * @return instancia compartida sin tramos
+     */
+    public static PriceTimeline empty() {
+        return EMPTY;
+    }
+
+    /**
+     * Retorna la tarifa efectiva en la fecha indicada.
+     *
+     * @param date fecha de consulta
+     * @return Optional con la tarifa ganadora, o vacío si ningún tramo cubre la fecha
+     */
+    public Optional<Price> priceAt(LocalDateTime date) {
+        int segment = segmentIndexAt(EpochMicros.of(date));
+        return segment < 0 ? Optional.empty() : Optional.of(prices[segment]);
+    }
+
+    /**
+     * Retorna la tarifa efectiva en la fecha indicada y el fin del tramo en que gana.
+     *
+     * @param date fecha de consulta
+     * @return Optional con la tarifa y su validez, o vacío si ningún tramo cubre la fecha
+     */
+    public Optional<ApplicablePrice> applicableAt(LocalDateTime date) {
+        int segment = segmentIndexAt(EpochMicros.of(date));
+        return segment < 0 ? Optional.empty()
+                : Optional.of(new ApplicablePrice(prices[segment], EpochMicros.toDateTime(untils[segment])));
+    }
+
+    /**
+     * Recorre los tramos en orden cronológico sin materializar objetos intermedios.
+     *
+     * @param consumer receptor de cada tramo
+     */
+    public void forEachSegment(SegmentConsumer consumer) {
+        for (int i = 0; i < froms.length; i++) {
+            consumer.accept(froms[i], untils[i], prices[i]);
+        }
+    }
+
+    /**
+     * Recorre en orden cronológico los tramos que se solapan con {@code [from, to)},
+     * recortados a ese rango.
+     *
+     * <p>Localiza el primer tramo con una búsqueda binaria y se detiene en el primero
+     * que empieza en {@code to} o después.</p>
+     *
+     * @param from inicio del rango (inclusivo)
+     * @param to fin del rango (exclusivo)
+     * @param consumer receptor de cada tramo recortado
+     * @throws IllegalArgumentException si {@code from} no es anterior a {@code to}
+     */
+    public void forEachSegmentBetween(LocalDateTime from, LocalDateTime to, SegmentConsumer consumer) {
+        long fromMicros = EpochMicros.of(from);
+        long toMicros = EpochMicros.of(to);
+        if (fromMicros >= toMicros) {
+            throw new IllegalArgumentException("El inicio del rango debe ser anterior al fin");
+        }
+        int insertion = Arrays.binarySearch(froms, fromMicros);
+        int i = Math.max(0, insertion >= 0 ? insertion : -insertion - 2);
+        if (i < froms.length && untils[i] <= fromMicros) {
+            i++;
+        }
+        for (; i < froms.length && froms[i] < toMicros; i++) {
+            consumer.accept(Math.max(froms[i], fromMicros), Math.min(untils[i], toMicros), prices[i]);
+        }
+    }
+
+    /**
+     * Número de tramos disjuntos de la línea temporal.
+     *
+     * @return número de tramos
+     */
+    public int segmentCount() {
+        return froms.length;
+    }
+
+    /**
+     * Indica si la línea temporal no tiene ningún tramo.
+     *
+     * @return {@code true} si ninguna tarifa es válida
+     */
+    public boolean isEmpty() {
+        return froms.length == 0;
+    }
+
+    /**
+     * Búsqueda binaria del tramo que contiene el instante.
+     *
+     * @param micros instante en microsegundos desde epoch
+     * @return índice del tramo, o -1 si el instante cae fuera de todos ellos
+     */
+    private int segmentIndexAt(long micros) {
+        int insertion = Arrays.binarySearch(froms, micros);
+        int segment = insertion >= 0 ? insertion : -insertion - 2;
+        return segment >= 0 && micros < untils[segment] ? segment : -1;
+    }
+
+    /**
+     * Receptor de tramos de una línea temporal.
+     */
+    @FunctionalInterface
+    public interface SegmentConsumer {
+
+        /**
+         * @param fromMicros inicio del tramo (inclusivo), en microsegundos desde epoch
+         * @param untilMicros fin del tramo (exclusivo), en microsegundos desde epoch
+         * @param price tarifa ganadora en todo el tramo
+         */
+        void accept(long fromMicros, long untilMicros, Price price);
+    }
+
+    /** Tarifa durante el barrido, con sus límites ya codificados */
+    private static final class Active {
+        private final Price price;
+        private final long from;
+        private final long until;
+        private boolean expired;
+
+        private Active(Price price) {
+            this.price = price;
+            this.from = price.startMicros();
+            this.until = price.endMicros() + 1;
+        }
+    }
+}
@@ -0,0 +1,26 @@
+package com.zara.prices.domain.model;
+
+/**
+ * Identificador de un producto dentro del catálogo de una cadena.
+ *
+ * <p>Las tarifas de precios se agrupan siempre por el par (cadena, producto):
+ * es la clave natural de la tabla PRICES y la unidad mínima sobre la que se
+ * resuelven prioridades, se indexa y se invalida cualquier copia en memoria.</p>
+ *
+ * @param brandId identificador de la cadena/marca (ej: 1 = ZARA)
+ * @param productId identificador del producto
+ */
+public record ProductKey(long brandId, long productId) {
+
+    /**
+     * Crea la clave a partir de los identificadores en su forma encapsulada,
+     * tal y como llegan desde la capa web o desde la entidad JPA.
+     *
+     * @param brandId identificador de la cadena
+     * @param productId identificador del producto
+     * @return clave del producto
+     */
+    public static ProductKey of(Long brandId, Long productId) {
+        return new ProductKey(brandId, productId);
+    }
+}
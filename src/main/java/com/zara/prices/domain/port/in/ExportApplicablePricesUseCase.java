@@ -0,0 +1,26 @@
+package com.zara.prices.domain.port.in;
+
+import java.time.LocalDateTime;
+import java.util.function.Consumer;
+
+import com.zara.prices.domain.model.Price;
+
+/**
+ * Puerto de entrada (caso de uso) para exportar los precios aplicables de una cadena.
+ *
+ * <p>Produce, para una cadena y una fecha, el precio aplicable de cada uno de sus
+ * productos, con las mismas reglas de prioridad que {@link GetApplicablePriceUseCase}.
+ * Los precios se entregan en flujo para que el coste en memoria sea constante.</p>
+ */
+public interface ExportApplicablePricesUseCase {
+
+    /**
+     * Entrega el precio aplicable de cada producto de la cadena en la fecha indicada.
+     *
+     * @param brandId identificador de la cadena (ej: 1 = ZARA)
+     * @param date fecha y hora de la foto de precios
+     * @param sink receptor de cada precio, en orden de producto
+     * @return número de productos exportados
+     */
+    long export(Long brandId, LocalDateTime date, Consumer<Price> sink);
+}
@@ -1,8 +1,14 @@
 package com.zara.prices.domain.port.in;
 
 import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
 
+import com.zara.prices.domain.model.ApplicablePrice;
 import com.zara.prices.domain.model.Price;
+import com.zara.prices.domain.model.PriceQuery;
+import com.zara.prices.domain.model.PriceTimeline;
+import com.zara.prices.domain.service.PriceNotFoundException;
 
 /**
  * Puerto de entrada (caso de uso) para obtener el precio aplicable.
@@ -18,9 +24,14 @@ import com.zara.prices.domain.model.Price;
  * <ul>
  *   <li>Se selecciona el precio cuyo rango de fechas incluye la fecha consultada</li>
  *   <li>Si hay múltiples precios aplicables, se retorna el de mayor prioridad</li>
- *   <li>Si no existe precio aplicable, se lanza {@code PriceNotFoundException}</li>
+ *   <li>Si no existe precio aplicable, {@link #find} retorna vacío y {@link #get}
+ *       lanza {@code PriceNotFoundException}</li>
  * </ul>
  * 
+ * <p>Los adaptadores en la ruta caliente deben usar {@link #find}: un producto sin
+ * precio es un resultado habitual, no una situación excepcional, y así no se crea
+ * ninguna excepción con su traza.</p>
+ * 
  *  @author Eduardo Pindado Aguilar
  * @version 1.0
  * @since 2026-01-26
@@ -38,5 +49,58 @@ public interface GetApplicablePriceUseCase {
      * @return el precio aplicable con mayor prioridad
      * @throws com.zara.prices.domain.service.PriceNotFoundException si no existe precio aplicable
      */
-    Price get(Long brandId, Long productId, LocalDateTime date);
+    default Price get(Long brandId, Long productId, LocalDateTime date) {
+        return find(brandId, productId, date)
+                .orElseThrow(() -> new PriceNotFoundException("No hay precios aplicables para los parámetros proporcionados"));
+    }
+
+    /**
+     * Busca el precio aplicable sin lanzar excepción cuando no existe.
+     * 
+     * @param brandId identificador de la cadena (ej: 1 = ZARA)
+     * @param productId identificador del producto
+     * @param date fecha y hora para la cual se consulta el precio
+     * @return Optional con el precio aplicable con mayor prioridad, o vacío si no existe
+     */
+    Optional<Price> find(Long brandId, Long productId, LocalDateTime date);
+
+    /**
+     * Busca el precio aplicable junto con el instante hasta el que no cambia.
+     *
+     * <p>La validez sale del tramo de la línea temporal del producto que contiene la
+     * fecha, así que la implementación por defecto resuelve la fecha sobre
+     * {@link #findTimeline}; solo conviene cuando la línea temporal ya está en memoria.
+     * Las implementaciones que consultan el repositorio deben sobrescribirla con su
+     * consulta de una sola fila.</p>
+     *
+     * @param brandId identificador de la cadena (ej: 1 = ZARA)
+     * @param productId identificador del producto
+     * @param date fecha y hora para la cual se consulta el precio
+     * @return Optional con el precio aplicable y su validez, o vacío si no existe
+     */
+    default Optional<ApplicablePrice> findApplicable(Long brandId, Long productId, LocalDateTime date) {
+        return findTimeline(brandId, productId).flatMap(timeline -> timeline.applicableAt(date));
+    }
+
+    /**
+     * Busca el precio aplicable para cada consulta de un lote.
+     *
+     * <p>Una consulta sin precio no hace fallar el lote: su posición queda vacía.</p>
+     *
+     * @param queries consultas a resolver
+     * @return precios aplicables, con el mismo tamaño y orden que las consultas
+     */
+    List<Optional<Price>> findAll(List<PriceQuery> queries);
+
+    /**
+     * Obtiene la línea temporal de precio efectivo de un producto.
+     *
+     * <p>Cada tramo lleva ya resuelta la tarifa ganadora, con las mismas reglas de
+     * prioridad que {@link #find}.</p>
+     *
+     * @param brandId identificador de la cadena
+     * @param productId identificador del producto
+     * @return Optional con la línea temporal, o vacío si el producto no tiene tarifas
+     */
+    Optional<PriceTimeline> findTimeline(Long brandId, Long productId);
 }
@@ -0,0 +1,48 @@
+package com.zara.prices.domain.port.in;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import com.zara.prices.domain.model.Price;
+import com.zara.prices.domain.model.PriceQuery;
+import com.zara.prices.domain.model.PriceTimeline;
+
+import reactor.core.publisher.Mono;
+
+/**
+ * Puerto de entrada reactivo para obtener el precio aplicable.
+ *
+ * <p>Mismas reglas de negocio que {@link GetApplicablePriceUseCase}, expuestas como
+ * {@link Mono} para los adaptadores no bloqueantes. Un producto sin precio se
+ * representa con un {@link Mono} vacío, nunca con un error.</p>
+ */
+public interface ReactiveGetApplicablePriceUseCase {
+
+    /**
+     * Busca el precio aplicable para un producto de una cadena en una fecha.
+     *
+     * @param brandId identificador de la cadena (ej: 1 = ZARA)
+     * @param productId identificador del producto
+     * @param date fecha y hora para la cual se consulta el precio
+     * @return el precio aplicable con mayor prioridad, o vacío si no existe
+     */
+    Mono<Price> find(Long brandId, Long productId, LocalDateTime date);
+
+    /**
+     * Busca el precio aplicable para cada consulta de un lote.
+     *
+     * @param queries consultas a resolver
+     * @return precios aplicables, con el mismo tamaño y orden que las consultas
+     */
+    Mono<List<Optional<Price>>> findAll(List<PriceQuery> queries);
+
+    /**
+     * Obtiene la línea temporal de precio efectivo de un producto.
+     *
+     * @param brandId identificador de la cadena
+     * @param productId identificador del producto
+     * @return la línea temporal, o vacío si el producto no tiene tarifas
+     */
+    Mono<PriceTimeline> findTimeline(Long brandId, Long productId);
+}
@@ -0,0 +1,34 @@
+package com.zara.prices.domain.port.out;
+
+/**
+ * Puerto de salida para reconocer productos que probablemente no tienen ninguna tarifa.
+ *
+ * <p>Filtro de pertenencia aproximado sobre los pares (cadena, producto) del catálogo
+ * tal como estaban en su última construcción completa. Puede dar falsos positivos y
+ * también falsos negativos: un producto dado de alta después aparece como ausente hasta
+ * que el filtro lo recoge. Por eso un {@code false} no basta para responder sin llegar
+ * al repositorio; solo sirve de indicio, por ejemplo para no cachear el producto.</p>
+ *
+ * <p>Siguiendo arquitectura hexagonal, la estructura concreta (Bloom, xor...) y
+ * su construcción quedan en la capa de infraestructura.</p>
+ */
+public interface PriceCatalogFilter {
+
+    /**
+     * Indica si el producto puede tener tarifas.
+     *
+     * @param brandId identificador de la cadena
+     * @param productId identificador del producto
+     * @return {@code false} si el producto no tenía tarifas en la última construcción completa
+     */
+    boolean mightContain(Long brandId, Long productId);
+
+    /**
+     * Filtro que deja pasar todos los productos, para cuando no hay filtro configurado.
+     *
+     * @return filtro que siempre responde {@code true}
+     */
+    static PriceCatalogFilter acceptAll() {
+        return (brandId, productId) -> true;
+    }
+}
@@ -0,0 +1,29 @@
+package com.zara.prices.domain.port.out;
+
+import java.time.LocalDateTime;
+import java.util.function.Consumer;
+
+import com.zara.prices.domain.model.Price;
+
+/**
+ * Puerto de salida para recorrer los precios aplicables de toda una cadena.
+ *
+ * <p>Pensado para exportaciones completas: los precios se entregan uno a uno a medida
+ * que se leen, sin reunirlos en memoria, de modo que el consumo no depende del número
+ * de productos de la cadena.</p>
+ */
+public interface PriceExportRepository {
+
+    /**
+     * Entrega el precio de mayor prioridad de cada producto de la cadena aplicable en la fecha.
+     *
+     * <p>Los productos se recorren ordenados por identificador y cada uno se entrega una
+     * sola vez; los productos sin tarifa aplicable en la fecha no se entregan. La
+     * llamada no retorna hasta haber entregado el último precio.</p>
+     *
+     * @param brandId identificador de la cadena
+     * @param date fecha para la cual se resuelven los precios
+     * @param action receptor de cada precio, invocado en el hilo llamante
+     */
+    void forEachApplicable(Long brandId, LocalDateTime date, Consumer<Price> action);
+}
@@ -0,0 +1,40 @@
+package com.zara.prices.domain.port.out;
+
+import java.util.function.Consumer;
+
+import com.zara.prices.domain.model.PriceInvalidation;
+
+/**
+ * Puerto de salida para difundir invalidaciones de tarifas entre los nodos del servicio.
+ *
+ * <p>Cada nodo guarda copias de las tarifas en proceso (caché de líneas temporales); un
+ * cambio visto por un nodo se publica en el bus y llega a todos los suscriptores de
+ * todos los nodos, incluido el que lo publicó, que descartan solo lo que ha cambiado.</p>
+ *
+ * <p>La entrega es como mucho una vez y sin orden entre nodos: quien no pueda permitirse
+ * perder un aviso debe mantener también su propio vencimiento. Si un adaptador detecta
+ * que ha podido perder avisos (por ejemplo, al reconectar), entrega
+ * {@link PriceInvalidation#all()}.</p>
+ *
+ * <p>Siguiendo arquitectura hexagonal, el transporte (memoria del proceso,
+ * {@code LISTEN/NOTIFY} de PostgreSQL...) queda en la capa de infraestructura.</p>
+ */
+public interface PriceInvalidationBus {
+
+    /**
+     * Difunde una invalidación a todos los nodos.
+     *
+     * @param invalidation tarifas que han cambiado
+     */
+    void publish(PriceInvalidation invalidation);
+
+    /**
+     * Registra un receptor de las invalidaciones de todos los nodos.
+     *
+     * <p>El receptor se invoca desde el hilo del adaptador y debe ser rápido; una
+     * excepción suya se registra en el log y no afecta a los demás receptores.</p>
+     *
+     * @param listener receptor de cada invalidación
+     */
+    void subscribe(Consumer<PriceInvalidation> listener);
+}
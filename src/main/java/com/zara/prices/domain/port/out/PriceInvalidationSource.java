@@ -0,0 +1,28 @@
+package com.zara.prices.domain.port.out;
+
+import java.util.function.Consumer;
+
+import com.zara.prices.domain.model.PriceInvalidation;
+
+/**
+ * Puerto de salida de los adaptadores que sirven las tarifas desde una copia en proceso
+ * y avisan cuando esa copia cambia.
+ *
+ * <p>Un aviso del {@link PriceInvalidationBus} dice que PRICES ha cambiado, no que la
+ * copia del adaptador ya lo refleje: una caché que se vaciase con él volvería a cargar
+ * del adaptador las tarifas antiguas y las guardaría hasta su vencimiento. Por eso las
+ * copias derivadas de uno de estos adaptadores se suscriben aquí, y el adaptador solo
+ * avisa de un producto (o de todo) después de publicarlo en su propia copia.</p>
+ */
+public interface PriceInvalidationSource {
+
+    /**
+     * Registra un receptor de lo que cambia en la copia del adaptador.
+     *
+     * <p>El receptor se invoca desde el hilo que actualiza la copia, ya publicada, y debe
+     * ser rápido; una excepción suya se registra en el log y no afecta a los demás.</p>
+     *
+     * @param listener receptor de cada invalidación
+     */
+    void subscribe(Consumer<PriceInvalidation> listener);
+}
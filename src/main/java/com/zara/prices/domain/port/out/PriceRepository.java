@@ -4,7 +4,10 @@ import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 
+import com.zara.prices.domain.model.ApplicablePrice;
 import com.zara.prices.domain.model.Price;
+import com.zara.prices.domain.model.PriceQuery;
+import com.zara.prices.domain.model.PriceTimeline;
 
 /**
  * Puerto de salida para acceso a datos de precios.
@@ -54,4 +57,52 @@ public interface PriceRepository {
      * @return Optional con el precio de mayor prioridad, o vacío si no hay precios aplicables
      */
     Optional<Price> findHighestPriorityApplicable(Long brandId, Long productId, LocalDateTime date);
-}
\ No newline at end of file
+
+    /**
+     * Busca la tarifa ganadora en una fecha junto con el instante hasta el que sigue siéndolo.
+     *
+     * <p>La ganadora es la misma que la de {@link #findHighestPriorityApplicable(Long, Long, LocalDateTime)}
+     * y {@code validUntil} el fin del tramo de la línea temporal que contiene la fecha. La
+     * implementación por defecto construye la línea temporal del producto: los adaptadores
+     * que consultan la base de datos deben sobrescribirla para resolver ambas cosas con una
+     * sola consulta, sin traer todas las tarifas del producto.</p>
+     *
+     * @param brandId identificador de la cadena
+     * @param productId identificador del producto
+     * @param date fecha para la cual se busca el precio
+     * @return Optional con la tarifa ganadora y su validez, o vacío si no hay precios aplicables
+     */
+    default Optional<ApplicablePrice> findHighestPriorityApplicableWithValidity(Long brandId, Long productId,
+                                                                                LocalDateTime date) {
+        return findTimeline(brandId, productId).flatMap(timeline -> timeline.applicableAt(date));
+    }
+
+    /**
+     * Retorna la línea temporal completa de precio efectivo de un producto.
+     *
+     * <p>Con ella se puede resolver cualquier fecha sin volver al repositorio, lo que
+     * permite cachear por producto en lugar de por (producto, fecha).</p>
+     *
+     * @param brandId identificador de la cadena
+     * @param productId identificador del producto
+     * @return Optional con la línea temporal, o vacío si el producto no tiene tarifas
+     */
+    Optional<PriceTimeline> findTimeline(Long brandId, Long productId);
+
+    /**
+     * Busca el precio de mayor prioridad aplicable para cada consulta de un lote.
+     *
+     * <p>El resultado tiene el mismo tamaño y orden que las consultas; una posición
+     * vacía indica que esa consulta no tiene precio aplicable. La implementación por
+     * defecto resuelve las consultas una a una: los adaptadores con acceso remoto
+     * deben sobrescribirla para resolver el lote en un único viaje.</p>
+     *
+     * @param queries consultas a resolver
+     * @return precios aplicables, en el orden de las consultas
+     */
+    default List<Optional<Price>> findHighestPriorityApplicable(List<PriceQuery> queries) {
+        return queries.stream()
+                .map(query -> findHighestPriorityApplicable(query.brandId(), query.productId(), query.date()))
+                .toList();
+    }
+}
@@ -0,0 +1,79 @@
+package com.zara.prices.domain.port.out;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import com.zara.prices.domain.model.Price;
+import com.zara.prices.domain.model.PriceQuery;
+import com.zara.prices.domain.model.PriceTimeline;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Puerto de salida reactivo para acceso a datos de precios.
+ *
+ * <p>Contrapartida no bloqueante de {@link PriceRepository} para la variante WebFlux
+ * del servicio: mismas reglas de prioridad, pero los resultados se entregan como
+ * {@link Mono}/{@link Flux} y ninguna operación bloquea el hilo que la invoca.
+ * Un {@link Mono} vacío equivale al {@code Optional} vacío del puerto bloqueante.</p>
+ *
+ * @see com.zara.prices.infrastructure.persistence.r2dbc.R2dbcPriceRepository
+ */
+public interface ReactivePriceRepository {
+
+    /**
+     * Busca el precio de mayor prioridad aplicable para un producto de una cadena en una fecha.
+     *
+     * <p>Desempata como {@link PriceTimeline}: mayor prioridad, inicio más reciente y
+     * tarifa más alta.</p>
+     *
+     * @param brandId identificador de la cadena
+     * @param productId identificador del producto
+     * @param date fecha para la cual se busca el precio
+     * @return el precio de mayor prioridad, o vacío si no hay precios aplicables
+     */
+    Mono<Price> findHighestPriorityApplicable(Long brandId, Long productId, LocalDateTime date);
+
+    /**
+     * Recorre todas las tarifas de un producto, sin filtrar por fecha.
+     *
+     * @param brandId identificador de la cadena
+     * @param productId identificador del producto
+     * @return tarifas del producto, en cualquier orden
+     */
+    Flux<Price> findByProduct(Long brandId, Long productId);
+
+    /**
+     * Retorna la línea temporal completa de precio efectivo de un producto.
+     *
+     * @param brandId identificador de la cadena
+     * @param productId identificador del producto
+     * @return la línea temporal, o vacío si el producto no tiene tarifas
+     */
+    default Mono<PriceTimeline> findTimeline(Long brandId, Long productId) {
+        return findByProduct(brandId, productId)
+                .collectList()
+                .filter(prices -> !prices.isEmpty())
+                .map(PriceTimeline::of);
+    }
+
+    /**
+     * Busca el precio de mayor prioridad aplicable para cada consulta de un lote.
+     *
+     * <p>El resultado tiene el mismo tamaño y orden que las consultas. La implementación
+     * por defecto resuelve las consultas una detrás de otra; los adaptadores con un pool
+     * de conexiones deben sobrescribirla para lanzarlas en paralelo.</p>
+     *
+     * @param queries consultas a resolver
+     * @return precios aplicables, en el orden de las consultas
+     */
+    default Mono<List<Optional<Price>>> findHighestPriorityApplicable(List<PriceQuery> queries) {
+        return Flux.fromIterable(queries)
+                .concatMap(query -> findHighestPriorityApplicable(query.brandId(), query.productId(), query.date())
+                        .map(Optional::of)
+                        .defaultIfEmpty(Optional.empty()))
+                .collectList();
+    }
+}
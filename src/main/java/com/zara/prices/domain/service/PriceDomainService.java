@@ -28,7 +28,7 @@ public class PriceDomainService {
             throw new PriceNotFoundException("No hay precios aplicables para los parámetros proporcionados");
         }
         return prices.stream()
-                .max(Comparator.comparing(Price::getPriority))
+                .max(Comparator.comparingInt(Price::priority))
                 .orElseThrow(() -> new PriceNotFoundException("No hay precios aplicables para los parámetros proporcionados"));
     }
 }
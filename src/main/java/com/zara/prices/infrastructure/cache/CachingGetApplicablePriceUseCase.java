@@ -0,0 +1,282 @@
+package com.zara.prices.infrastructure.cache;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Future;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.zara.prices.domain.model.ApplicablePrice;
+import com.zara.prices.domain.model.Price;
+import com.zara.prices.domain.model.PriceInvalidation;
+import com.zara.prices.domain.model.PriceQuery;
+import com.zara.prices.domain.model.PriceTimeline;
+import com.zara.prices.domain.model.ProductKey;
+import com.zara.prices.domain.port.in.GetApplicablePriceUseCase;
+import com.zara.prices.domain.port.out.PriceCatalogFilter;
+import com.zara.prices.domain.port.out.PriceRepository;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+
+/**
+ * Decorador del caso de uso que cachea la línea temporal de cada producto.
+ *
+ * <p>Cachear por (cadena, producto, fecha) no sirve: la fecha llega con precisión de
+ * segundos y casi nunca se repite. En su lugar se guarda la {@link PriceTimeline}
+ * completa del producto, de modo que un acierto resuelve cualquier fecha que caiga
+ * dentro de un tramo conocido con una búsqueda binaria, sin ir al repositorio.</p>
+ *
+ * <p>La caché es acotada y usa la política W-TinyLFU de Caffeine: con un tráfico
+ * concentrado en unos pocos miles de productos, la admisión por frecuencia evita que
+ * los productos consultados una sola vez desplacen a los calientes. Las entradas
+ * caducan tras {@code expireAfterWrite} para recoger cambios de tarifas; con el bus de
+ * invalidaciones ({@link #invalidate(PriceInvalidation)}) los cambios se descartan en
+ * cuanto se publican y la caducidad queda como red de seguridad. Sobre un adaptador con
+ * copia en proceso ({@link com.zara.prices.domain.port.out.PriceInvalidationSource}) los
+ * avisos llegan del adaptador, cuando su copia ya refleja el cambio, y no del bus.</p>
+ *
+ * <p>Una línea temporal cargada es completa: si la fecha no cae en ninguno de sus
+ * tramos, no hay precio y se responde vacío sin volver al repositorio. Los productos
+ * sin tarifas también se cachean, como línea temporal vacía, salvo los que el filtro de
+ * catálogo da por ausentes: esos se consultan en el repositorio sin pasar por la caché,
+ * para que un identificador inventado no ocupe una entrada. El filtro puede no conocer
+ * todavía un producto nuevo, así que nunca se responde vacío solo por él.</p>
+ *
+ * <p>La caché es asíncrona solo para que la carga no ocurra dentro de
+ * {@code ConcurrentHashMap.compute}: el primer hilo que pide un producto instala un
+ * futuro vacío y lo completa él mismo, fuera del cerrojo del mapa, mientras los demás
+ * esperan ese futuro. Con hilos virtuales, cargar dentro de {@code compute} fijaría el
+ * hilo portador durante toda la consulta a la base de datos.</p>
+ *
+ * <p>Se activa con {@code app.prices.cache.enabled=true}.</p>
+ */
+public class CachingGetApplicablePriceUseCase implements GetApplicablePriceUseCase, MeterBinder {
+
+    /** Nombre de la caché en las métricas ({@code cache=prices.timelines}) */
+    static final String CACHE_NAME = "prices.timelines";
+
+    private static final Logger log = LoggerFactory.getLogger(CachingGetApplicablePriceUseCase.class);
+
+    private final GetApplicablePriceUseCase delegate;
+    private final PriceRepository repository;
+    private final PriceCatalogFilter catalogFilter;
+    private final AsyncCache<ProductKey, PriceTimeline> timelines;
+
+    /**
+     * Constructor con inyección de dependencias.
+     *
+     * @param delegate caso de uso decorado, usado para las consultas de lote de productos no cargados
+     * @param repository repositorio del que se cargan las líneas temporales
+     * @param maximumSize número máximo de productos cacheados
+     * @param expireAfterWrite tiempo de vida de cada entrada
+     */
+    public CachingGetApplicablePriceUseCase(GetApplicablePriceUseCase delegate, PriceRepository repository,
+                                            long maximumSize, Duration expireAfterWrite) {
+        this(delegate, repository, PriceCatalogFilter.acceptAll(), maximumSize, expireAfterWrite);
+    }
+
+    /**
+     * Constructor con inyección de dependencias.
+     *
+     * @param delegate caso de uso decorado, usado para las consultas de lote de productos no cargados
+     * @param repository repositorio del que se cargan las líneas temporales
+     * @param catalogFilter filtro de pertenencia que decide qué productos se cachean
+     * @param maximumSize número máximo de productos cacheados
+     * @param expireAfterWrite tiempo de vida de cada entrada
+     */
+    public CachingGetApplicablePriceUseCase(GetApplicablePriceUseCase delegate, PriceRepository repository,
+                                            PriceCatalogFilter catalogFilter, long maximumSize,
+                                            Duration expireAfterWrite) {
+        this.delegate = delegate;
+        this.repository = repository;
+        this.catalogFilter = catalogFilter;
+        this.timelines = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(expireAfterWrite)
+                .recordStats()
+                .buildAsync();
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * <p>Resuelve la fecha sobre la línea temporal cacheada del producto; la primera
+     * consulta de un producto la carga del repositorio.</p>
+     */
+    @Override
+    public Optional<Price> find(Long brandId, Long productId, LocalDateTime date) {
+        return timeline(brandId, productId).priceAt(date);
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * <p>Igual que {@link #find}, sobre la línea temporal cacheada del producto.</p>
+     */
+    @Override
+    public Optional<ApplicablePrice> findApplicable(Long brandId, Long productId, LocalDateTime date) {
+        return timeline(brandId, productId).applicableAt(date);
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * <p>Resuelve con la caché las consultas de productos ya cargados, sin cargar los
+     * que faltan: el resto se delega en una sola llamada, para que el lote siga
+     * costando un único viaje al repositorio.</p>
+     */
+    @Override
+    public List<Optional<Price>> findAll(List<PriceQuery> queries) {
+        List<Optional<Price>> results = new ArrayList<>(queries.size());
+        List<PriceQuery> pending = new ArrayList<>();
+        List<Integer> positions = new ArrayList<>();
+        for (PriceQuery query : queries) {
+            CompletableFuture<PriceTimeline> cached = timelines.getIfPresent(ProductKey.of(query.brandId(), query.productId()));
+            if (cached == null || cached.state() != Future.State.SUCCESS) {
+                positions.add(results.size());
+                pending.add(query);
+                results.add(Optional.empty());
+            } else {
+                results.add(cached.resultNow().priceAt(query.date()));
+            }
+        }
+        if (!pending.isEmpty()) {
+            List<Optional<Price>> found = delegate.findAll(pending);
+            for (int i = 0; i < found.size(); i++) {
+                results.set(positions.get(i), found.get(i));
+            }
+        }
+        return results;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * <p>Sirve la línea temporal cacheada, cargándola si hace falta, igual que {@link #find}.</p>
+     */
+    @Override
+    public Optional<PriceTimeline> findTimeline(Long brandId, Long productId) {
+        PriceTimeline timeline = timeline(brandId, productId);
+        return timeline.isEmpty() ? Optional.empty() : Optional.of(timeline);
+    }
+
+    /**
+     * Descarta la línea temporal cacheada de un producto.
+     *
+     * @param key producto cuyas tarifas han cambiado
+     */
+    public void invalidate(ProductKey key) {
+        timelines.synchronous().invalidate(key);
+    }
+
+    /**
+     * Descarta lo cacheado que puede depender de las tarifas que han cambiado.
+     *
+     * <p>Un producto se descarta por clave. Una tarifa de precios vacía la caché: la
+     * línea temporal solo guarda la tarifa ganadora de cada tramo, así que no sirve para
+     * saber en qué productos aparece una tarifa que pierde, que es nueva o que ha pasado
+     * de un producto a otro. Pensado como receptor del bus de invalidaciones o de un
+     * {@code PriceInvalidationSource}.</p>
+     *
+     * @param invalidation tarifas que han cambiado
+     */
+    public void invalidate(PriceInvalidation invalidation) {
+        switch (invalidation) {
+            case PriceInvalidation.Product product -> invalidate(product.key());
+            case PriceInvalidation.PriceList priceList -> timelines.synchronous().invalidateAll();
+            case PriceInvalidation.All all -> timelines.synchronous().invalidateAll();
+        }
+    }
+
+    /**
+     * Línea temporal del producto, cargada del repositorio en el primer acceso; si el
+     * filtro de catálogo da el producto por ausente, se consulta sin cachearla.
+     *
+     * <p>La carga la hace el hilo que instaló el futuro; si falla, Caffeine descarta la
+     * entrada y la excepción llega sin envolver a todos los que la esperaban. Caffeine
+     * registra además cada fallo como aviso con su traza, antes de quitar la entrada, y la
+     * excepción ya la registra quien la recibe; por eso {@code application.yml} deja su
+     * logger {@code LocalAsyncCache} en {@code ERROR}.</p>
+     */
+    private PriceTimeline timeline(Long brandId, Long productId) {
+        if (!catalogFilter.mightContain(brandId, productId)) {
+            return repository.findTimeline(brandId, productId).orElse(PriceTimeline.empty());
+        }
+        CompletableFuture<PriceTimeline> load = new CompletableFuture<>();
+        CompletableFuture<PriceTimeline> cached = timelines.get(ProductKey.of(brandId, productId), (key, executor) -> load);
+        if (cached == load) {
+            try {
+                load.complete(repository.findTimeline(brandId, productId).orElse(PriceTimeline.empty()));
+            } catch (RuntimeException | Error e) {
+                load.completeExceptionally(e);
+            }
+        }
+        try {
+            return cached.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            if (e.getCause() instanceof Error error) {
+                throw error;
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Estadísticas acumuladas de la caché.
+     *
+     * @return aciertos, fallos, cargas y expulsiones desde el arranque
+     */
+    public CacheStats stats() {
+        return timelines.synchronous().stats();
+    }
+
+    /**
+     * Número aproximado de productos cacheados.
+     *
+     * @return entradas en la caché
+     */
+    public long size() {
+        return timelines.synchronous().estimatedSize();
+    }
+
+    /**
+     * Ejecuta el mantenimiento pendiente (expulsiones y caducidades) de forma síncrona.
+     */
+    void cleanUp() {
+        timelines.synchronous().cleanUp();
+    }
+
+    /**
+     * Publica tamaño, aciertos, fallos, cargas y expulsiones como métricas {@code cache.*}.
+     *
+     * @param registry registro de métricas de la aplicación
+     */
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        CaffeineCacheMetrics.monitor(registry, timelines, CACHE_NAME);
+    }
+
+    /**
+     * Informa de aciertos, fallos y expulsiones; la configuración lo programa cada
+     * {@code app.prices.cache.stats-interval}.
+     */
+    public void logStats() {
+        CacheStats stats = stats();
+        log.info("Caché de líneas temporales: {} productos, {} aciertos, {} fallos ({}% acierto), {} expulsiones",
+                size(), stats.hitCount(), stats.missCount(), Math.round(stats.hitRate() * 100),
+                stats.evictionCount());
+    }
+}
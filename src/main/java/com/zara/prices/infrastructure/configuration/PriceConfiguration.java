@@ -1,12 +1,37 @@
 package com.zara.prices.infrastructure.configuration;
 
+import java.time.Duration;
+import java.time.Instant;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
+import com.zara.prices.application.ExportApplicablePricesService;
 import com.zara.prices.application.GetApplicablePriceService;
+import com.zara.prices.application.ReactiveGetApplicablePriceService;
+import com.zara.prices.domain.port.in.ExportApplicablePricesUseCase;
 import com.zara.prices.domain.port.in.GetApplicablePriceUseCase;
+import com.zara.prices.domain.port.in.ReactiveGetApplicablePriceUseCase;
+import com.zara.prices.domain.port.out.PriceCatalogFilter;
+import com.zara.prices.domain.port.out.PriceExportRepository;
+import com.zara.prices.domain.port.out.PriceInvalidationBus;
+import com.zara.prices.domain.port.out.PriceInvalidationSource;
 import com.zara.prices.domain.port.out.PriceRepository;
+import com.zara.prices.domain.port.out.ReactivePriceRepository;
 import com.zara.prices.domain.service.PriceDomainService;
+import com.zara.prices.infrastructure.cache.CachingGetApplicablePriceUseCase;
+import com.zara.prices.infrastructure.metrics.MeteredGetApplicablePriceUseCase;
+import com.zara.prices.infrastructure.metrics.MeteredPriceRepository;
+import com.zara.prices.infrastructure.metrics.PriceMetrics;
+import com.zara.prices.infrastructure.persistence.replica.HedgedQueryExecutor;
+import com.zara.prices.infrastructure.persistence.replica.HedgingPriceRepository;
+
+import io.micrometer.core.instrument.MeterRegistry;
 
 /**
  * Clase de configuración de Spring para el módulo de precios.
@@ -20,13 +45,21 @@ import com.zara.prices.domain.service.PriceDomainService;
  *   <li>Instancia los casos de uso (capa de aplicación)</li>
  *   <li>Conecta los puertos con sus adaptadores</li>
  *   <li>Gestiona la inyección de dependencias entre capas</li>
+ *   <li>Habilita las tareas programadas de los adaptadores (refresco de cachés)</li>
+ *   <li>Envuelve caso de uso y repositorio con sus métricas ({@link PriceMetrics})</li>
  * </ul>
  * 
+ * <p>El adaptador de salida se elige con {@code app.prices.repository}:
+ * {@code jpa} (por defecto), {@code jdbc}, {@code memory} u {@code offheap}. En modo reactivo
+ * ({@code spring.main.web-application-type=reactive}) las consultas del API pasan
+ * además por el caso de uso reactivo sobre R2DBC.</p>
+ * 
  *  @author Eduardo Pindado Aguilar
  * @version 2.0
  * @since 2026-02-22
  */
 @Configuration
+@EnableScheduling
 public class PriceConfiguration {
 
     /**
@@ -53,11 +86,99 @@ public class PriceConfiguration {
      * <p>Versión optimizada: el repositorio retorna directamente el precio de mayor prioridad,
      * evitando procesamiento adicional en memoria.</p>
      * 
+     * <p>Con {@code app.prices.cache.enabled=true} el caso de uso se decora con una
+     * caché acotada de líneas temporales por producto, que no guarda los productos que el
+     * filtro de catálogo ({@code app.prices.filter.enabled=true}) da por ausentes y está
+     * suscrita al bus de invalidaciones
+     * para descartar los productos que cambian en cualquier nodo. Si el adaptador sirve
+     * una copia en proceso ({@link PriceInvalidationSource}), la caché se suscribe a él en
+     * lugar de al bus, para vaciarse solo cuando esa copia ya refleja el cambio.</p>
+     * 
+     * <p>Si hay réplicas de lectura con cobertura ({@code app.prices.replicas.hedge.enabled=true}),
+     * el adaptador se decora antes que nada con {@link HedgingPriceRepository}, de modo que
+     * el temporizador del repositorio mide ya la respuesta de la réplica más rápida.</p>
+     * 
+     * <p>El repositorio y el caso de uso resultante se envuelven con sus temporizadores,
+     * de modo que cada capa publica su propia latencia; las estadísticas de la caché se
+     * publican como {@code cache.*} con {@code cache=prices.timelines} y se registran en el
+     * log cada {@code app.prices.cache.stats-interval}.</p>
+     * 
      * @param priceRepository implementación del puerto de salida (inyectada por Spring)
+     * @param catalogFilter filtro de catálogo, si está configurado
+     * @param replicaHedging ejecutor con cobertura sobre las réplicas de lectura, si está configurado
+     * @param invalidationBus bus de invalidaciones de tarifas entre nodos
+     * @param metrics medidores de la ruta de consulta
+     * @param meterRegistry registro de métricas donde se publica la caché
+     * @param taskScheduler planificador de la aplicación, para el log de estadísticas de la caché
+     * @param adapter adaptador de salida configurado, para etiquetar sus métricas
+     * @param cacheEnabled si se decora el caso de uso con la caché de líneas temporales
+     * @param cacheMaximumSize número máximo de productos cacheados
+     * @param cacheExpireAfterWrite tiempo de vida de cada entrada de la caché
+     * @param cacheStatsInterval periodo del log de estadísticas de la caché
      * @return instancia del caso de uso lista para ser utilizada
      */
     @Bean
-    public GetApplicablePriceUseCase getApplicablePriceUseCase(PriceRepository priceRepository) {
-        return new GetApplicablePriceService(priceRepository);
+    public GetApplicablePriceUseCase getApplicablePriceUseCase(
+            PriceRepository priceRepository,
+            ObjectProvider<PriceCatalogFilter> catalogFilter,
+            ObjectProvider<HedgedQueryExecutor> replicaHedging,
+            PriceInvalidationBus invalidationBus,
+            PriceMetrics metrics,
+            MeterRegistry meterRegistry,
+            TaskScheduler taskScheduler,
+            @Value("${app.prices.repository:jpa}") String adapter,
+            @Value("${app.prices.cache.enabled:false}") boolean cacheEnabled,
+            @Value("${app.prices.cache.maximum-size:10000}") long cacheMaximumSize,
+            @Value("${app.prices.cache.expire-after-write:PT1M}") Duration cacheExpireAfterWrite,
+            @Value("${app.prices.cache.stats-interval:PT1M}") Duration cacheStatsInterval) {
+        HedgedQueryExecutor hedging = replicaHedging.getIfAvailable();
+        PriceRepository repository = new MeteredPriceRepository(
+                hedging != null ? new HedgingPriceRepository(priceRepository, hedging) : priceRepository,
+                adapter, metrics);
+        GetApplicablePriceUseCase service = new GetApplicablePriceService(repository);
+        if (cacheEnabled) {
+            CachingGetApplicablePriceUseCase caching = new CachingGetApplicablePriceUseCase(service, repository,
+                    catalogFilter.getIfAvailable(PriceCatalogFilter::acceptAll), cacheMaximumSize, cacheExpireAfterWrite);
+            caching.bindTo(meterRegistry);
+            if (priceRepository instanceof PriceInvalidationSource snapshot) {
+                snapshot.subscribe(caching::invalidate);
+            } else {
+                invalidationBus.subscribe(caching::invalidate);
+            }
+            taskScheduler.scheduleWithFixedDelay(caching::logStats, Instant.now().plus(cacheStatsInterval),
+                    cacheStatsInterval);
+            service = caching;
+        }
+        return new MeteredGetApplicablePriceUseCase(service, metrics);
+    }
+
+    /**
+     * Configura e instancia el caso de uso de exportación de precios de una cadena.
+     *
+     * <p>Usa siempre el adaptador de exportación sobre base de datos, independiente
+     * del adaptador elegido para las consultas individuales.</p>
+     *
+     * @param priceExportRepository implementación del puerto de exportación
+     * @return instancia del caso de uso
+     */
+    @Bean
+    public ExportApplicablePricesUseCase exportApplicablePricesUseCase(PriceExportRepository priceExportRepository) {
+        return new ExportApplicablePricesService(priceExportRepository);
+    }
+
+    /**
+     * Configura e instancia el caso de uso reactivo para obtener precios aplicables.
+     *
+     * <p>Solo en modo reactivo. La caché de líneas temporales no se aplica, porque carga
+     * de forma bloqueante.</p>
+     *
+     * @param reactivePriceRepository implementación del puerto de salida reactivo
+     * @return instancia del caso de uso reactivo
+     */
+    @Bean
+    @ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+    public ReactiveGetApplicablePriceUseCase reactiveGetApplicablePriceUseCase(
+            ReactivePriceRepository reactivePriceRepository) {
+        return new ReactiveGetApplicablePriceService(reactivePriceRepository);
     }
-}
\ No newline at end of file
+}
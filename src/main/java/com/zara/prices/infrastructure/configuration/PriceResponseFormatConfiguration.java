@@ -0,0 +1,41 @@
+package com.zara.prices.infrastructure.configuration;
+
+import java.util.List;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import com.zara.prices.infrastructure.web.CompactPriceHttpMessageConverter;
+import com.zara.prices.infrastructure.web.PriceProtobufHttpMessageConverter;
+import com.zara.prices.infrastructure.web.PriceResponseBodyHttpMessageConverter;
+
+/**
+ * Conversores de la respuesta de {@code GET /prices}.
+ *
+ * <p>El de los cuerpos JSON ya serializados ({@code PriceResponseBody}) va el primero,
+ * delante del conversor JSON de Jackson. Los de CBOR, Smile y Protobuf van detrás de
+ * los JSON: JSON sigue siendo la respuesta por defecto y solo se responde en binario a
+ * quien lo pide expresamente en {@code Accept}.</p>
+ *
+ * <p>Spring MVC registra por su cuenta conversores CBOR y Smile genéricos en cuanto sus
+ * módulos de Jackson están en el classpath; se retiran para que el resto de endpoints no
+ * empiecen a responder en binario con fechas en texto.</p>
+ */
+@Configuration(proxyBeanMethods = false)
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+public class PriceResponseFormatConfiguration implements WebMvcConfigurer {
+
+    @Override
+    public void extendMessageConverters(List<HttpMessageConverter<?>> converters) {
+        converters.removeIf(converter -> converter instanceof MappingJackson2CborHttpMessageConverter
+                || converter instanceof MappingJackson2SmileHttpMessageConverter);
+        converters.add(0, new PriceResponseBodyHttpMessageConverter());
+        converters.add(CompactPriceHttpMessageConverter.cbor());
+        converters.add(CompactPriceHttpMessageConverter.smile());
+        converters.add(new PriceProtobufHttpMessageConverter());
+    }
+}
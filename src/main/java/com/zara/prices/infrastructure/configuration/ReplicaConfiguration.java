@@ -0,0 +1,114 @@
+package com.zara.prices.infrastructure.configuration;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.sql.DataSource;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.zara.prices.infrastructure.persistence.replica.HedgedQueryExecutor;
+import com.zara.prices.infrastructure.persistence.replica.ReplicaRoutingDataSource;
+import com.zaxxer.hikari.HikariDataSource;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Réplicas de lectura de PRICES para el adaptador {@code jdbc}.
+ *
+ * <p>Con {@code app.prices.replicas.enabled=true} y {@code app.prices.repository=jdbc},
+ * las lecturas de {@code JdbcPriceRepository} salen de un {@link ReplicaRoutingDataSource}
+ * con un pool Hikari por URL de {@code app.prices.replicas.urls}, en modo solo lectura. El
+ * resto de la aplicación (Flyway, carga masiva, exportación, JPA) sigue en el
+ * {@code DataSource} principal: el de réplicas se declara como no candidato por defecto,
+ * así que ni sustituye al principal ni hace que Spring Boot deje de crearlo.</p>
+ *
+ * <p>Con {@code app.prices.replicas.hedge.enabled=true} se crea además el
+ * {@link HedgedQueryExecutor} con el que {@link PriceConfiguration} decora el adaptador.</p>
+ *
+ * <p>Los adaptadores {@code memory} y {@code offheap} no consultan la base de datos en la
+ * ruta de la petición, y el JPA está atado al {@code EntityManagerFactory} del principal;
+ * con ellos esta configuración no se aplica.</p>
+ */
+@Configuration(proxyBeanMethods = false)
+@ConditionalOnExpression("${app.prices.replicas.enabled:false} and '${app.prices.repository:jpa}' == 'jdbc'")
+public class ReplicaConfiguration {
+
+    private static final Logger log = LoggerFactory.getLogger(ReplicaConfiguration.class);
+
+    /**
+     * {@link DataSource} de lectura repartido entre las réplicas.
+     *
+     * @param dataSource base de datos principal, para cuando no responde ninguna réplica
+     * @param meterRegistry registro de métricas
+     * @param urls URLs JDBC de las réplicas, separadas por comas
+     * @param username usuario de las réplicas
+     * @param password contraseña de las réplicas
+     * @param poolSize conexiones máximas del pool de cada réplica
+     * @param connectionTimeout espera máxima por una conexión de una réplica antes de pasar a la siguiente
+     * @param retryAfter tiempo que una réplica que ha fallado queda fuera del turno
+     * @param fallbackToPrimary si se lee de la principal cuando no responde ninguna réplica
+     * @return {@code DataSource} de réplicas, solo inyectable con su calificador
+     */
+    @Bean(name = ReplicaRoutingDataSource.BEAN_NAME, defaultCandidate = false)
+    public ReplicaRoutingDataSource pricesReadDataSource(
+            DataSource dataSource,
+            MeterRegistry meterRegistry,
+            @Value("${app.prices.replicas.urls}") List<String> urls,
+            @Value("${app.prices.replicas.username:${spring.datasource.username:}}") String username,
+            @Value("${app.prices.replicas.password:${spring.datasource.password:}}") String password,
+            @Value("${app.prices.replicas.pool-size:10}") int poolSize,
+            @Value("${app.prices.replicas.connection-timeout:PT1S}") Duration connectionTimeout,
+            @Value("${app.prices.replicas.retry-after:PT30S}") Duration retryAfter,
+            @Value("${app.prices.replicas.fallback-to-primary:true}") boolean fallbackToPrimary) {
+        List<DataSource> replicas = new ArrayList<>();
+        for (String url : urls) {
+            if (url.isBlank()) {
+                continue;
+            }
+            // Sin arrancar el pool: la réplica que no responda al arrancar se marca en la primera petición
+            HikariDataSource replica = new HikariDataSource();
+            replica.setPoolName("prices-replica-" + (replicas.size() + 1));
+            replica.setJdbcUrl(url.trim());
+            replica.setUsername(username);
+            replica.setPassword(password);
+            replica.setMaximumPoolSize(poolSize);
+            replica.setConnectionTimeout(connectionTimeout.toMillis());
+            replica.setReadOnly(true);
+            replicas.add(replica);
+        }
+        log.info("Lecturas de PRICES repartidas entre {} réplicas{}", replicas.size(),
+                fallbackToPrimary ? ", con la base de datos principal de respaldo" : "");
+        ReplicaRoutingDataSource routing = new ReplicaRoutingDataSource(replicas,
+                fallbackToPrimary ? dataSource : null, retryAfter);
+        routing.bindTo(meterRegistry);
+        return routing;
+    }
+
+    /**
+     * Ejecutor que cubre las consultas lentas con una segunda réplica.
+     *
+     * @param replicas {@code DataSource} de réplicas
+     * @param meterRegistry registro de métricas
+     * @param percentile percentil de la latencia de las réplicas tras el que se lanza la cobertura
+     * @param minDelay plazo mínimo antes de cubrir, y plazo mientras no hay muestras
+     * @return ejecutor con cobertura
+     */
+    @Bean
+    @ConditionalOnProperty(prefix = "app.prices.replicas.hedge", name = "enabled", havingValue = "true")
+    public HedgedQueryExecutor replicaHedging(
+            @Qualifier(ReplicaRoutingDataSource.BEAN_NAME) ReplicaRoutingDataSource replicas,
+            MeterRegistry meterRegistry,
+            @Value("${app.prices.replicas.hedge.percentile:0.95}") double percentile,
+            @Value("${app.prices.replicas.hedge.min-delay:PT0.005S}") Duration minDelay) {
+        return new HedgedQueryExecutor(replicas, meterRegistry, percentile, minDelay);
+    }
+}
@@ -0,0 +1,64 @@
+package com.zara.prices.infrastructure.configuration;
+
+import java.time.Duration;
+
+import javax.sql.DataSource;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.zara.prices.infrastructure.persistence.ConnectionLimitingDataSource;
+import com.zara.prices.infrastructure.persistence.replica.ReplicaRoutingDataSource;
+
+/**
+ * Ajustes del modo de hilos virtuales ({@code spring.threads.virtual.enabled=true}).
+ *
+ * <p>Spring Boot ya atiende en ese modo las peticiones de Tomcat, las respuestas en
+ * flujo ({@code StreamingResponseBody}) y las tareas programadas con hilos virtuales.
+ * Aquí se añade lo que falta: el {@link DataSource} se envuelve en un
+ * {@link ConnectionLimitingDataSource} para que las peticiones que esperan conexión
+ * hagan cola en un semáforo, aparcando su hilo virtual, en lugar de amontonarse en Hikari.</p>
+ *
+ * <p>El límite ({@code app.prices.datasource.max-concurrent-connections}) es por defecto
+ * el tamaño del pool, y la espera máxima la misma {@code connection-timeout} de Hikari.
+ * Las réplicas de lectura ({@link ReplicaRoutingDataSource}) no se envuelven: cada una
+ * tiene su propio pool, más pequeño y con una espera corta para pasar a la siguiente.</p>
+ */
+@Configuration(proxyBeanMethods = false)
+@ConditionalOnThreading(Threading.VIRTUAL)
+public class VirtualThreadConfiguration {
+
+    private static final Logger log = LoggerFactory.getLogger(VirtualThreadConfiguration.class);
+
+    /**
+     * Envuelve el {@link DataSource} de la aplicación con el semáforo de conexiones.
+     *
+     * @param maxConnections conexiones prestadas a la vez como máximo
+     * @param acquireTimeoutMillis espera máxima por una conexión, en milisegundos
+     * @return post-procesador que envuelve el bean {@code dataSource}
+     */
+    @Bean
+    static BeanPostProcessor connectionLimitingDataSourcePostProcessor(
+            @Value("${app.prices.datasource.max-concurrent-connections:${spring.datasource.hikari.maximum-pool-size:10}}") int maxConnections,
+            @Value("${spring.datasource.hikari.connection-timeout:30000}") long acquireTimeoutMillis) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof DataSource dataSource && !(bean instanceof ConnectionLimitingDataSource)
+                        && !(bean instanceof ReplicaRoutingDataSource)) {
+                    log.info("Hilos virtuales activos: el DataSource '{}' admite {} conexiones simultáneas",
+                            beanName, maxConnections);
+                    return new ConnectionLimitingDataSource(dataSource, maxConnections,
+                            Duration.ofMillis(acquireTimeoutMillis));
+                }
+                return bean;
+            }
+        };
+    }
+}
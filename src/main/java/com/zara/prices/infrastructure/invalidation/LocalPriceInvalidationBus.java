@@ -0,0 +1,54 @@
+package com.zara.prices.infrastructure.invalidation;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import com.zara.prices.domain.model.PriceInvalidation;
+import com.zara.prices.domain.port.out.PriceInvalidationBus;
+
+/**
+ * Bus de invalidaciones dentro del proceso: lo publicado se entrega en el acto, en el
+ * hilo que publica, a los suscriptores de esta misma JVM.
+ *
+ * <p>Es el bus de un único nodo y el de los tests, donde varias cachés suscritas al
+ * mismo bus hacen de varios nodos. {@link PostgresPriceInvalidationBus} lo usa además
+ * para repartir entre sus suscriptores lo que recibe de PostgreSQL.</p>
+ *
+ * <p>Se activa con {@code app.prices.invalidation.bus=local} (por defecto).</p>
+ */
+@Component
+@ConditionalOnProperty(prefix = "app.prices.invalidation", name = "bus", havingValue = "local", matchIfMissing = true)
+public class LocalPriceInvalidationBus implements PriceInvalidationBus {
+
+    private static final Logger log = LoggerFactory.getLogger(LocalPriceInvalidationBus.class);
+
+    private final List<Consumer<PriceInvalidation>> listeners = new CopyOnWriteArrayList<>();
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void publish(PriceInvalidation invalidation) {
+        for (Consumer<PriceInvalidation> listener : listeners) {
+            try {
+                listener.accept(invalidation);
+            } catch (RuntimeException e) {
+                log.warn("Error aplicando la invalidación {}: {}", invalidation, e.getMessage(), e);
+            }
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void subscribe(Consumer<PriceInvalidation> listener) {
+        listeners.add(listener);
+    }
+}
@@ -0,0 +1,215 @@
+package com.zara.prices.infrastructure.invalidation;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.function.Consumer;
+
+import javax.sql.DataSource;
+
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.simple.JdbcClient;
+import org.springframework.stereotype.Component;
+
+import com.zara.prices.domain.model.PriceInvalidation;
+import com.zara.prices.domain.model.ProductKey;
+import com.zara.prices.domain.port.out.PriceInvalidationBus;
+
+/**
+ * Bus de invalidaciones entre nodos sobre {@code LISTEN/NOTIFY} de PostgreSQL.
+ *
+ * <p>Publicar es un {@code pg_notify} en el canal {@value #CHANNEL} con la conexión del
+ * pool. Cada nodo mantiene fuera del pool una conexión propia con {@code LISTEN} y un hilo
+ * que reparte lo recibido entre sus suscriptores; el nodo que publica recibe también su
+ * propio aviso, así que no hay entrega local aparte.</p>
+ *
+ * <p>Además de lo que publique la aplicación, el trigger de PRICES notifica cada producto
+ * modificado ({@code db/migration/postgresql/V4__notify_price_invalidations.sql}), sea quien
+ * sea el que escribe. PostgreSQL entrega los avisos al confirmar la transacción y descarta
+ * los repetidos dentro de ella.</p>
+ *
+ * <p>Formato del aviso: {@code product:<cadena>:<producto>}, {@code list:<tarifa>} o
+ * {@code all}. Un aviso que no se entiende se trata como {@code all}. Los avisos enviados
+ * mientras la conexión de escucha está caída se pierden, así que al reconectar se entrega
+ * {@code all}.</p>
+ *
+ * <p>Se activa con {@code app.prices.invalidation.bus=postgres}.</p>
+ */
+@Component
+@ConditionalOnProperty(prefix = "app.prices.invalidation", name = "bus", havingValue = "postgres")
+public class PostgresPriceInvalidationBus implements PriceInvalidationBus, ApplicationRunner, DisposableBean {
+
+    /** Canal de {@code LISTEN/NOTIFY} */
+    static final String CHANNEL = "prices_invalidation";
+
+    private static final Logger log = LoggerFactory.getLogger(PostgresPriceInvalidationBus.class);
+
+    /** Espera máxima de cada sondeo de avisos, y por tanto de la parada */
+    private static final int POLL_MILLIS = 500;
+
+    private final JdbcClient jdbcClient;
+    private final String url;
+    private final String username;
+    private final String password;
+    private final long reconnectDelayMillis;
+    private final LocalPriceInvalidationBus subscribers = new LocalPriceInvalidationBus();
+
+    private volatile boolean running;
+    private Thread listener;
+
+    /**
+     * Constructor con inyección de dependencias.
+     *
+     * @param dataSource pool de la aplicación, para publicar
+     * @param url URL JDBC de la conexión de escucha
+     * @param username usuario de la conexión de escucha
+     * @param password contraseña de la conexión de escucha
+     * @param reconnectDelay espera antes de reabrir la conexión de escucha tras un fallo
+     */
+    public PostgresPriceInvalidationBus(DataSource dataSource,
+                                        @Value("${spring.datasource.url}") String url,
+                                        @Value("${spring.datasource.username:}") String username,
+                                        @Value("${spring.datasource.password:}") String password,
+                                        @Value("${app.prices.invalidation.reconnect-delay:PT5S}") Duration reconnectDelay) {
+        this.jdbcClient = JdbcClient.create(dataSource);
+        this.url = url;
+        this.username = username;
+        this.password = password;
+        this.reconnectDelayMillis = reconnectDelay.toMillis();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void publish(PriceInvalidation invalidation) {
+        jdbcClient.sql("SELECT pg_notify(?, ?)")
+                .params(CHANNEL, payload(invalidation))
+                .query(rs -> { });
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void subscribe(Consumer<PriceInvalidation> listener) {
+        subscribers.subscribe(listener);
+    }
+
+    /**
+     * Empieza a escuchar antes de que la aplicación acepte tráfico.
+     */
+    @Override
+    public void run(ApplicationArguments args) {
+        start();
+    }
+
+    /**
+     * Arranca el hilo de escucha.
+     */
+    public synchronized void start() {
+        if (running) {
+            return;
+        }
+        running = true;
+        listener = Thread.ofPlatform().daemon().name("prices-invalidation-listener").start(this::listen);
+    }
+
+    /**
+     * Detiene el hilo de escucha y cierra su conexión.
+     *
+     * @throws InterruptedException si se interrumpe la espera al hilo
+     */
+    @Override
+    public synchronized void destroy() throws InterruptedException {
+        running = false;
+        if (listener != null) {
+            listener.join(POLL_MILLIS * 4L);
+        }
+    }
+
+    private void listen() {
+        boolean reconnecting = false;
+        while (running) {
+            try (Connection connection = DriverManager.getConnection(url, username, password)) {
+                try (Statement statement = connection.createStatement()) {
+                    statement.execute("LISTEN " + CHANNEL);
+                }
+                log.info("Escuchando invalidaciones de tarifas en el canal {}", CHANNEL);
+                if (reconnecting) {
+                    subscribers.publish(PriceInvalidation.all());
+                }
+                PGConnection notifications = connection.unwrap(PGConnection.class);
+                while (running) {
+                    PGNotification[] received = notifications.getNotifications(POLL_MILLIS);
+                    if (received != null) {
+                        for (PGNotification notification : received) {
+                            subscribers.publish(parse(notification.getParameter()));
+                        }
+                    }
+                }
+            } catch (SQLException e) {
+                if (!running) {
+                    return;
+                }
+                reconnecting = true;
+                log.warn("Conexión de escucha de invalidaciones perdida; reintento en {} ms: {}",
+                        reconnectDelayMillis, e.getMessage());
+                try {
+                    Thread.sleep(reconnectDelayMillis);
+                } catch (InterruptedException interrupted) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+        }
+    }
+
+    /**
+     * Texto del aviso.
+     *
+     * @param invalidation invalidación
+     * @return carga útil de {@code NOTIFY}
+     */
+    static String payload(PriceInvalidation invalidation) {
+        return switch (invalidation) {
+            case PriceInvalidation.Product product -> "product:" + product.key().brandId() + ":" + product.key().productId();
+            case PriceInvalidation.PriceList priceList -> "list:" + priceList.priceList();
+            case PriceInvalidation.All all -> "all";
+        };
+    }
+
+    /**
+     * Interpreta el texto de un aviso.
+     *
+     * @param payload carga útil de {@code NOTIFY}
+     * @return invalidación; {@code all} si el texto no se entiende
+     */
+    static PriceInvalidation parse(String payload) {
+        String[] parts = payload.split(":");
+        try {
+            if (parts.length == 3 && parts[0].equals("product")) {
+                return PriceInvalidation.product(new ProductKey(Long.parseLong(parts[1]), Long.parseLong(parts[2])));
+            }
+            if (parts.length == 2 && parts[0].equals("list")) {
+                return PriceInvalidation.priceList(Integer.parseInt(parts[1]));
+            }
+        } catch (NumberFormatException e) {
+            // Se trata como aviso desconocido
+        }
+        if (!payload.equals("all")) {
+            log.warn("Aviso de invalidación desconocido '{}': se invalida todo", payload);
+        }
+        return PriceInvalidation.all();
+    }
+}
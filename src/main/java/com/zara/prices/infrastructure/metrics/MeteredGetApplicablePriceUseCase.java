@@ -0,0 +1,95 @@
+package com.zara.prices.infrastructure.metrics;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+import com.zara.prices.domain.model.ApplicablePrice;
+import com.zara.prices.domain.model.Price;
+import com.zara.prices.domain.model.PriceQuery;
+import com.zara.prices.domain.model.PriceTimeline;
+import com.zara.prices.domain.port.in.GetApplicablePriceUseCase;
+
+/**
+ * Decorador del caso de uso que mide su duración y cuenta los resultados.
+ *
+ * <p>Es la capa más externa del caso de uso: su tiempo incluye la caché y el filtro de
+ * catálogo, si están activos. Las consultas de un lote cuentan una a una como
+ * {@code found} o {@code not_found}.</p>
+ */
+public class MeteredGetApplicablePriceUseCase implements GetApplicablePriceUseCase {
+
+    private final GetApplicablePriceUseCase delegate;
+    private final PriceMetrics metrics;
+
+    /**
+     * Constructor con inyección de dependencias.
+     *
+     * @param delegate caso de uso medido
+     * @param metrics medidores de la ruta de consulta
+     */
+    public MeteredGetApplicablePriceUseCase(GetApplicablePriceUseCase delegate, PriceMetrics metrics) {
+        this.delegate = delegate;
+        this.metrics = metrics;
+    }
+
+    @Override
+    public Optional<Price> find(Long brandId, Long productId, LocalDateTime date) {
+        PriceMetrics.BrandMeters meters = metrics.brand(brandId);
+        long startNanos = System.nanoTime();
+        Optional<Price> price;
+        try {
+            price = delegate.find(brandId, productId, date);
+        } finally {
+            meters.find().record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+        }
+        (price.isPresent() ? meters.found() : meters.notFound()).increment();
+        return price;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * <p>Cuenta como {@link #find}: mismo temporizador y mismos contadores de resultado.</p>
+     */
+    @Override
+    public Optional<ApplicablePrice> findApplicable(Long brandId, Long productId, LocalDateTime date) {
+        PriceMetrics.BrandMeters meters = metrics.brand(brandId);
+        long startNanos = System.nanoTime();
+        Optional<ApplicablePrice> applicable;
+        try {
+            applicable = delegate.findApplicable(brandId, productId, date);
+        } finally {
+            meters.find().record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+        }
+        (applicable.isPresent() ? meters.found() : meters.notFound()).increment();
+        return applicable;
+    }
+
+    @Override
+    public List<Optional<Price>> findAll(List<PriceQuery> queries) {
+        long startNanos = System.nanoTime();
+        List<Optional<Price>> prices;
+        try {
+            prices = delegate.findAll(queries);
+        } finally {
+            metrics.findAllTimer().record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+        }
+        for (int i = 0; i < prices.size(); i++) {
+            PriceMetrics.BrandMeters meters = metrics.brand(queries.get(i).brandId());
+            (prices.get(i).isPresent() ? meters.found() : meters.notFound()).increment();
+        }
+        return prices;
+    }
+
+    @Override
+    public Optional<PriceTimeline> findTimeline(Long brandId, Long productId) {
+        long startNanos = System.nanoTime();
+        try {
+            return delegate.findTimeline(brandId, productId);
+        } finally {
+            metrics.brand(brandId).timeline().record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+        }
+    }
+}
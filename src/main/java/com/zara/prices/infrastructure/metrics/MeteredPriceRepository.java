@@ -0,0 +1,98 @@
+package com.zara.prices.infrastructure.metrics;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+import com.zara.prices.domain.model.ApplicablePrice;
+import com.zara.prices.domain.model.Price;
+import com.zara.prices.domain.model.PriceQuery;
+import com.zara.prices.domain.model.PriceTimeline;
+import com.zara.prices.domain.port.out.PriceRepository;
+
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * Decorador del puerto de salida que mide la duración de cada llamada al adaptador.
+ *
+ * <p>La etiqueta {@code adapter} distingue el adaptador configurado, para comparar en
+ * el mismo panel la consulta a base de datos con las copias en memoria.</p>
+ */
+public class MeteredPriceRepository implements PriceRepository {
+
+    private final PriceRepository delegate;
+    private final Timer applicable;
+    private final Timer highestPriority;
+    private final Timer highestPriorityWithValidity;
+    private final Timer batch;
+    private final Timer timeline;
+
+    /**
+     * Constructor con inyección de dependencias.
+     *
+     * @param delegate adaptador medido
+     * @param adapter nombre del adaptador ({@code app.prices.repository})
+     * @param metrics medidores de la ruta de consulta
+     */
+    public MeteredPriceRepository(PriceRepository delegate, String adapter, PriceMetrics metrics) {
+        this.delegate = delegate;
+        this.applicable = metrics.repositoryTimer(adapter, "applicable");
+        this.highestPriority = metrics.repositoryTimer(adapter, "highest_priority");
+        this.highestPriorityWithValidity = metrics.repositoryTimer(adapter, "highest_priority_validity");
+        this.batch = metrics.repositoryTimer(adapter, "batch");
+        this.timeline = metrics.repositoryTimer(adapter, "timeline");
+    }
+
+    @Override
+    @Deprecated(since = "2.0")
+    public List<Price> findApplicable(Long brandId, Long productId, LocalDateTime date) {
+        long startNanos = System.nanoTime();
+        try {
+            return delegate.findApplicable(brandId, productId, date);
+        } finally {
+            applicable.record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    @Override
+    public Optional<Price> findHighestPriorityApplicable(Long brandId, Long productId, LocalDateTime date) {
+        long startNanos = System.nanoTime();
+        try {
+            return delegate.findHighestPriorityApplicable(brandId, productId, date);
+        } finally {
+            highestPriority.record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    @Override
+    public Optional<ApplicablePrice> findHighestPriorityApplicableWithValidity(Long brandId, Long productId,
+                                                                               LocalDateTime date) {
+        long startNanos = System.nanoTime();
+        try {
+            return delegate.findHighestPriorityApplicableWithValidity(brandId, productId, date);
+        } finally {
+            highestPriorityWithValidity.record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    @Override
+    public Optional<PriceTimeline> findTimeline(Long brandId, Long productId) {
+        long startNanos = System.nanoTime();
+        try {
+            return delegate.findTimeline(brandId, productId);
+        } finally {
+            timeline.record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    @Override
+    public List<Optional<Price>> findHighestPriorityApplicable(List<PriceQuery> queries) {
+        long startNanos = System.nanoTime();
+        try {
+            return delegate.findHighestPriorityApplicable(queries);
+        } finally {
+            batch.record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+        }
+    }
+}
@@ -0,0 +1,142 @@
+package com.zara.prices.infrastructure.metrics;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * Medidores de la ruta de consulta de precios.
+ *
+ * <ul>
+ *   <li>{@value #USE_CASE_TIMER}: duración del caso de uso, por operación y cadena</li>
+ *   <li>{@value #REPOSITORY_TIMER}: duración de cada llamada al adaptador de salida, por
+ *       adaptador y operación</li>
+ *   <li>{@value #LOOKUPS_COUNTER}: consultas por resultado ({@code found}, {@code not_found},
+ *       {@code invalid}) y cadena</li>
+ * </ul>
+ *
+ * <p>La etiqueta {@code brand} solo toma los valores de {@code app.prices.metrics.brands};
+ * cualquier otra cadena se agrupa como {@value #OTHER_BRAND}, de modo que un cliente que
+ * recorra identificadores no puede disparar el número de series. Los medidores de cada
+ * cadena se registran al arrancar y la ruta de consulta solo hace una búsqueda en un mapa.</p>
+ *
+ * <p>Los histogramas de percentiles se activan por configuración
+ * ({@code management.metrics.distribution.percentiles-histogram.prices}).</p>
+ */
+@Component
+public class PriceMetrics {
+
+    /** Duración del caso de uso */
+    static final String USE_CASE_TIMER = "prices.usecase";
+
+    /** Duración de las llamadas al repositorio */
+    static final String REPOSITORY_TIMER = "prices.repository";
+
+    /** Consultas por resultado */
+    static final String LOOKUPS_COUNTER = "prices.lookups";
+
+    /** Valor de la etiqueta {@code brand} para las cadenas no configuradas */
+    static final String OTHER_BRAND = "other";
+
+    /** Valor de la etiqueta {@code brand} cuando la petición no llega a identificar cadena */
+    static final String NO_BRAND = "none";
+
+    private final MeterRegistry registry;
+    private final Map<Long, BrandMeters> brands;
+    private final BrandMeters otherBrands;
+    private final Counter invalid;
+    private final Timer findAll;
+
+    /**
+     * Constructor con inyección de dependencias.
+     *
+     * @param registry registro de métricas de la aplicación
+     * @param brands cadenas que se etiquetan por separado
+     */
+    public PriceMetrics(MeterRegistry registry, @Value("${app.prices.metrics.brands:1}") Set<Long> brands) {
+        this.registry = registry;
+        Map<Long, BrandMeters> meters = new HashMap<>();
+        for (Long brandId : brands) {
+            meters.put(brandId, new BrandMeters(registry, brandId.toString()));
+        }
+        this.brands = Map.copyOf(meters);
+        this.otherBrands = new BrandMeters(registry, OTHER_BRAND);
+        this.invalid = lookups(registry, "invalid", NO_BRAND);
+        this.findAll = useCaseTimer(registry, "find_all", "all");
+    }
+
+    /**
+     * Medidores de una cadena.
+     *
+     * @param brandId identificador de la cadena
+     * @return sus medidores, o los compartidos si la cadena no está configurada
+     */
+    public BrandMeters brand(Long brandId) {
+        BrandMeters meters = brandId == null ? null : brands.get(brandId);
+        return meters != null ? meters : otherBrands;
+    }
+
+    /** Duración del caso de uso por lotes; el lote mezcla cadenas */
+    public Timer findAllTimer() {
+        return findAll;
+    }
+
+    /** Peticiones rechazadas por validación */
+    public Counter invalidRequests() {
+        return invalid;
+    }
+
+    /**
+     * Temporizador de una operación del repositorio.
+     *
+     * @param adapter adaptador de salida ({@code jpa}, {@code memory}, {@code offheap})
+     * @param operation operación del puerto
+     * @return temporizador registrado
+     */
+    public Timer repositoryTimer(String adapter, String operation) {
+        return Timer.builder(REPOSITORY_TIMER)
+                .description("Duración de las llamadas al repositorio de precios")
+                .tag("adapter", adapter)
+                .tag("operation", operation)
+                .register(registry);
+    }
+
+    private static Timer useCaseTimer(MeterRegistry registry, String operation, String brand) {
+        return Timer.builder(USE_CASE_TIMER)
+                .description("Duración del caso de uso de consulta de precios")
+                .tag("operation", operation)
+                .tag("brand", brand)
+                .register(registry);
+    }
+
+    private static Counter lookups(MeterRegistry registry, String outcome, String brand) {
+        return Counter.builder(LOOKUPS_COUNTER)
+                .description("Consultas de precio por resultado")
+                .tag("outcome", outcome)
+                .tag("brand", brand)
+                .register(registry);
+    }
+
+    /**
+     * Medidores ya registrados de una cadena.
+     *
+     * @param find duración de la consulta de precio aplicable
+     * @param timeline duración de la consulta de línea temporal
+     * @param found consultas con precio
+     * @param notFound consultas sin precio
+     */
+    public record BrandMeters(Timer find, Timer timeline, Counter found, Counter notFound) {
+
+        BrandMeters(MeterRegistry registry, String brand) {
+            this(useCaseTimer(registry, "find", brand), useCaseTimer(registry, "timeline", brand),
+                    lookups(registry, "found", brand), lookups(registry, "not_found", brand));
+        }
+    }
+}
@@ -0,0 +1,16 @@
+package com.zara.prices.infrastructure.persistence;
+
+import java.time.LocalDateTime;
+
+/**
+ * Tarifa ganadora leída de PRICES junto con el inicio de la primera tarifa que la supera.
+ *
+ * <p>Proyección de {@link PriceJpaRepository#findApplicableWithOutranking}; con ella se
+ * calcula {@code validUntil} sin traer el resto de tarifas del producto.</p>
+ *
+ * @param price tarifa ganadora
+ * @param outrankedFrom inicio de la primera tarifa posterior a la fecha que la supera antes
+ *                      de que termine, o {@code null} si no hay ninguna
+ */
+public record ApplicablePriceEntity(PriceEntity price, LocalDateTime outrankedFrom) {
+}
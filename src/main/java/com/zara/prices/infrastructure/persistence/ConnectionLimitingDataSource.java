@@ -0,0 +1,126 @@
+package com.zara.prices.infrastructure.persistence;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.time.Duration;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import javax.sql.DataSource;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+/**
+ * {@link DataSource} que limita con un semáforo las conexiones prestadas a la vez.
+ *
+ * <p>Pensado para el modo de hilos virtuales: con un hilo por petición, miles de
+ * peticiones pueden pedir conexión a la vez a un pool de unas decenas. El semáforo
+ * (justo, FIFO) las encola antes de llegar al pool, de modo que esperar una conexión
+ * solo aparca el hilo virtual y el pool ve como mucho {@code permits} peticiones.</p>
+ *
+ * <p>El permiso se toma al pedir la conexión y se devuelve al cerrarla, una sola vez
+ * aunque se cierre varias veces. Si no hay permiso en {@code acquireTimeout}, falla
+ * con {@link SQLTransientConnectionException}, igual que Hikari al agotar su espera.</p>
+ */
+public class ConnectionLimitingDataSource extends DelegatingDataSource {
+
+    private final Semaphore permits;
+    private final long acquireTimeoutNanos;
+
+    /**
+     * Constructor.
+     *
+     * @param target pool de conexiones envuelto
+     * @param maxConnections conexiones prestadas a la vez como máximo
+     * @param acquireTimeout espera máxima por un permiso
+     */
+    public ConnectionLimitingDataSource(DataSource target, int maxConnections, Duration acquireTimeout) {
+        super(target);
+        if (maxConnections <= 0) {
+            throw new IllegalArgumentException("maxConnections debe ser positivo: " + maxConnections);
+        }
+        this.permits = new Semaphore(maxConnections, true);
+        this.acquireTimeoutNanos = acquireTimeout.toNanos();
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        acquire();
+        return limited(() -> obtainTargetDataSource().getConnection());
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        acquire();
+        return limited(() -> obtainTargetDataSource().getConnection(username, password));
+    }
+
+    /**
+     * Permisos libres en este momento.
+     *
+     * @return conexiones que aún se pueden prestar sin esperar
+     */
+    public int availablePermits() {
+        return permits.availablePermits();
+    }
+
+    /**
+     * Hilos esperando un permiso, aproximado.
+     *
+     * @return longitud de la cola del semáforo
+     */
+    public int queueLength() {
+        return permits.getQueueLength();
+    }
+
+    private void acquire() throws SQLException {
+        try {
+            if (!permits.tryAcquire(acquireTimeoutNanos, TimeUnit.NANOSECONDS)) {
+                throw new SQLTransientConnectionException("Sin conexión disponible tras "
+                        + TimeUnit.NANOSECONDS.toMillis(acquireTimeoutNanos) + " ms (" + permits.getQueueLength()
+                        + " hilos en espera)");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLTransientConnectionException("Interrumpido esperando una conexión", e);
+        }
+    }
+
+    private Connection limited(ConnectionSupplier supplier) throws SQLException {
+        Connection connection;
+        try {
+            connection = supplier.get();
+        } catch (SQLException | RuntimeException e) {
+            permits.release();
+            throw e;
+        }
+        AtomicBoolean released = new AtomicBoolean();
+        return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(), new Class<?>[] { Connection.class },
+                (proxy, method, args) -> {
+                    if (method.getName().equals("close") && method.getParameterCount() == 0) {
+                        try {
+                            connection.close();
+                        } finally {
+                            if (released.compareAndSet(false, true)) {
+                                permits.release();
+                            }
+                        }
+                        return null;
+                    }
+                    try {
+                        return method.invoke(connection, args);
+                    } catch (InvocationTargetException e) {
+                        throw e.getCause();
+                    }
+                });
+    }
+
+    @FunctionalInterface
+    private interface ConnectionSupplier {
+        Connection get() throws SQLException;
+    }
+}
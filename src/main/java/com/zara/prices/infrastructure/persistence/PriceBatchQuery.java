@@ -0,0 +1,128 @@
+package com.zara.prices.infrastructure.persistence;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+
+import org.hibernate.query.NativeQuery;
+import org.hibernate.type.StandardBasicTypes;
+import org.springframework.stereotype.Component;
+
+import com.zara.prices.domain.model.Price;
+import com.zara.prices.domain.model.PriceQuery;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+
+/**
+ * Consulta nativa que resuelve un lote de consultas de precio en un único viaje a la BD.
+ *
+ * <p>Las consultas se envían como una tabla derivada {@code VALUES} numerada, que se
+ * cruza con PRICES por (cadena, producto) y rango de fechas. Una función de ventana
+ * {@code ROW_NUMBER()} ordena las tarifas de cada consulta por prioridad descendente
+ * (desempatando por inicio más reciente y tarifa más alta, como {@code PriceTimeline})
+ * y solo se devuelve la primera de cada una.</p>
+ *
+ * <p>Los parámetros llevan {@code CAST} explícito para que PostgreSQL pueda inferir los
+ * tipos de la tabla derivada; la sintaxis es válida también en H2.</p>
+ *
+ * <p>El adaptador JDBC ejecuta la misma sentencia ({@link #sql(int)}) sin pasar por Hibernate.</p>
+ */
+@Component
+public class PriceBatchQuery {
+
+    /**
+     * Consultas por sentencia: limita el número de parámetros enlazados (4 por consulta)
+     * muy por debajo del máximo de los drivers.
+     */
+    public static final int MAX_QUERIES_PER_STATEMENT = 500;
+
+    private static final String ROW = "(CAST(? AS INTEGER), CAST(? AS BIGINT), CAST(? AS BIGINT), CAST(? AS TIMESTAMP))";
+
+    private static final String SELECT = """
+            SELECT r.IDX, r.BRAND_ID, r.PRODUCT_ID, r.START_DATE, r.END_DATE, r.PRIORITY, r.PRICE, r.CURRENCY, r.PRICE_LIST
+            FROM (
+                SELECT q.IDX, p.BRAND_ID, p.PRODUCT_ID, p.START_DATE, p.END_DATE, p.PRIORITY, p.PRICE, p.CURRENCY, p.PRICE_LIST,
+                       ROW_NUMBER() OVER (PARTITION BY q.IDX
+                                          ORDER BY p.PRIORITY DESC, p.START_DATE DESC, p.PRICE_LIST DESC) AS RN
+                FROM (VALUES %s) AS q (IDX, BRAND_ID, PRODUCT_ID, AT_DATE)
+                JOIN PRICES p
+                  ON p.BRAND_ID = q.BRAND_ID
+                 AND p.PRODUCT_ID = q.PRODUCT_ID
+                 AND q.AT_DATE BETWEEN p.START_DATE AND p.END_DATE
+            ) r
+            WHERE r.RN = 1
+            """;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    /**
+     * Sentencia para un trozo de lote.
+     *
+     * <p>Enlaza cuatro parámetros por consulta (posición en el lote, cadena, producto y
+     * fecha) y devuelve las columnas IDX, BRAND_ID, PRODUCT_ID, START_DATE, END_DATE,
+     * PRIORITY, PRICE, CURRENCY y PRICE_LIST.</p>
+     *
+     * @param queries consultas del trozo, como mucho {@link #MAX_QUERIES_PER_STATEMENT}
+     * @return SQL de la consulta
+     */
+    public static String sql(int queries) {
+        return SELECT.formatted(String.join(", ", Collections.nCopies(queries, ROW)));
+    }
+
+    /**
+     * Resuelve el precio de mayor prioridad de cada consulta.
+     *
+     * <p>Los lotes de más de {@link #MAX_QUERIES_PER_STATEMENT} consultas se parten en
+     * varias sentencias.</p>
+     *
+     * @param queries consultas a resolver
+     * @return precios aplicables, en el orden de las consultas
+     */
+    List<Optional<Price>> findHighestPriorityApplicable(List<PriceQuery> queries) {
+        List<Optional<Price>> results = new ArrayList<>(Collections.nCopies(queries.size(), Optional.<Price>empty()));
+        for (int from = 0; from < queries.size(); from += MAX_QUERIES_PER_STATEMENT) {
+            int to = Math.min(queries.size(), from + MAX_QUERIES_PER_STATEMENT);
+            resolve(queries.subList(from, to), from, results);
+        }
+        return results;
+    }
+
+    @SuppressWarnings("unchecked")
+    private void resolve(List<PriceQuery> chunk, int offset, List<Optional<Price>> results) {
+        NativeQuery<Object[]> query = entityManager.createNativeQuery(sql(chunk.size())).unwrap(NativeQuery.class);
+        int parameter = 1;
+        for (int i = 0; i < chunk.size(); i++) {
+            PriceQuery priceQuery = chunk.get(i);
+            query.setParameter(parameter++, offset + i);
+            query.setParameter(parameter++, priceQuery.brandId());
+            query.setParameter(parameter++, priceQuery.productId());
+            query.setParameter(parameter++, priceQuery.date());
+        }
+        query.addScalar("IDX", StandardBasicTypes.INTEGER)
+             .addScalar("BRAND_ID", StandardBasicTypes.LONG)
+             .addScalar("PRODUCT_ID", StandardBasicTypes.LONG)
+             .addScalar("START_DATE", StandardBasicTypes.LOCAL_DATE_TIME)
+             .addScalar("END_DATE", StandardBasicTypes.LOCAL_DATE_TIME)
+             .addScalar("PRIORITY", StandardBasicTypes.INTEGER)
+             .addScalar("PRICE", StandardBasicTypes.BIG_DECIMAL)
+             .addScalar("CURRENCY", StandardBasicTypes.STRING)
+             .addScalar("PRICE_LIST", StandardBasicTypes.INTEGER);
+        for (Object[] row : query.getResultList()) {
+            results.set((Integer) row[0], Optional.of(Price.of(
+                (Long) row[1],
+                (Long) row[2],
+                (LocalDateTime) row[3],
+                (LocalDateTime) row[4],
+                (Integer) row[5],
+                (BigDecimal) row[6],
+                (String) row[7],
+                (Integer) row[8]
+            )));
+        }
+    }
+}
@@ -0,0 +1,65 @@
+package com.zara.prices.infrastructure.persistence;
+
+import java.time.LocalDateTime;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.ToString;
+
+/**
+ * Entidad de infraestructura que mapea el registro de cambios PRICE_CHANGES.
+ *
+ * <p>Cada fila indica que las tarifas de un producto han cambiado (alta, modificación
+ * o baja en PRICES). El identificador es creciente, así que sirve de marca de agua
+ * para leer solo los cambios posteriores a la última sincronización.</p>
+ *
+ * <p>En PostgreSQL las filas las genera un trigger sobre PRICES
+ * ({@code db/migration/postgresql/V2__price_changes.sql}); quien escriba en PRICES sin ese trigger
+ * debe insertar la fila correspondiente en la misma transacción.</p>
+ *
+ * <p>Una fila sin cadena ni producto es una marca de recarga completa
+ * ({@link #isFullReload()}): la escribe la carga masiva al sustituir PRICES, en lugar de
+ * una fila por producto, y quien la lea debe recargar todo.</p>
+ */
+@Entity
+@Table(name = "PRICE_CHANGES")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@ToString
+public class PriceChangeEntity {
+    /** Número de cambio, creciente */
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    /** Identificador de la cadena del producto modificado */
+    @Column(name = "BRAND_ID")
+    private Long brandId;
+
+    /** Identificador del producto modificado */
+    @Column(name = "PRODUCT_ID")
+    private Long productId;
+
+    /** Momento del cambio */
+    @Column(name = "CHANGED_AT", nullable = false)
+    private LocalDateTime changedAt;
+
+    /**
+     * Indica si la fila es una marca de recarga completa en lugar de un producto.
+     *
+     * @return {@code true} si no tiene cadena ni producto
+     */
+    public boolean isFullReload() {
+        return brandId == null && productId == null;
+    }
+}
@@ -0,0 +1,48 @@
+package com.zara.prices.infrastructure.persistence;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Repositorio Spring Data JPA del registro de cambios PRICE_CHANGES.
+ *
+ * <p>Permite a las copias en proceso de PRICES sincronizarse leyendo solo los
+ * cambios posteriores a una marca de agua, en lugar de recargar la tabla.</p>
+ */
+public interface PriceChangeJpaRepository extends JpaRepository<PriceChangeEntity, Long> {
+
+    /**
+     * Retorna el último número de cambio registrado.
+     *
+     * @return identificador del cambio más reciente, o 0 si no hay ninguno
+     */
+    @Query("SELECT COALESCE(MAX(c.id), 0) FROM PriceChangeEntity c")
+    long findMaxId();
+
+    /**
+     * Lee los cambios posteriores a una marca de agua, en orden.
+     *
+     * @param id marca de agua (exclusiva)
+     * @param limit número máximo de cambios a leer
+     * @return cambios con identificador mayor que {@code id}, ordenados de forma ascendente
+     */
+    List<PriceChangeEntity> findByIdGreaterThanOrderByIdAsc(Long id, Limit limit);
+
+    /**
+     * Borra los cambios registrados antes de un instante.
+     *
+     * @param cutoff instante límite (exclusivo)
+     * @return número de cambios borrados
+     */
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM PriceChangeEntity c WHERE c.changedAt < :cutoff")
+    int deleteByChangedAtBefore(@Param("cutoff") LocalDateTime cutoff);
+}
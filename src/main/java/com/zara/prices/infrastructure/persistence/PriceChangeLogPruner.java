@@ -0,0 +1,61 @@
+package com.zara.prices.infrastructure.persistence;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Retención del registro de cambios PRICE_CHANGES.
+ *
+ * <p>Cada {@code app.prices.change-log.prune-interval} borra los cambios con más de
+ * {@code app.prices.change-log.retention} de antigüedad, para que la tabla no crezca sin
+ * límite. Quien lee el registro (la copia en memoria, el filtro de catálogo) lo sondea
+ * cada pocos segundos y además se recarga entero periódicamente, así que un cambio
+ * borrado antes de leerse solo se pierde hasta esa recarga; la retención debe ser mayor
+ * que sus intervalos de recarga completa.</p>
+ *
+ * <p>Además, la carga masiva vacía el registro al sustituir PRICES, porque deja en él una
+ * marca de recarga completa que hace innecesario todo lo anterior.</p>
+ */
+@Component
+public class PriceChangeLogPruner {
+
+    private static final Logger log = LoggerFactory.getLogger(PriceChangeLogPruner.class);
+
+    private final PriceChangeJpaRepository priceChangeJpaRepository;
+    private final Duration retention;
+
+    /**
+     * Constructor con inyección de dependencias.
+     *
+     * @param priceChangeJpaRepository registro de cambios
+     * @param retention antigüedad a partir de la cual se borran los cambios
+     */
+    public PriceChangeLogPruner(PriceChangeJpaRepository priceChangeJpaRepository,
+                                @Value("${app.prices.change-log.retention:P1D}") Duration retention) {
+        this.priceChangeJpaRepository = priceChangeJpaRepository;
+        this.retention = retention;
+    }
+
+    /**
+     * Borra los cambios más antiguos que la retención.
+     *
+     * @return número de cambios borrados
+     */
+    @Scheduled(
+        fixedDelayString = "${app.prices.change-log.prune-interval:PT1H}",
+        initialDelayString = "${app.prices.change-log.prune-interval:PT1H}"
+    )
+    public int prune() {
+        int deleted = priceChangeJpaRepository.deleteByChangedAtBefore(LocalDateTime.now().minus(retention));
+        if (deleted > 0) {
+            log.info("Registro de cambios PRICE_CHANGES podado: {} cambios con más de {} borrados", deleted, retention);
+        }
+        return deleted;
+    }
+}
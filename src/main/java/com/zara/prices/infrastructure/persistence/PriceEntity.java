@@ -25,9 +25,9 @@ import lombok.ToString;
 @Table(
     name = "PRICES",
     indexes = {
-        @jakarta.persistence.Index(name = "idx_brand_product", columnList = "BRAND_ID,PRODUCT_ID"),
-        @jakarta.persistence.Index(name = "idx_start_date", columnList = "START_DATE"),
-        @jakarta.persistence.Index(name = "idx_end_date", columnList = "END_DATE")
+        // Creado por las migraciones (db/migration); se declara para los esquemas generados por Hibernate
+        @jakarta.persistence.Index(name = "idx_prices_lookup",
+                columnList = "BRAND_ID,PRODUCT_ID,START_DATE,END_DATE,PRIORITY DESC")
     }
 )
 @Getter
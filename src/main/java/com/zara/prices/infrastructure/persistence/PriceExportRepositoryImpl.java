@@ -0,0 +1,74 @@
+package com.zara.prices.infrastructure.persistence;
+
+import java.time.LocalDateTime;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.zara.prices.domain.model.Price;
+import com.zara.prices.domain.port.out.PriceExportRepository;
+
+import jakarta.persistence.EntityManager;
+
+/**
+ * Adaptador de exportación que recorre PRICES con un cursor de solo lectura.
+ *
+ * <p>Lee siempre de la base de datos, sea cual sea {@code app.prices.repository}: una
+ * exportación completa es poco frecuente y no debe depender de que la instancia tenga
+ * cargada una copia en memoria.</p>
+ *
+ * <p>Las filas llegan agrupadas por producto con la ganadora en primer lugar; se
+ * entrega esa y se descartan las demás. Cada entidad se desvincula nada más leerla,
+ * así que el contexto de persistencia no crece y la memoria usada es la del fetch
+ * size, no la del catálogo.</p>
+ */
+@Repository
+public class PriceExportRepositoryImpl implements PriceExportRepository {
+
+    private final PriceJpaRepository priceJpaRepository;
+    private final PriceJpaMapper priceJpaMapper;
+    private final EntityManager entityManager;
+    private final TransactionTemplate readOnlyTransaction;
+
+    /**
+     * Constructor con inyección de dependencias.
+     *
+     * @param priceJpaRepository repositorio JPA que abre el cursor
+     * @param priceJpaMapper mapper para conversión JPA <-> dominio
+     * @param entityManager contexto de persistencia compartido, para desvincular filas ya leídas
+     * @param transactionManager gestor de transacciones para el cursor
+     */
+    public PriceExportRepositoryImpl(PriceJpaRepository priceJpaRepository, PriceJpaMapper priceJpaMapper,
+                                     EntityManager entityManager, PlatformTransactionManager transactionManager) {
+        this.priceJpaRepository = priceJpaRepository;
+        this.priceJpaMapper = priceJpaMapper;
+        this.entityManager = entityManager;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * <p>El cursor vive en una transacción de solo lectura (en PostgreSQL es la condición
+     * para que el driver respete el fetch size en lugar de traer todo el resultado).</p>
+     */
+    @Override
+    public void forEachApplicable(Long brandId, LocalDateTime date, Consumer<Price> action) {
+        readOnlyTransaction.executeWithoutResult(status -> {
+            try (Stream<PriceEntity> rows = priceJpaRepository.streamApplicableByBrand(brandId, date)) {
+                Long[] lastProduct = new Long[1];
+                rows.forEach(row -> {
+                    if (!row.getProductId().equals(lastProduct[0])) {
+                        lastProduct[0] = row.getProductId();
+                        action.accept(priceJpaMapper.toDomain(row));
+                    }
+                    entityManager.detach(row);
+                });
+            }
+        });
+    }
+}
@@ -27,7 +27,7 @@ public class PriceJpaMapper {
      * @return objeto de dominio Price
      */
     public Price toDomain(PriceEntity e) {
-        return new Price(
+        return Price.of(
             e.getBrandId(),
             e.getProductId(),
             e.getStartDate(),
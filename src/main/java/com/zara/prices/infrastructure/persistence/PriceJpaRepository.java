@@ -3,12 +3,21 @@ package com.zara.prices.infrastructure.persistence;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
+
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Page;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 
+import com.zara.prices.domain.model.ProductKey;
+
+import jakarta.persistence.QueryHint;
+
 /**
  * Repositorio Spring Data JPA para operaciones con la entidad PriceEntity.
  * 
@@ -19,7 +28,9 @@ import org.springframework.data.repository.query.Param;
  * <ul>
  *   <li>Filtrar por brandId, productId y rango de fechas en la BD</li>
  *   <li>Ordenar por prioridad descendente para obtener primero el de mayor prioridad</li>
- *   <li>Utilizar índices automáticos en las columnas de búsqueda</li>
+ *   <li>Traer una sola fila ({@code FETCH FIRST 1 ROWS ONLY}) resuelta con el índice
+ *       compuesto {@code idx_prices_lookup} (BRAND_ID, PRODUCT_ID, START_DATE, END_DATE,
+ *       PRIORITY DESC) de las migraciones</li>
  * </ul>
  *
  * @author Eduardo Pindado Aguilar
@@ -38,25 +49,28 @@ public interface PriceJpaRepository extends JpaRepository<PriceEntity, Long> {
      *   <li>la fecha está entre startDate y endDate (ambos inclusive)</li>
      * </ul>
      * 
-     * <p>Retorna directamente el precio de mayor prioridad (O el único resultado si es que hay solo uno).
-     * Evita traer múltiples registros y procesamiento en memoria.</p>
+     * <p>Las filas salen ordenadas de la ganadora a la última (mayor prioridad, inicio más
+     * reciente y tarifa más alta, el mismo desempate que la línea temporal) y el
+     * {@link Limit} llega a la base de datos como {@code FETCH FIRST n ROWS ONLY}: solo se
+     * leen e hidratan las filas pedidas.</p>
      * 
      * @param brandId identificador de la cadena
      * @param productId identificador del producto
      * @param date fecha para verificar aplicabilidad
-     * @return Optional con el precio de mayor prioridad, o vacío si no hay resultados
+     * @param limit número máximo de filas
+     * @return tarifas aplicables, la ganadora primero
      */
     @Query(value = "SELECT p FROM PriceEntity p WHERE p.brandId = :brandId AND p.productId = :productId " +
-           "AND :date BETWEEN p.startDate AND p.endDate ORDER BY p.priority DESC")
-    List<PriceEntity> findHighestPriorityApplicableList(
+           "AND :date BETWEEN p.startDate AND p.endDate ORDER BY p.priority DESC, p.startDate DESC, p.priceList DESC")
+    List<PriceEntity> findApplicableByPriority(
         @Param("brandId") Long brandId,
         @Param("productId") Long productId,
-        @Param("date") LocalDateTime date
+        @Param("date") LocalDateTime date,
+        Limit limit
     );
 
     /**
-     * Adaptador de conveniencia que retorna Optional del primer resultado.
-     * Este método es protegido y se usa internamente para la optimización.
+     * Retorna la tarifa ganadora con una consulta limitada a una fila.
      *
      * @param brandId identificador de la cadena
      * @param productId identificador del producto
@@ -64,9 +78,36 @@ public interface PriceJpaRepository extends JpaRepository<PriceEntity, Long> {
      * @return Optional con el precio de mayor prioridad
      */
     default Optional<PriceEntity> findHighestPriorityApplicable(Long brandId, Long productId, LocalDateTime date) {
-        return findHighestPriorityApplicableList(brandId, productId, date).stream().findFirst();
+        return findApplicableByPriority(brandId, productId, date, Limit.of(1)).stream().findFirst();
     }
 
+    /**
+     * Busca la tarifa ganadora y, en la misma consulta, el instante en que otra la supera.
+     *
+     * <p>La ganadora sale igual que en {@link #findApplicableByPriority}. La subconsulta
+     * correlacionada busca la primera tarifa del producto que empieza después de la fecha
+     * y antes de que termine la ganadora con al menos su prioridad: a igual prioridad gana
+     * el inicio más reciente, así que cualquiera de ellas la desplaza. Ambas partes se
+     * resuelven con el índice {@code idx_prices_lookup}.</p>
+     *
+     * @param brandId identificador de la cadena
+     * @param productId identificador del producto
+     * @param date fecha para verificar aplicabilidad
+     * @param limit número máximo de filas
+     * @return tarifas aplicables con el inicio de la que las supera, la ganadora primero
+     */
+    @Query(value = "SELECT new com.zara.prices.infrastructure.persistence.ApplicablePriceEntity(p, "
+           + "(SELECT MIN(r.startDate) FROM PriceEntity r WHERE r.brandId = p.brandId AND r.productId = p.productId "
+           + "AND r.startDate > :date AND r.startDate <= p.endDate AND r.priority >= p.priority)) "
+           + "FROM PriceEntity p WHERE p.brandId = :brandId AND p.productId = :productId "
+           + "AND :date BETWEEN p.startDate AND p.endDate ORDER BY p.priority DESC, p.startDate DESC, p.priceList DESC")
+    List<ApplicablePriceEntity> findApplicableWithOutranking(
+        @Param("brandId") Long brandId,
+        @Param("productId") Long productId,
+        @Param("date") LocalDateTime date,
+        Limit limit
+    );
+
     /**
      * Búsqueda antigua por compatibilidad. Usa el nuevo método findHighestPriorityApplicable.
      * Mantiene retorno de lista para evitar romper interfaces existentes.
@@ -103,4 +144,71 @@ public interface PriceJpaRepository extends JpaRepository<PriceEntity, Long> {
         @Param("date") LocalDateTime date,
         Pageable pageable
     );
-}
\ No newline at end of file
+
+    /**
+     * Retorna todas las tarifas de un producto, sin filtrar por fecha.
+     *
+     * <p>Usado para reconstruir la copia en memoria de un único producto tras un cambio.</p>
+     *
+     * @param brandId identificador de la cadena
+     * @param productId identificador del producto
+     * @return tarifas del producto, en cualquier orden
+     */
+    List<PriceEntity> findByBrandIdAndProductId(Long brandId, Long productId);
+
+    /**
+     * Recorre todas las tarifas agrupadas por (cadena, producto) sin cargarlas a la vez en memoria.
+     *
+     * <p>Cursor de solo lectura con un fetch size amplio, pensado para construir
+     * copias completas del catálogo. Debe consumirse dentro de una transacción,
+     * cerrarse al terminar y desvincular las entidades ya procesadas para que el
+     * contexto de persistencia no crezca.</p>
+     *
+     * @return stream de tarifas ordenadas por cadena, producto y fecha de inicio
+     */
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"),
+        @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000")
+    })
+    @Query("SELECT p FROM PriceEntity p ORDER BY p.brandId, p.productId, p.startDate")
+    Stream<PriceEntity> streamAllOrderedByProduct();
+
+    /**
+     * Cuenta los productos distintos del catálogo.
+     *
+     * @return número de pares (cadena, producto) con al menos una tarifa
+     */
+    @Query("SELECT COUNT(*) FROM (SELECT DISTINCT p.brandId AS brandId, p.productId AS productId FROM PriceEntity p) d")
+    long countProducts();
+
+    /**
+     * Recorre los pares (cadena, producto) distintos del catálogo.
+     *
+     * <p>Cursor de solo lectura; debe consumirse dentro de una transacción y cerrarse al terminar.</p>
+     *
+     * @return stream de claves de producto, sin repetidos
+     */
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"),
+        @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000")
+    })
+    @Query("SELECT DISTINCT new com.zara.prices.domain.model.ProductKey(p.brandId, p.productId) FROM PriceEntity p")
+    Stream<ProductKey> streamProductKeys();
+
+    /**
+     * Recorre las tarifas de una cadena aplicables en una fecha, agrupadas por producto.
+     *
+     * <p>Dentro de cada producto la primera fila es la ganadora (mayor prioridad, inicio
+     * más reciente y tarifa más alta). Cursor de solo lectura sin fetch size propio: usa
+     * el de {@code hibernate.jdbc.fetch_size} de cada perfil. Debe consumirse dentro de
+     * una transacción, cerrarse al terminar y desvincular las entidades procesadas.</p>
+     *
+     * @param brandId identificador de la cadena
+     * @param date fecha para verificar aplicabilidad
+     * @return stream de tarifas aplicables ordenadas por producto y prioridad descendente
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"))
+    @Query("SELECT p FROM PriceEntity p WHERE p.brandId = :brandId AND :date BETWEEN p.startDate AND p.endDate " +
+           "ORDER BY p.productId, p.priority DESC, p.startDate DESC, p.priceList DESC")
+    Stream<PriceEntity> streamApplicableByBrand(@Param("brandId") Long brandId, @Param("date") LocalDateTime date);
+}
@@ -4,15 +4,20 @@ import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 import java.util.stream.Collectors;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 // Limpieza: imports agrupados
 
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.stereotype.Repository;
 
+import com.zara.prices.domain.model.ApplicablePrice;
 import com.zara.prices.domain.model.Price;
+import com.zara.prices.domain.model.PriceQuery;
+import com.zara.prices.domain.model.PriceTimeline;
 import com.zara.prices.domain.port.out.PriceRepository;
 
 /**
@@ -20,24 +25,32 @@ import com.zara.prices.domain.port.out.PriceRepository;
  * <p>Su único rol es traducir las operaciones del dominio a consultas JPA.
  * <p>Se encarga de delegar la consulta a Spring Data y convertir entidades a dominio usando el mapper.
  * <p>No contiene lógica de negocio ni reglas de aplicación.
+ * <p>Es el adaptador por defecto ({@code app.prices.repository=jpa}).
  */
 @Repository
+@ConditionalOnProperty(prefix = "app.prices", name = "repository", havingValue = "jpa", matchIfMissing = true)
 public class PriceRepositoryImpl implements PriceRepository {
 
     /** Repositorio JPA de Spring Data */
     private final PriceJpaRepository priceJpaRepository;
     private final PriceJpaMapper priceJpaMapper;
 
+    /** Consulta nativa para resolver lotes en un único viaje */
+    private final PriceBatchQuery priceBatchQuery;
+
     /**
      * Constructor con inyección de dependencias.
      * 
      * @param priceJpaRepository repositorio JPA generado por Spring Data
      * @param priceJpaMapper mapper para conversión JPA <-> dominio
+     * @param priceBatchQuery consulta nativa de lotes
      */
     @Autowired
-    public PriceRepositoryImpl(PriceJpaRepository priceJpaRepository, PriceJpaMapper priceJpaMapper) {
+    public PriceRepositoryImpl(PriceJpaRepository priceJpaRepository, PriceJpaMapper priceJpaMapper,
+                               PriceBatchQuery priceBatchQuery) {
         this.priceJpaRepository = priceJpaRepository;
         this.priceJpaMapper = priceJpaMapper;
+        this.priceBatchQuery = priceBatchQuery;
     }
 
     /**
@@ -52,6 +65,46 @@ public class PriceRepositoryImpl implements PriceRepository {
                 .map(priceJpaMapper::toDomain);
     }
 
+    /**
+     * {@inheritDoc}
+     *
+     * <p>Una sola consulta limitada a una fila trae la ganadora y el inicio de la primera
+     * tarifa que la supera ({@link PriceJpaRepository#findApplicableWithOutranking}).</p>
+     */
+    @Override
+    public Optional<ApplicablePrice> findHighestPriorityApplicableWithValidity(Long brandId, Long productId,
+                                                                               LocalDateTime date) {
+        return priceJpaRepository.findApplicableWithOutranking(brandId, productId, date, Limit.of(1))
+                .stream()
+                .findFirst()
+                .map(row -> ApplicablePrice.of(priceJpaMapper.toDomain(row.price()), row.outrankedFrom()));
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * <p>Resuelve todo el lote con una sola consulta nativa (tabla {@code VALUES} y
+     * {@code ROW_NUMBER()} por consulta) en lugar de una consulta por elemento.</p>
+     */
+    @Override
+    public List<Optional<Price>> findHighestPriorityApplicable(List<PriceQuery> queries) {
+        return priceBatchQuery.findHighestPriorityApplicable(queries);
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * <p>Trae todas las tarifas del producto en una consulta y las aplana en memoria.</p>
+     */
+    @Override
+    public Optional<PriceTimeline> findTimeline(Long brandId, Long productId) {
+        List<Price> tariffs = priceJpaRepository.findByBrandIdAndProductId(brandId, productId)
+                .stream()
+                .map(priceJpaMapper::toDomain)
+                .toList();
+        return tariffs.isEmpty() ? Optional.empty() : Optional.of(PriceTimeline.of(tariffs));
+    }
+
     /**
      * {@inheritDoc}
      * 
@@ -0,0 +1,74 @@
+package com.zara.prices.infrastructure.persistence.bulkload;
+
+import java.io.BufferedInputStream;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.zip.GZIPInputStream;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.stereotype.Component;
+
+/**
+ * Comando de carga masiva: carga un fichero de tarifas y termina la aplicación.
+ *
+ * <p>Se activa pasando el fichero en {@code app.prices.bulk-load.file}, normalmente junto
+ * con {@code spring.main.web-application-type=none} para no levantar el servidor web:</p>
+ * <pre>
+ * java -jar prices-service.jar --spring.profiles.active=prod \
+ *      --spring.main.web-application-type=none --app.prices.bulk-load.file=/data/tariffs.csv.gz
+ * </pre>
+ *
+ * <p>Los ficheros terminados en {@code .gz} se descomprimen al vuelo. El código de salida
+ * es 0 si la carga se aplica y 1 si se descarta o falla.</p>
+ */
+@Component
+@ConditionalOnProperty(prefix = "app.prices.bulk-load", name = "file")
+public class BulkLoadCommand implements ApplicationRunner {
+
+    private static final Logger log = LoggerFactory.getLogger(BulkLoadCommand.class);
+
+    private final TariffBulkLoader loader;
+    private final ConfigurableApplicationContext context;
+    private final Path file;
+
+    /**
+     * Constructor con inyección de dependencias.
+     *
+     * @param loader cargador de tarifas
+     * @param context contexto de la aplicación, que se cierra al terminar
+     * @param file fichero CSV (o CSV comprimido con gzip) a cargar
+     */
+    public BulkLoadCommand(TariffBulkLoader loader, ConfigurableApplicationContext context,
+                           @Value("${app.prices.bulk-load.file}") String file) {
+        this.loader = loader;
+        this.context = context;
+        this.file = Path.of(file);
+    }
+
+    /**
+     * Ejecuta la carga y termina el proceso con su resultado.
+     */
+    @Override
+    public void run(ApplicationArguments args) {
+        int exitCode;
+        try (InputStream raw = new BufferedInputStream(Files.newInputStream(file), 1 << 16);
+             InputStream csv = file.getFileName().toString().endsWith(".gz") ? new GZIPInputStream(raw, 1 << 16) : raw) {
+            BulkLoadReport report = loader.load(csv);
+            report.rejections().forEach(rejection -> log.warn("Línea rechazada en {}: {}", file, rejection));
+            exitCode = report.swapped() ? 0 : 1;
+        } catch (Exception e) {
+            log.error("Carga masiva de {} fallida; PRICES no se ha modificado", file, e);
+            exitCode = 1;
+        }
+        int code = exitCode;
+        System.exit(SpringApplication.exit(context, () -> code));
+    }
+}
@@ -0,0 +1,13 @@
+package com.zara.prices.infrastructure.persistence.bulkload;
+
+/**
+ * Se ha pedido una carga masiva mientras otra sigue en curso.
+ */
+public class BulkLoadInProgressException extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
+    BulkLoadInProgressException() {
+        super("Ya hay una carga masiva de tarifas en curso");
+    }
+}
@@ -0,0 +1,30 @@
+package com.zara.prices.infrastructure.persistence.bulkload;
+
+import java.util.List;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+/**
+ * Resultado de una carga masiva de tarifas.
+ *
+ * @param rowsLoaded filas válidas escritas en staging
+ * @param rejectedLines líneas rechazadas por formato o validación
+ * @param rejections motivo de las primeras líneas rechazadas
+ * @param writeMethod método de escritura usado ({@code copy} o {@code jdbc-batch(n)})
+ * @param elapsedMillis duración total, incluido el intercambio
+ * @param swapped si PRICES se ha sustituido por el contenido cargado
+ * @param message explicación cuando no se ha hecho el intercambio
+ */
+public record BulkLoadReport(long rowsLoaded, long rejectedLines, List<String> rejections, String writeMethod,
+                             long elapsedMillis, boolean swapped, String message) {
+
+    /**
+     * Filas válidas cargadas por segundo.
+     *
+     * @return ritmo de carga, o 0 si la duración es nula
+     */
+    @JsonProperty
+    public long rowsPerSecond() {
+        return elapsedMillis == 0 ? 0 : rowsLoaded * 1_000 / elapsedMillis;
+    }
+}
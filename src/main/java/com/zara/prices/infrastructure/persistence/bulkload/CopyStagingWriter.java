@@ -0,0 +1,54 @@
+package com.zara.prices.infrastructure.persistence.bulkload;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.sql.SQLException;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+
+import org.postgresql.copy.CopyManager;
+
+/**
+ * Escritura en staging con {@code COPY ... FROM STDIN} de PostgreSQL.
+ *
+ * <p>Cada bloque se envía como un único {@code COPY} en formato texto: el servidor
+ * lo carga sin planificar una sentencia por fila, varias veces más rápido que las
+ * inserciones por lotes.</p>
+ */
+final class CopyStagingWriter implements StagingWriter {
+
+    private static final DateTimeFormatter TIMESTAMP = DateTimeFormatter.ISO_LOCAL_DATE_TIME;
+
+    private final CopyManager copyManager;
+    private final String copySql = "COPY " + TariffBulkLoader.STAGING_TABLE
+            + " (" + TariffBulkLoader.COLUMNS + ") FROM STDIN";
+
+    CopyStagingWriter(CopyManager copyManager) {
+        this.copyManager = copyManager;
+    }
+
+    @Override
+    public void write(List<TariffRow> rows) throws SQLException {
+        StringBuilder buffer = new StringBuilder(rows.size() * 80);
+        for (TariffRow row : rows) {
+            buffer.append(row.brandId()).append('\t')
+                  .append(TIMESTAMP.format(row.startDate())).append('\t')
+                  .append(TIMESTAMP.format(row.endDate())).append('\t')
+                  .append(row.priceList()).append('\t')
+                  .append(row.productId()).append('\t')
+                  .append(row.priority()).append('\t')
+                  .append(row.price().toPlainString()).append('\t')
+                  .append(row.currency()).append('\n');
+        }
+        try {
+            copyManager.copyIn(copySql, new StringReader(buffer.toString()));
+        } catch (IOException e) {
+            throw new SQLException("Error enviando el bloque con COPY", e);
+        }
+    }
+
+    @Override
+    public String method() {
+        return "copy";
+    }
+}
@@ -0,0 +1,63 @@
+package com.zara.prices.infrastructure.persistence.bulkload;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.List;
+
+/**
+ * Escritura en staging con inserciones JDBC por lotes.
+ *
+ * <p>Una única sentencia preparada para toda la carga: todas las inserciones van a la
+ * misma tabla, así que los lotes salen ya agrupados (lo que {@code order_inserts}
+ * consigue en Hibernate) y cada {@code executeBatch} envía {@code batchSize} filas.</p>
+ */
+final class JdbcBatchStagingWriter implements StagingWriter, AutoCloseable {
+
+    private final PreparedStatement insert;
+    private final int batchSize;
+    private int pending;
+
+    JdbcBatchStagingWriter(Connection connection, int batchSize) throws SQLException {
+        this.insert = connection.prepareStatement("INSERT INTO " + TariffBulkLoader.STAGING_TABLE
+                + " (" + TariffBulkLoader.COLUMNS + ") VALUES (?, ?, ?, ?, ?, ?, ?, ?)");
+        this.batchSize = batchSize;
+    }
+
+    @Override
+    public void write(List<TariffRow> rows) throws SQLException {
+        for (TariffRow row : rows) {
+            insert.setLong(1, row.brandId());
+            insert.setTimestamp(2, Timestamp.valueOf(row.startDate()));
+            insert.setTimestamp(3, Timestamp.valueOf(row.endDate()));
+            insert.setInt(4, row.priceList());
+            insert.setLong(5, row.productId());
+            insert.setInt(6, row.priority());
+            insert.setBigDecimal(7, row.price());
+            insert.setString(8, row.currency());
+            insert.addBatch();
+            if (++pending == batchSize) {
+                flush();
+            }
+        }
+    }
+
+    @Override
+    public void flush() throws SQLException {
+        if (pending > 0) {
+            insert.executeBatch();
+            pending = 0;
+        }
+    }
+
+    @Override
+    public String method() {
+        return "jdbc-batch(" + batchSize + ")";
+    }
+
+    @Override
+    public void close() throws SQLException {
+        insert.close();
+    }
+}
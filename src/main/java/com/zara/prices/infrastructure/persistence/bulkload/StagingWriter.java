@@ -0,0 +1,29 @@
+package com.zara.prices.infrastructure.persistence.bulkload;
+
+import java.sql.SQLException;
+import java.util.List;
+
+/**
+ * Escritura de filas de tarifa en la tabla de staging.
+ */
+interface StagingWriter {
+
+    /**
+     * Escribe un bloque de filas; la confirmación la gestiona quien abrió la conexión.
+     *
+     * @param rows filas validadas
+     * @throws SQLException si la base de datos rechaza la escritura
+     */
+    void write(List<TariffRow> rows) throws SQLException;
+
+    /**
+     * Vacía lo que quede pendiente de enviar.
+     *
+     * @throws SQLException si la base de datos rechaza la escritura
+     */
+    default void flush() throws SQLException {
+    }
+
+    /** Nombre del método de escritura, para el informe */
+    String method();
+}
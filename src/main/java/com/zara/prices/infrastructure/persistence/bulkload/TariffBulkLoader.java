@@ -0,0 +1,336 @@
+package com.zara.prices.infrastructure.persistence.bulkload;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import javax.sql.DataSource;
+
+import org.postgresql.PGConnection;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.zara.prices.domain.model.PriceInvalidation;
+import com.zara.prices.domain.port.out.PriceInvalidationBus;
+
+/**
+ * Carga masiva de tarifas desde un fichero CSV con intercambio atómico de PRICES.
+ *
+ * <p>Flujo:</p>
+ * <ol>
+ *   <li>El hilo llamante lee el fichero en bloques de {@value #CHUNK_LINES} líneas y los
+ *       reparte entre {@code parallelism} hilos de análisis ({@link TariffCsvParser})</li>
+ *   <li>Los bloques analizados se escriben, en orden, en la tabla {@value #STAGING_TABLE}:
+ *       con {@code COPY} si la conexión es de PostgreSQL y, si no, con inserciones JDBC por
+ *       lotes de {@code batch-size} filas (por defecto, el {@code hibernate.jdbc.batch_size}
+ *       del perfil)</li>
+ *   <li>Si la carga es aceptable, una única transacción sustituye el contenido de PRICES
+ *       por el de staging; las consultas concurrentes ven la tabla anterior hasta el commit</li>
+ * </ol>
+ *
+ * <p>Como mucho hay {@code 2 * parallelism} bloques en vuelo, así que la memoria usada no
+ * depende del tamaño del fichero. La carga no se aplica si no hay ninguna fila válida o si
+ * las líneas rechazadas superan {@code max-rejected}.</p>
+ *
+ * <p>La tabla de staging es compartida por todos los nodos, así que en PostgreSQL la carga
+ * entera se hace con un bloqueo consultivo de sesión ({@code pg_try_advisory_lock}) tomado
+ * en su conexión: una carga lanzada en otro nodo mientras tanto falla con
+ * {@link BulkLoadInProgressException} igual que una del mismo nodo.</p>
+ *
+ * <p>El intercambio no registra cada fila sustituida en PRICE_CHANGES: en PostgreSQL
+ * desactiva el trigger ({@code SET LOCAL prices.change_log}) y, en su lugar, escribe en la
+ * misma transacción una única marca de recarga completa, con la que las copias en proceso
+ * se recargan enteras. Como la marca hace innecesario todo lo anterior, el intercambio
+ * vacía también el registro de cambios.</p>
+ *
+ * <p>Tras el intercambio se publica {@link PriceInvalidation#all()} en el bus de
+ * invalidaciones. En PostgreSQL el intercambio desactiva además los avisos por producto
+ * del trigger ({@code SET LOCAL prices.notify}), que solo repetirían ese mismo aviso
+ * fila a fila.</p>
+ */
+@Component
+public class TariffBulkLoader {
+
+    private static final Logger log = LoggerFactory.getLogger(TariffBulkLoader.class);
+
+    /** Tabla intermedia donde se carga el fichero antes del intercambio */
+    static final String STAGING_TABLE = "PRICES_STAGING";
+
+    /** Columnas cargadas, en el orden del fichero */
+    static final String COLUMNS = "BRAND_ID, START_DATE, END_DATE, PRICE_LIST, PRODUCT_ID, PRIORITY, PRICE, CURRENCY";
+
+    /** Líneas por bloque de análisis */
+    static final int CHUNK_LINES = 8_192;
+
+    /** Clave del bloqueo consultivo de PostgreSQL que serializa las cargas entre nodos */
+    static final long ADVISORY_LOCK_KEY = 0x5052_4943_4553_4C44L;
+
+    private static final String CREATE_STAGING = "CREATE TABLE IF NOT EXISTS " + STAGING_TABLE + " ("
+            + "BRAND_ID BIGINT NOT NULL, START_DATE TIMESTAMP NOT NULL, END_DATE TIMESTAMP NOT NULL, "
+            + "PRICE_LIST INTEGER NOT NULL, PRODUCT_ID BIGINT NOT NULL, PRIORITY INTEGER NOT NULL, "
+            + "PRICE NUMERIC(38, 2) NOT NULL, CURRENCY VARCHAR(3) NOT NULL)";
+
+    private final DataSource dataSource;
+    private final int parallelism;
+    private final int batchSize;
+    private final boolean useCopy;
+    private final long maxRejected;
+    private final PriceInvalidationBus invalidationBus;
+
+    /** Impide dos cargas simultáneas en este nodo; entre nodos lo impide el bloqueo consultivo */
+    private final AtomicBoolean running = new AtomicBoolean();
+
+    /**
+     * Constructor con inyección de dependencias.
+     *
+     * @param dataSource origen de conexiones JDBC
+     * @param parallelism hilos de análisis (0 = procesadores disponibles)
+     * @param batchSize filas por lote en la escritura JDBC
+     * @param useCopy si se usa {@code COPY} cuando la base de datos es PostgreSQL
+     * @param maxRejected líneas rechazadas admitidas para aplicar la carga
+     * @param invalidationBus bus donde se avisa a los nodos de que PRICES se ha sustituido
+     */
+    public TariffBulkLoader(DataSource dataSource,
+                            @Value("${app.prices.bulk-load.parallelism:0}") int parallelism,
+                            @Value("${app.prices.bulk-load.batch-size:${spring.jpa.properties.hibernate.jdbc.batch_size:1000}}") int batchSize,
+                            @Value("${app.prices.bulk-load.use-copy:true}") boolean useCopy,
+                            @Value("${app.prices.bulk-load.max-rejected:100}") long maxRejected,
+                            PriceInvalidationBus invalidationBus) {
+        this.dataSource = dataSource;
+        this.parallelism = parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors();
+        this.batchSize = batchSize;
+        this.useCopy = useCopy;
+        this.maxRejected = maxRejected;
+        this.invalidationBus = invalidationBus;
+    }
+
+    /**
+     * Carga un fichero de tarifas y, si es aceptable, sustituye con él el contenido de PRICES.
+     *
+     * @param csv contenido del fichero en UTF-8; no se cierra
+     * @return informe de la carga
+     * @throws BulkLoadInProgressException si ya hay otra carga en curso en este u otro nodo
+     * @throws IOException si falla la lectura del fichero
+     * @throws SQLException si falla la escritura en base de datos; PRICES queda intacta
+     */
+    public BulkLoadReport load(InputStream csv) throws IOException, SQLException {
+        if (!running.compareAndSet(false, true)) {
+            throw new BulkLoadInProgressException();
+        }
+        try {
+            return doLoad(csv);
+        } finally {
+            running.set(false);
+        }
+    }
+
+    private BulkLoadReport doLoad(InputStream csv) throws IOException, SQLException {
+        try (Connection connection = dataSource.getConnection()) {
+            boolean postgres = connection.isWrapperFor(PGConnection.class);
+            if (postgres && !advisoryLock(connection, "pg_try_advisory_lock")) {
+                throw new BulkLoadInProgressException();
+            }
+            try {
+                return stageAndSwap(csv, connection, postgres);
+            } finally {
+                if (postgres) {
+                    connection.setAutoCommit(true);
+                    advisoryLock(connection, "pg_advisory_unlock");
+                }
+            }
+        }
+    }
+
+    private BulkLoadReport stageAndSwap(InputStream csv, Connection connection, boolean postgres)
+            throws IOException, SQLException {
+        long startNanos = System.nanoTime();
+        Progress progress = new Progress();
+        String method;
+        connection.setAutoCommit(false);
+        try {
+            prepareStaging(connection);
+            StagingWriter writer = writerFor(connection);
+            method = writer.method();
+            try {
+                stage(csv, writer, progress);
+                writer.flush();
+            } finally {
+                if (writer instanceof AutoCloseable closeable) {
+                    closeQuietly(closeable);
+                }
+            }
+            connection.commit();
+        } catch (IOException | SQLException | RuntimeException e) {
+            connection.rollback();
+            throw e;
+        }
+
+        String rejectedReason = null;
+        if (progress.rows == 0) {
+            rejectedReason = "El fichero no contiene ninguna fila válida";
+        } else if (progress.rejected > maxRejected) {
+            rejectedReason = "Líneas rechazadas (" + progress.rejected + ") por encima del máximo (" + maxRejected + ")";
+        }
+        if (rejectedReason == null) {
+            swap(connection, postgres);
+            invalidationBus.publish(PriceInvalidation.all());
+        }
+        BulkLoadReport report = new BulkLoadReport(progress.rows, progress.rejected, List.copyOf(progress.rejections),
+                method, (System.nanoTime() - startNanos) / 1_000_000, rejectedReason == null, rejectedReason);
+        if (report.swapped()) {
+            log.info("Carga masiva de tarifas aplicada en {} ms con {}: {} filas ({} filas/s), {} líneas rechazadas",
+                    report.elapsedMillis(), method, report.rowsLoaded(), report.rowsPerSecond(), report.rejectedLines());
+        } else {
+            log.warn("Carga masiva de tarifas descartada tras {} ms: {}. {} filas válidas, {} líneas rechazadas",
+                    report.elapsedMillis(), rejectedReason, report.rowsLoaded(), report.rejectedLines());
+        }
+        return report;
+    }
+
+    /**
+     * Lee el fichero por bloques, los analiza en paralelo y escribe los resultados en orden.
+     */
+    private void stage(InputStream csv, StagingWriter writer, Progress progress) throws IOException, SQLException {
+        ExecutorService parsers = Executors.newFixedThreadPool(parallelism, runnable -> {
+            Thread thread = new Thread(runnable, "tariff-parser");
+            thread.setDaemon(true);
+            return thread;
+        });
+        Deque<Future<TariffCsvParser.ParsedChunk>> inFlight = new ArrayDeque<>();
+        try {
+            BufferedReader reader = new BufferedReader(new InputStreamReader(csv, StandardCharsets.UTF_8), 1 << 16);
+            List<String> chunk = new ArrayList<>(CHUNK_LINES);
+            long nextLine = 1;
+            String line;
+            while ((line = reader.readLine()) != null) {
+                chunk.add(line);
+                if (chunk.size() == CHUNK_LINES) {
+                    inFlight.add(submit(parsers, chunk, nextLine));
+                    nextLine += chunk.size();
+                    chunk = new ArrayList<>(CHUNK_LINES);
+                    if (inFlight.size() >= 2 * parallelism) {
+                        drain(inFlight.poll(), writer, progress);
+                    }
+                }
+            }
+            if (!chunk.isEmpty()) {
+                inFlight.add(submit(parsers, chunk, nextLine));
+            }
+            while (!inFlight.isEmpty()) {
+                drain(inFlight.poll(), writer, progress);
+            }
+        } finally {
+            inFlight.forEach(future -> future.cancel(true));
+            parsers.shutdownNow();
+        }
+    }
+
+    private static Future<TariffCsvParser.ParsedChunk> submit(ExecutorService parsers, List<String> chunk,
+                                                             long firstLine) {
+        return parsers.submit(() -> TariffCsvParser.parse(chunk, firstLine));
+    }
+
+    private static void drain(Future<TariffCsvParser.ParsedChunk> future, StagingWriter writer, Progress progress)
+            throws SQLException {
+        TariffCsvParser.ParsedChunk parsed;
+        try {
+            parsed = future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Carga masiva interrumpida", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Error analizando un bloque del fichero", e.getCause());
+        }
+        writer.write(parsed.rows());
+        progress.rows += parsed.rows().size();
+        progress.rejected += parsed.rejected();
+        for (String rejection : parsed.rejections()) {
+            if (progress.rejections.size() < TariffCsvParser.MAX_REJECTION_SAMPLES) {
+                progress.rejections.add(rejection);
+            }
+        }
+    }
+
+    private static void prepareStaging(Connection connection) throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute(CREATE_STAGING);
+            statement.execute("TRUNCATE TABLE " + STAGING_TABLE);
+        }
+    }
+
+    private static boolean advisoryLock(Connection connection, String function) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement("SELECT " + function + "(?)")) {
+            statement.setLong(1, ADVISORY_LOCK_KEY);
+            try (ResultSet result = statement.executeQuery()) {
+                return result.next() && result.getBoolean(1);
+            }
+        }
+    }
+
+    private StagingWriter writerFor(Connection connection) throws SQLException {
+        if (useCopy && connection.isWrapperFor(PGConnection.class)) {
+            return new CopyStagingWriter(connection.unwrap(PGConnection.class).getCopyAPI());
+        }
+        return new JdbcBatchStagingWriter(connection, batchSize);
+    }
+
+    /**
+     * Sustituye PRICES por el contenido de staging en una única transacción, con una sola
+     * marca de recarga completa en PRICE_CHANGES en lugar de una fila por tarifa; los
+     * cambios anteriores a la marca se borran.
+     */
+    private static void swap(Connection connection, boolean postgres) throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            if (postgres) {
+                statement.execute("SET LOCAL prices.notify = 'off'");
+                statement.execute("SET LOCAL prices.change_log = 'off'");
+            }
+            statement.executeUpdate("DELETE FROM PRICES");
+            statement.executeUpdate("INSERT INTO PRICES (" + COLUMNS + ") SELECT " + COLUMNS
+                    + " FROM " + STAGING_TABLE);
+            statement.executeUpdate("DELETE FROM PRICE_CHANGES");
+            statement.executeUpdate("INSERT INTO PRICE_CHANGES (BRAND_ID, PRODUCT_ID) VALUES (NULL, NULL)");
+            connection.commit();
+        } catch (SQLException | RuntimeException e) {
+            connection.rollback();
+            throw e;
+        }
+        connection.setAutoCommit(true);
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("TRUNCATE TABLE " + STAGING_TABLE);
+        }
+    }
+
+    private static void closeQuietly(AutoCloseable closeable) {
+        try {
+            closeable.close();
+        } catch (Exception e) {
+            log.debug("Error cerrando el escritor de staging", e);
+        }
+    }
+
+    /** Contadores de la carga; solo los actualiza el hilo llamante */
+    private static final class Progress {
+        private long rows;
+        private long rejected;
+        private final List<String> rejections = new ArrayList<>();
+    }
+}
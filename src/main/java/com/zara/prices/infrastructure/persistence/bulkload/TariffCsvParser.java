@@ -0,0 +1,134 @@
+package com.zara.prices.infrastructure.persistence.bulkload;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Currency;
+import java.util.List;
+
+/**
+ * Analizador de bloques de líneas de un fichero de tarifas CSV.
+ *
+ * <p>Columnas, en el orden del enunciado original de PRICES:
+ * {@code BRAND_ID,START_DATE,END_DATE,PRICE_LIST,PRODUCT_ID,PRIORITY,PRICE,CURR}.
+ * Las fechas se aceptan como {@code 2020-06-14-00.00.00}, {@code 2020-06-14T00:00:00}
+ * o {@code 2020-06-14 00:00:00}. Se ignoran las líneas vacías y una cabecera en la
+ * primera línea del fichero.</p>
+ *
+ * <p>Cada bloque se analiza de forma independiente, sin estado compartido, para
+ * poder repartir los bloques entre varios hilos. Las líneas inválidas no detienen
+ * la carga: se cuentan y se guardan las primeras como muestra.</p>
+ */
+final class TariffCsvParser {
+
+    /** Líneas inválidas de las que se guarda el motivo, por bloque */
+    static final int MAX_REJECTION_SAMPLES = 20;
+
+    private static final int COLUMNS = 8;
+
+    private TariffCsvParser() {
+    }
+
+    /**
+     * Resultado de analizar un bloque.
+     *
+     * @param rows filas válidas, en el orden del fichero
+     * @param rejected número de líneas inválidas
+     * @param rejections motivo de las primeras líneas inválidas, con su número de línea
+     */
+    record ParsedChunk(List<TariffRow> rows, int rejected, List<String> rejections) {
+    }
+
+    /**
+     * Analiza un bloque de líneas consecutivas del fichero.
+     *
+     * @param lines líneas del bloque
+     * @param firstLineNumber número de línea (desde 1) de la primera del bloque
+     * @return filas válidas y líneas rechazadas
+     */
+    static ParsedChunk parse(List<String> lines, long firstLineNumber) {
+        List<TariffRow> rows = new ArrayList<>(lines.size());
+        List<String> rejections = new ArrayList<>();
+        int rejected = 0;
+        for (int i = 0; i < lines.size(); i++) {
+            String line = lines.get(i);
+            long lineNumber = firstLineNumber + i;
+            if (line.isBlank() || (lineNumber == 1 && isHeader(line))) {
+                continue;
+            }
+            try {
+                rows.add(parseLine(line));
+            } catch (IllegalArgumentException | DateTimeParseException e) {
+                rejected++;
+                if (rejections.size() < MAX_REJECTION_SAMPLES) {
+                    rejections.add("línea " + lineNumber + ": " + e.getMessage());
+                }
+            }
+        }
+        return new ParsedChunk(rows, rejected, rejections);
+    }
+
+    private static boolean isHeader(String line) {
+        String trimmed = line.stripLeading();
+        return !trimmed.isEmpty() && !Character.isDigit(trimmed.charAt(0));
+    }
+
+    private static TariffRow parseLine(String line) {
+        String[] fields = line.split(",", -1);
+        if (fields.length != COLUMNS) {
+            throw new IllegalArgumentException("se esperaban " + COLUMNS + " columnas y hay " + fields.length);
+        }
+        long brandId = Long.parseLong(fields[0].strip());
+        LocalDateTime startDate = parseDate(fields[1].strip());
+        LocalDateTime endDate = parseDate(fields[2].strip());
+        int priceList = Integer.parseInt(fields[3].strip());
+        long productId = Long.parseLong(fields[4].strip());
+        int priority = Integer.parseInt(fields[5].strip());
+        BigDecimal price = new BigDecimal(fields[6].strip());
+        String currency = fields[7].strip();
+
+        if (brandId <= 0 || productId <= 0) {
+            throw new IllegalArgumentException("cadena y producto deben ser positivos");
+        }
+        if (endDate.isBefore(startDate)) {
+            throw new IllegalArgumentException("la fecha de fin es anterior a la de inicio");
+        }
+        if (price.signum() < 0) {
+            throw new IllegalArgumentException("precio negativo");
+        }
+        if (price.unscaledValue().bitLength() > 63) {
+            throw new IllegalArgumentException("precio con demasiadas cifras: " + price);
+        }
+        if (!isIsoCurrency(currency)) {
+            throw new IllegalArgumentException("moneda inválida: " + currency);
+        }
+        return new TariffRow(brandId, startDate, endDate, priceList, productId, priority, price, currency);
+    }
+
+    /** El dominio guarda la moneda como {@link Currency}: solo se admiten códigos ISO 4217 */
+    private static boolean isIsoCurrency(String code) {
+        try {
+            Currency.getInstance(code);
+            return true;
+        } catch (IllegalArgumentException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Normaliza las variantes de fecha admitidas a ISO-8601 antes de analizarlas.
+     */
+    private static LocalDateTime parseDate(String value) {
+        if (value.length() == 19 && (value.charAt(10) == '-' || value.charAt(10) == ' ')) {
+            char[] chars = value.toCharArray();
+            chars[10] = 'T';
+            if (chars[13] == '.' && chars[16] == '.') {
+                chars[13] = ':';
+                chars[16] = ':';
+            }
+            value = new String(chars);
+        }
+        return LocalDateTime.parse(value);
+    }
+}
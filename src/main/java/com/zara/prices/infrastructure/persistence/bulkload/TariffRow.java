@@ -0,0 +1,20 @@
+package com.zara.prices.infrastructure.persistence.bulkload;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Fila de tarifa ya validada, con las columnas de PRICES salvo el identificador.
+ *
+ * @param brandId identificador de la cadena
+ * @param startDate fecha de inicio de aplicación
+ * @param endDate fecha de fin de aplicación (inclusiva)
+ * @param priceList identificador de la tarifa
+ * @param productId identificador del producto
+ * @param priority prioridad de desambiguación
+ * @param price precio final de venta
+ * @param currency código ISO de la moneda
+ */
+record TariffRow(long brandId, LocalDateTime startDate, LocalDateTime endDate, int priceList,
+                 long productId, int priority, BigDecimal price, String currency) {
+}
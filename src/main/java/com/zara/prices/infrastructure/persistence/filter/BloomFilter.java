@@ -0,0 +1,130 @@
+package com.zara.prices.infrastructure.persistence.filter;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Filtro de Bloom sobre pares (cadena, producto).
+ *
+ * <p>Dimensionado a partir del número de elementos previsto y de la tasa de falsos
+ * positivos objetivo: {@code m = -n ln p / (ln 2)^2} bits y {@code k = -log2 p}
+ * funciones hash. Las {@code k} posiciones se derivan de dos hashes de 64 bits
+ * ({@code h1 + i * h2}), así que cada operación calcula un único hash de la clave.</p>
+ *
+ * <p>Los bits se guardan en un {@link AtomicLongArray}: las altas de productos nuevos
+ * son visibles de inmediato para las consultas concurrentes, sin bloqueos.</p>
+ */
+final class BloomFilter {
+
+    private static final double LN2 = Math.log(2);
+
+    private final AtomicLongArray words;
+    private final long bits;
+    private final int hashes;
+
+    private BloomFilter(long bits, int hashes) {
+        this.words = new AtomicLongArray(Math.toIntExact(bits / Long.SIZE));
+        this.bits = bits;
+        this.hashes = hashes;
+    }
+
+    /**
+     * Crea un filtro vacío dimensionado para la carga prevista.
+     *
+     * @param expectedInsertions número de elementos previsto
+     * @param falsePositiveRate tasa de falsos positivos objetivo, entre 0 y 1 (exclusivos)
+     * @return filtro vacío
+     * @throws IllegalArgumentException si la tasa no está en (0, 1)
+     */
+    static BloomFilter create(long expectedInsertions, double falsePositiveRate) {
+        if (!(falsePositiveRate > 0 && falsePositiveRate < 1)) {
+            throw new IllegalArgumentException("La tasa de falsos positivos debe estar entre 0 y 1: " + falsePositiveRate);
+        }
+        long n = Math.max(1, expectedInsertions);
+        long bits = (long) Math.ceil(-n * Math.log(falsePositiveRate) / (LN2 * LN2));
+        bits = Math.max(Long.SIZE, (bits + Long.SIZE - 1) / Long.SIZE * Long.SIZE);
+        int hashes = Math.max(1, (int) Math.round(-Math.log(falsePositiveRate) / LN2));
+        return new BloomFilter(bits, hashes);
+    }
+
+    /**
+     * Añade un producto al filtro.
+     *
+     * @param brandId identificador de la cadena
+     * @param productId identificador del producto
+     */
+    void put(long brandId, long productId) {
+        long h1 = hash(brandId, productId);
+        long h2 = mix(h1) | 1;
+        for (int i = 0; i < hashes; i++) {
+            long bit = Math.floorMod(h1 + i * h2, bits);
+            long mask = 1L << bit;
+            int word = (int) (bit >>> 6);
+            if ((words.get(word) & mask) == 0) {
+                words.getAndAccumulate(word, mask, (current, m) -> current | m);
+            }
+        }
+    }
+
+    /**
+     * Indica si el producto puede estar en el filtro.
+     *
+     * @param brandId identificador de la cadena
+     * @param productId identificador del producto
+     * @return {@code false} solo si el producto nunca se ha añadido
+     */
+    boolean mightContain(long brandId, long productId) {
+        long h1 = hash(brandId, productId);
+        long h2 = mix(h1) | 1;
+        for (int i = 0; i < hashes; i++) {
+            long bit = Math.floorMod(h1 + i * h2, bits);
+            if ((words.get((int) (bit >>> 6)) & (1L << bit)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /** Número de bits del filtro */
+    long bitSize() {
+        return bits;
+    }
+
+    /** Número de funciones hash por elemento */
+    int hashCount() {
+        return hashes;
+    }
+
+    /** Memoria ocupada por los bits, en bytes */
+    long byteSize() {
+        return bits / Byte.SIZE;
+    }
+
+    /**
+     * Estima la tasa de falsos positivos actual a partir de la proporción de bits a uno.
+     *
+     * <p>Recorre todo el filtro: pensado para informes periódicos, no para la ruta de consulta.</p>
+     *
+     * @return probabilidad estimada de falso positivo
+     */
+    double estimatedFalsePositiveRate() {
+        long set = 0;
+        for (int i = 0; i < words.length(); i++) {
+            set += Long.bitCount(words.get(i));
+        }
+        return Math.pow((double) set / bits, hashes);
+    }
+
+    private static long hash(long brandId, long productId) {
+        return mix(mix(brandId) ^ productId);
+    }
+
+    /** Finalizador de 64 bits de MurmurHash3 */
+    private static long mix(long h) {
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return h;
+    }
+}
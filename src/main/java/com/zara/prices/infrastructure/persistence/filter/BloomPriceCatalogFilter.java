@@ -0,0 +1,225 @@
+package com.zara.prices.infrastructure.persistence.filter;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Stream;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.zara.prices.domain.model.ProductKey;
+import com.zara.prices.domain.port.out.PriceCatalogFilter;
+import com.zara.prices.infrastructure.persistence.PriceChangeEntity;
+import com.zara.prices.infrastructure.persistence.PriceChangeJpaRepository;
+import com.zara.prices.infrastructure.persistence.PriceJpaRepository;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+/**
+ * Adaptador del filtro de catálogo basado en un {@link BloomFilter} sobre PRICES.
+ *
+ * <p>Se construye con todos los pares (cadena, producto) distintos de la tabla y se
+ * reconstruye cada {@code app.prices.filter.refresh-interval}. Entre reconstrucciones,
+ * los productos nuevos se añaden leyendo cada {@code app.prices.filter.delta-interval}
+ * el registro de cambios PRICE_CHANGES. Aun así, un producto dado de alta después de la
+ * última reconstrucción puede aparecer como ausente: hasta el siguiente sondeo, si su
+ * cambio se confirma después de otro con identificador mayor, o siempre en H2, donde no
+ * hay trigger que rellene el registro. Por eso un {@code false} solo es fiable para los
+ * productos anteriores a la última reconstrucción y la caché lo usa como indicio para no
+ * cachear, nunca para responder sin consultar. Las bajas no se quitan (un filtro de
+ * Bloom no lo permite): solo suben la tasa de falsos positivos hasta la siguiente
+ * reconstrucción.</p>
+ *
+ * <p>Hasta que termina la primera construcción deja pasar todas las consultas.</p>
+ *
+ * <p>Se activa con {@code app.prices.filter.enabled=true}; la tasa de falsos positivos
+ * objetivo ({@code app.prices.filter.false-positive-rate}) determina la memoria.</p>
+ *
+ * <p>Publica la tasa estimada y la memoria como {@code prices.catalog.filter.*}.</p>
+ */
+@Component
+@ConditionalOnProperty(prefix = "app.prices.filter", name = "enabled", havingValue = "true")
+public class BloomPriceCatalogFilter implements PriceCatalogFilter, ApplicationRunner, MeterBinder {
+
+    private static final Logger log = LoggerFactory.getLogger(BloomPriceCatalogFilter.class);
+
+    /** Cambios leídos por consulta al registro de cambios */
+    private static final int CHANGE_BATCH_SIZE = 1_000;
+
+    private final PriceJpaRepository priceJpaRepository;
+    private final PriceChangeJpaRepository priceChangeJpaRepository;
+    private final TransactionTemplate readOnlyTransaction;
+    private final double falsePositiveRate;
+
+    /** Filtro publicado; {@code null} hasta la primera construcción */
+    private final AtomicReference<BloomFilter> filter = new AtomicReference<>();
+
+    /** Último cambio ya reflejado en el filtro; solo se lee y escribe con {@link #lock} tomado */
+    private long highWaterMark;
+
+    /** Serializa reconstrucciones y sondeos; no es {@code synchronized} para no fijar el hilo portador durante la E/S */
+    private final ReentrantLock lock = new ReentrantLock();
+
+    /**
+     * Constructor con inyección de dependencias.
+     *
+     * @param priceJpaRepository repositorio JPA del que se leen los productos
+     * @param priceChangeJpaRepository registro de cambios para añadir productos nuevos
+     * @param transactionManager gestor de transacciones para el cursor de carga
+     * @param falsePositiveRate tasa de falsos positivos objetivo
+     */
+    public BloomPriceCatalogFilter(PriceJpaRepository priceJpaRepository,
+                                   PriceChangeJpaRepository priceChangeJpaRepository,
+                                   PlatformTransactionManager transactionManager,
+                                   @Value("${app.prices.filter.false-positive-rate:0.01}") double falsePositiveRate) {
+        this.priceJpaRepository = priceJpaRepository;
+        this.priceChangeJpaRepository = priceChangeJpaRepository;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.falsePositiveRate = falsePositiveRate;
+    }
+
+    /**
+     * Construye el primer filtro antes de que la aplicación acepte tráfico.
+     */
+    @Override
+    public void run(ApplicationArguments args) {
+        rebuild();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean mightContain(Long brandId, Long productId) {
+        BloomFilter current = filter.get();
+        return current == null || current.mightContain(brandId, productId);
+    }
+
+    /**
+     * Reconstruye el filtro con los productos actuales y lo publica de forma atómica.
+     */
+    @Scheduled(
+        fixedDelayString = "${app.prices.filter.refresh-interval:PT5M}",
+        initialDelayString = "${app.prices.filter.refresh-interval:PT5M}"
+    )
+    public void rebuild() {
+        lock.lock();
+        try {
+            long startNanos = System.nanoTime();
+            long mark = priceChangeJpaRepository.findMaxId();
+            long products = priceJpaRepository.countProducts();
+            BloomFilter built = BloomFilter.create(products, falsePositiveRate);
+            readOnlyTransaction.executeWithoutResult(status -> {
+                try (Stream<ProductKey> keys = priceJpaRepository.streamProductKeys()) {
+                    keys.forEach(key -> built.put(key.brandId(), key.productId()));
+                }
+            });
+            filter.set(built);
+            highWaterMark = mark;
+            log.info("Filtro de catálogo construido en {} ms: {} productos, {} KiB, {} hashes, "
+                    + "falsos positivos {}% (objetivo {}%)",
+                    (System.nanoTime() - startNanos) / 1_000_000, products, built.byteSize() / 1024,
+                    built.hashCount(), String.format("%.4f", built.estimatedFalsePositiveRate() * 100),
+                    String.format("%.4f", falsePositiveRate * 100));
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Añade al filtro los productos registrados en PRICE_CHANGES desde la última sincronización.
+     *
+     * <p>Una marca de recarga completa ({@link PriceChangeEntity#isFullReload()}) reconstruye
+     * el filtro en su lugar.</p>
+     */
+    @Scheduled(
+        fixedDelayString = "${app.prices.filter.delta-interval:PT5S}",
+        initialDelayString = "${app.prices.filter.delta-interval:PT5S}"
+    )
+    public void applyChanges() {
+        lock.lock();
+        try {
+            BloomFilter current = filter.get();
+            if (current == null) {
+                return;
+            }
+            List<PriceChangeEntity> batch;
+            do {
+                batch = priceChangeJpaRepository.findByIdGreaterThanOrderByIdAsc(highWaterMark, Limit.of(CHANGE_BATCH_SIZE));
+                for (PriceChangeEntity change : batch) {
+                    if (change.isFullReload()) {
+                        log.info("Marca de recarga completa en PRICE_CHANGES ({}): reconstrucción del filtro",
+                                change.getId());
+                        rebuild();
+                        return;
+                    }
+                    current.put(change.getBrandId(), change.getProductId());
+                }
+                if (!batch.isEmpty()) {
+                    highWaterMark = batch.get(batch.size() - 1).getId();
+                }
+            } while (batch.size() == CHANGE_BATCH_SIZE);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /** Tasa de falsos positivos configurada */
+    public double targetFalsePositiveRate() {
+        return falsePositiveRate;
+    }
+
+    /**
+     * Tasa de falsos positivos estimada del filtro publicado.
+     *
+     * @return probabilidad estimada, o 0 si todavía no se ha construido
+     */
+    public double estimatedFalsePositiveRate() {
+        BloomFilter current = filter.get();
+        return current == null ? 0 : current.estimatedFalsePositiveRate();
+    }
+
+    /**
+     * Memoria ocupada por el filtro publicado.
+     *
+     * @return bytes de los bits del filtro, o 0 si todavía no se ha construido
+     */
+    public long byteSize() {
+        BloomFilter current = filter.get();
+        return current == null ? 0 : current.byteSize();
+    }
+
+    /**
+     * Publica la tasa de falsos positivos (objetivo y estimada) y la memoria del filtro.
+     *
+     * @param registry registro de métricas de la aplicación
+     */
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("prices.catalog.filter.false.positive.rate", this, BloomPriceCatalogFilter::estimatedFalsePositiveRate)
+                .description("Tasa de falsos positivos del filtro de catálogo")
+                .tag("kind", "estimated")
+                .register(registry);
+        Gauge.builder("prices.catalog.filter.false.positive.rate", this, BloomPriceCatalogFilter::targetFalsePositiveRate)
+                .description("Tasa de falsos positivos del filtro de catálogo")
+                .tag("kind", "target")
+                .register(registry);
+        Gauge.builder("prices.catalog.filter.size", this, BloomPriceCatalogFilter::byteSize)
+                .description("Memoria ocupada por los bits del filtro de catálogo")
+                .baseUnit("bytes")
+                .register(registry);
+    }
+}
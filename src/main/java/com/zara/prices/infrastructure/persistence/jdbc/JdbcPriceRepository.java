@@ -0,0 +1,219 @@
+package com.zara.prices.infrastructure.persistence.jdbc;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+
+import javax.sql.DataSource;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.simple.JdbcClient;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.zara.prices.domain.model.ApplicablePrice;
+import com.zara.prices.domain.model.Price;
+import com.zara.prices.domain.model.PriceQuery;
+import com.zara.prices.domain.model.PriceTimeline;
+import com.zara.prices.domain.port.out.PriceRepository;
+import com.zara.prices.infrastructure.persistence.PriceBatchQuery;
+import com.zara.prices.infrastructure.persistence.replica.ReplicaRoutingDataSource;
+
+/**
+ * Adaptador de persistencia que consulta PRICES con JDBC plano, sin pasar por Hibernate.
+ *
+ * <p>Ejecuta las mismas consultas que el adaptador JPA, pero cada fila del
+ * {@link ResultSet} se convierte directamente en un {@link Price}: no se crea ninguna
+ * {@code PriceEntity} gestionada, ni contexto de persistencia, ni copia posterior con
+ * el mapper.</p>
+ *
+ * <p>El texto de cada sentencia es constante, así que el driver la reutiliza como
+ * sentencia preparada en el servidor (en PostgreSQL, a partir de
+ * {@code prepareThreshold} ejecuciones en la misma conexión).</p>
+ *
+ * <p>Las lecturas van en una transacción de solo lectura con un gestor JDBC propio: el
+ * {@code JpaTransactionManager} de la aplicación abriría un {@code EntityManager} por
+ * transacción, que es justo lo que este adaptador evita. Si ya hay una transacción JPA
+ * en curso, la consulta se une a ella y usa su misma conexión.</p>
+ *
+ * <p>Con réplicas de lectura ({@code app.prices.replicas.enabled=true}) las consultas y
+ * su gestor de transacciones usan el {@link ReplicaRoutingDataSource} en lugar del pool
+ * principal.</p>
+ *
+ * <p>Se activa con {@code app.prices.repository=jdbc}.</p>
+ */
+@Repository
+@ConditionalOnProperty(prefix = "app.prices", name = "repository", havingValue = "jdbc")
+public class JdbcPriceRepository implements PriceRepository {
+
+    private static final String COLUMNS = "BRAND_ID, PRODUCT_ID, START_DATE, END_DATE, PRIORITY, PRICE, CURRENCY, PRICE_LIST";
+
+    private static final String FIND_HIGHEST_PRIORITY = "SELECT " + COLUMNS + " FROM PRICES "
+            + "WHERE BRAND_ID = ? AND PRODUCT_ID = ? AND ? BETWEEN START_DATE AND END_DATE "
+            + "ORDER BY PRIORITY DESC, START_DATE DESC, PRICE_LIST DESC LIMIT 1";
+
+    /**
+     * La ganadora, como {@link #FIND_HIGHEST_PRIORITY}, y el inicio de la primera tarifa que
+     * empieza después de la fecha y antes de que termine con al menos su prioridad
+     */
+    private static final String FIND_HIGHEST_PRIORITY_WITH_OUTRANKING = "SELECT " + COLUMNS + ", "
+            + "(SELECT MIN(R.START_DATE) FROM PRICES R WHERE R.BRAND_ID = P.BRAND_ID AND R.PRODUCT_ID = P.PRODUCT_ID "
+            + "AND R.START_DATE > ? AND R.START_DATE <= P.END_DATE AND R.PRIORITY >= P.PRIORITY) "
+            + "FROM PRICES P WHERE BRAND_ID = ? AND PRODUCT_ID = ? AND ? BETWEEN START_DATE AND END_DATE "
+            + "ORDER BY PRIORITY DESC, START_DATE DESC, PRICE_LIST DESC LIMIT 1";
+
+    private static final String FIND_APPLICABLE = "SELECT " + COLUMNS + " FROM PRICES "
+            + "WHERE BRAND_ID = ? AND PRODUCT_ID = ? AND ? BETWEEN START_DATE AND END_DATE "
+            + "ORDER BY PRIORITY DESC";
+
+    private static final String FIND_BY_PRODUCT = "SELECT " + COLUMNS + " FROM PRICES "
+            + "WHERE BRAND_ID = ? AND PRODUCT_ID = ?";
+
+    /** Número de columnas de {@link #COLUMNS} */
+    private static final int COLUMN_COUNT = 8;
+
+    /** Lee las columnas de {@link #COLUMNS} por posición, a partir de la primera */
+    private static final RowMapper<Price> PRICE = (rs, rowNum) -> toDomain(rs, 1);
+
+    private final JdbcClient jdbcClient;
+    private final TransactionTemplate readOnlyTransaction;
+
+    /**
+     * Constructor con inyección de dependencias.
+     *
+     * @param jdbcClient cliente JDBC sobre el pool de la aplicación
+     * @param dataSource pool de conexiones, para el gestor de transacciones propio
+     */
+    public JdbcPriceRepository(JdbcClient jdbcClient, DataSource dataSource) {
+        this.jdbcClient = jdbcClient;
+        this.readOnlyTransaction = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+        this.readOnlyTransaction.setReadOnly(true);
+    }
+
+    /**
+     * Constructor con inyección de dependencias que lee de las réplicas si están configuradas.
+     *
+     * @param jdbcClient cliente JDBC sobre el pool de la aplicación
+     * @param dataSource pool de conexiones de la aplicación
+     * @param readDataSource réplicas de lectura, si están configuradas
+     */
+    @Autowired
+    public JdbcPriceRepository(JdbcClient jdbcClient, DataSource dataSource,
+                               @Qualifier(ReplicaRoutingDataSource.BEAN_NAME) ObjectProvider<DataSource> readDataSource) {
+        this(readDataSource.getIfAvailable() != null ? JdbcClient.create(readDataSource.getObject()) : jdbcClient,
+                readDataSource.getIfAvailable(() -> dataSource));
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * <p>Trae una sola fila: la de mayor prioridad, con el mismo desempate que
+     * {@code PriceTimeline}.</p>
+     */
+    @Override
+    public Optional<Price> findHighestPriorityApplicable(Long brandId, Long productId, LocalDateTime date) {
+        return readOnlyTransaction.execute(status -> jdbcClient.sql(FIND_HIGHEST_PRIORITY)
+                .params(brandId, productId, date)
+                .query(PRICE)
+                .optional());
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * <p>Trae una sola fila con la ganadora y, de una subconsulta correlacionada sobre el
+     * mismo índice, el inicio de la primera tarifa que la supera.</p>
+     */
+    @Override
+    public Optional<ApplicablePrice> findHighestPriorityApplicableWithValidity(Long brandId, Long productId,
+                                                                               LocalDateTime date) {
+        return readOnlyTransaction.execute(status -> jdbcClient.sql(FIND_HIGHEST_PRIORITY_WITH_OUTRANKING)
+                .params(date, brandId, productId, date)
+                .query((rs, rowNum) -> ApplicablePrice.of(toDomain(rs, 1),
+                        rs.getObject(COLUMN_COUNT + 1, LocalDateTime.class)))
+                .optional());
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * <p>Resuelve el lote con la misma consulta nativa que el adaptador JPA
+     * ({@link PriceBatchQuery#sql(int)}), en trozos de como mucho
+     * {@link PriceBatchQuery#MAX_QUERIES_PER_STATEMENT} consultas.</p>
+     */
+    @Override
+    public List<Optional<Price>> findHighestPriorityApplicable(List<PriceQuery> queries) {
+        List<Optional<Price>> results = new ArrayList<>(Collections.nCopies(queries.size(), Optional.<Price>empty()));
+        readOnlyTransaction.executeWithoutResult(status -> {
+            for (int from = 0; from < queries.size(); from += PriceBatchQuery.MAX_QUERIES_PER_STATEMENT) {
+                int to = Math.min(queries.size(), from + PriceBatchQuery.MAX_QUERIES_PER_STATEMENT);
+                resolve(queries.subList(from, to), from, results);
+            }
+        });
+        return results;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Optional<PriceTimeline> findTimeline(Long brandId, Long productId) {
+        List<Price> tariffs = readOnlyTransaction.execute(status -> jdbcClient.sql(FIND_BY_PRODUCT)
+                .params(brandId, productId)
+                .query(PRICE)
+                .list());
+        return tariffs.isEmpty() ? Optional.empty() : Optional.of(PriceTimeline.of(tariffs));
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @deprecated usar {@link #findHighestPriorityApplicable(Long, Long, LocalDateTime)} para mejor eficiencia
+     */
+    @Override
+    @Deprecated(since = "2.0")
+    public List<Price> findApplicable(Long brandId, Long productId, LocalDateTime date) {
+        return readOnlyTransaction.execute(status -> jdbcClient.sql(FIND_APPLICABLE)
+                .params(brandId, productId, date)
+                .query(PRICE)
+                .list());
+    }
+
+    private void resolve(List<PriceQuery> chunk, int offset, List<Optional<Price>> results) {
+        List<Object> parameters = new ArrayList<>(chunk.size() * 4);
+        for (int i = 0; i < chunk.size(); i++) {
+            PriceQuery query = chunk.get(i);
+            parameters.add(offset + i);
+            parameters.add(query.brandId());
+            parameters.add(query.productId());
+            parameters.add(query.date());
+        }
+        jdbcClient.sql(PriceBatchQuery.sql(chunk.size()))
+                .params(parameters)
+                .query(rs -> {
+                    results.set(rs.getInt(1), Optional.of(toDomain(rs, 2)));
+                });
+    }
+
+    private static Price toDomain(ResultSet rs, int first) throws SQLException {
+        return Price.of(
+            rs.getLong(first),
+            rs.getLong(first + 1),
+            rs.getObject(first + 2, LocalDateTime.class),
+            rs.getObject(first + 3, LocalDateTime.class),
+            rs.getInt(first + 4),
+            rs.getBigDecimal(first + 5),
+            rs.getString(first + 6),
+            rs.getInt(first + 7)
+        );
+    }
+}
@@ -0,0 +1,310 @@
+package com.zara.prices.infrastructure.persistence.memory;
+
+import java.time.LocalDateTime;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Sort;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Repository;
+
+import com.zara.prices.domain.model.Price;
+import com.zara.prices.domain.model.PriceInvalidation;
+import com.zara.prices.domain.model.PriceTimeline;
+import com.zara.prices.domain.model.ProductKey;
+import com.zara.prices.domain.port.out.PriceInvalidationBus;
+import com.zara.prices.domain.port.out.PriceInvalidationSource;
+import com.zara.prices.domain.port.out.PriceRepository;
+import com.zara.prices.infrastructure.invalidation.LocalPriceInvalidationBus;
+import com.zara.prices.infrastructure.persistence.PriceChangeEntity;
+import com.zara.prices.infrastructure.persistence.PriceChangeJpaRepository;
+import com.zara.prices.infrastructure.persistence.PriceJpaMapper;
+import com.zara.prices.infrastructure.persistence.PriceJpaRepository;
+
+/**
+ * Adaptador de persistencia que resuelve las consultas contra una copia en memoria de PRICES.
+ *
+ * <p>Carga todas las tarifas en un {@link PriceSnapshot} inmutable al arrancar y lo
+ * reemplaza de forma atómica en cada refresco. Las prioridades se resuelven una sola
+ * vez al cargar, aplanando cada producto en una línea temporal de tramos disjuntos
+ * ({@link PriceTimelineBuilder}). La ruta de consulta no toca la base de datos:
+ * ni Hikari ni Hibernate intervienen en una petición {@code GET /prices}.</p>
+ *
+ * <p>La primera carga se hace como {@link ApplicationRunner}: Spring Boot no pasa el
+ * estado de readiness a {@code ACCEPTING_TRAFFIC} hasta que todos los runners terminan,
+ * así que la instancia no recibe tráfico hasta tener el snapshot construido.</p>
+ *
+ * <p>Entre recargas completas, un sondeo periódico lee el registro de cambios
+ * PRICE_CHANGES a partir de la última marca de agua y reconstruye solo los productos
+ * afectados, así que el coste de mantener la copia al día es proporcional a lo que
+ * cambia y no al tamaño del catálogo. Los identificadores de cambio pueden confirmarse
+ * fuera de orden entre transacciones concurrentes; la recarga completa periódica
+ * corrige cualquier cambio que el sondeo haya saltado.</p>
+ *
+ * <p>Un aviso del {@link PriceInvalidationBus} adelanta el sondeo: se aplica el registro
+ * de cambios en un hilo virtual, sin esperar al siguiente {@code delta-interval}, y los
+ * avisos que llegan mientras tanto se agrupan en una sola pasada más. Las cachés por
+ * encima de este adaptador se suscriben a él ({@link PriceInvalidationSource}) y no al
+ * bus: cada producto se avisa después de sustituirlo en el snapshot, y una recarga
+ * completa avisa de todo, así que nunca vuelven a cargar una línea temporal antigua.</p>
+ *
+ * <p>Se activa con {@code app.prices.repository=memory}.</p>
+ */
+@Repository
+@ConditionalOnProperty(prefix = "app.prices", name = "repository", havingValue = "memory")
+public class InMemoryPriceRepository implements PriceRepository, PriceInvalidationSource, ApplicationRunner {
+
+    private static final Logger log = LoggerFactory.getLogger(InMemoryPriceRepository.class);
+
+    /** Orden de carga: agrupa las tarifas de cada producto */
+    private static final Sort LOAD_ORDER = Sort.by("brandId", "productId", "startDate");
+
+    /** Cambios leídos por consulta al registro de cambios */
+    private static final int CHANGE_BATCH_SIZE = 1_000;
+
+    /**
+     * Cambios pendientes a partir de los cuales sale más barato recargar todo que releer
+     * producto a producto (por ejemplo, tras una carga masiva que sustituye PRICES)
+     */
+    static final long FULL_RELOAD_BACKLOG = 50_000;
+
+    private final PriceJpaRepository priceJpaRepository;
+    private final PriceChangeJpaRepository priceChangeJpaRepository;
+    private final PriceJpaMapper priceJpaMapper;
+    private final PriceTimelineBuilder timelineBuilder;
+
+    /** Snapshot publicado; {@code null} hasta la primera carga */
+    private final AtomicReference<PriceSnapshot> snapshot = new AtomicReference<>();
+
+    /** Último cambio ya reflejado en el snapshot; solo se lee y escribe con {@link #lock} tomado */
+    private long highWaterMark;
+
+    /**
+     * Serializa recargas y sondeos. Es un {@link ReentrantLock} y no {@code synchronized}
+     * porque ambos hacen E/S JDBC: con hilos virtuales, bloquear dentro de un monitor
+     * inmoviliza el hilo portador durante toda la consulta
+     */
+    private final ReentrantLock lock = new ReentrantLock();
+
+    /** Suscriptores de lo que cambia en el snapshot, avisados ya publicado el cambio */
+    private final LocalPriceInvalidationBus applied = new LocalPriceInvalidationBus();
+
+    /** Hay una pasada por el registro de cambios pedida por el bus y todavía sin empezar */
+    private final AtomicBoolean changesRequested = new AtomicBoolean();
+
+    /**
+     * Constructor con inyección de dependencias.
+     *
+     * @param priceJpaRepository repositorio JPA usado para cargar el snapshot
+     * @param priceChangeJpaRepository registro de cambios usado para los refrescos incrementales
+     * @param priceJpaMapper mapper para conversión JPA <-> dominio
+     * @param buildParallelism hilos para construir las líneas temporales (0 = número de CPUs)
+     * @param invalidationBus bus cuyos avisos adelantan el sondeo del registro de cambios
+     */
+    public InMemoryPriceRepository(PriceJpaRepository priceJpaRepository,
+                                   PriceChangeJpaRepository priceChangeJpaRepository,
+                                   PriceJpaMapper priceJpaMapper,
+                                   @Value("${app.prices.memory.build-parallelism:0}") int buildParallelism,
+                                   PriceInvalidationBus invalidationBus) {
+        this.priceJpaRepository = priceJpaRepository;
+        this.priceChangeJpaRepository = priceChangeJpaRepository;
+        this.priceJpaMapper = priceJpaMapper;
+        this.timelineBuilder = new PriceTimelineBuilder(priceJpaMapper,
+                buildParallelism > 0 ? buildParallelism : Runtime.getRuntime().availableProcessors());
+        invalidationBus.subscribe(invalidation -> requestChanges());
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * <p>Recibe cada producto reconstruido desde el registro de cambios y
+     * {@link PriceInvalidation#all()} tras cada recarga completa.</p>
+     */
+    @Override
+    public void subscribe(Consumer<PriceInvalidation> listener) {
+        applied.subscribe(listener);
+    }
+
+    /**
+     * Construye el primer snapshot antes de que la aplicación acepte tráfico.
+     */
+    @Override
+    public void run(ApplicationArguments args) {
+        refresh();
+    }
+
+    /**
+     * Recarga la tabla completa y publica el nuevo snapshot de forma atómica.
+     *
+     * <p>Las consultas en curso terminan sobre el snapshot anterior. La marca de agua
+     * se lee antes que la tabla, así que los cambios concurrentes con la carga se
+     * vuelven a aplicar en el siguiente sondeo.</p>
+     */
+    @Scheduled(
+        fixedDelayString = "${app.prices.memory.refresh-interval:PT5M}",
+        initialDelayString = "${app.prices.memory.refresh-interval:PT5M}"
+    )
+    public void refresh() {
+        lock.lock();
+        try {
+            long startNanos = System.nanoTime();
+            long mark = priceChangeJpaRepository.findMaxId();
+            PriceSnapshot loaded = timelineBuilder.build(priceJpaRepository.findAll(LOAD_ORDER));
+            snapshot.set(loaded);
+            highWaterMark = mark;
+            applied.publish(PriceInvalidation.all());
+            TimelineBuildStats stats = loaded.stats();
+            log.info("Snapshot de precios cargado en {} ms: {} tarifas, {} productos, {} tramos "
+                    + "(máx. {} por producto), construcción de líneas temporales en {} ms",
+                    (System.nanoTime() - startNanos) / 1_000_000, stats.tariffs(), stats.products(),
+                    stats.segments(), stats.maxSegments(), stats.buildMillis());
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Aplica al snapshot los cambios registrados desde la última sincronización.
+     *
+     * <p>Cada producto afectado se relee de PRICES y su línea temporal se sustituye
+     * de forma atómica; el resto del snapshot no se toca. No hace nada hasta que la
+     * primera carga completa haya terminado. Si hay más de {@link #FULL_RELOAD_BACKLOG}
+     * cambios pendientes o aparece una marca de recarga completa
+     * ({@link PriceChangeEntity#isFullReload()}), hace una recarga completa en su lugar.</p>
+     */
+    @Scheduled(
+        fixedDelayString = "${app.prices.memory.delta-interval:PT5S}",
+        initialDelayString = "${app.prices.memory.delta-interval:PT5S}"
+    )
+    public void applyChanges() {
+        lock.lock();
+        try {
+            PriceSnapshot current = snapshot.get();
+            if (current == null) {
+                return;
+            }
+            long pending = priceChangeJpaRepository.findMaxId() - highWaterMark;
+            if (pending > FULL_RELOAD_BACKLOG) {
+                log.info("{} cambios pendientes en PRICE_CHANGES: recarga completa del snapshot", pending);
+                refresh();
+                return;
+            }
+            long startNanos = System.nanoTime();
+            int changes = 0;
+            int patched = 0;
+            List<PriceChangeEntity> batch;
+            do {
+                batch = priceChangeJpaRepository.findByIdGreaterThanOrderByIdAsc(highWaterMark, Limit.of(CHANGE_BATCH_SIZE));
+                Set<ProductKey> touched = new LinkedHashSet<>();
+                for (PriceChangeEntity change : batch) {
+                    if (change.isFullReload()) {
+                        log.info("Marca de recarga completa en PRICE_CHANGES ({}): recarga completa del snapshot",
+                                change.getId());
+                        refresh();
+                        return;
+                    }
+                    touched.add(ProductKey.of(change.getBrandId(), change.getProductId()));
+                }
+                for (ProductKey key : touched) {
+                    current.replace(key, timelineBuilder.buildOne(
+                            priceJpaRepository.findByBrandIdAndProductId(key.brandId(), key.productId())));
+                    applied.publish(PriceInvalidation.product(key));
+                }
+                if (!batch.isEmpty()) {
+                    highWaterMark = batch.get(batch.size() - 1).getId();
+                }
+                changes += batch.size();
+                patched += touched.size();
+            } while (batch.size() == CHANGE_BATCH_SIZE);
+
+            if (changes > 0) {
+                log.info("Snapshot de precios actualizado en {} ms: {} cambios, {} productos reconstruidos (marca {})",
+                        (System.nanoTime() - startNanos) / 1_000_000, changes, patched, highWaterMark);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Aplica el registro de cambios en segundo plano, sin esperar al siguiente sondeo.
+     *
+     * <p>Solo hay una pasada pendiente a la vez: los avisos que llegan antes de que
+     * empiece se agrupan en ella, y los que llegan mientras se ejecuta piden otra.</p>
+     */
+    void requestChanges() {
+        if (changesRequested.compareAndSet(false, true)) {
+            Thread.ofVirtual().name("price-snapshot-changes").start(() -> {
+                changesRequested.set(false);
+                try {
+                    applyChanges();
+                } catch (RuntimeException e) {
+                    log.warn("Error aplicando PRICE_CHANGES tras un aviso de invalidación: {}", e.getMessage(), e);
+                }
+            });
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * <p>Búsqueda binaria en memoria sobre la línea temporal del producto.</p>
+     */
+    @Override
+    public Optional<Price> findHighestPriorityApplicable(Long brandId, Long productId, LocalDateTime date) {
+        return current().findHighestPriorityApplicable(brandId, productId, date);
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * <p>Retorna la línea temporal ya construida del snapshot, sin copiarla.</p>
+     */
+    @Override
+    public Optional<PriceTimeline> findTimeline(Long brandId, Long productId) {
+        return current().findTimeline(brandId, productId);
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * <p>El snapshot solo conserva la tarifa ganadora de cada tramo, así que esta
+     * consulta heredada, que necesita todas las tarifas solapadas, se delega en JPA.</p>
+     *
+     * @deprecated usar {@link #findHighestPriorityApplicable(Long, Long, LocalDateTime)} para mejor eficiencia
+     */
+    @Override
+    @Deprecated(since = "2.0")
+    public List<Price> findApplicable(Long brandId, Long productId, LocalDateTime date) {
+        return priceJpaRepository.findByBrandIdAndProductIdAndDateBetween(brandId, productId, date)
+                .stream()
+                .map(priceJpaMapper::toDomain)
+                .toList();
+    }
+
+    /**
+     * Retorna el snapshot publicado.
+     *
+     * @throws IllegalStateException si todavía no se ha completado la primera carga
+     */
+    private PriceSnapshot current() {
+        PriceSnapshot current = snapshot.get();
+        if (current == null) {
+            throw new IllegalStateException("El snapshot de precios todavía no se ha cargado");
+        }
+        return current;
+    }
+}
@@ -0,0 +1,77 @@
+package com.zara.prices.infrastructure.persistence.memory;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+import com.zara.prices.domain.model.Price;
+import com.zara.prices.domain.model.PriceTimeline;
+import com.zara.prices.domain.model.ProductKey;
+
+/**
+ * Copia en memoria de la tabla PRICES indexada por (cadena, producto).
+ *
+ * <p>Cada producto guarda su {@link PriceTimeline} ya aplanada, así que una consulta
+ * es un acceso al mapa más una búsqueda binaria. Las líneas temporales son inmutables:
+ * un cambio en un producto construye una nueva y sustituye la anterior en el mapa
+ * (copia en escritura por producto), de modo que las lecturas concurrentes ven la
+ * versión vieja o la nueva completa y no necesitan sincronización. Los refrescos
+ * completos construyen un snapshot nuevo y lo publican de forma atómica.</p>
+ */
+final class PriceSnapshot {
+
+    private final ConcurrentHashMap<ProductKey, PriceTimeline> products;
+    private final TimelineBuildStats stats;
+
+    /**
+     * @param products línea temporal de cada producto
+     * @param stats estadísticas de construcción
+     */
+    PriceSnapshot(ConcurrentHashMap<ProductKey, PriceTimeline> products, TimelineBuildStats stats) {
+        this.products = products;
+        this.stats = stats;
+    }
+
+    /**
+     * Retorna la tarifa efectiva de un producto en una fecha.
+     *
+     * @param brandId identificador de la cadena
+     * @param productId identificador del producto
+     * @param date fecha de consulta
+     * @return Optional con la tarifa ganadora
+     */
+    Optional<Price> findHighestPriorityApplicable(Long brandId, Long productId, LocalDateTime date) {
+        PriceTimeline timeline = products.get(ProductKey.of(brandId, productId));
+        return timeline == null ? Optional.empty() : timeline.priceAt(date);
+    }
+
+    /**
+     * Retorna la línea temporal de un producto.
+     *
+     * @param brandId identificador de la cadena
+     * @param productId identificador del producto
+     * @return Optional con la línea temporal, o vacío si el producto no tiene tarifas
+     */
+    Optional<PriceTimeline> findTimeline(Long brandId, Long productId) {
+        return Optional.ofNullable(products.get(ProductKey.of(brandId, productId)));
+    }
+
+    /**
+     * Sustituye la línea temporal de un producto.
+     *
+     * @param key producto modificado
+     * @param timeline nueva línea temporal; vacía si el producto ya no tiene tarifas
+     */
+    void replace(ProductKey key, PriceTimeline timeline) {
+        if (timeline.isEmpty()) {
+            products.remove(key);
+        } else {
+            products.put(key, timeline);
+        }
+    }
+
+    /** Estadísticas de construcción del snapshot */
+    TimelineBuildStats stats() {
+        return stats;
+    }
+}
@@ -0,0 +1,126 @@
+package com.zara.prices.infrastructure.persistence.memory;
+
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.stream.IntStream;
+
+import com.zara.prices.domain.model.Price;
+import com.zara.prices.domain.model.PriceTimeline;
+import com.zara.prices.domain.model.ProductKey;
+import com.zara.prices.infrastructure.persistence.PriceEntity;
+import com.zara.prices.infrastructure.persistence.PriceJpaMapper;
+
+/**
+ * Construye las líneas temporales de precio efectivo de todo el catálogo.
+ *
+ * <p>Recibe las filas crudas de PRICES ordenadas por (cadena, producto), las parte
+ * en grupos contiguos de un mismo producto y aplana cada grupo en un
+ * {@link PriceTimeline}. Los grupos son independientes entre sí, así que se
+ * reparten entre los hilos de un {@link ForkJoinPool} dedicado.</p>
+ */
+final class PriceTimelineBuilder {
+
+    /** Número de productos por debajo del cual una tarea deja de dividirse */
+    private static final int SEQUENTIAL_THRESHOLD = 512;
+
+    private final PriceJpaMapper mapper;
+    private final int parallelism;
+
+    /**
+     * @param mapper mapper para conversión JPA <-> dominio
+     * @param parallelism número de hilos del pool fork/join
+     */
+    PriceTimelineBuilder(PriceJpaMapper mapper, int parallelism) {
+        this.mapper = mapper;
+        this.parallelism = parallelism;
+    }
+
+    /**
+     * Construye el snapshot completo a partir de las filas de PRICES.
+     *
+     * @param rows filas ordenadas por (cadena, producto); el orden dentro de cada producto es indiferente
+     * @return snapshot con una línea temporal por producto y las estadísticas de construcción
+     * @throws IllegalStateException si las filas de un mismo producto no son contiguas
+     */
+    PriceSnapshot build(List<PriceEntity> rows) {
+        long startNanos = System.nanoTime();
+        int[] groupStarts = groupStarts(rows);
+        int groups = groupStarts.length - 1;
+        PriceTimeline[] timelines = new PriceTimeline[groups];
+        try (ForkJoinPool pool = new ForkJoinPool(parallelism)) {
+            pool.invoke(new BuildTask(rows, groupStarts, timelines, 0, groups));
+        }
+        ConcurrentHashMap<ProductKey, PriceTimeline> byProduct = new ConcurrentHashMap<>(groups * 4 / 3 + 1);
+        for (int g = 0; g < groups; g++) {
+            if (byProduct.put(keyOf(rows.get(groupStarts[g])), timelines[g]) != null) {
+                throw new IllegalStateException("Filas no agrupadas por producto: " + keyOf(rows.get(groupStarts[g])));
+            }
+        }
+
+        int segments = 0;
+        int maxSegments = 0;
+        for (PriceTimeline timeline : timelines) {
+            segments += timeline.segmentCount();
+            maxSegments = Math.max(maxSegments, timeline.segmentCount());
+        }
+        TimelineBuildStats stats = new TimelineBuildStats(
+                groups, rows.size(), segments, maxSegments, (System.nanoTime() - startNanos) / 1_000_000);
+        return new PriceSnapshot(byProduct, stats);
+    }
+
+    /**
+     * Construye la línea temporal de un único producto.
+     *
+     * @param rows filas del producto, en cualquier orden
+     * @return línea temporal del producto
+     */
+    PriceTimeline buildOne(List<PriceEntity> rows) {
+        List<Price> tariffs = rows.stream().map(mapper::toDomain).toList();
+        return PriceTimeline.of(tariffs);
+    }
+
+    /**
+     * Calcula el índice de la primera fila de cada grupo, más un centinela final.
+     */
+    private static int[] groupStarts(List<PriceEntity> rows) {
+        return IntStream.rangeClosed(0, rows.size())
+                .filter(i -> i == 0 || i == rows.size() || !keyOf(rows.get(i)).equals(keyOf(rows.get(i - 1))))
+                .toArray();
+    }
+
+    private static ProductKey keyOf(PriceEntity row) {
+        return ProductKey.of(row.getBrandId(), row.getProductId());
+    }
+
+    /** Divide el rango de grupos por la mitad hasta el umbral y construye cada mitad en paralelo */
+    private final class BuildTask extends RecursiveAction {
+        private final List<PriceEntity> rows;
+        private final int[] groupStarts;
+        private final PriceTimeline[] timelines;
+        private final int from;
+        private final int to;
+
+        private BuildTask(List<PriceEntity> rows, int[] groupStarts, PriceTimeline[] timelines, int from, int to) {
+            this.rows = rows;
+            this.groupStarts = groupStarts;
+            this.timelines = timelines;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= SEQUENTIAL_THRESHOLD) {
+                for (int g = from; g < to; g++) {
+                    timelines[g] = buildOne(rows.subList(groupStarts[g], groupStarts[g + 1]));
+                }
+                return;
+            }
+            int mid = (from + to) >>> 1;
+            invokeAll(new BuildTask(rows, groupStarts, timelines, from, mid),
+                      new BuildTask(rows, groupStarts, timelines, mid, to));
+        }
+    }
+}
@@ -0,0 +1,16 @@
+package com.zara.prices.infrastructure.persistence.memory;
+
+/**
+ * Coste de construir las líneas temporales de un snapshot.
+ *
+ * <p>Permite seguir cómo crecen el número de tramos y el tiempo de construcción
+ * a medida que crece el catálogo.</p>
+ *
+ * @param products número de productos (líneas temporales construidas)
+ * @param tariffs número de filas de PRICES procesadas
+ * @param segments número total de tramos disjuntos resultantes
+ * @param maxSegments mayor número de tramos de un mismo producto
+ * @param buildMillis tiempo de construcción en milisegundos
+ */
+record TimelineBuildStats(int products, int tariffs, int segments, int maxSegments, long buildMillis) {
+}
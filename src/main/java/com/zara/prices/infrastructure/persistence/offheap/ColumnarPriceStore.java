@@ -0,0 +1,184 @@
+package com.zara.prices.infrastructure.persistence.offheap;
+
+import java.nio.ByteBuffer;
+import java.util.List;
+
+import com.zara.prices.domain.model.Price;
+import com.zara.prices.domain.model.PriceTimeline;
+
+/**
+ * Almacén columnar de tramos de precio guardado fuera del heap.
+ *
+ * <p>Cada {@link PriceColumn} ocupa su propio {@link ByteBuffer} directo, de modo que
+ * decenas de millones de tramos no suponen objetos que el recolector de basura tenga
+ * que recorrer: en el heap solo quedan las referencias a los buffers y el diccionario
+ * de monedas.</p>
+ *
+ * <p>Las filas están ordenadas por (cadena, producto, inicio de tramo) y los tramos de
+ * un producto no se solapan, así que una consulta es una única búsqueda binaria sobre
+ * las columnas. El {@link Price} solo se crea para la fila encontrada.</p>
+ *
+ * <p>Inmutable una vez construido; seguro para lecturas concurrentes.</p>
+ */
+final class ColumnarPriceStore {
+
+    private final ByteBuffer[] columns;
+    private final int rows;
+    private final List<CurrencyUnit> currencies;
+
+    /**
+     * @param columns un buffer por columna, en el orden de {@link PriceColumn}
+     * @param rows número de filas válidas
+     * @param currencies diccionario de monedas indexado por la columna {@code CURRENCY}
+     */
+    ColumnarPriceStore(ByteBuffer[] columns, int rows, List<CurrencyUnit> currencies) {
+        this.columns = columns;
+        this.rows = rows;
+        this.currencies = List.copyOf(currencies);
+    }
+
+    /**
+     * Busca la fila cuyo tramo contiene el instante indicado.
+     *
+     * @param brandId identificador de la cadena
+     * @param productId identificador del producto
+     * @param micros instante de consulta en microsegundos desde epoch
+     * @return índice de la fila, o -1 si ningún tramo del producto cubre el instante
+     */
+    int find(long brandId, long productId, long micros) {
+        int low = 0;
+        int high = rows - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            if (compareKey(mid, brandId, productId, micros) > 0) {
+                high = mid - 1;
+            } else {
+                low = mid + 1;
+            }
+        }
+        if (high < 0
+                || getLong(PriceColumn.BRAND_ID, high) != brandId
+                || getLong(PriceColumn.PRODUCT_ID, high) != productId
+                || micros >= getLong(PriceColumn.SEGMENT_UNTIL, high)) {
+            return -1;
+        }
+        return high;
+    }
+
+    /**
+     * Reconstruye la línea temporal de un producto a partir de sus filas contiguas.
+     *
+     * @param brandId identificador de la cadena
+     * @param productId identificador del producto
+     * @return línea temporal del producto, vacía si no tiene filas
+     */
+    PriceTimeline timeline(long brandId, long productId) {
+        int first = lowerBound(brandId, productId);
+        int last = first;
+        while (last < rows
+                && getLong(PriceColumn.BRAND_ID, last) == brandId
+                && getLong(PriceColumn.PRODUCT_ID, last) == productId) {
+            last++;
+        }
+        int count = last - first;
+        long[] froms = new long[count];
+        long[] untils = new long[count];
+        Price[] prices = new Price[count];
+        for (int i = 0; i < count; i++) {
+            froms[i] = getLong(PriceColumn.SEGMENT_FROM, first + i);
+            untils[i] = getLong(PriceColumn.SEGMENT_UNTIL, first + i);
+            prices[i] = priceAt(first + i);
+        }
+        return PriceTimeline.ofSegments(froms, untils, prices);
+    }
+
+    /**
+     * Materializa la tarifa de una fila como objeto de dominio.
+     *
+     * @param row índice de fila devuelto por {@link #find(long, long, long)}
+     * @return tarifa de la fila
+     */
+    Price priceAt(int row) {
+        CurrencyUnit currency = currencies.get(getShort(PriceColumn.CURRENCY, row));
+        return new Price(
+            getLong(PriceColumn.BRAND_ID, row),
+            getLong(PriceColumn.PRODUCT_ID, row),
+            getLong(PriceColumn.START, row),
+            getLong(PriceColumn.END, row),
+            getInt(PriceColumn.PRIORITY, row),
+            getLong(PriceColumn.PRICE_MINOR, row),
+            currency.scale(),
+            currency.currency(),
+            getInt(PriceColumn.PRICE_LIST, row)
+        );
+    }
+
+    /** Número de filas (tramos) del almacén */
+    int rowCount() {
+        return rows;
+    }
+
+    /** Diccionario de monedas */
+    List<CurrencyUnit> currencies() {
+        return currencies;
+    }
+
+    /** Buffer de una columna, para volcarlo a disco */
+    ByteBuffer column(PriceColumn column) {
+        return columns[column.ordinal()];
+    }
+
+    /** Bytes ocupados fuera del heap por las filas válidas */
+    long offHeapBytes() {
+        long bytes = 0;
+        for (PriceColumn column : PriceColumn.values()) {
+            bytes += (long) rows * column.width;
+        }
+        return bytes;
+    }
+
+    /**
+     * Primera fila cuyo producto es mayor o igual que el buscado.
+     */
+    private int lowerBound(long brandId, long productId) {
+        int low = 0;
+        int high = rows;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (compareKey(mid, brandId, productId, Long.MIN_VALUE) < 0) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * Compara la clave de la fila con la clave buscada.
+     *
+     * @return negativo, cero o positivo si la fila es menor, igual o mayor
+     */
+    private int compareKey(int row, long brandId, long productId, long micros) {
+        int cmp = Long.compare(getLong(PriceColumn.BRAND_ID, row), brandId);
+        if (cmp == 0) {
+            cmp = Long.compare(getLong(PriceColumn.PRODUCT_ID, row), productId);
+        }
+        if (cmp == 0) {
+            cmp = Long.compare(getLong(PriceColumn.SEGMENT_FROM, row), micros);
+        }
+        return cmp;
+    }
+
+    private long getLong(PriceColumn column, int row) {
+        return columns[column.ordinal()].getLong(row * Long.BYTES);
+    }
+
+    private int getInt(PriceColumn column, int row) {
+        return columns[column.ordinal()].getInt(row * Integer.BYTES);
+    }
+
+    private short getShort(PriceColumn column, int row) {
+        return columns[column.ordinal()].getShort(row * Short.BYTES);
+    }
+}
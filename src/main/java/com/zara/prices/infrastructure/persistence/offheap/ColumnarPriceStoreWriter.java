@@ -0,0 +1,129 @@
+package com.zara.prices.infrastructure.persistence.offheap;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.zara.prices.domain.model.Price;
+
+/**
+ * Construye un {@link ColumnarPriceStore} añadiendo tramos uno a uno.
+ *
+ * <p>Los buffers directos crecen por duplicación cuando se llenan. Los tramos deben
+ * añadirse en orden estricto de (cadena, producto, inicio de tramo), que es el orden
+ * en el que se recorren las líneas temporales al cargar el catálogo.</p>
+ *
+ * <p>No es seguro para uso concurrente.</p>
+ */
+final class ColumnarPriceStoreWriter {
+
+    /** Orden de bytes de todas las columnas, fijo para que el formato sea portable */
+    static final ByteOrder BYTE_ORDER = ByteOrder.LITTLE_ENDIAN;
+
+    private final ByteBuffer[] columns = new ByteBuffer[PriceColumn.values().length];
+    private final List<CurrencyUnit> currencies = new ArrayList<>();
+    private final Map<CurrencyUnit, Short> currencyIndex = new HashMap<>();
+    private int capacity;
+    private int rows;
+
+    /**
+     * @param initialCapacity número de filas previsto
+     */
+    ColumnarPriceStoreWriter(int initialCapacity) {
+        this.capacity = Math.max(initialCapacity, 16);
+        for (PriceColumn column : PriceColumn.values()) {
+            columns[column.ordinal()] = allocate(capacity, column);
+        }
+    }
+
+    /**
+     * Añade un tramo al final del almacén.
+     *
+     * @param fromMicros inicio del tramo (inclusivo)
+     * @param untilMicros fin del tramo (exclusivo)
+     * @param price tarifa ganadora en el tramo
+     * @throws IllegalArgumentException si el tramo no respeta el orden de inserción
+     */
+    void append(long fromMicros, long untilMicros, Price price) {
+        if (rows > 0 && !follows(price.brandId(), price.productId(), fromMicros)) {
+            throw new IllegalArgumentException("Tramo fuera de orden para el producto "
+                    + price.brandId() + "/" + price.productId());
+        }
+        if (rows == capacity) {
+            grow();
+        }
+        short currency = currencyIndex(new CurrencyUnit(price.currency(), price.priceScale()));
+        putLong(PriceColumn.BRAND_ID, price.brandId());
+        putLong(PriceColumn.PRODUCT_ID, price.productId());
+        putLong(PriceColumn.SEGMENT_FROM, fromMicros);
+        putLong(PriceColumn.SEGMENT_UNTIL, untilMicros);
+        putLong(PriceColumn.START, price.startMicros());
+        putLong(PriceColumn.END, price.endMicros());
+        putLong(PriceColumn.PRICE_MINOR, price.priceMinor());
+        putInt(PriceColumn.PRIORITY, price.priority());
+        putInt(PriceColumn.PRICE_LIST, price.priceList());
+        columns[PriceColumn.CURRENCY.ordinal()].putShort(rows * Short.BYTES, currency);
+        rows++;
+    }
+
+    /**
+     * Cierra la construcción.
+     *
+     * @return almacén inmutable con las filas añadidas
+     */
+    ColumnarPriceStore finish() {
+        return new ColumnarPriceStore(columns.clone(), rows, currencies);
+    }
+
+    private boolean follows(long brandId, long productId, long fromMicros) {
+        int last = rows - 1;
+        long lastBrand = columns[PriceColumn.BRAND_ID.ordinal()].getLong(last * Long.BYTES);
+        long lastProduct = columns[PriceColumn.PRODUCT_ID.ordinal()].getLong(last * Long.BYTES);
+        long lastFrom = columns[PriceColumn.SEGMENT_FROM.ordinal()].getLong(last * Long.BYTES);
+        if (brandId != lastBrand) {
+            return brandId > lastBrand;
+        }
+        if (productId != lastProduct) {
+            return productId > lastProduct;
+        }
+        return fromMicros > lastFrom;
+    }
+
+    private short currencyIndex(CurrencyUnit unit) {
+        return currencyIndex.computeIfAbsent(unit, u -> {
+            if (currencies.size() > Short.MAX_VALUE) {
+                throw new IllegalArgumentException("Demasiadas combinaciones de moneda y escala");
+            }
+            currencies.add(u);
+            return (short) (currencies.size() - 1);
+        });
+    }
+
+    private void grow() {
+        int newCapacity = Math.toIntExact(Math.min((long) capacity * 2, Integer.MAX_VALUE / Long.BYTES));
+        if (newCapacity <= capacity) {
+            throw new IllegalStateException("Capacidad máxima del almacén columnar alcanzada: " + capacity);
+        }
+        for (PriceColumn column : PriceColumn.values()) {
+            ByteBuffer grown = allocate(newCapacity, column);
+            grown.put(0, columns[column.ordinal()], 0, rows * column.width);
+            columns[column.ordinal()] = grown;
+        }
+        capacity = newCapacity;
+    }
+
+    private void putLong(PriceColumn column, long value) {
+        columns[column.ordinal()].putLong(rows * Long.BYTES, value);
+    }
+
+    private void putInt(PriceColumn column, int value) {
+        columns[column.ordinal()].putInt(rows * Integer.BYTES, value);
+    }
+
+    private static ByteBuffer allocate(int capacity, PriceColumn column) {
+        return ByteBuffer.allocateDirect(capacity * column.width).order(BYTE_ORDER);
+    }
+}
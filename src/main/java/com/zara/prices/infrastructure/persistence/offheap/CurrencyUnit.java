@@ -0,0 +1,15 @@
+package com.zara.prices.infrastructure.persistence.offheap;
+
+import java.util.Currency;
+
+/**
+ * Entrada del diccionario de monedas del almacén columnar.
+ *
+ * <p>La columna {@code CURRENCY} guarda solo el índice de la entrada; el código y
+ * la escala decimal del precio se comparten entre todas las filas que la usan.</p>
+ *
+ * @param currency moneda (en el fichero de índice se guarda su código ISO, ej: EUR)
+ * @param scale número de decimales con el que se expresa el precio en unidades mínimas
+ */
+record CurrencyUnit(Currency currency, int scale) {
+}
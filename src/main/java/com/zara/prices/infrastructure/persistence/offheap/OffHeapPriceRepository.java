@@ -0,0 +1,313 @@
+package com.zara.prices.infrastructure.persistence.offheap;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.zara.prices.domain.model.EpochMicros;
+import com.zara.prices.domain.model.Price;
+import com.zara.prices.domain.model.PriceInvalidation;
+import com.zara.prices.domain.model.PriceTimeline;
+import com.zara.prices.domain.port.out.PriceInvalidationSource;
+import com.zara.prices.domain.port.out.PriceRepository;
+import com.zara.prices.infrastructure.invalidation.LocalPriceInvalidationBus;
+import com.zara.prices.infrastructure.persistence.PriceEntity;
+import com.zara.prices.infrastructure.persistence.PriceJpaMapper;
+import com.zara.prices.infrastructure.persistence.PriceJpaRepository;
+
+import jakarta.persistence.EntityManager;
+
+/**
+ * Adaptador de persistencia que resuelve las consultas contra un almacén columnar fuera del heap.
+ *
+ * <p>Pensado para catálogos de decenas de millones de tarifas: cada tramo de precio
+ * efectivo se guarda como una fila de columnas primitivas en buffers directos
+ * ({@link ColumnarPriceStore}), de modo que el tamaño del heap y las pausas de GC
+ * no crecen con el catálogo. Solo se crea un {@link Price} por respuesta.</p>
+ *
+ * <p>La carga recorre PRICES con un cursor de solo lectura, producto a producto,
+ * sin retener las entidades ya procesadas. Igual que el adaptador en memoria, la
+ * primera carga se completa antes de que la instancia acepte tráfico y los refrescos
+ * publican un almacén nuevo de forma atómica.</p>
+ *
+ * <p>No hay refresco incremental: el almacén se recarga entero cada
+ * {@code app.prices.offheap.refresh-interval}. Por eso las cachés por encima de este
+ * adaptador se suscriben a él ({@link PriceInvalidationSource}) y no al bus: vaciarlas
+ * con un aviso del bus solo haría que volvieran a cargar el almacén todavía antiguo, así
+ * que se vacían cuando se publica uno nuevo.</p>
+ *
+ * <p>Si se configura {@code app.prices.offheap.index-file}, cada carga se vuelca a ese
+ * fichero ({@link PriceIndexFile}) y las consultas se sirven desde el fichero proyectado
+ * en memoria. Al arrancar, si el fichero existe, es válido y no supera
+ * {@code app.prices.offheap.index-max-age}, se proyecta directamente y la instancia
+ * acepta tráfico sin recorrer la base de datos; el primer refresco programado lo pone al
+ * día. Un fichero más antiguo se descarta y se carga la base de datos, para no servir
+ * tarifas de hace días tras una parada larga.</p>
+ *
+ * <p>Se activa con {@code app.prices.repository=offheap}.</p>
+ */
+@Repository
+@ConditionalOnProperty(prefix = "app.prices", name = "repository", havingValue = "offheap")
+public class OffHeapPriceRepository implements PriceRepository, PriceInvalidationSource, ApplicationRunner {
+
+    private static final Logger log = LoggerFactory.getLogger(OffHeapPriceRepository.class);
+
+    private final PriceJpaRepository priceJpaRepository;
+    private final PriceJpaMapper priceJpaMapper;
+    private final EntityManager entityManager;
+    private final TransactionTemplate readOnlyTransaction;
+    private final Path indexFile;
+    private final Duration indexMaxAge;
+
+    /** Almacén publicado; {@code null} hasta la primera carga */
+    private final AtomicReference<ColumnarPriceStore> store = new AtomicReference<>();
+
+    /**
+     * Serializa las recargas: la programada y la que lanza la comprobación del índice
+     * pueden coincidir y ambas escriben el fichero. Es un {@link ReentrantLock} y no
+     * {@code synchronized} porque la recarga hace E/S JDBC y de disco
+     */
+    private final ReentrantLock lock = new ReentrantLock();
+
+    /** Suscriptores avisados cada vez que se publica un almacén nuevo */
+    private final LocalPriceInvalidationBus applied = new LocalPriceInvalidationBus();
+
+    /**
+     * Constructor con inyección de dependencias.
+     *
+     * @param priceJpaRepository repositorio JPA usado para cargar el almacén
+     * @param priceJpaMapper mapper para conversión JPA <-> dominio
+     * @param entityManager contexto de persistencia compartido, para desvincular filas ya copiadas
+     * @param transactionManager gestor de transacciones para el cursor de carga
+     * @param indexFile fichero de índice en disco; vacío para trabajar solo en memoria directa
+     * @param indexMaxAge antigüedad máxima del fichero de índice para usarlo al arrancar
+     */
+    public OffHeapPriceRepository(PriceJpaRepository priceJpaRepository, PriceJpaMapper priceJpaMapper,
+                                  EntityManager entityManager, PlatformTransactionManager transactionManager,
+                                  @Value("${app.prices.offheap.index-file:}") String indexFile,
+                                  @Value("${app.prices.offheap.index-max-age:PT1H}") Duration indexMaxAge) {
+        this.priceJpaRepository = priceJpaRepository;
+        this.priceJpaMapper = priceJpaMapper;
+        this.entityManager = entityManager;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.indexFile = indexFile.isBlank() ? null : Path.of(indexFile);
+        this.indexMaxAge = indexMaxAge;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * <p>Recibe {@link PriceInvalidation#all()} cada vez que se publica un almacén nuevo.</p>
+     */
+    @Override
+    public void subscribe(Consumer<PriceInvalidation> listener) {
+        applied.subscribe(listener);
+    }
+
+    /**
+     * Publica el primer almacén antes de que la aplicación acepte tráfico: desde el
+     * fichero de índice si existe, es válido y no es más antiguo que
+     * {@code app.prices.offheap.index-max-age}, o cargando la base de datos si no.
+     *
+     * <p>Al proyectar el fichero solo se comprueban cabecera y diccionario; el checksum
+     * de las columnas se comprueba después en segundo plano y, si no coincide, el
+     * almacén se recarga desde base de datos.</p>
+     */
+    @Override
+    public void run(ApplicationArguments args) {
+        if (indexFile != null && Files.exists(indexFile)) {
+            try {
+                PriceIndexFile.MappedIndex mapped = PriceIndexFile.map(indexFile);
+                if (mapped.builtAt().isBefore(Instant.now().minus(indexMaxAge))) {
+                    log.info("Índice de precios {} construido en {}, más antiguo que {}: se recarga desde base de datos",
+                            indexFile, mapped.builtAt(), indexMaxAge);
+                } else {
+                    store.set(mapped.store());
+                    applied.publish(PriceInvalidation.all());
+                    log.info("Índice de precios proyectado desde {}: {} tramos construidos en {}",
+                            indexFile, mapped.store().rowCount(), mapped.builtAt());
+                    Thread.ofVirtual().name("price-index-verify").start(() -> verify(mapped));
+                    return;
+                }
+            } catch (IOException | RuntimeException e) {
+                log.warn("No se pudo usar el índice de precios {}, se recarga desde base de datos: {}",
+                        indexFile, e.getMessage());
+            }
+        }
+        refresh();
+    }
+
+    /**
+     * Recarga la tabla completa y publica el nuevo almacén de forma atómica.
+     *
+     * <p>La memoria directa del almacén anterior se libera cuando el recolector
+     * descarta sus buffers. Con fichero de índice configurado, el almacén se vuelca
+     * a disco y se publica la versión proyectada, así que la memoria directa de la
+     * carga tampoco se retiene.</p>
+     */
+    @Scheduled(
+        fixedDelayString = "${app.prices.offheap.refresh-interval:PT5M}",
+        initialDelayString = "${app.prices.offheap.refresh-interval:PT5M}"
+    )
+    public void refresh() {
+        lock.lock();
+        try {
+            long startNanos = System.nanoTime();
+            ColumnarPriceStore loaded = readOnlyTransaction.execute(status -> load());
+            if (indexFile != null) {
+                loaded = persist(loaded);
+            }
+            store.set(loaded);
+            applied.publish(PriceInvalidation.all());
+            log.info("Almacén columnar de precios cargado en {} ms: {} tramos, {} KiB fuera del heap",
+                    (System.nanoTime() - startNanos) / 1_000_000, loaded.rowCount(), loaded.offHeapBytes() / 1024);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * <p>Búsqueda binaria directamente sobre las columnas; solo se crea el {@link Price} encontrado.</p>
+     */
+    @Override
+    public Optional<Price> findHighestPriorityApplicable(Long brandId, Long productId, LocalDateTime date) {
+        ColumnarPriceStore current = current();
+        int row = current.find(brandId, productId, EpochMicros.of(date));
+        return row < 0 ? Optional.empty() : Optional.of(current.priceAt(row));
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * <p>Se reconstruye a partir de las filas contiguas del producto en el almacén.</p>
+     */
+    @Override
+    public Optional<PriceTimeline> findTimeline(Long brandId, Long productId) {
+        PriceTimeline timeline = current().timeline(brandId, productId);
+        return timeline.isEmpty() ? Optional.empty() : Optional.of(timeline);
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * <p>El almacén solo conserva la tarifa ganadora de cada tramo, así que esta
+     * consulta heredada, que necesita todas las tarifas solapadas, se delega en JPA.</p>
+     *
+     * @deprecated usar {@link #findHighestPriorityApplicable(Long, Long, LocalDateTime)} para mejor eficiencia
+     */
+    @Override
+    @Deprecated(since = "2.0")
+    public List<Price> findApplicable(Long brandId, Long productId, LocalDateTime date) {
+        return priceJpaRepository.findByBrandIdAndProductIdAndDateBetween(brandId, productId, date)
+                .stream()
+                .map(priceJpaMapper::toDomain)
+                .toList();
+    }
+
+    /**
+     * Recorre PRICES producto a producto y vuelca los tramos de cada línea temporal.
+     * Debe ejecutarse dentro de una transacción.
+     */
+    private ColumnarPriceStore load() {
+        ColumnarPriceStoreWriter writer = new ColumnarPriceStoreWriter(Math.toIntExact(priceJpaRepository.count()));
+        List<Price> product = new ArrayList<>();
+        try (Stream<PriceEntity> rows = priceJpaRepository.streamAllOrderedByProduct()) {
+            rows.forEach(row -> {
+                if (!product.isEmpty() && !sameProduct(product.get(0), row)) {
+                    appendTimeline(writer, product);
+                }
+                product.add(priceJpaMapper.toDomain(row));
+                entityManager.detach(row);
+            });
+        }
+        appendTimeline(writer, product);
+        return writer.finish();
+    }
+
+    /**
+     * Vuelca el almacén al fichero de índice y lo vuelve a abrir proyectado en memoria.
+     * Si el disco falla se sigue sirviendo desde memoria directa.
+     */
+    private ColumnarPriceStore persist(ColumnarPriceStore loaded) {
+        try {
+            PriceIndexFile.write(loaded, indexFile);
+            return PriceIndexFile.map(indexFile).store();
+        } catch (IOException | RuntimeException e) {
+            log.warn("No se pudo escribir el índice de precios {}: {}", indexFile, e.getMessage());
+            return loaded;
+        }
+    }
+
+    /**
+     * Comprueba las columnas del índice proyectado al arrancar y, si están corruptas y
+     * el almacén publicado sigue siendo ese, lo recarga desde base de datos. La
+     * comprobación y la recarga se hacen con el cerrojo tomado, para no repetir una
+     * recarga programada que ya lo haya sustituido.
+     */
+    private void verify(PriceIndexFile.MappedIndex mapped) {
+        try {
+            mapped.verify();
+        } catch (RuntimeException e) {
+            lock.lock();
+            try {
+                if (store.get() != mapped.store()) {
+                    return;
+                }
+                log.warn("Índice de precios {} corrupto, se recarga desde base de datos: {}", indexFile, e.getMessage());
+                refresh();
+            } catch (RuntimeException reload) {
+                log.error("No se pudo recargar el almacén de precios tras descartar el índice {}", indexFile, reload);
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+
+    private static void appendTimeline(ColumnarPriceStoreWriter writer, List<Price> product) {
+        if (!product.isEmpty()) {
+            PriceTimeline.of(product).forEachSegment(writer::append);
+            product.clear();
+        }
+    }
+
+    private static boolean sameProduct(Price price, PriceEntity row) {
+        return price.brandId() == row.getBrandId() && price.productId() == row.getProductId();
+    }
+
+    /**
+     * Retorna el almacén publicado.
+     *
+     * @throws IllegalStateException si todavía no se ha completado la primera carga
+     */
+    private ColumnarPriceStore current() {
+        ColumnarPriceStore current = store.get();
+        if (current == null) {
+            throw new IllegalStateException("El almacén de precios todavía no se ha cargado");
+        }
+        return current;
+    }
+}
@@ -0,0 +1,30 @@
+package com.zara.prices.infrastructure.persistence.offheap;
+
+/**
+ * Columnas primitivas del almacén de precios fuera del heap.
+ *
+ * <p>Cada fila es un tramo de la línea temporal de un producto: los límites del
+ * tramo ({@code SEGMENT_FROM}/{@code SEGMENT_UNTIL}) más los campos de la tarifa
+ * ganadora. Las fechas se guardan en microsegundos desde epoch y el precio en
+ * unidades mínimas de su moneda.</p>
+ */
+enum PriceColumn {
+
+    BRAND_ID(Long.BYTES),
+    PRODUCT_ID(Long.BYTES),
+    SEGMENT_FROM(Long.BYTES),
+    SEGMENT_UNTIL(Long.BYTES),
+    START(Long.BYTES),
+    END(Long.BYTES),
+    PRICE_MINOR(Long.BYTES),
+    PRIORITY(Integer.BYTES),
+    PRICE_LIST(Integer.BYTES),
+    CURRENCY(Short.BYTES);
+
+    /** Ancho en bytes de cada valor de la columna */
+    final int width;
+
+    PriceColumn(int width) {
+        this.width = width;
+    }
+}
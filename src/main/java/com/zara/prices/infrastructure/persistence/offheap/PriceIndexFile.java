@@ -0,0 +1,283 @@
+package com.zara.prices.infrastructure.persistence.offheap;
+
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Currency;
+import java.util.List;
+import java.util.zip.CRC32C;
+
+/**
+ * Formato en disco del índice de precios, consultable en sitio mediante {@code mmap}.
+ *
+ * <p>El fichero es una copia binaria de un {@link ColumnarPriceStore}: cabecera,
+ * diccionario de monedas y las columnas una detrás de otra, alineadas a 8 bytes y
+ * en little-endian. Al abrirlo, cada columna se proyecta en memoria como un
+ * {@link java.nio.MappedByteBuffer} de solo lectura y el almacén las usa tal cual,
+ * sin deserializar nada: las páginas se cargan bajo demanda desde la caché de páginas
+ * del sistema operativo, que comparten todas las JVM del host que abran el mismo fichero.</p>
+ *
+ * <pre>
+ * offset  tamaño  campo
+ *      0       4  magic "PRIX"
+ *      4       4  versión del formato
+ *      8       4  número de filas
+ *     12       4  número de monedas
+ *     16       4  tamaño del diccionario en bytes
+ *     20       4  reservado
+ *     24       8  instante de construcción (epoch millis)
+ *     32       8  CRC32C del resto de la cabecera y del diccionario
+ *     40     8*n  CRC32C de cada columna, en el orden de {@link PriceColumn}
+ *      -       -  diccionario: por moneda, longitud (2) + código UTF-8 + escala (4)
+ *      -       -  columnas en el orden de {@link PriceColumn}, alineadas a 8 bytes
+ * </pre>
+ *
+ * <p>Al abrir solo se comprueban la cabecera y el diccionario, que son pequeños: los
+ * tamaños y desplazamientos se validan contra el fichero antes de leer nada y el
+ * checksum antes de decodificar el diccionario. Las columnas tienen cada una su
+ * checksum, que se comprueba aparte con {@link MappedIndex#verify()}, para que abrir
+ * el fichero no cueste leerlo entero.</p>
+ */
+final class PriceIndexFile {
+
+    /** "PRIX" en little-endian */
+    static final int MAGIC = 0x58495250;
+
+    /** Versión del formato; cambia con cualquier cambio de {@link PriceColumn} o de la cabecera */
+    static final int FORMAT_VERSION = 2;
+
+    /** Posición del checksum de cabecera y diccionario */
+    private static final int HEADER_CHECKSUM_OFFSET = 32;
+
+    static final int HEADER_SIZE = HEADER_CHECKSUM_OFFSET + Long.BYTES + PriceColumn.values().length * Long.BYTES;
+    private static final int ALIGNMENT = Long.BYTES;
+
+    private PriceIndexFile() {
+    }
+
+    /**
+     * Vuelca el almacén a disco de forma atómica.
+     *
+     * <p>Se escribe un fichero temporal en el mismo directorio y se renombra sobre el
+     * destino, así que los lectores ven el fichero anterior o el nuevo, nunca uno a medias.
+     * Las JVM que ya tenían proyectado el anterior siguen leyéndolo hasta que lo sustituyan.</p>
+     *
+     * @param store almacén a volcar
+     * @param path fichero destino
+     * @throws IOException si falla la escritura
+     */
+    static void write(ColumnarPriceStore store, Path path) throws IOException {
+        Path directory = path.toAbsolutePath().getParent();
+        Files.createDirectories(directory);
+        Path temp = Files.createTempFile(directory, path.getFileName().toString(), ".tmp");
+        try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.WRITE)) {
+            ByteBuffer dictionary = encodeDictionary(store.currencies());
+            ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE).order(ColumnarPriceStoreWriter.BYTE_ORDER);
+            header.putInt(MAGIC)
+                  .putInt(FORMAT_VERSION)
+                  .putInt(store.rowCount())
+                  .putInt(store.currencies().size())
+                  .putInt(dictionary.limit())
+                  .putInt(0)
+                  .putLong(Instant.now().toEpochMilli())
+                  .putLong(0);
+
+            channel.position(HEADER_SIZE);
+            writeFully(channel, dictionary.duplicate());
+            for (PriceColumn column : PriceColumn.values()) {
+                channel.position(align(channel.position()));
+                ByteBuffer data = columnData(store.column(column), store.rowCount(), column);
+                header.putLong(checksum(data.duplicate()));
+                writeFully(channel, data);
+            }
+
+            header.putLong(HEADER_CHECKSUM_OFFSET, headerChecksum(header, dictionary)).flip();
+            channel.position(0);
+            writeFully(channel, header);
+            channel.force(true);
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(temp);
+            throw e;
+        }
+        shareReadable(temp);
+        Files.move(temp, path, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+    }
+
+    /**
+     * Proyecta el fichero en memoria y lo expone como almacén columnar.
+     *
+     * <p>Valida la cabecera y el diccionario, pero no lee las columnas: su checksum se
+     * comprueba con {@link MappedIndex#verify()}.</p>
+     *
+     * @param path fichero a abrir
+     * @return índice proyectado, listo para consultas
+     * @throws IOException si el fichero no se puede leer
+     * @throws IllegalStateException si el fichero no tiene el formato esperado, está truncado o el
+     *         checksum de la cabecera no coincide
+     */
+    static MappedIndex map(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long fileSize = channel.size();
+            if (fileSize < HEADER_SIZE) {
+                throw new IllegalStateException("Índice de precios truncado: " + path);
+            }
+            ByteBuffer header = readFully(channel, 0, HEADER_SIZE);
+            if (header.getInt() != MAGIC) {
+                throw new IllegalStateException("No es un índice de precios: " + path);
+            }
+            int version = header.getInt();
+            if (version != FORMAT_VERSION) {
+                throw new IllegalStateException("Versión de índice " + version + " no soportada (se espera "
+                        + FORMAT_VERSION + "): " + path);
+            }
+            int rows = header.getInt();
+            int currencyCount = header.getInt();
+            int dictionarySize = header.getInt();
+            header.getInt();
+            Instant builtAt = Instant.ofEpochMilli(header.getLong());
+            long expectedChecksum = header.getLong();
+            long[] columnChecksums = new long[PriceColumn.values().length];
+            for (int i = 0; i < columnChecksums.length; i++) {
+                columnChecksums[i] = header.getLong();
+            }
+            if (rows < 0 || currencyCount < 0 || dictionarySize < 0 || HEADER_SIZE + (long) dictionarySize > fileSize) {
+                throw new IllegalStateException("Cabecera del índice de precios inválida: " + path);
+            }
+
+            ByteBuffer dictionary = readFully(channel, HEADER_SIZE, dictionarySize);
+            if (headerChecksum(header, dictionary) != expectedChecksum) {
+                throw new IllegalStateException("Checksum de la cabecera del índice de precios incorrecto: " + path);
+            }
+            List<CurrencyUnit> currencies = decodeDictionary(dictionary, currencyCount, path);
+
+            long position = HEADER_SIZE + (long) dictionarySize;
+            ByteBuffer[] columns = new ByteBuffer[PriceColumn.values().length];
+            for (PriceColumn column : PriceColumn.values()) {
+                position = align(position);
+                long length = (long) rows * column.width;
+                if (position + length > fileSize) {
+                    throw new IllegalStateException("Índice de precios truncado: " + path);
+                }
+                columns[column.ordinal()] = channel.map(FileChannel.MapMode.READ_ONLY, position, length)
+                        .order(ColumnarPriceStoreWriter.BYTE_ORDER);
+                position += length;
+            }
+            return new MappedIndex(new ColumnarPriceStore(columns, rows, currencies), builtAt, columnChecksums);
+        }
+    }
+
+    /**
+     * Índice proyectado desde disco.
+     *
+     * @param store almacén columnar respaldado por el fichero
+     * @param builtAt instante en el que se construyó el fichero
+     * @param columnChecksums CRC32C de cada columna según la cabecera, en el orden de {@link PriceColumn}
+     */
+    record MappedIndex(ColumnarPriceStore store, Instant builtAt, long[] columnChecksums) {
+
+        /**
+         * Comprueba el checksum de cada columna.
+         *
+         * <p>Lee el fichero entero, así que no se hace al abrirlo sino después, mientras
+         * el almacén ya atiende consultas.</p>
+         *
+         * @throws IllegalStateException si alguna columna no coincide con su checksum
+         */
+        void verify() {
+            for (PriceColumn column : PriceColumn.values()) {
+                if (checksum(columnData(store.column(column), store.rowCount(), column)) != columnChecksums[column.ordinal()]) {
+                    throw new IllegalStateException("Checksum de la columna " + column + " del índice de precios incorrecto");
+                }
+            }
+        }
+    }
+
+    /**
+     * Los ficheros temporales se crean solo para el propietario; el índice debe poder
+     * proyectarlo cualquier JVM del host.
+     */
+    private static void shareReadable(Path file) throws IOException {
+        try {
+            Files.setPosixFilePermissions(file, PosixFilePermissions.fromString("rw-r--r--"));
+        } catch (UnsupportedOperationException e) {
+            // sistema de ficheros sin permisos POSIX: se mantienen los permisos por defecto
+        }
+    }
+
+    private static ByteBuffer encodeDictionary(List<CurrencyUnit> currencies) {
+        List<byte[]> codes = new ArrayList<>();
+        int size = 0;
+        for (CurrencyUnit currency : currencies) {
+            byte[] code = currency.currency().getCurrencyCode().getBytes(StandardCharsets.UTF_8);
+            codes.add(code);
+            size += Short.BYTES + code.length + Integer.BYTES;
+        }
+        ByteBuffer buffer = ByteBuffer.allocate(size).order(ColumnarPriceStoreWriter.BYTE_ORDER);
+        for (int i = 0; i < currencies.size(); i++) {
+            buffer.putShort((short) codes.get(i).length).put(codes.get(i)).putInt(currencies.get(i).scale());
+        }
+        return buffer.flip();
+    }
+
+    private static List<CurrencyUnit> decodeDictionary(ByteBuffer buffer, int count, Path path) {
+        List<CurrencyUnit> currencies = new ArrayList<>();
+        try {
+            for (int i = 0; i < count; i++) {
+                byte[] code = new byte[buffer.getShort()];
+                buffer.get(code);
+                currencies.add(new CurrencyUnit(Currency.getInstance(new String(code, StandardCharsets.UTF_8)), buffer.getInt()));
+            }
+        } catch (BufferUnderflowException | NegativeArraySizeException | IllegalArgumentException e) {
+            throw new IllegalStateException("Diccionario de monedas del índice de precios inválido: " + path, e);
+        }
+        return currencies;
+    }
+
+    /** CRC32C de la cabecera, sin su propio campo de checksum, y del diccionario */
+    private static long headerChecksum(ByteBuffer header, ByteBuffer dictionary) {
+        CRC32C crc = new CRC32C();
+        crc.update(header.duplicate().position(0).limit(HEADER_CHECKSUM_OFFSET));
+        crc.update(header.duplicate().position(HEADER_CHECKSUM_OFFSET + Long.BYTES).limit(HEADER_SIZE));
+        crc.update(dictionary.duplicate());
+        return crc.getValue();
+    }
+
+    private static long checksum(ByteBuffer data) {
+        CRC32C crc = new CRC32C();
+        crc.update(data);
+        return crc.getValue();
+    }
+
+    private static ByteBuffer columnData(ByteBuffer column, int rows, PriceColumn priceColumn) {
+        return column.duplicate().position(0).limit(rows * priceColumn.width);
+    }
+
+    private static ByteBuffer readFully(FileChannel channel, long position, int length) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(length).order(ColumnarPriceStoreWriter.BYTE_ORDER);
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer, position + buffer.position()) < 0) {
+                throw new IllegalStateException("Índice de precios truncado");
+            }
+        }
+        return buffer.flip();
+    }
+
+    private static void writeFully(FileChannel channel, ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+    }
+
+    private static long align(long position) {
+        return (position + ALIGNMENT - 1) / ALIGNMENT * ALIGNMENT;
+    }
+}
@@ -0,0 +1,151 @@
+package com.zara.prices.infrastructure.persistence.r2dbc;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+
+import com.zara.prices.domain.model.Price;
+import com.zara.prices.domain.model.PriceQuery;
+import com.zara.prices.domain.port.out.ReactivePriceRepository;
+
+import io.r2dbc.pool.ConnectionPool;
+import io.r2dbc.pool.ConnectionPoolConfiguration;
+import io.r2dbc.spi.ConnectionFactories;
+import io.r2dbc.spi.ConnectionFactoryOptions;
+import io.r2dbc.spi.Readable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Adaptador de persistencia reactivo sobre R2DBC.
+ *
+ * <p>Ejecuta contra PRICES la misma consulta de mayor prioridad que el adaptador JPA,
+ * con el desempate completo (prioridad, inicio más reciente, tarifa más alta) y
+ * {@code LIMIT 1}, sin bloquear el hilo del bucle de eventos.</p>
+ *
+ * <p>Tiene su propio pool ({@code app.prices.r2dbc.*}) en lugar de la autoconfiguración
+ * R2DBC de Spring Boot: con una {@code ConnectionFactory} publicada como bean, Boot deja
+ * de crear el {@code DataSource} JDBC, y el resto de la aplicación (copias en memoria,
+ * filtro de catálogo, exportación y carga masiva) lo sigue necesitando.</p>
+ *
+ * <p>Se activa con {@code spring.main.web-application-type=reactive} (perfil {@code reactive}).</p>
+ */
+@Repository
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class R2dbcPriceRepository implements ReactivePriceRepository, DisposableBean {
+
+    private static final String COLUMNS = "BRAND_ID, PRODUCT_ID, START_DATE, END_DATE, PRIORITY, PRICE, CURRENCY, PRICE_LIST";
+
+    private static final String FIND_HIGHEST_PRIORITY = "SELECT " + COLUMNS + " FROM PRICES "
+            + "WHERE BRAND_ID = :brandId AND PRODUCT_ID = :productId AND :date BETWEEN START_DATE AND END_DATE "
+            + "ORDER BY PRIORITY DESC, START_DATE DESC, PRICE_LIST DESC LIMIT 1";
+
+    private static final String FIND_BY_PRODUCT = "SELECT " + COLUMNS + " FROM PRICES "
+            + "WHERE BRAND_ID = :brandId AND PRODUCT_ID = :productId";
+
+    private final ConnectionPool pool;
+    private final DatabaseClient databaseClient;
+
+    /** Consultas de un lote en vuelo a la vez: tantas como conexiones tiene el pool */
+    private final int batchConcurrency;
+
+    /**
+     * Constructor con inyección de dependencias.
+     *
+     * @param url URL R2DBC (ej: {@code r2dbc:postgresql://host:5432/prices})
+     * @param username usuario de la base de datos
+     * @param password contraseña de la base de datos
+     * @param maxSize conexiones máximas del pool
+     * @param maxAcquireTime espera máxima por una conexión del pool
+     */
+    public R2dbcPriceRepository(@Value("${app.prices.r2dbc.url}") String url,
+                                @Value("${app.prices.r2dbc.username:${spring.datasource.username:}}") String username,
+                                @Value("${app.prices.r2dbc.password:${spring.datasource.password:}}") String password,
+                                @Value("${app.prices.r2dbc.pool.max-size:10}") int maxSize,
+                                @Value("${app.prices.r2dbc.pool.max-acquire-time:PT30S}") Duration maxAcquireTime) {
+        ConnectionFactoryOptions.Builder options = ConnectionFactoryOptions.parse(url).mutate();
+        if (!username.isEmpty()) {
+            options.option(ConnectionFactoryOptions.USER, username);
+        }
+        if (!password.isEmpty()) {
+            options.option(ConnectionFactoryOptions.PASSWORD, password);
+        }
+        this.pool = new ConnectionPool(ConnectionPoolConfiguration.builder(ConnectionFactories.get(options.build()))
+                .name("prices-r2dbc")
+                .initialSize(Math.min(2, maxSize))
+                .maxSize(maxSize)
+                .maxAcquireTime(maxAcquireTime)
+                .build());
+        this.databaseClient = DatabaseClient.create(pool);
+        this.batchConcurrency = maxSize;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Mono<Price> findHighestPriorityApplicable(Long brandId, Long productId, LocalDateTime date) {
+        return databaseClient.sql(FIND_HIGHEST_PRIORITY)
+                .bind("brandId", brandId)
+                .bind("productId", productId)
+                .bind("date", date)
+                .map(R2dbcPriceRepository::toDomain)
+                .first();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Flux<Price> findByProduct(Long brandId, Long productId) {
+        return databaseClient.sql(FIND_BY_PRODUCT)
+                .bind("brandId", brandId)
+                .bind("productId", productId)
+                .map(R2dbcPriceRepository::toDomain)
+                .all();
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * <p>Lanza hasta tantas consultas a la vez como conexiones tiene el pool y
+     * recompone los resultados en el orden del lote.</p>
+     */
+    @Override
+    public Mono<List<Optional<Price>>> findHighestPriorityApplicable(List<PriceQuery> queries) {
+        return Flux.fromIterable(queries)
+                .flatMapSequential(query -> findHighestPriorityApplicable(query.brandId(), query.productId(), query.date())
+                        .map(Optional::of)
+                        .defaultIfEmpty(Optional.empty()), batchConcurrency)
+                .collectList();
+    }
+
+    /**
+     * Cierra el pool de conexiones al parar el contexto.
+     */
+    @Override
+    public void destroy() {
+        pool.dispose();
+    }
+
+    private static Price toDomain(Readable row) {
+        return Price.of(
+            row.get("BRAND_ID", Long.class),
+            row.get("PRODUCT_ID", Long.class),
+            row.get("START_DATE", LocalDateTime.class),
+            row.get("END_DATE", LocalDateTime.class),
+            row.get("PRIORITY", Integer.class),
+            row.get("PRICE", BigDecimal.class),
+            row.get("CURRENCY", String.class),
+            row.get("PRICE_LIST", Integer.class)
+        );
+    }
+}
@@ -0,0 +1,175 @@
+package com.zara.prices.infrastructure.persistence.replica;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.distribution.ValueAtPercentile;
+
+/**
+ * Ejecuta consultas de lectura contra las réplicas con cobertura ("hedged requests").
+ *
+ * <p>Cada consulta se lanza a la réplica a la que le toca en el turno de
+ * {@link ReplicaRoutingDataSource}. Si no ha respondido cuando pasa el percentil
+ * {@code percentile} de la latencia reciente de las réplicas, se lanza la misma consulta
+ * a la réplica siguiente y gana la primera respuesta correcta. Así la cola de latencia de
+ * una réplica lenta (vacuum, caché fría, red) no llega al cliente, a cambio de repetir
+ * como mucho el {@code 1 - percentile} de las consultas.</p>
+ *
+ * <p>La consulta perdedora no se cancela: termina en su hilo virtual y su conexión vuelve
+ * al pool. No se cubre nada si solo queda una réplica disponible, y un error de la primera
+ * consulta antes del plazo se propaga sin reintentar en otra réplica.</p>
+ *
+ * <p>El plazo se recalcula como mucho una vez por segundo a partir del temporizador
+ * {@value #LATENCY_TIMER}, y nunca baja de {@code minDelay}, que es también el plazo
+ * mientras no hay muestras. {@value #HEDGES_COUNTER} cuenta las consultas de cobertura
+ * según hayan ganado ({@code won}) o no ({@code lost}).</p>
+ */
+public class HedgedQueryExecutor implements AutoCloseable {
+
+    /** Latencia de cada consulta a una réplica, con el percentil del plazo publicado */
+    static final String LATENCY_TIMER = "prices.replicas.latency";
+
+    /** Consultas de cobertura lanzadas, por resultado */
+    static final String HEDGES_COUNTER = "prices.replicas.hedges";
+
+    private static final long DELAY_REFRESH_NANOS = TimeUnit.SECONDS.toNanos(1);
+
+    private final ReplicaRoutingDataSource replicas;
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+    private final Timer latency;
+    private final Counter won;
+    private final Counter lost;
+    private final long minDelayNanos;
+
+    private volatile long delayNanos;
+    private volatile long delayRefreshedAt;
+
+    /**
+     * Constructor.
+     *
+     * @param replicas réplicas entre las que se reparten la consulta y su cobertura
+     * @param registry registro de métricas
+     * @param percentile percentil de la latencia tras el que se lanza la cobertura (ej: 0.95)
+     * @param minDelay plazo mínimo antes de cubrir
+     */
+    public HedgedQueryExecutor(ReplicaRoutingDataSource replicas, MeterRegistry registry, double percentile,
+                               Duration minDelay) {
+        if (percentile <= 0 || percentile >= 1) {
+            throw new IllegalArgumentException("El percentil debe estar entre 0 y 1: " + percentile);
+        }
+        this.replicas = replicas;
+        this.latency = Timer.builder(LATENCY_TIMER)
+                .description("Duración de las consultas a las réplicas de lectura")
+                .publishPercentiles(percentile)
+                .register(registry);
+        this.won = hedges(registry, "won");
+        this.lost = hedges(registry, "lost");
+        this.minDelayNanos = minDelay.toNanos();
+        this.delayNanos = minDelayNanos;
+        this.delayRefreshedAt = System.nanoTime();
+    }
+
+    /**
+     * Ejecuta la consulta y, si tarda más del plazo, también en otra réplica.
+     *
+     * @param query consulta; se ejecuta en un hilo virtual, una o dos veces
+     * @param <T> tipo del resultado
+     * @return resultado de la primera ejecución correcta
+     */
+    public <T> T execute(Supplier<T> query) {
+        int first = replicas.nextReplica();
+        CompletableFuture<T> primary = attempt(first, query);
+        CompletableFuture<Object> deadline = new CompletableFuture<>()
+                .completeOnTimeout(null, delayNanos(), TimeUnit.NANOSECONDS);
+        join(CompletableFuture.anyOf(primary, deadline));
+        if (primary.isDone() || replicas.availableReplicas() < 2) {
+            return join(primary);
+        }
+
+        CompletableFuture<T> hedge = attempt(first + 1, query);
+        CompletableFuture<T> winner = new CompletableFuture<>();
+        AtomicBoolean answered = new AtomicBoolean();
+        AtomicInteger failures = new AtomicInteger();
+        primary.whenComplete((result, error) -> settle(winner, answered, failures, result, error, lost));
+        hedge.whenComplete((result, error) -> settle(winner, answered, failures, result, error, won));
+        return join(winner);
+    }
+
+    /**
+     * Plazo actual antes de lanzar la cobertura.
+     *
+     * @return percentil de la latencia reciente, o {@code minDelay} si es menor
+     */
+    public Duration delay() {
+        return Duration.ofNanos(delayNanos());
+    }
+
+    @Override
+    public void close() {
+        executor.close();
+    }
+
+    private <T> CompletableFuture<T> attempt(int replica, Supplier<T> query) {
+        return CompletableFuture.supplyAsync(() -> {
+            long start = System.nanoTime();
+            T result = replicas.onReplica(replica, query);
+            latency.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            return result;
+        }, executor);
+    }
+
+    private long delayNanos() {
+        long now = System.nanoTime();
+        if (now - delayRefreshedAt >= DELAY_REFRESH_NANOS) {
+            ValueAtPercentile[] percentiles = latency.takeSnapshot().percentileValues();
+            long observed = percentiles.length == 0 ? 0 : (long) percentiles[0].value(TimeUnit.NANOSECONDS);
+            delayNanos = Math.max(minDelayNanos, observed);
+            delayRefreshedAt = now;
+        }
+        return delayNanos;
+    }
+
+    /** Completa {@code winner} con la primera respuesta correcta, o con el error si fallan las dos */
+    private static <T> void settle(CompletableFuture<T> winner, AtomicBoolean answered, AtomicInteger failures,
+                                   T result, Throwable error, Counter outcome) {
+        if (error == null) {
+            if (answered.compareAndSet(false, true)) {
+                outcome.increment();
+                winner.complete(result);
+            }
+        } else if (failures.incrementAndGet() == 2) {
+            winner.completeExceptionally(error);
+        }
+    }
+
+    private static <T> T join(CompletableFuture<T> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            if (e.getCause() instanceof Error cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    private static Counter hedges(MeterRegistry registry, String outcome) {
+        return Counter.builder(HEDGES_COUNTER)
+                .description("Consultas de cobertura lanzadas a una segunda réplica")
+                .tag("outcome", outcome)
+                .register(registry);
+    }
+}
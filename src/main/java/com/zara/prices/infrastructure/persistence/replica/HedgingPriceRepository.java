@@ -0,0 +1,63 @@
+package com.zara.prices.infrastructure.persistence.replica;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import com.zara.prices.domain.model.ApplicablePrice;
+import com.zara.prices.domain.model.Price;
+import com.zara.prices.domain.model.PriceQuery;
+import com.zara.prices.domain.model.PriceTimeline;
+import com.zara.prices.domain.port.out.PriceRepository;
+
+/**
+ * Decorador del puerto de salida que cubre las consultas individuales con una segunda réplica.
+ *
+ * <p>La consulta de precio aplicable y la de línea temporal pasan por
+ * {@link HedgedQueryExecutor}. Los lotes y la consulta obsoleta van directas al
+ * adaptador: un lote tarda mucho más que una consulta suelta, y mezclado en el mismo
+ * percentil haría que las consultas sueltas se cubrieran tarde.</p>
+ */
+public class HedgingPriceRepository implements PriceRepository {
+
+    private final PriceRepository delegate;
+    private final HedgedQueryExecutor hedging;
+
+    /**
+     * Constructor con inyección de dependencias.
+     *
+     * @param delegate adaptador cuyas conexiones salen de {@link ReplicaRoutingDataSource}
+     * @param hedging ejecutor con cobertura sobre las mismas réplicas
+     */
+    public HedgingPriceRepository(PriceRepository delegate, HedgedQueryExecutor hedging) {
+        this.delegate = delegate;
+        this.hedging = hedging;
+    }
+
+    @Override
+    @Deprecated(since = "2.0")
+    public List<Price> findApplicable(Long brandId, Long productId, LocalDateTime date) {
+        return delegate.findApplicable(brandId, productId, date);
+    }
+
+    @Override
+    public Optional<Price> findHighestPriorityApplicable(Long brandId, Long productId, LocalDateTime date) {
+        return hedging.execute(() -> delegate.findHighestPriorityApplicable(brandId, productId, date));
+    }
+
+    @Override
+    public Optional<ApplicablePrice> findHighestPriorityApplicableWithValidity(Long brandId, Long productId,
+                                                                               LocalDateTime date) {
+        return hedging.execute(() -> delegate.findHighestPriorityApplicableWithValidity(brandId, productId, date));
+    }
+
+    @Override
+    public Optional<PriceTimeline> findTimeline(Long brandId, Long productId) {
+        return hedging.execute(() -> delegate.findTimeline(brandId, productId));
+    }
+
+    @Override
+    public List<Optional<Price>> findHighestPriorityApplicable(List<PriceQuery> queries) {
+        return delegate.findHighestPriorityApplicable(queries);
+    }
+}
@@ -0,0 +1,235 @@
+package com.zara.prices.infrastructure.persistence.replica;
+
+import java.io.Closeable;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import javax.sql.DataSource;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+/**
+ * {@link DataSource} de solo lectura que reparte las conexiones entre réplicas de PRICES.
+ *
+ * <p>Cada conexión se pide a la siguiente réplica en turno rotatorio. Si una réplica
+ * no da conexión (caída, red, pool agotado), se marca como no disponible durante
+ * {@code retryAfter} y se prueba la siguiente; pasado ese tiempo vuelve a entrar en el
+ * turno y la primera conexión que consiga la da por recuperada. Si no responde ninguna,
+ * la conexión sale del {@code fallback} (la base de datos principal) o, sin él, falla con
+ * {@link SQLTransientConnectionException}.</p>
+ *
+ * <p>La salud se mide solo al pedir conexión: una réplica que cae con conexiones ya
+ * abiertas hace fallar esas consultas, su pool las descarta y la siguiente petición
+ * de conexión es la que la marca.</p>
+ *
+ * <p>{@link #onReplica(int, Supplier)} fija la réplica por la que empieza el turno en el
+ * hilo actual, para que {@link HedgedQueryExecutor} lance la consulta de cobertura a una
+ * réplica distinta de la primera.</p>
+ */
+public class ReplicaRoutingDataSource extends AbstractDataSource implements MeterBinder, Closeable {
+
+    /** Nombre del bean; no es candidato por defecto, se inyecta con este calificador */
+    public static final String BEAN_NAME = "pricesReadDataSource";
+
+    private static final Logger log = LoggerFactory.getLogger(ReplicaRoutingDataSource.class);
+
+    private final Replica[] replicas;
+    private final DataSource fallback;
+    private final long retryAfterNanos;
+    private final AtomicInteger next = new AtomicInteger();
+    private final ThreadLocal<Integer> pinned = new ThreadLocal<>();
+
+    /**
+     * Constructor.
+     *
+     * @param replicas pools de las réplicas, en el orden del turno
+     * @param fallback base de datos a la que ir si no responde ninguna réplica, o {@code null}
+     * @param retryAfter tiempo que una réplica que ha fallado queda fuera del turno
+     */
+    public ReplicaRoutingDataSource(List<DataSource> replicas, DataSource fallback, Duration retryAfter) {
+        if (replicas.isEmpty()) {
+            throw new IllegalArgumentException("Se necesita al menos una réplica");
+        }
+        this.replicas = new Replica[replicas.size()];
+        for (int i = 0; i < this.replicas.length; i++) {
+            this.replicas[i] = new Replica(i + 1, replicas.get(i));
+        }
+        this.fallback = fallback;
+        this.retryAfterNanos = retryAfter.toNanos();
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return route(DataSource::getConnection);
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return route(dataSource -> dataSource.getConnection(username, password));
+    }
+
+    /**
+     * Ejecuta una consulta empezando el turno por la réplica indicada.
+     *
+     * <p>Solo afecta a las conexiones que se pidan en el hilo actual mientras dura
+     * {@code query}; si esa réplica no está disponible se sigue por la siguiente.</p>
+     *
+     * @param replica posición de la réplica en el turno (se toma módulo el número de réplicas)
+     * @param query consulta a ejecutar
+     * @param <T> tipo del resultado
+     * @return resultado de la consulta
+     */
+    public <T> T onReplica(int replica, Supplier<T> query) {
+        Integer previous = pinned.get();
+        pinned.set(replica);
+        try {
+            return query.get();
+        } finally {
+            if (previous == null) {
+                pinned.remove();
+            } else {
+                pinned.set(previous);
+            }
+        }
+    }
+
+    /**
+     * Avanza el turno rotatorio.
+     *
+     * @return posición de la réplica a la que le toca la siguiente conexión
+     */
+    public int nextReplica() {
+        return Math.floorMod(next.getAndIncrement(), replicas.length);
+    }
+
+    /**
+     * Réplicas dentro del turno en este momento.
+     *
+     * @return réplicas que no han fallado en los últimos {@code retryAfter}
+     */
+    public int availableReplicas() {
+        long now = System.nanoTime();
+        int available = 0;
+        for (Replica replica : replicas) {
+            if (replica.isAvailable(now)) {
+                available++;
+            }
+        }
+        return available;
+    }
+
+    /**
+     * Número de réplicas configuradas.
+     *
+     * @return réplicas en el turno, disponibles o no
+     */
+    public int replicaCount() {
+        return replicas.length;
+    }
+
+    /**
+     * Publica {@code prices.replicas.available}: réplicas dentro del turno.
+     *
+     * @param registry registro de métricas
+     */
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("prices.replicas.available", this, ReplicaRoutingDataSource::availableReplicas)
+                .description("Réplicas de lectura de PRICES dentro del turno")
+                .register(registry);
+    }
+
+    /**
+     * Cierra los pools de las réplicas; el {@code fallback} no es de esta clase y no se cierra.
+     */
+    @Override
+    public void close() {
+        for (Replica replica : replicas) {
+            if (replica.dataSource instanceof AutoCloseable closeable) {
+                try {
+                    closeable.close();
+                } catch (Exception e) {
+                    log.warn("Error cerrando la réplica {}: {}", replica.number, e.getMessage());
+                }
+            }
+        }
+    }
+
+    private Connection route(ConnectionSource source) throws SQLException {
+        Integer start = pinned.get();
+        int first = start != null ? Math.floorMod(start, replicas.length) : nextReplica();
+        long now = System.nanoTime();
+        SQLTransientConnectionException failure = null;
+        for (int i = 0; i < replicas.length; i++) {
+            Replica replica = replicas[(first + i) % replicas.length];
+            if (!replica.isAvailable(now)) {
+                continue;
+            }
+            try {
+                Connection connection = source.get(replica.dataSource);
+                replica.markUp();
+                return connection;
+            } catch (SQLException | RuntimeException e) {
+                replica.markDown(now + retryAfterNanos);
+                log.warn("Réplica {} fuera del turno durante {} ms: {}", replica.number, retryAfterNanos / 1_000_000,
+                        e.getMessage());
+                if (failure == null) {
+                    failure = new SQLTransientConnectionException("Ninguna réplica de lectura disponible");
+                }
+                failure.addSuppressed(e);
+            }
+        }
+        if (fallback != null) {
+            return source.get(fallback);
+        }
+        throw failure != null ? failure
+                : new SQLTransientConnectionException("Ninguna réplica de lectura disponible");
+    }
+
+    @FunctionalInterface
+    private interface ConnectionSource {
+        Connection get(DataSource dataSource) throws SQLException;
+    }
+
+    /** Réplica con su estado de salud */
+    private static final class Replica {
+        private final int number;
+        private final DataSource dataSource;
+
+        /** {@link System#nanoTime()} a partir del cual vuelve al turno; solo cuenta si {@code down} */
+        private volatile long downUntil;
+        private volatile boolean down;
+
+        private Replica(int number, DataSource dataSource) {
+            this.number = number;
+            this.dataSource = dataSource;
+        }
+
+        private boolean isAvailable(long now) {
+            return !down || now - downUntil >= 0;
+        }
+
+        private void markDown(long until) {
+            downUntil = until;
+            down = true;
+        }
+
+        private void markUp() {
+            if (down) {
+                down = false;
+                log.info("Réplica {} recuperada", number);
+            }
+        }
+    }
+}
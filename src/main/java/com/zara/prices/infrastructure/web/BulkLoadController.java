@@ -0,0 +1,92 @@
+package com.zara.prices.infrastructure.web;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.sql.SQLException;
+import java.util.zip.GZIPInputStream;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.zara.prices.infrastructure.persistence.bulkload.BulkLoadInProgressException;
+import com.zara.prices.infrastructure.persistence.bulkload.BulkLoadReport;
+import com.zara.prices.infrastructure.persistence.bulkload.TariffBulkLoader;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+
+/**
+ * Adaptador REST de administración para la carga masiva de tarifas.
+ * <p>Recibe el fichero CSV en el cuerpo de la petición y lo pasa en flujo al cargador,
+ * sin guardarlo en memoria ni en disco. Admite el cuerpo comprimido con gzip.
+ * <p>Sustituye todo el contenido de PRICES, así que solo se registra con
+ * {@code app.prices.bulk-load.endpoint-enabled=true}.
+ * <p>Endpoint: {@code /prices/bulk-load}
+ */
+@RestController
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+@RequestMapping("/prices")
+@ConditionalOnProperty(prefix = "app.prices.bulk-load", name = "endpoint-enabled", havingValue = "true")
+@Tag(name = "Administración", description = "Operaciones de mantenimiento de tarifas")
+public class BulkLoadController {
+
+    /** Cargador de tarifas */
+    private final TariffBulkLoader loader;
+
+    /**
+     * Constructor con inyección de dependencias.
+     *
+     * @param loader cargador de tarifas
+     */
+    public BulkLoadController(TariffBulkLoader loader) {
+        this.loader = loader;
+    }
+
+    /**
+     * Endpoint POST que carga un fichero de tarifas y sustituye con él PRICES.
+     *
+     * @param body cuerpo de la petición con el CSV
+     * @param contentEncoding cabecera {@code Content-Encoding}; {@code gzip} si el CSV va comprimido
+     * @return informe de la carga: 200 si se ha aplicado, 422 si se ha descartado
+     * @throws IOException si falla la lectura del cuerpo
+     * @throws SQLException si falla la escritura en base de datos
+     */
+    @Operation(
+        summary = "Cargar tarifas de forma masiva",
+        description = "Carga un CSV BRAND_ID,START_DATE,END_DATE,PRICE_LIST,PRODUCT_ID,PRIORITY,PRICE,CURR " +
+                      "en una tabla de staging y, si es válido, sustituye con él el contenido de PRICES " +
+                      "en una única transacción.",
+        tags = { "Administración" }
+    )
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Carga aplicada; incluye filas/s y líneas rechazadas"),
+        @ApiResponse(responseCode = "409", description = "Ya hay otra carga en curso"),
+        @ApiResponse(responseCode = "422", description = "Carga descartada: sin filas válidas o demasiadas líneas rechazadas")
+    })
+    @PostMapping(path = "/bulk-load", consumes = { "text/csv", MediaType.TEXT_PLAIN_VALUE, MediaType.APPLICATION_OCTET_STREAM_VALUE })
+    public ResponseEntity<Object> load(
+        InputStream body,
+        @Parameter(hidden = true)
+        @RequestHeader(name = HttpHeaders.CONTENT_ENCODING, required = false) String contentEncoding)
+            throws IOException, SQLException {
+
+        InputStream csv = "gzip".equalsIgnoreCase(contentEncoding) ? new GZIPInputStream(body, 1 << 16) : body;
+        try {
+            BulkLoadReport report = loader.load(csv);
+            return ResponseEntity.status(report.swapped() ? HttpStatus.OK : HttpStatus.UNPROCESSABLE_ENTITY).body(report);
+        } catch (BulkLoadInProgressException e) {
+            return ErrorResponses.of("/prices/bulk-load", HttpStatus.CONFLICT, e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,77 @@
+package com.zara.prices.infrastructure.web;
+
+import java.io.IOException;
+import java.lang.reflect.Type;
+
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageNotWritableException;
+import org.springframework.http.converter.json.AbstractJackson2HttpMessageConverter;
+import org.springframework.lang.Nullable;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+import com.fasterxml.jackson.dataformat.smile.databind.SmileMapper;
+
+/**
+ * Escribe {@link PriceResponse} en un formato binario de Jackson como {@link CompactPriceResponse}.
+ *
+ * <p>Solo acepta {@link PriceResponse} o {@link PriceResponseBody}: el resto de endpoints
+ * siguen respondiendo únicamente en JSON. No lee cuerpos de petición.</p>
+ */
+public class CompactPriceHttpMessageConverter extends AbstractJackson2HttpMessageConverter {
+
+    /** Tipo MIME de Smile, el JSON binario de Jackson */
+    public static final MediaType APPLICATION_SMILE = new MediaType("application", "x-jackson-smile");
+
+    /**
+     * Constructor.
+     *
+     * @param objectMapper mapper del formato binario
+     * @param mediaType tipo MIME que negocia
+     */
+    public CompactPriceHttpMessageConverter(ObjectMapper objectMapper, MediaType mediaType) {
+        super(objectMapper, mediaType);
+    }
+
+    /**
+     * Conversor CBOR ({@code application/cbor}).
+     *
+     * @return conversor nuevo
+     */
+    public static CompactPriceHttpMessageConverter cbor() {
+        return new CompactPriceHttpMessageConverter(new CBORMapper(), MediaType.APPLICATION_CBOR);
+    }
+
+    /**
+     * Conversor Smile ({@code application/x-jackson-smile}).
+     *
+     * @return conversor nuevo
+     */
+    public static CompactPriceHttpMessageConverter smile() {
+        return new CompactPriceHttpMessageConverter(new SmileMapper(), APPLICATION_SMILE);
+    }
+
+    @Override
+    public boolean canRead(Class<?> clazz, @Nullable MediaType mediaType) {
+        return false;
+    }
+
+    @Override
+    public boolean canRead(Type type, @Nullable Class<?> contextClass, @Nullable MediaType mediaType) {
+        return false;
+    }
+
+    @Override
+    public boolean canWrite(Class<?> clazz, @Nullable MediaType mediaType) {
+        return (PriceResponse.class.isAssignableFrom(clazz) || PriceResponseBody.class.isAssignableFrom(clazz))
+                && canWrite(mediaType);
+    }
+
+    @Override
+    protected void writeInternal(Object object, @Nullable Type type, HttpOutputMessage outputMessage)
+            throws IOException, HttpMessageNotWritableException {
+        PriceResponse response = object instanceof PriceResponseBody body ? body.response() : (PriceResponse) object;
+        super.writeInternal(CompactPriceResponse.of(response), CompactPriceResponse.class, outputMessage);
+    }
+}
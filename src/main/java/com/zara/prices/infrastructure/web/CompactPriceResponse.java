@@ -0,0 +1,59 @@
+package com.zara.prices.infrastructure.web;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.zara.prices.domain.model.EpochMicros;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+/**
+ * Forma de {@link PriceResponse} en los formatos binarios (CBOR, Smile y Protobuf).
+ *
+ * <p>Los campos son todos enteros salvo la moneda, para que el cliente no tenga que
+ * interpretar texto: las fechas van en microsegundos desde epoch con UTC como
+ * referencia ({@link EpochMicros}), y el precio en unidades mínimas con su escala
+ * ({@code 35.50} se envía como {@code priceMinor=3550}, {@code priceScale=2}).</p>
+ *
+ * @param productId identificador del producto
+ * @param brandId identificador de la cadena
+ * @param priceList identificador de la tarifa aplicable
+ * @param startEpochMicros inicio de aplicación, en microsegundos desde epoch
+ * @param endEpochMicros fin de aplicación, en microsegundos desde epoch
+ * @param priceMinor precio sin separador decimal
+ * @param priceScale decimales de {@code priceMinor}
+ * @param currency código ISO de la moneda
+ * @param validUntilEpochMicros fin (exclusivo) de validez del precio, en microsegundos desde epoch;
+ *        {@code null} si la respuesta no la incluye
+ */
+@Schema(description = "Precio aplicable en formato binario: fechas en microsegundos desde epoch (UTC) "
+        + "y precio como entero escalado (price = priceMinor / 10^priceScale)")
+public record CompactPriceResponse(
+        @Schema(example = "35455") long productId,
+        @Schema(example = "1") long brandId,
+        @Schema(example = "1") int priceList,
+        @Schema(example = "1592092800000000") long startEpochMicros,
+        @Schema(example = "1609459199000000") long endEpochMicros,
+        @Schema(example = "3550") long priceMinor,
+        @Schema(example = "2") int priceScale,
+        @Schema(example = "EUR") String currency,
+        @Schema(example = "1592146800000000") @JsonInclude(JsonInclude.Include.NON_NULL) Long validUntilEpochMicros) {
+
+    /**
+     * Convierte la respuesta JSON a su forma binaria.
+     *
+     * @param response respuesta del endpoint
+     * @return misma información con fechas y precio como enteros
+     */
+    public static CompactPriceResponse of(PriceResponse response) {
+        return new CompactPriceResponse(
+            response.getProductId(),
+            response.getBrandId(),
+            response.getPriceList(),
+            EpochMicros.of(response.getStartDate()),
+            EpochMicros.of(response.getEndDate()),
+            response.getPrice().unscaledValue().longValueExact(),
+            response.getPrice().scale(),
+            response.getCurrency(),
+            response.getValidUntil() == null ? null : EpochMicros.of(response.getValidUntil())
+        );
+    }
+}
@@ -0,0 +1,145 @@
+package com.zara.prices.infrastructure.web;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Respuestas de error precalculadas de la API de precios.
+ *
+ * <p>Los cuerpos de error de cada endpoint son siempre los mismos, así que se serializan
+ * a JSON una sola vez por ruta y todas las peticiones comparten la misma
+ * {@link ResponseEntity}: un 404 o un 400 no crean mapas, fechas ni pasan por Jackson.
+ * Por eso los cuerpos no llevan {@code timestamp}.</p>
+ *
+ * <p>Formato: {@code {"status": ..., "error": ..., "message": ..., "path": ...}}, con la
+ * ruta de la petición dentro de la aplicación. Solo se guardan las respuestas de las
+ * rutas de {@link #ENDPOINTS}; las de cualquier otra ruta se serializan cada vez, para
+ * que rutas inventadas no hagan crecer la caché.</p>
+ */
+final class ErrorResponses {
+
+    /** Ruta de {@code GET /prices} */
+    static final String PRICES = "/prices";
+
+    /** Rutas de la API cuyas respuestas de error se guardan */
+    static final Set<String> ENDPOINTS = Set.of(
+            PRICES, "/prices/batch", "/prices/timeline", "/prices/export", "/prices/bulk-load");
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    /** Respuestas ya serializadas por ruta, estado y mensaje */
+    private static final Map<Key, ResponseEntity<Object>> CACHE = new ConcurrentHashMap<>();
+
+    /** Precio no encontrado en {@code GET /prices}, la ruta caliente */
+    static final ResponseEntity<Object> NOT_FOUND = notFound(PRICES);
+
+    private ErrorResponses() {
+    }
+
+    /**
+     * Precio no encontrado.
+     *
+     * @param path ruta de la petición
+     * @return respuesta 404
+     */
+    static ResponseEntity<Object> notFound(String path) {
+        return cached(path, HttpStatus.NOT_FOUND, "No hay precios aplicables para los parámetros proporcionados");
+    }
+
+    /**
+     * Cuerpo de la petición inválido.
+     *
+     * @param path ruta de la petición
+     * @return respuesta 400
+     */
+    static ResponseEntity<Object> invalidInput(String path) {
+        return cached(path, HttpStatus.BAD_REQUEST, "Invalid input parameters");
+    }
+
+    /**
+     * Parámetro con tipo o formato incorrecto.
+     *
+     * @param path ruta de la petición
+     * @return respuesta 400
+     */
+    static ResponseEntity<Object> invalidType(String path) {
+        return cached(path, HttpStatus.BAD_REQUEST, "Invalid parameter type");
+    }
+
+    /**
+     * Parámetro que no cumple las restricciones de validación.
+     *
+     * @param path ruta de la petición
+     * @return respuesta 400
+     */
+    static ResponseEntity<Object> validationFailure(String path) {
+        return cached(path, HttpStatus.BAD_REQUEST, "Validation failure");
+    }
+
+    /**
+     * Rango de fechas vacío o invertido.
+     *
+     * @param path ruta de la petición
+     * @return respuesta 400
+     */
+    static ResponseEntity<Object> invalidRange(String path) {
+        return cached(path, HttpStatus.BAD_REQUEST, "Invalid date range: from must be before to");
+    }
+
+    /**
+     * Parámetro obligatorio ausente; los nombres posibles son los de los endpoints.
+     *
+     * @param path ruta de la petición
+     * @param name nombre del parámetro
+     * @return respuesta 400 para ese parámetro
+     */
+    static ResponseEntity<Object> missingParameter(String path, String name) {
+        return cached(path, HttpStatus.BAD_REQUEST, "Missing required parameter: " + name);
+    }
+
+    /**
+     * Construye una respuesta de error sin guardarla, para mensajes variables.
+     *
+     * @param path ruta de la petición
+     * @param status código HTTP
+     * @param message mensaje del error
+     * @return respuesta con el cuerpo JSON en bytes
+     */
+    static ResponseEntity<Object> of(String path, HttpStatus status, String message) {
+        return ResponseEntity.status(status)
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(serialize(path, status, message));
+    }
+
+    private static ResponseEntity<Object> cached(String path, HttpStatus status, String message) {
+        if (!ENDPOINTS.contains(path)) {
+            return of(path, status, message);
+        }
+        return CACHE.computeIfAbsent(new Key(path, status, message), key -> of(path, status, message));
+    }
+
+    private static byte[] serialize(String path, HttpStatus status, String message) {
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("status", status.value());
+        body.put("error", status.getReasonPhrase());
+        body.put("message", message);
+        body.put("path", path);
+        try {
+            return MAPPER.writeValueAsBytes(body);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("No se pudo serializar la respuesta de error", e);
+        }
+    }
+
+    private record Key(String path, HttpStatus status, String message) {
+    }
+}
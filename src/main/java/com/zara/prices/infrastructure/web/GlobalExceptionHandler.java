@@ -1,99 +1,112 @@
 package com.zara.prices.infrastructure.web;
 
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+import org.springframework.web.HttpMediaTypeNotAcceptableException;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.MissingServletRequestParameterException;
 import org.springframework.web.bind.annotation.ControllerAdvice;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.method.annotation.HandlerMethodValidationException;
 import org.springframework.web.method.annotation.MethodArgumentTypeMismatchException;
+import org.springframework.web.util.UrlPathHelper;
 
 import com.zara.prices.domain.service.PriceNotFoundException;
+import com.zara.prices.infrastructure.metrics.PriceMetrics;
 
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.ConstraintViolationException;
 
-import java.time.LocalDateTime;
-import java.util.HashMap;
-import java.util.Map;
-
+/**
+ * Traduce las excepciones a respuestas HTTP.
+ *
+ * <p>Los errores de cliente (404 y 400) devuelven cuerpos precalculados y compartidos
+ * por endpoint ({@link ErrorResponses}), con la ruta de la petición en {@code path}.
+ * La ruta habitual de precio no encontrado no pasa por aquí: el controlador responde
+ * el 404 directamente; este manejador queda para los usos que todavía lanzan
+ * {@link PriceNotFoundException}.</p>
+ *
+ * <p>Los errores 400 se cuentan en {@code prices.lookups{outcome=invalid}}.</p>
+ */
 @ControllerAdvice
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
 public class GlobalExceptionHandler {
 
+    /** Medidores de la ruta de consulta; aquí se cuentan las peticiones inválidas */
+    private final PriceMetrics metrics;
+
+    /**
+     * Constructor con inyección de dependencias.
+     *
+     * @param metrics medidores de la ruta de consulta
+     */
+    public GlobalExceptionHandler(PriceMetrics metrics) {
+        this.metrics = metrics;
+    }
+
     @ExceptionHandler(PriceNotFoundException.class)
-    public ResponseEntity<Object> handlePriceNotFound(PriceNotFoundException ex) {
-        Map<String, Object> body = new HashMap<>();
-        body.put("timestamp", LocalDateTime.now());
-        body.put("status", HttpStatus.NOT_FOUND.value());
-        body.put("error", "Not Found");
-        body.put("message", ex.getMessage());
-        body.put("path", "/prices");
-        return new ResponseEntity<>(body, HttpStatus.NOT_FOUND);
+    public ResponseEntity<Object> handlePriceNotFound(PriceNotFoundException ex, HttpServletRequest request) {
+        return ErrorResponses.notFound(path(request));
     }
 
     @ExceptionHandler(MethodArgumentNotValidException.class)
-    public ResponseEntity<Object> handleValidation(MethodArgumentNotValidException ex) {
-        Map<String, Object> body = new HashMap<>();
-        body.put("timestamp", LocalDateTime.now());
-        body.put("status", HttpStatus.BAD_REQUEST.value());
-        body.put("error", "Bad Request");
-        body.put("message", "Invalid input parameters");
-        body.put("path", "/prices");
-        return new ResponseEntity<>(body, HttpStatus.BAD_REQUEST);
+    public ResponseEntity<Object> handleValidation(MethodArgumentNotValidException ex, HttpServletRequest request) {
+        return invalid(ErrorResponses.invalidInput(path(request)));
+    }
+
+    @ExceptionHandler(HttpMessageNotReadableException.class)
+    public ResponseEntity<Object> handleUnreadableBody(HttpMessageNotReadableException ex, HttpServletRequest request) {
+        return invalid(ErrorResponses.invalidInput(path(request)));
     }
 
     @ExceptionHandler(MethodArgumentTypeMismatchException.class)
-    public ResponseEntity<Object> handleTypeMismatch(MethodArgumentTypeMismatchException ex) {
-        Map<String, Object> body = new HashMap<>();
-        body.put("timestamp", LocalDateTime.now());
-        body.put("status", HttpStatus.BAD_REQUEST.value());
-        body.put("error", "Bad Request");
-        body.put("message", "Invalid parameter type");
-        body.put("path", "/prices");
-        return new ResponseEntity<>(body, HttpStatus.BAD_REQUEST);
+    public ResponseEntity<Object> handleTypeMismatch(MethodArgumentTypeMismatchException ex, HttpServletRequest request) {
+        return invalid(ErrorResponses.invalidType(path(request)));
     }
 
     @ExceptionHandler(HandlerMethodValidationException.class)
-    public ResponseEntity<Object> handleHandlerMethodValidation(HandlerMethodValidationException ex) {
-        Map<String, Object> body = new HashMap<>();
-        body.put("timestamp", LocalDateTime.now());
-        body.put("status", HttpStatus.BAD_REQUEST.value());
-        body.put("error", "Bad Request");
-        body.put("message", "Validation failure");
-        body.put("path", "/prices");
-        return new ResponseEntity<>(body, HttpStatus.BAD_REQUEST);
+    public ResponseEntity<Object> handleHandlerMethodValidation(HandlerMethodValidationException ex, HttpServletRequest request) {
+        return invalid(ErrorResponses.validationFailure(path(request)));
     }
 
     @ExceptionHandler(ConstraintViolationException.class)
-    public ResponseEntity<Object> handleConstraintViolation(ConstraintViolationException ex) {
-        Map<String, Object> body = new HashMap<>();
-        body.put("timestamp", LocalDateTime.now());
-        body.put("status", HttpStatus.BAD_REQUEST.value());
-        body.put("error", "Bad Request");
-        body.put("message", "Validation failure");
-        body.put("path", "/prices");
-        return new ResponseEntity<>(body, HttpStatus.BAD_REQUEST);
+    public ResponseEntity<Object> handleConstraintViolation(ConstraintViolationException ex, HttpServletRequest request) {
+        return invalid(ErrorResponses.validationFailure(path(request)));
+    }
+
+    @ExceptionHandler(InvalidDateRangeException.class)
+    public ResponseEntity<Object> handleInvalidDateRange(InvalidDateRangeException ex, HttpServletRequest request) {
+        return invalid(ErrorResponses.invalidRange(path(request)));
     }
 
     @ExceptionHandler(MissingServletRequestParameterException.class)
-    public ResponseEntity<Object> handleMissingParameter(MissingServletRequestParameterException ex) {
-        Map<String, Object> body = new HashMap<>();
-        body.put("timestamp", LocalDateTime.now());
-        body.put("status", HttpStatus.BAD_REQUEST.value());
-        body.put("error", "Bad Request");
-        body.put("message", "Missing required parameter: " + ex.getParameterName());
-        body.put("path", "/prices");
-        return new ResponseEntity<>(body, HttpStatus.BAD_REQUEST);
+    public ResponseEntity<Object> handleMissingParameter(MissingServletRequestParameterException ex, HttpServletRequest request) {
+        return invalid(ErrorResponses.missingParameter(path(request), ex.getParameterName()));
+    }
+
+    /**
+     * Ningún conversor escribe la respuesta en un tipo de {@code Accept}; sin cuerpo,
+     * porque tampoco puede escribirse en JSON.
+     */
+    @ExceptionHandler(HttpMediaTypeNotAcceptableException.class)
+    public ResponseEntity<Object> handleNotAcceptable(HttpMediaTypeNotAcceptableException ex, HttpServletRequest request) {
+        return ResponseEntity.status(HttpStatus.NOT_ACCEPTABLE).build();
     }
 
     @ExceptionHandler(Exception.class)
-    public ResponseEntity<Object> handleGeneric(Exception ex) {
-        Map<String, Object> body = new HashMap<>();
-        body.put("timestamp", LocalDateTime.now());
-        body.put("status", HttpStatus.INTERNAL_SERVER_ERROR.value());
-        body.put("error", "Internal Server Error");
-        body.put("message", ex.getMessage());
-        body.put("path", "/prices");
-        return new ResponseEntity<>(body, HttpStatus.INTERNAL_SERVER_ERROR);
+    public ResponseEntity<Object> handleGeneric(Exception ex, HttpServletRequest request) {
+        return ErrorResponses.of(path(request), HttpStatus.INTERNAL_SERVER_ERROR, ex.getMessage());
+    }
+
+    private ResponseEntity<Object> invalid(ResponseEntity<Object> response) {
+        metrics.invalidRequests().increment();
+        return response;
+    }
+
+    /** Ruta de la petición dentro de la aplicación, para el campo {@code path} del cuerpo */
+    private static String path(HttpServletRequest request) {
+        return UrlPathHelper.defaultInstance.getPathWithinApplication(request);
     }
 }
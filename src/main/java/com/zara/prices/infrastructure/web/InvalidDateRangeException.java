@@ -0,0 +1,15 @@
+package com.zara.prices.infrastructure.web;
+
+/**
+ * Rango de fechas de consulta vacío o invertido ({@code from} no es anterior a {@code to}).
+ *
+ * <p>Se traduce a un 400 en {@link GlobalExceptionHandler}.</p>
+ */
+class InvalidDateRangeException extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
+    InvalidDateRangeException() {
+        super("Invalid date range: from must be before to");
+    }
+}
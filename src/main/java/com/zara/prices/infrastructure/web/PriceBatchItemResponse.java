@@ -0,0 +1,63 @@
+package com.zara.prices.infrastructure.web;
+
+import java.time.LocalDateTime;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * DTO de cada elemento de la respuesta de consulta por lotes.
+ *
+ * <p>Repite la consulta para que el cliente pueda casar resultados sin depender
+ * solo de la posición, e indica con {@code found} si hay precio aplicable. Una
+ * consulta sin precio no hace fallar el lote: se responde con {@code found=false}
+ * y sin {@code price}.</p>
+ *
+ * <p>Ejemplo de JSON generado:</p>
+ * <pre>
+ * {
+ *   "brandId": 1,
+ *   "productId": 35455,
+ *   "date": "2020-06-14T10:00:00",
+ *   "found": true,
+ *   "price": { "productId": 35455, "brandId": 1, "priceList": 1, ... }
+ * }
+ * </pre>
+ */
+@Schema(description = "Resultado de una consulta dentro de un lote")
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class PriceBatchItemResponse {
+
+    /** Identificador de la cadena/marca consultada */
+    @Schema(description = "Identificador de la cadena/marca consultada", example = "1", requiredMode = Schema.RequiredMode.REQUIRED)
+    private Long brandId;
+
+    /** Identificador del producto consultado */
+    @Schema(description = "Identificador del producto consultado", example = "35455", requiredMode = Schema.RequiredMode.REQUIRED)
+    private Long productId;
+
+    /** Fecha y hora consultada */
+    @Schema(
+        description = "Fecha y hora consultada",
+        example = "2020-06-14T10:00:00",
+        type = "string",
+        format = "date-time",
+        requiredMode = Schema.RequiredMode.REQUIRED
+    )
+    private LocalDateTime date;
+
+    /** Indica si existe precio aplicable */
+    @Schema(description = "Indica si existe precio aplicable para la consulta", example = "true", requiredMode = Schema.RequiredMode.REQUIRED)
+    private boolean found;
+
+    /** Precio aplicable; ausente si no se encontró */
+    @Schema(description = "Precio aplicable; ausente si found es false")
+    private PriceResponse price;
+}
@@ -1,23 +1,50 @@
 package com.zara.prices.infrastructure.web;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Duration;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
 
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
 import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 // Limpieza: imports agrupados y sin duplicados
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Positive;
+import jakarta.validation.constraints.Size;
 
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.zara.prices.domain.model.ApplicablePrice;
+import com.zara.prices.domain.model.EpochMicros;
 import com.zara.prices.domain.model.Price;
+import com.zara.prices.domain.model.PriceQuery;
+import com.zara.prices.domain.model.PriceTimeline;
 import com.zara.prices.domain.port.in.GetApplicablePriceUseCase;
 
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.ArraySchema;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.ExampleObject;
 import io.swagger.v3.oas.annotations.media.Schema;
@@ -30,29 +57,56 @@ import io.swagger.v3.oas.annotations.tags.Tag;
  * <p>Su único rol es traducir peticiones HTTP a llamadas al caso de uso del dominio.
  * <p>Valida parámetros, delega la lógica y convierte la respuesta a DTO.
  * <p>No contiene lógica de negocio ni reglas de aplicación.
+ * <p>Solo en modo servlet; en modo reactivo lo sustituye {@link ReactivePriceController}.
  * <p>Endpoint base: {@code /prices}
  */
 @RestController
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
 @RequestMapping("/prices")
 @Validated
 @Tag(name = "Precios", description = "API de consulta de precios aplicables a productos")
 public class PriceController {
 
+    /** Número máximo de consultas admitidas en una petición por lotes */
+    static final int MAX_BATCH_SIZE = 500;
+
     /** Caso de uso para obtener precio aplicable */
     private final GetApplicablePriceUseCase useCase;
     
     /** Mapper para conversión entre modelos de dominio y DTOs */
     private final PriceWebMapper mapper;
 
+    /** Respuestas de {@code GET /prices} ya serializadas, por tarifa */
+    private final PriceResponseBodyCache responseBodies;
+
+    /** Tope de {@code Cache-Control: max-age} en {@code GET /prices} */
+    private final Duration maxAge;
+
+    /** Fábrica de generadores JSON de la configuración de Jackson de la aplicación */
+    private final JsonFactory jsonFactory;
+
+    /** Escritor de cada tramo de la línea temporal; sin vaciar el flujo tras cada valor */
+    private final ObjectWriter segmentWriter;
+
     /**
      * Constructor con inyección de dependencias.
      * 
      * @param useCase caso de uso de consulta de precios
      * @param mapper convertidor de entidades
+     * @param responseBodies caché de respuestas serializadas de {@code GET /prices}
+     * @param objectMapper configuración de Jackson de la aplicación (formato de fechas)
+     * @param maxAge tope de {@code Cache-Control: max-age}; acota cuánto tarda en verse un cambio de tarifas
      */
-    public PriceController(GetApplicablePriceUseCase useCase, PriceWebMapper mapper) {
+    public PriceController(GetApplicablePriceUseCase useCase, PriceWebMapper mapper,
+                           PriceResponseBodyCache responseBodies, ObjectMapper objectMapper,
+                           @Value("${app.prices.http-cache.max-age:PT1M}") Duration maxAge) {
         this.useCase = useCase;
         this.mapper = mapper;
+        this.responseBodies = responseBodies;
+        this.maxAge = maxAge;
+        this.jsonFactory = objectMapper.getFactory();
+        this.segmentWriter = objectMapper.writerFor(PriceSegmentResponse.class)
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
     }
 
     /**
@@ -76,15 +130,30 @@ public class PriceController {
      *   "startDate": "2020-06-14T00:00:00",
      *   "endDate": "2020-12-31T23:59:59",
      *   "price": 35.50,
-     *   "currency": "EUR"
+     *   "currency": "EUR",
+     *   "validUntil": "2020-06-14T15:00:00"
      * }
      * </pre>
      * 
+     * <p>Un precio no encontrado se responde con el 404 precalculado de
+     * {@link ErrorResponses}, sin lanzar ninguna excepción. Un precio encontrado se
+     * responde con el cuerpo ya serializado de su tarifa ({@link PriceResponseBodyCache}).</p>
+     * 
+     * <p>{@code validUntil} es el fin del tramo de la línea temporal que contiene la fecha:
+     * la respuesta no cambia hasta entonces. De ahí salen las cabeceras de caché HTTP:
+     * {@code Cache-Control: max-age} con el tiempo que queda desde {@code date} hasta
+     * {@code validUntil}, sin pasar de {@code app.prices.http-cache.max-age}, y un
+     * {@code ETag} débil del cuerpo; un {@code If-None-Match} que coincide se responde
+     * con {@code 304 Not Modified} sin cuerpo.</p>
+     * 
+     * <p>Con {@code Accept: application/cbor}, {@code application/x-jackson-smile} o
+     * {@code application/x-protobuf} el precio se escribe como {@link CompactPriceResponse};
+     * JSON sigue siendo el formato por defecto. Los errores son siempre JSON.</p>
+     * 
      * @param brandId identificador de la cadena (ej: 1 = ZARA)
      * @param productId identificador del producto
      * @param date fecha y hora en formato ISO-8601 (ej: 2020-06-14T10:00:00)
-     * @return DTO con la información completa del precio aplicable
-     * @throws com.zara.prices.domain.service.PriceNotFoundException si no hay precio aplicable (retorna 404)
+     * @return DTO con la información completa del precio aplicable, o 404 si no hay precio aplicable
      */
     @Operation(
         summary = "Consultar precio aplicable",
@@ -95,25 +164,39 @@ public class PriceController {
     @ApiResponses(value = {
         @ApiResponse(
             responseCode = "200",
-            description = "Precio encontrado exitosamente",
-            content = @Content(
-                mediaType = MediaType.APPLICATION_JSON_VALUE,
-                schema = @Schema(implementation = PriceResponse.class),
-                examples = @ExampleObject(
-                    name = "Ejemplo de respuesta",
-                    value = """
-                        {
-                          "productId": 35455,
-                          "brandId": 1,
-                          "priceList": 1,
-                          "startDate": "2020-06-14T00:00:00",
-                          "endDate": "2020-12-31T23:59:59",
-                          "price": 35.50,
-                          "currency": "EUR"
-                        }
-                        """
-                )
-            )
+            description = "Precio encontrado exitosamente; con ETag y Cache-Control: max-age hasta validUntil",
+            content = {
+                @Content(
+                    mediaType = MediaType.APPLICATION_JSON_VALUE,
+                    schema = @Schema(implementation = PriceResponse.class),
+                    examples = @ExampleObject(
+                        name = "Ejemplo de respuesta",
+                        value = """
+                            {
+                              "productId": 35455,
+                              "brandId": 1,
+                              "priceList": 1,
+                              "startDate": "2020-06-14T00:00:00",
+                              "endDate": "2020-12-31T23:59:59",
+                              "price": 35.50,
+                              "currency": "EUR",
+                              "validUntil": "2020-06-14T15:00:00"
+                            }
+                            """
+                    )
+                ),
+                @Content(mediaType = MediaType.APPLICATION_CBOR_VALUE,
+                         schema = @Schema(implementation = CompactPriceResponse.class)),
+                @Content(mediaType = "application/x-jackson-smile",
+                         schema = @Schema(implementation = CompactPriceResponse.class)),
+                @Content(mediaType = "application/x-protobuf",
+                         schema = @Schema(implementation = CompactPriceResponse.class,
+                                          description = "Mensaje com.zara.prices.PriceResponse de /proto/prices.proto"))
+            }
+        ),
+        @ApiResponse(
+            responseCode = "304",
+            description = "El ETag de If-None-Match sigue siendo válido; sin cuerpo"
         ),
         @ApiResponse(
             responseCode = "404",
@@ -124,10 +207,9 @@ public class PriceController {
                     name = "Error - Precio no encontrado",
                     value = """
                         {
-                          "timestamp": "2026-01-26T20:00:00",
                           "status": 404,
                           "error": "Not Found",
-                          "message": "Price not found",
+                          "message": "No hay precios aplicables para los parámetros proporcionados",
                           "path": "/prices"
                         }
                         """
@@ -143,10 +225,9 @@ public class PriceController {
                     name = "Error - Parámetros inválidos",
                     value = """
                         {
-                          "timestamp": "2026-01-26T20:00:00",
                           "status": 400,
                           "error": "Bad Request",
-                          "message": "Invalid date format",
+                          "message": "Invalid parameter type",
                           "path": "/prices"
                         }
                         """
@@ -155,7 +236,7 @@ public class PriceController {
         )
     })
     @GetMapping
-    public PriceResponse get(
+    public ResponseEntity<Object> get(
         @Parameter(
             name = "brandId",
             description = "Identificador de la cadena/marca (ej: 1 = ZARA)",
@@ -183,10 +264,207 @@ public class PriceController {
         )
         @RequestParam @NotNull @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime date) {
 
-        // Ejecutar caso de uso
-        Price price = useCase.get(brandId, productId, date);
+        // Ejecutar caso de uso y responder con el cuerpo cacheado de la tarifa ganadora;
+        // Spring MVC convierte la respuesta en 304 si el ETag coincide con If-None-Match
+        return useCase.findApplicable(brandId, productId, date)
+                .<ResponseEntity<Object>>map(applicable -> {
+                    PriceResponseBody body = responseBodies.get(applicable);
+                    return ResponseEntity.ok()
+                            .eTag(body.eTag())
+                            .cacheControl(cacheControl(date, applicable))
+                            .varyBy(HttpHeaders.ACCEPT)
+                            .body(body);
+                })
+                .orElse(ErrorResponses.NOT_FOUND);
+    }
+
+    /**
+     * {@code Cache-Control} de un precio: público, con {@code max-age} igual a los
+     * segundos completos que faltan desde la fecha consultada hasta el fin de su validez,
+     * sin pasar de {@link #maxAge}.
+     */
+    private CacheControl cacheControl(LocalDateTime date, ApplicablePrice applicable) {
+        Duration remaining = Duration.between(date, applicable.validUntil());
+        long seconds = Math.max(0, Math.min(remaining.getSeconds(), maxAge.getSeconds()));
+        return CacheControl.maxAge(Duration.ofSeconds(seconds)).cachePublic();
+    }
+
+    /**
+     * Endpoint POST para consultar el precio aplicable de un lote de productos.
+     *
+     * <p>Sustituye a una llamada {@code GET /prices} por elemento: el lote entero se
+     * resuelve con una sola consulta al repositorio. La respuesta mantiene el orden
+     * de la petición y marca con {@code found=false} las consultas sin precio, sin
+     * hacer fallar el resto.</p>
+     *
+     * @param queries entre 1 y {@value #MAX_BATCH_SIZE} consultas
+     * @return un resultado por consulta, en el mismo orden
+     */
+    @Operation(
+        summary = "Consultar precios aplicables por lotes",
+        description = "Resuelve hasta 500 consultas (cadena, producto, fecha) en una sola petición. " +
+                      "Los resultados se devuelven en el orden de la petición; las consultas sin precio " +
+                      "aplicable se marcan con found=false en lugar de hacer fallar el lote.",
+        tags = { "Precios" }
+    )
+    @ApiResponses(value = {
+        @ApiResponse(
+            responseCode = "200",
+            description = "Lote resuelto; cada elemento indica si se encontró precio",
+            content = @Content(
+                mediaType = MediaType.APPLICATION_JSON_VALUE,
+                array = @ArraySchema(schema = @Schema(implementation = PriceBatchItemResponse.class)),
+                examples = @ExampleObject(
+                    name = "Ejemplo de respuesta",
+                    value = """
+                        [
+                          {
+                            "brandId": 1,
+                            "productId": 35455,
+                            "date": "2020-06-14T10:00:00",
+                            "found": true,
+                            "price": {
+                              "productId": 35455,
+                              "brandId": 1,
+                              "priceList": 1,
+                              "startDate": "2020-06-14T00:00:00",
+                              "endDate": "2020-12-31T23:59:59",
+                              "price": 35.50,
+                              "currency": "EUR"
+                            }
+                          },
+                          {
+                            "brandId": 1,
+                            "productId": 99999,
+                            "date": "2020-06-14T10:00:00",
+                            "found": false
+                          }
+                        ]
+                        """
+                )
+            )
+        ),
+        @ApiResponse(
+            responseCode = "400",
+            description = "Lote vacío, con más de 500 consultas o con consultas inválidas",
+            content = @Content(
+                mediaType = MediaType.APPLICATION_JSON_VALUE,
+                examples = @ExampleObject(
+                    name = "Error - Lote inválido",
+                    value = """
+                        {
+                          "status": 400,
+                          "error": "Bad Request",
+                          "message": "Validation failure",
+                          "path": "/prices"
+                        }
+                        """
+                )
+            )
+        )
+    })
+    @PostMapping(path = "/batch", consumes = MediaType.APPLICATION_JSON_VALUE)
+    public List<PriceBatchItemResponse> getBatch(
+        @RequestBody @NotEmpty @Size(max = MAX_BATCH_SIZE) List<@NotNull @Valid PriceQueryRequest> queries) {
+
+        List<PriceQuery> domainQueries = queries.stream().map(mapper::toQuery).toList();
+        List<Optional<Price>> prices = useCase.findAll(domainQueries);
+        List<PriceBatchItemResponse> response = new ArrayList<>(domainQueries.size());
+        for (int i = 0; i < domainQueries.size(); i++) {
+            response.add(mapper.toBatchItem(domainQueries.get(i), prices.get(i)));
+        }
+        return response;
+    }
+
+    /**
+     * Endpoint GET con la evolución del precio de un producto en un rango de fechas.
+     *
+     * <p>Devuelve los tramos de precio efectivo que se solapan con {@code [from, to)},
+     * recortados al rango y en orden cronológico. La prioridad entre tarifas solapadas
+     * ya está resuelta en la línea temporal del producto, calculada en una sola pasada
+     * sobre sus tarifas; los tramos se escriben directamente en la respuesta, sin
+     * construir una lista intermedia. Un producto sin tarifas en el rango da {@code []}.</p>
+     *
+     * @param brandId identificador de la cadena
+     * @param productId identificador del producto
+     * @param from inicio del rango (inclusivo)
+     * @param to fin del rango (exclusivo)
+     * @return array JSON de tramos
+     */
+    @Operation(
+        summary = "Consultar la evolución del precio de un producto",
+        description = "Retorna los tramos de precio efectivo (inicio, fin, tarifa ganadora, precio y moneda) " +
+                      "de un producto entre dos fechas, con la prioridad entre tarifas ya resuelta. " +
+                      "Los tramos son semiabiertos: el fin es exclusivo.",
+        tags = { "Precios" }
+    )
+    @ApiResponses(value = {
+        @ApiResponse(
+            responseCode = "200",
+            description = "Tramos del rango en orden cronológico (vacío si no hay tarifas)",
+            content = @Content(
+                mediaType = MediaType.APPLICATION_JSON_VALUE,
+                array = @ArraySchema(schema = @Schema(implementation = PriceSegmentResponse.class)),
+                examples = @ExampleObject(
+                    name = "Ejemplo de respuesta",
+                    value = """
+                        [
+                          { "start": "2020-06-14T12:00:00", "end": "2020-06-14T15:00:00",
+                            "priceList": 1, "price": 35.50, "currency": "EUR" },
+                          { "start": "2020-06-14T15:00:00", "end": "2020-06-14T18:30:00.000001",
+                            "priceList": 2, "price": 25.45, "currency": "EUR" },
+                          { "start": "2020-06-14T18:30:00.000001", "end": "2020-06-15T00:00:00",
+                            "priceList": 1, "price": 35.50, "currency": "EUR" }
+                        ]
+                        """
+                )
+            )
+        ),
+        @ApiResponse(responseCode = "400", description = "Parámetros inválidos o rango vacío")
+    })
+    @GetMapping("/timeline")
+    public ResponseEntity<StreamingResponseBody> timeline(
+        @Parameter(name = "brandId", description = "Identificador de la cadena/marca (ej: 1 = ZARA)",
+                   required = true, example = "1", schema = @Schema(type = "integer", format = "int64"))
+        @RequestParam @NotNull @Positive Long brandId,
+
+        @Parameter(name = "productId", description = "Identificador del producto",
+                   required = true, example = "35455", schema = @Schema(type = "integer", format = "int64"))
+        @RequestParam @NotNull @Positive Long productId,
+
+        @Parameter(name = "from", description = "Inicio del rango (inclusivo) en formato ISO-8601",
+                   required = true, example = "2020-06-14T00:00:00",
+                   schema = @Schema(type = "string", format = "date-time", pattern = "yyyy-MM-dd'T'HH:mm:ss"))
+        @RequestParam @NotNull @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+
+        @Parameter(name = "to", description = "Fin del rango (exclusivo) en formato ISO-8601",
+                   required = true, example = "2020-06-16T00:00:00",
+                   schema = @Schema(type = "string", format = "date-time", pattern = "yyyy-MM-dd'T'HH:mm:ss"))
+        @RequestParam @NotNull @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to) {
+
+        if (!from.isBefore(to)) {
+            throw new InvalidDateRangeException();
+        }
+        PriceTimeline timeline = useCase.findTimeline(brandId, productId).orElse(PriceTimeline.empty());
+        StreamingResponseBody body = out -> {
+            try (JsonGenerator generator = jsonFactory.createGenerator(out)) {
+                generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+                generator.writeStartArray();
+                timeline.forEachSegmentBetween(from, to, (start, end, price) -> writeSegment(generator,
+                        mapper.toSegment(EpochMicros.toDateTime(start), EpochMicros.toDateTime(end), price)));
+                generator.writeEndArray();
+            } catch (UncheckedIOException e) {
+                throw e.getCause();
+            }
+        };
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(body);
+    }
 
-        // Convertir entidad de dominio a DTO de respuesta
-        return mapper.toResponse(price);
+    private void writeSegment(JsonGenerator generator, PriceSegmentResponse segment) {
+        try {
+            segmentWriter.writeValue(generator, segment);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
     }
 }
@@ -0,0 +1,185 @@
+package com.zara.prices.infrastructure.web;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.time.LocalDateTime;
+import java.util.zip.GZIPOutputStream;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.zara.prices.domain.model.Price;
+import com.zara.prices.domain.port.in.ExportApplicablePricesUseCase;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.ExampleObject;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+
+/**
+ * Adaptador REST para exportar la foto de precios de una cadena.
+ * <p>Escribe una línea JSON (NDJSON) por producto con su tarifa ganadora, a medida que
+ * el caso de uso la entrega: la respuesta no se construye en memoria.
+ * <p>Si el cliente acepta {@code gzip}, la salida se comprime en el propio flujo.
+ * <p>Endpoint: {@code /prices/export}
+ */
+@RestController
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+@RequestMapping("/prices")
+@Validated
+@Tag(name = "Precios", description = "API de consulta de precios aplicables a productos")
+public class PriceExportController {
+
+    /** Tipo de contenido de la exportación: un objeto JSON por línea */
+    static final MediaType APPLICATION_NDJSON = MediaType.valueOf("application/x-ndjson");
+
+    /** Tamaño del búfer de compresión */
+    private static final int GZIP_BUFFER_SIZE = 64 * 1024;
+
+    private static final Logger log = LoggerFactory.getLogger(PriceExportController.class);
+
+    /** Caso de uso de exportación */
+    private final ExportApplicablePricesUseCase useCase;
+
+    /** Mapper para conversión entre modelos de dominio y DTOs */
+    private final PriceWebMapper mapper;
+
+    /** Fábrica de generadores JSON de la configuración de Jackson de la aplicación */
+    private final JsonFactory jsonFactory;
+
+    /** Escritor de cada línea; sin vaciar el flujo tras cada valor */
+    private final ObjectWriter lineWriter;
+
+    /**
+     * Constructor con inyección de dependencias.
+     *
+     * @param useCase caso de uso de exportación
+     * @param mapper convertidor de entidades
+     * @param objectMapper configuración de Jackson de la aplicación (formato de fechas)
+     */
+    public PriceExportController(ExportApplicablePricesUseCase useCase, PriceWebMapper mapper,
+                                 ObjectMapper objectMapper) {
+        this.useCase = useCase;
+        this.mapper = mapper;
+        this.jsonFactory = objectMapper.getFactory();
+        this.lineWriter = objectMapper.writerFor(PriceResponse.class)
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+    }
+
+    /**
+     * Endpoint GET que exporta el precio aplicable de cada producto de una cadena en una fecha.
+     *
+     * @param brandId identificador de la cadena
+     * @param date fecha y hora de la foto de precios
+     * @param acceptEncoding cabecera {@code Accept-Encoding} del cliente
+     * @return flujo NDJSON, comprimido con gzip si el cliente lo acepta
+     */
+    @Operation(
+        summary = "Exportar precios aplicables de una cadena",
+        description = "Devuelve en NDJSON una línea por producto de la cadena con su tarifa aplicable " +
+                      "en la fecha indicada. La respuesta se genera en flujo; se comprime con gzip " +
+                      "si el cliente envía Accept-Encoding: gzip.",
+        tags = { "Precios" }
+    )
+    @ApiResponses(value = {
+        @ApiResponse(
+            responseCode = "200",
+            description = "Exportación en curso; una línea JSON por producto",
+            content = @Content(
+                mediaType = "application/x-ndjson",
+                examples = @ExampleObject(
+                    name = "Ejemplo de respuesta",
+                    value = """
+                        {"productId":35455,"brandId":1,"priceList":1,"startDate":"2020-06-14T00:00:00","endDate":"2020-12-31T23:59:59","price":35.50,"currency":"EUR"}
+                        {"productId":35456,"brandId":1,"priceList":1,"startDate":"2020-06-14T00:00:00","endDate":"2020-12-31T23:59:59","price":19.95,"currency":"EUR"}
+                        """
+                )
+            )
+        ),
+        @ApiResponse(responseCode = "400", description = "Parámetros de entrada inválidos")
+    })
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> export(
+        @Parameter(
+            name = "brandId",
+            description = "Identificador de la cadena/marca (ej: 1 = ZARA)",
+            required = true,
+            example = "1",
+            schema = @Schema(type = "integer", format = "int64")
+        )
+        @RequestParam @NotNull @Positive Long brandId,
+
+        @Parameter(
+            name = "date",
+            description = "Fecha y hora de la foto de precios en formato ISO-8601",
+            required = true,
+            example = "2020-06-14T10:00:00",
+            schema = @Schema(type = "string", format = "date-time", pattern = "yyyy-MM-dd'T'HH:mm:ss")
+        )
+        @RequestParam @NotNull @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime date,
+
+        @Parameter(hidden = true)
+        @RequestHeader(name = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
+
+        boolean gzip = acceptEncoding != null && acceptEncoding.contains("gzip");
+        StreamingResponseBody body = out -> write(brandId, date, gzip ? new GZIPOutputStream(out, GZIP_BUFFER_SIZE) : out);
+
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .contentType(APPLICATION_NDJSON)
+                .header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        if (gzip) {
+            response.header(HttpHeaders.CONTENT_ENCODING, "gzip");
+        }
+        return response.body(body);
+    }
+
+    private void write(Long brandId, LocalDateTime date, OutputStream target) throws IOException {
+        long startNanos = System.nanoTime();
+        long exported;
+        try (JsonGenerator generator = jsonFactory.createGenerator(target)) {
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            generator.setRootValueSeparator(null);
+            exported = useCase.export(brandId, date, price -> writeLine(generator, price));
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        if (target instanceof GZIPOutputStream gzip) {
+            gzip.finish();
+        }
+        log.info("Exportación de precios de la cadena {} en {}: {} productos en {} ms",
+                brandId, date, exported, (System.nanoTime() - startNanos) / 1_000_000);
+    }
+
+    private void writeLine(JsonGenerator generator, Price price) {
+        try {
+            lineWriter.writeValue(generator, mapper.toResponse(price));
+            generator.writeRaw('\n');
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
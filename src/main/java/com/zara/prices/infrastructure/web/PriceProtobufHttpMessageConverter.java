@@ -0,0 +1,116 @@
+package com.zara.prices.infrastructure.web;
+
+import java.io.IOException;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.AbstractHttpMessageConverter;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+import org.springframework.lang.Nullable;
+
+import com.google.protobuf.CodedOutputStream;
+
+/**
+ * Escribe {@link PriceResponse} (o {@link PriceResponseBody}) en Protobuf según el esquema
+ * publicado en {@value #SCHEMA}.
+ *
+ * <p>El mensaje es {@code com.zara.prices.PriceResponse}, con los campos de
+ * {@link CompactPriceResponse}. Se codifica directamente con {@link CodedOutputStream},
+ * sin clases generadas por {@code protoc}: el mensaje es plano y sus números de campo
+ * se fijan aquí y en el {@code .proto}. Las respuestas llevan las cabeceras
+ * {@code X-Protobuf-Schema} y {@code X-Protobuf-Message}, igual que el conversor
+ * Protobuf de Spring.</p>
+ */
+public class PriceProtobufHttpMessageConverter extends AbstractHttpMessageConverter<Object> {
+
+    /** Tipo MIME de Protobuf */
+    public static final MediaType APPLICATION_PROTOBUF = new MediaType("application", "x-protobuf");
+
+    /** Ruta pública del esquema */
+    public static final String SCHEMA = "/proto/prices.proto";
+
+    /** Nombre completo del mensaje en el esquema */
+    public static final String MESSAGE = "com.zara.prices.PriceResponse";
+
+    static final int PRODUCT_ID = 1;
+    static final int BRAND_ID = 2;
+    static final int PRICE_LIST = 3;
+    static final int START_EPOCH_MICROS = 4;
+    static final int END_EPOCH_MICROS = 5;
+    static final int PRICE_MINOR = 6;
+    static final int PRICE_SCALE = 7;
+    static final int CURRENCY = 8;
+    static final int VALID_UNTIL_EPOCH_MICROS = 9;
+
+    /**
+     * Constructor.
+     */
+    public PriceProtobufHttpMessageConverter() {
+        super(APPLICATION_PROTOBUF);
+    }
+
+    @Override
+    protected boolean supports(Class<?> clazz) {
+        return PriceResponse.class.isAssignableFrom(clazz) || PriceResponseBody.class.isAssignableFrom(clazz);
+    }
+
+    @Override
+    public boolean canRead(Class<?> clazz, @Nullable MediaType mediaType) {
+        return false;
+    }
+
+    @Override
+    protected Object readInternal(Class<?> clazz, HttpInputMessage inputMessage) {
+        throw new HttpMessageNotReadableException("PriceResponse no se acepta como cuerpo de petición", inputMessage);
+    }
+
+    @Override
+    protected void addDefaultHeaders(HttpHeaders headers, Object response, @Nullable MediaType contentType)
+            throws IOException {
+        super.addDefaultHeaders(headers, response, contentType);
+        headers.set("X-Protobuf-Schema", SCHEMA);
+        headers.set("X-Protobuf-Message", MESSAGE);
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * <p>El mensaje se codifica en un array de su tamaño exacto: {@link CodedOutputStream}
+     * sobre el flujo de salida reservaría un búfer de 4 KB por respuesta.</p>
+     */
+    @Override
+    protected void writeInternal(Object object, HttpOutputMessage outputMessage) throws IOException {
+        PriceResponse response = object instanceof PriceResponseBody body ? body.response() : (PriceResponse) object;
+        CompactPriceResponse compact = CompactPriceResponse.of(response);
+        byte[] message = new byte[serializedSize(compact)];
+        CodedOutputStream output = CodedOutputStream.newInstance(message);
+        output.writeInt64(PRODUCT_ID, compact.productId());
+        output.writeInt64(BRAND_ID, compact.brandId());
+        output.writeInt32(PRICE_LIST, compact.priceList());
+        output.writeInt64(START_EPOCH_MICROS, compact.startEpochMicros());
+        output.writeInt64(END_EPOCH_MICROS, compact.endEpochMicros());
+        output.writeInt64(PRICE_MINOR, compact.priceMinor());
+        output.writeInt32(PRICE_SCALE, compact.priceScale());
+        output.writeString(CURRENCY, compact.currency());
+        if (compact.validUntilEpochMicros() != null) {
+            output.writeInt64(VALID_UNTIL_EPOCH_MICROS, compact.validUntilEpochMicros());
+        }
+        output.checkNoSpaceLeft();
+        outputMessage.getBody().write(message);
+    }
+
+    private static int serializedSize(CompactPriceResponse compact) {
+        return CodedOutputStream.computeInt64Size(PRODUCT_ID, compact.productId())
+                + CodedOutputStream.computeInt64Size(BRAND_ID, compact.brandId())
+                + CodedOutputStream.computeInt32Size(PRICE_LIST, compact.priceList())
+                + CodedOutputStream.computeInt64Size(START_EPOCH_MICROS, compact.startEpochMicros())
+                + CodedOutputStream.computeInt64Size(END_EPOCH_MICROS, compact.endEpochMicros())
+                + CodedOutputStream.computeInt64Size(PRICE_MINOR, compact.priceMinor())
+                + CodedOutputStream.computeInt32Size(PRICE_SCALE, compact.priceScale())
+                + CodedOutputStream.computeStringSize(CURRENCY, compact.currency())
+                + (compact.validUntilEpochMicros() == null ? 0
+                        : CodedOutputStream.computeInt64Size(VALID_UNTIL_EPOCH_MICROS, compact.validUntilEpochMicros()));
+    }
+}
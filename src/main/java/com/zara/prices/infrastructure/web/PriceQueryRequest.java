@@ -0,0 +1,52 @@
+package com.zara.prices.infrastructure.web;
+
+import java.time.LocalDateTime;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * DTO de cada elemento de la petición de consulta por lotes.
+ *
+ * <p>Ejemplo de JSON aceptado:</p>
+ * <pre>
+ * {
+ *   "brandId": 1,
+ *   "productId": 35455,
+ *   "date": "2020-06-14T10:00:00"
+ * }
+ * </pre>
+ */
+@Schema(description = "Consulta de precio aplicable dentro de un lote")
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class PriceQueryRequest {
+
+    /** Identificador de la cadena/marca */
+    @Schema(description = "Identificador de la cadena/marca (ej: 1 = ZARA)", example = "1", requiredMode = Schema.RequiredMode.REQUIRED)
+    @NotNull
+    @Positive
+    private Long brandId;
+
+    /** Identificador del producto */
+    @Schema(description = "Identificador del producto", example = "35455", requiredMode = Schema.RequiredMode.REQUIRED)
+    @NotNull
+    @Positive
+    private Long productId;
+
+    /** Fecha y hora de consulta */
+    @Schema(
+        description = "Fecha y hora de consulta en formato ISO-8601",
+        example = "2020-06-14T10:00:00",
+        type = "string",
+        format = "date-time",
+        requiredMode = Schema.RequiredMode.REQUIRED
+    )
+    @NotNull
+    private LocalDateTime date;
+}
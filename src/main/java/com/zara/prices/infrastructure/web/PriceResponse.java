@@ -3,6 +3,7 @@ package com.zara.prices.infrastructure.web;
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import com.zara.prices.domain.model.Price;
 
 import io.swagger.v3.oas.annotations.media.Schema;
@@ -25,9 +26,13 @@ import lombok.NoArgsConstructor;
  *   "startDate": "2020-06-14T00:00:00",
  *   "endDate": "2020-12-31T23:59:59",
  *   "price": 35.50,
- *   "currency": "EUR"
+ *   "currency": "EUR",
+ *   "validUntil": "2020-06-14T15:00:00"
  * }
  * </pre>
+ *
+ * <p>{@code validUntil} solo aparece en {@code GET /prices}; las consultas por lotes
+ * no calculan la validez.</p>
  * 
  *  @author Eduardo Pindado Aguilar
  * @version 1.0
@@ -101,6 +106,17 @@ public class PriceResponse {
     )
     private String currency;
 
+    /** Instante (exclusivo) hasta el que este precio sigue siendo el aplicable */
+    @Schema(
+        description = "Instante (exclusivo) hasta el que el precio no cambia: fin de la tarifa ganadora "
+                      + "o inicio de otra de mayor prioridad. Solo en GET /prices",
+        example = "2020-06-14T15:00:00",
+        type = "string",
+        format = "date-time"
+    )
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private LocalDateTime validUntil;
+
     /**
      * Factory method para crear un PriceResponse desde una entidad de dominio Price.
      * 
@@ -111,13 +127,13 @@ public class PriceResponse {
     @Deprecated
     public static PriceResponse from(Price price) {
         PriceResponse r = new PriceResponse();
-        r.productId = price.getProductId();
-        r.brandId = price.getBrandId();
-        r.priceList = price.getPriceList();
-        r.startDate = price.getStart();
-        r.endDate = price.getEnd();
-        r.price = price.getPrice();
-        r.currency = price.getCurrency();
+        r.productId = price.productId();
+        r.brandId = price.brandId();
+        r.priceList = price.priceList();
+        r.startDate = price.startDate();
+        r.endDate = price.endDate();
+        r.price = price.amount();
+        r.currency = price.currencyCode();
         return r;
     }
 }
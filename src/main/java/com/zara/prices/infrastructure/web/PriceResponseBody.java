@@ -0,0 +1,15 @@
+package com.zara.prices.infrastructure.web;
+
+/**
+ * Respuesta de {@code GET /prices} con su cuerpo JSON ya serializado.
+ *
+ * <p>Se comparte entre todas las peticiones que resuelven la misma tarifa con la misma
+ * validez ({@link PriceResponseBodyCache}); {@code json} no debe modificarse.</p>
+ *
+ * @param response DTO de la respuesta, para los formatos que no son JSON
+ * @param json cuerpo JSON, el mismo que escribiría Jackson para {@code response}
+ * @param eTag validador débil ({@code W/"..."}) derivado de {@code json}; al ser débil
+ *        vale para todos los formatos, que llevan la misma información
+ */
+public record PriceResponseBody(PriceResponse response, byte[] json, String eTag) {
+}
@@ -0,0 +1,84 @@
+package com.zara.prices.infrastructure.web;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.util.DigestUtils;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.zara.prices.domain.model.ApplicablePrice;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+
+/**
+ * Caché de cuerpos JSON de {@code GET /prices} por tarifa resuelta.
+ *
+ * <p>La respuesta depende solo del {@link ApplicablePrice} (tarifa ganadora y fin de
+ * su tramo), así que cada uno se convierte a DTO y se serializa una vez, junto con su
+ * {@code ETag}; los aciertos escriben los bytes tal cual, sin {@link PriceWebMapper},
+ * sin Jackson y sin formatear fechas ni decimales.</p>
+ *
+ * <p>La clave se compara por valor: una tarifa que cambia (precio, fechas, tarifa o
+ * moneda) o cuya validez cambia es otra clave, así que nunca se sirven bytes de su
+ * versión anterior, sea cual sea el adaptador de persistencia. Las entradas que ya no
+ * se consultan las desaloja la política W-TinyLFU de Caffeine al llegar a
+ * {@code maximumSize}.</p>
+ */
+@Component
+public class PriceResponseBodyCache implements MeterBinder {
+
+    /** Nombre de la caché en las métricas ({@code cache=prices.responses}) */
+    static final String CACHE_NAME = "prices.responses";
+
+    private final PriceWebMapper mapper;
+    private final ObjectWriter writer;
+    private final Cache<ApplicablePrice, PriceResponseBody> bodies;
+
+    /**
+     * Constructor con inyección de dependencias.
+     *
+     * @param mapper convertidor de dominio a DTO
+     * @param objectMapper configuración de Jackson de la aplicación, la misma que usa el conversor JSON
+     * @param maximumSize número máximo de respuestas cacheadas
+     */
+    public PriceResponseBodyCache(PriceWebMapper mapper, ObjectMapper objectMapper,
+                                  @Value("${app.prices.response-cache.maximum-size:10000}") long maximumSize) {
+        this.mapper = mapper;
+        this.writer = objectMapper.writerFor(PriceResponse.class);
+        this.bodies = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .recordStats()
+                .build();
+    }
+
+    /**
+     * Respuesta de una tarifa, serializándola si no está en la caché.
+     *
+     * @param applicable tarifa ganadora y fin de su validez
+     * @return DTO, cuerpo JSON y {@code ETag} de la respuesta
+     */
+    public PriceResponseBody get(ApplicablePrice applicable) {
+        return bodies.get(applicable, this::encode);
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        CaffeineCacheMetrics.monitor(registry, bodies, CACHE_NAME);
+    }
+
+    private PriceResponseBody encode(ApplicablePrice applicable) {
+        PriceResponse response = mapper.toResponse(applicable);
+        byte[] json;
+        try {
+            json = writer.writeValueAsBytes(response);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("No se pudo serializar la respuesta de " + applicable.price(), e);
+        }
+        return new PriceResponseBody(response, json, "W/\"" + DigestUtils.md5DigestAsHex(json) + "\"");
+    }
+}
@@ -0,0 +1,52 @@
+package com.zara.prices.infrastructure.web;
+
+import java.io.IOException;
+
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.AbstractHttpMessageConverter;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+import org.springframework.lang.Nullable;
+
+/**
+ * Escribe en JSON una {@link PriceResponseBody} copiando su cuerpo ya serializado.
+ *
+ * <p>Tiene que ir delante del conversor JSON de Jackson, que también sabría escribir
+ * el record (como objeto con el array en Base64). La longitud se conoce de antemano,
+ * así que la respuesta lleva {@code Content-Length} en lugar de ir troceada.</p>
+ */
+public class PriceResponseBodyHttpMessageConverter extends AbstractHttpMessageConverter<PriceResponseBody> {
+
+    /**
+     * Constructor.
+     */
+    public PriceResponseBodyHttpMessageConverter() {
+        super(MediaType.APPLICATION_JSON, new MediaType("application", "*+json"));
+    }
+
+    @Override
+    protected boolean supports(Class<?> clazz) {
+        return PriceResponseBody.class.isAssignableFrom(clazz);
+    }
+
+    @Override
+    public boolean canRead(Class<?> clazz, @Nullable MediaType mediaType) {
+        return false;
+    }
+
+    @Override
+    protected PriceResponseBody readInternal(Class<? extends PriceResponseBody> clazz, HttpInputMessage inputMessage) {
+        throw new HttpMessageNotReadableException("PriceResponseBody no se acepta como cuerpo de petición", inputMessage);
+    }
+
+    @Override
+    protected Long getContentLength(PriceResponseBody body, @Nullable MediaType contentType) {
+        return (long) body.json().length;
+    }
+
+    @Override
+    protected void writeInternal(PriceResponseBody body, HttpOutputMessage outputMessage) throws IOException {
+        outputMessage.getBody().write(body.json());
+    }
+}
@@ -0,0 +1,65 @@
+package com.zara.prices.infrastructure.web;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * DTO de un tramo de la línea temporal de precio de un producto.
+ *
+ * <p>Los tramos son semiabiertos: {@code start} inclusivo y {@code end} exclusivo, de
+ * modo que el fin de un tramo coincide con el inicio del siguiente cuando son contiguos.</p>
+ *
+ * <p>Ejemplo de JSON generado:</p>
+ * <pre>
+ * {
+ *   "start": "2020-06-14T15:00:00",
+ *   "end": "2020-06-14T18:30:00.000001",
+ *   "priceList": 2,
+ *   "price": 25.45,
+ *   "currency": "EUR"
+ * }
+ * </pre>
+ */
+@Schema(description = "Tramo de precio efectivo de un producto")
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class PriceSegmentResponse {
+
+    /** Inicio del tramo (inclusivo) */
+    @Schema(
+        description = "Inicio del tramo (inclusivo)",
+        example = "2020-06-14T15:00:00",
+        type = "string",
+        format = "date-time",
+        requiredMode = Schema.RequiredMode.REQUIRED
+    )
+    private LocalDateTime start;
+
+    /** Fin del tramo (exclusivo) */
+    @Schema(
+        description = "Fin del tramo (exclusivo)",
+        example = "2020-06-14T18:30:00.000001",
+        type = "string",
+        format = "date-time",
+        requiredMode = Schema.RequiredMode.REQUIRED
+    )
+    private LocalDateTime end;
+
+    /** Tarifa ganadora en el tramo */
+    @Schema(description = "Identificador de la tarifa ganadora en el tramo", example = "2", requiredMode = Schema.RequiredMode.REQUIRED)
+    private Integer priceList;
+
+    /** Precio final de venta en el tramo */
+    @Schema(description = "Precio final de venta (PVP)", example = "25.45", type = "number", format = "decimal", requiredMode = Schema.RequiredMode.REQUIRED)
+    private BigDecimal price;
+
+    /** Código ISO de la moneda */
+    @Schema(description = "Código ISO de la moneda", example = "EUR", requiredMode = Schema.RequiredMode.REQUIRED)
+    private String currency;
+}
@@ -1,8 +1,13 @@
 package com.zara.prices.infrastructure.web;
 
+import java.time.LocalDateTime;
+import java.util.Optional;
+
 import org.springframework.stereotype.Component;
 
+import com.zara.prices.domain.model.ApplicablePrice;
 import com.zara.prices.domain.model.Price;
+import com.zara.prices.domain.model.PriceQuery;
 
 /**
  * Mapper para conversión entre entidades de dominio y DTOs de la capa web.
@@ -28,25 +33,78 @@ public class PriceWebMapper {
      */
     public PriceResponse toResponse(Price price) {
         return new PriceResponse(
-            price.getProductId(),
-            price.getBrandId(),
-            price.getPriceList(),
-            price.getStart(),
-            price.getEnd(),
-            price.getPrice(),
-            price.getCurrency()
+            price.productId(),
+            price.brandId(),
+            price.priceList(),
+            price.startDate(),
+            price.endDate(),
+            price.amount(),
+            price.currencyCode(),
+            null
         );
     }
 
+    /**
+     * Convierte una tarifa ganadora con su validez a un DTO de respuesta.
+     *
+     * @param applicable tarifa ganadora y fin del tramo en que gana
+     * @return DTO con {@code validUntil}
+     */
+    public PriceResponse toResponse(ApplicablePrice applicable) {
+        PriceResponse response = toResponse(applicable.price());
+        response.setValidUntil(applicable.validUntil());
+        return response;
+    }
+
     public Price toDomain(PriceResponse response) {
-        return new Price(
+        return Price.of(
             response.getBrandId(),
             response.getProductId(),
             response.getStartDate(),
             response.getEndDate(),
+            0,
             response.getPrice(),
             response.getCurrency(),
             response.getPriceList()
         );
     }
+
+    /**
+     * Convierte un elemento de la petición por lotes a una consulta de dominio.
+     *
+     * @param request elemento de la petición, ya validado
+     * @return consulta de dominio
+     */
+    public PriceQuery toQuery(PriceQueryRequest request) {
+        return new PriceQuery(request.getBrandId(), request.getProductId(), request.getDate());
+    }
+
+    /**
+     * Convierte el resultado de una consulta del lote a su DTO de respuesta.
+     *
+     * @param query consulta resuelta
+     * @param price precio aplicable, o vacío si no existe
+     * @return DTO con la consulta, la marca de encontrado y el precio si lo hay
+     */
+    public PriceBatchItemResponse toBatchItem(PriceQuery query, Optional<Price> price) {
+        return new PriceBatchItemResponse(
+            query.brandId(),
+            query.productId(),
+            query.date(),
+            price.isPresent(),
+            price.map(this::toResponse).orElse(null)
+        );
+    }
+
+    /**
+     * Convierte un tramo de la línea temporal a su DTO de respuesta.
+     *
+     * @param start inicio del tramo (inclusivo)
+     * @param end fin del tramo (exclusivo)
+     * @param price tarifa ganadora en el tramo
+     * @return DTO del tramo
+     */
+    public PriceSegmentResponse toSegment(LocalDateTime start, LocalDateTime end, Price price) {
+        return new PriceSegmentResponse(start, end, price.priceList(), price.amount(), price.currencyCode());
+    }
 }
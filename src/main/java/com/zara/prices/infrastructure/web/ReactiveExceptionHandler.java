@@ -0,0 +1,93 @@
+package com.zara.prices.infrastructure.web;
+
+import org.springframework.beans.TypeMismatchException;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.support.WebExchangeBindException;
+import org.springframework.web.method.annotation.HandlerMethodValidationException;
+import org.springframework.web.server.MissingRequestValueException;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.ServerWebInputException;
+
+import com.zara.prices.domain.service.PriceNotFoundException;
+import com.zara.prices.infrastructure.metrics.PriceMetrics;
+
+import jakarta.validation.ConstraintViolationException;
+
+/**
+ * Traduce las excepciones de WebFlux a las mismas respuestas que {@link GlobalExceptionHandler}.
+ *
+ * <p>WebFlux agrupa los errores de entrada en {@link ServerWebInputException}; aquí se
+ * distinguen por subtipo y causa para devolver los mismos cuerpos precalculados de
+ * {@link ErrorResponses} que la variante servlet.</p>
+ */
+@ControllerAdvice
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveExceptionHandler {
+
+    /** Medidores de la ruta de consulta; aquí se cuentan las peticiones inválidas */
+    private final PriceMetrics metrics;
+
+    /**
+     * Constructor con inyección de dependencias.
+     *
+     * @param metrics medidores de la ruta de consulta
+     */
+    public ReactiveExceptionHandler(PriceMetrics metrics) {
+        this.metrics = metrics;
+    }
+
+    @ExceptionHandler(PriceNotFoundException.class)
+    public ResponseEntity<Object> handlePriceNotFound(PriceNotFoundException ex, ServerWebExchange exchange) {
+        return ErrorResponses.notFound(path(exchange));
+    }
+
+    @ExceptionHandler(WebExchangeBindException.class)
+    public ResponseEntity<Object> handleValidation(WebExchangeBindException ex, ServerWebExchange exchange) {
+        return invalid(ErrorResponses.invalidInput(path(exchange)));
+    }
+
+    @ExceptionHandler(MissingRequestValueException.class)
+    public ResponseEntity<Object> handleMissingParameter(MissingRequestValueException ex, ServerWebExchange exchange) {
+        return invalid(ErrorResponses.missingParameter(path(exchange), ex.getName()));
+    }
+
+    @ExceptionHandler(ServerWebInputException.class)
+    public ResponseEntity<Object> handleInput(ServerWebInputException ex, ServerWebExchange exchange) {
+        return invalid(ex.getCause() instanceof TypeMismatchException
+                ? ErrorResponses.invalidType(path(exchange)) : ErrorResponses.invalidInput(path(exchange)));
+    }
+
+    @ExceptionHandler(HandlerMethodValidationException.class)
+    public ResponseEntity<Object> handleHandlerMethodValidation(HandlerMethodValidationException ex, ServerWebExchange exchange) {
+        return invalid(ErrorResponses.validationFailure(path(exchange)));
+    }
+
+    @ExceptionHandler(ConstraintViolationException.class)
+    public ResponseEntity<Object> handleConstraintViolation(ConstraintViolationException ex, ServerWebExchange exchange) {
+        return invalid(ErrorResponses.validationFailure(path(exchange)));
+    }
+
+    @ExceptionHandler(InvalidDateRangeException.class)
+    public ResponseEntity<Object> handleInvalidDateRange(InvalidDateRangeException ex, ServerWebExchange exchange) {
+        return invalid(ErrorResponses.invalidRange(path(exchange)));
+    }
+
+    @ExceptionHandler(Exception.class)
+    public ResponseEntity<Object> handleGeneric(Exception ex, ServerWebExchange exchange) {
+        return ErrorResponses.of(path(exchange), HttpStatus.INTERNAL_SERVER_ERROR, ex.getMessage());
+    }
+
+    private ResponseEntity<Object> invalid(ResponseEntity<Object> response) {
+        metrics.invalidRequests().increment();
+        return response;
+    }
+
+    /** Ruta de la petición dentro de la aplicación, para el campo {@code path} del cuerpo */
+    private static String path(ServerWebExchange exchange) {
+        return exchange.getRequest().getPath().pathWithinApplication().value();
+    }
+}
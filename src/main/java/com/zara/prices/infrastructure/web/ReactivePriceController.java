@@ -0,0 +1,131 @@
+package com.zara.prices.infrastructure.web;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.zara.prices.domain.model.EpochMicros;
+import com.zara.prices.domain.model.PriceQuery;
+import com.zara.prices.domain.port.in.ReactiveGetApplicablePriceUseCase;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+import jakarta.validation.constraints.Size;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Adaptador REST reactivo, equivalente a {@link PriceController} sobre WebFlux.
+ * <p>Mismos endpoints, parámetros, validaciones y cuerpos (también los de error,
+ * compartidos en {@link ErrorResponses}), pero ninguna petición retiene un hilo
+ * mientras espera a la base de datos: unos pocos hilos del bucle de eventos
+ * atienden todas las peticiones concurrentes.
+ * <p>Solo se registra cuando la aplicación arranca en modo reactivo
+ * ({@code spring.main.web-application-type=reactive}).
+ * <p>Endpoint base: {@code /prices}
+ */
+@RestController
+@RequestMapping("/prices")
+@Validated
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactivePriceController {
+
+    /** Caso de uso reactivo para obtener precio aplicable */
+    private final ReactiveGetApplicablePriceUseCase useCase;
+
+    /** Mapper para conversión entre modelos de dominio y DTOs */
+    private final PriceWebMapper mapper;
+
+    /**
+     * Constructor con inyección de dependencias.
+     *
+     * @param useCase caso de uso reactivo de consulta de precios
+     * @param mapper convertidor de entidades
+     */
+    public ReactivePriceController(ReactiveGetApplicablePriceUseCase useCase, PriceWebMapper mapper) {
+        this.useCase = useCase;
+        this.mapper = mapper;
+    }
+
+    /**
+     * Endpoint GET para consultar el precio aplicable a un producto.
+     *
+     * @param brandId identificador de la cadena (ej: 1 = ZARA)
+     * @param productId identificador del producto
+     * @param date fecha y hora en formato ISO-8601 (ej: 2020-06-14T10:00:00)
+     * @return DTO con el precio aplicable, o el 404 precalculado si no hay precio
+     */
+    @GetMapping
+    public Mono<ResponseEntity<Object>> get(
+        @RequestParam @NotNull @Positive Long brandId,
+        @RequestParam @NotNull @Positive Long productId,
+        @RequestParam @NotNull @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime date) {
+
+        return useCase.find(brandId, productId, date)
+                .<ResponseEntity<Object>>map(price -> ResponseEntity.ok(mapper.toResponse(price)))
+                .defaultIfEmpty(ErrorResponses.NOT_FOUND);
+    }
+
+    /**
+     * Endpoint POST para consultar el precio aplicable de un lote de productos.
+     *
+     * @param queries entre 1 y {@value PriceController#MAX_BATCH_SIZE} consultas
+     * @return un resultado por consulta, en el mismo orden
+     */
+    @PostMapping(path = "/batch", consumes = MediaType.APPLICATION_JSON_VALUE)
+    public Mono<List<PriceBatchItemResponse>> getBatch(
+        @RequestBody @NotEmpty @Size(max = PriceController.MAX_BATCH_SIZE) List<@NotNull @Valid PriceQueryRequest> queries) {
+
+        List<PriceQuery> domainQueries = queries.stream().map(mapper::toQuery).toList();
+        return useCase.findAll(domainQueries).map(prices -> {
+            List<PriceBatchItemResponse> response = new ArrayList<>(domainQueries.size());
+            for (int i = 0; i < domainQueries.size(); i++) {
+                response.add(mapper.toBatchItem(domainQueries.get(i), prices.get(i)));
+            }
+            return response;
+        });
+    }
+
+    /**
+     * Endpoint GET con la evolución del precio de un producto en un rango de fechas.
+     *
+     * <p>Los tramos se emiten uno a uno y WebFlux los escribe como un array JSON.</p>
+     *
+     * @param brandId identificador de la cadena
+     * @param productId identificador del producto
+     * @param from inicio del rango (inclusivo)
+     * @param to fin del rango (exclusivo)
+     * @return tramos del rango en orden cronológico; vacío si no hay tarifas
+     */
+    @GetMapping(path = "/timeline", produces = MediaType.APPLICATION_JSON_VALUE)
+    public Flux<PriceSegmentResponse> timeline(
+        @RequestParam @NotNull @Positive Long brandId,
+        @RequestParam @NotNull @Positive Long productId,
+        @RequestParam @NotNull @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+        @RequestParam @NotNull @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to) {
+
+        if (!from.isBefore(to)) {
+            throw new InvalidDateRangeException();
+        }
+        return useCase.findTimeline(brandId, productId)
+                .flatMapMany(timeline -> Flux.<PriceSegmentResponse>create(sink -> {
+                    timeline.forEachSegmentBetween(from, to, (start, end, price) -> sink.next(
+                            mapper.toSegment(EpochMicros.toDateTime(start), EpochMicros.toDateTime(end), price)));
+                    sink.complete();
+                }));
+    }
+}
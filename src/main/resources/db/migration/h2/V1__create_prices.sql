@@ -0,0 +1,17 @@
+-- Initial schema: PRICES as it existed before versioned migrations.
+
+CREATE TABLE IF NOT EXISTS prices (
+    id          BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    brand_id    BIGINT         NOT NULL,
+    start_date  TIMESTAMP(6),
+    end_date    TIMESTAMP(6),
+    price_list  INTEGER,
+    product_id  BIGINT         NOT NULL,
+    priority    INTEGER,
+    price       NUMERIC(38, 2),
+    currency    VARCHAR(255)
+);
+
+CREATE INDEX IF NOT EXISTS idx_brand_product ON prices (brand_id, product_id);
+CREATE INDEX IF NOT EXISTS idx_start_date ON prices (start_date);
+CREATE INDEX IF NOT EXISTS idx_end_date ON prices (end_date);
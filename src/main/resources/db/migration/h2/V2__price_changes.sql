@@ -0,0 +1,11 @@
+-- Change log for PRICES: one row per touched (brand, product).
+-- H2 has no trigger: whoever writes PRICES must also insert the PRICE_CHANGES row.
+
+CREATE TABLE IF NOT EXISTS price_changes (
+    id          BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    brand_id    BIGINT       NOT NULL,
+    product_id  BIGINT       NOT NULL,
+    changed_at  TIMESTAMP(6) NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
+
+CREATE INDEX IF NOT EXISTS idx_price_changes_changed_at ON price_changes (changed_at);
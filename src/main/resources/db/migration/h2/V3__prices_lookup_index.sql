@@ -0,0 +1,11 @@
+-- Composite index for the top-1 lookup (brand, product, date BETWEEN start and end,
+-- ORDER BY priority DESC): equality on the first two columns, range on start_date and
+-- end_date checked in the index. It replaces the (brand, product) prefix index and the
+-- single-column date indexes, which the planner could not combine.
+
+CREATE INDEX IF NOT EXISTS idx_prices_lookup
+    ON prices (brand_id, product_id, start_date, end_date, priority DESC);
+
+DROP INDEX IF EXISTS idx_brand_product;
+DROP INDEX IF EXISTS idx_start_date;
+DROP INDEX IF EXISTS idx_end_date;
@@ -0,0 +1,6 @@
+-- A PRICE_CHANGES row without brand and product is a full reload marker: the bulk load swap
+-- replaces the whole table and writes that single row instead of one row per product, and
+-- change log readers reload everything when they reach it.
+
+ALTER TABLE price_changes ALTER COLUMN brand_id DROP NOT NULL;
+ALTER TABLE price_changes ALTER COLUMN product_id DROP NOT NULL;
@@ -0,0 +1,20 @@
+-- Initial schema: PRICES as it existed before versioned migrations.
+-- Databases created before migrations were introduced are baselined at this version
+-- (spring.flyway.baseline-on-migrate), so this script only runs on empty databases and
+-- must not create anything those databases lack: later objects go in later versions.
+
+CREATE TABLE IF NOT EXISTS prices (
+    id          BIGSERIAL PRIMARY KEY,
+    brand_id    BIGINT         NOT NULL,
+    start_date  TIMESTAMP(6),
+    end_date    TIMESTAMP(6),
+    price_list  INTEGER,
+    product_id  BIGINT         NOT NULL,
+    priority    INTEGER,
+    price       NUMERIC(38, 2),
+    currency    VARCHAR(255)
+);
+
+CREATE INDEX IF NOT EXISTS idx_brand_product ON prices (brand_id, product_id);
+CREATE INDEX IF NOT EXISTS idx_start_date ON prices (start_date);
+CREATE INDEX IF NOT EXISTS idx_end_date ON prices (end_date);
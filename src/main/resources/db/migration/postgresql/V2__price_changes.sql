@@ -0,0 +1,30 @@
+-- Change log for PRICES: one row per touched (brand, product), written by a row trigger so
+-- every writer feeds it. In-process price copies poll it past a high-water mark instead of
+-- reloading PRICES; PriceChangeLogPruner deletes rows older than the retention by changed_at.
+
+CREATE TABLE IF NOT EXISTS price_changes (
+    id          BIGSERIAL PRIMARY KEY,
+    brand_id    BIGINT    NOT NULL,
+    product_id  BIGINT    NOT NULL,
+    changed_at  TIMESTAMP NOT NULL DEFAULT now()
+);
+
+CREATE INDEX IF NOT EXISTS idx_price_changes_changed_at ON price_changes (changed_at);
+
+CREATE OR REPLACE FUNCTION record_price_change() RETURNS trigger AS $$
+BEGIN
+    IF TG_OP IN ('UPDATE', 'DELETE') THEN
+        INSERT INTO price_changes (brand_id, product_id) VALUES (OLD.brand_id, OLD.product_id);
+    END IF;
+    IF TG_OP IN ('INSERT', 'UPDATE')
+       AND (TG_OP = 'INSERT' OR (NEW.brand_id, NEW.product_id) IS DISTINCT FROM (OLD.brand_id, OLD.product_id)) THEN
+        INSERT INTO price_changes (brand_id, product_id) VALUES (NEW.brand_id, NEW.product_id);
+    END IF;
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+DROP TRIGGER IF EXISTS prices_change_log ON prices;
+CREATE TRIGGER prices_change_log
+    AFTER INSERT OR UPDATE OR DELETE ON prices
+    FOR EACH ROW EXECUTE FUNCTION record_price_change();
@@ -0,0 +1,18 @@
+-- Covering index for the top-1 lookup (brand, product, date BETWEEN start and end,
+-- ORDER BY priority DESC): equality on the first two columns, range on start_date and
+-- end_date checked in the index, and the remaining columns in INCLUDE so the winning row
+-- can come from an index-only scan. It replaces the (brand, product) prefix index and
+-- the single-column date indexes, which the planner could not combine.
+--
+-- CONCURRENTLY keeps PRICES writable while the index builds; Flyway runs these
+-- statements outside a transaction. It needs spring.flyway.postgresql.transactional-lock
+-- set to false: the build waits for every open transaction, so it would hang behind the
+-- transaction that holds Flyway's default advisory lock.
+
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_prices_lookup
+    ON prices (brand_id, product_id, start_date, end_date, priority DESC)
+    INCLUDE (price_list, price, currency, id);
+
+DROP INDEX CONCURRENTLY IF EXISTS idx_brand_product;
+DROP INDEX CONCURRENTLY IF EXISTS idx_start_date;
+DROP INDEX CONCURRENTLY IF EXISTS idx_end_date;
@@ -0,0 +1,28 @@
+-- Broadcast every touched (brand, product) on the prices_invalidation channel, next to the
+-- PRICE_CHANGES row, so nodes listening with app.prices.invalidation.bus=postgres evict it.
+-- NOTIFY is delivered on commit and duplicates within a transaction are folded into one.
+-- A writer that publishes its own coarser invalidation (the bulk load swap) turns the
+-- per-row notifications off with SET LOCAL prices.notify = 'off'.
+
+CREATE OR REPLACE FUNCTION notify_price_change(changed_brand_id BIGINT, changed_product_id BIGINT) RETURNS void AS $$
+BEGIN
+    IF current_setting('prices.notify', true) IS DISTINCT FROM 'off' THEN
+        PERFORM pg_notify('prices_invalidation', 'product:' || changed_brand_id || ':' || changed_product_id);
+    END IF;
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE OR REPLACE FUNCTION record_price_change() RETURNS trigger AS $$
+BEGIN
+    IF TG_OP IN ('UPDATE', 'DELETE') THEN
+        INSERT INTO price_changes (brand_id, product_id) VALUES (OLD.brand_id, OLD.product_id);
+        PERFORM notify_price_change(OLD.brand_id, OLD.product_id);
+    END IF;
+    IF TG_OP IN ('INSERT', 'UPDATE')
+       AND (TG_OP = 'INSERT' OR (NEW.brand_id, NEW.product_id) IS DISTINCT FROM (OLD.brand_id, OLD.product_id)) THEN
+        INSERT INTO price_changes (brand_id, product_id) VALUES (NEW.brand_id, NEW.product_id);
+        PERFORM notify_price_change(NEW.brand_id, NEW.product_id);
+    END IF;
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
@@ -0,0 +1,26 @@
+-- A PRICE_CHANGES row without brand and product is a full reload marker: the bulk load swap
+-- replaces the whole table and writes that single row instead of one row per product, and
+-- change log readers reload everything when they reach it.
+-- The swap turns the row trigger off with SET LOCAL prices.change_log = 'off', so deleting and
+-- reinserting N tariffs no longer writes 2 * N change rows and notifications.
+
+ALTER TABLE price_changes ALTER COLUMN brand_id DROP NOT NULL;
+ALTER TABLE price_changes ALTER COLUMN product_id DROP NOT NULL;
+
+CREATE OR REPLACE FUNCTION record_price_change() RETURNS trigger AS $$
+BEGIN
+    IF current_setting('prices.change_log', true) = 'off' THEN
+        RETURN NULL;
+    END IF;
+    IF TG_OP IN ('UPDATE', 'DELETE') THEN
+        INSERT INTO price_changes (brand_id, product_id) VALUES (OLD.brand_id, OLD.product_id);
+        PERFORM notify_price_change(OLD.brand_id, OLD.product_id);
+    END IF;
+    IF TG_OP IN ('INSERT', 'UPDATE')
+       AND (TG_OP = 'INSERT' OR (NEW.brand_id, NEW.product_id) IS DISTINCT FROM (OLD.brand_id, OLD.product_id)) THEN
+        INSERT INTO price_changes (brand_id, product_id) VALUES (NEW.brand_id, NEW.product_id);
+        PERFORM notify_price_change(NEW.brand_id, NEW.product_id);
+    END IF;
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
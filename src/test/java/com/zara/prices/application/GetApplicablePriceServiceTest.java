@@ -3,13 +3,17 @@ package com.zara.prices.application;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.time.Month;
+import java.util.List;
 import java.util.Optional;
 
+import com.zara.prices.domain.model.ApplicablePrice;
 import com.zara.prices.domain.model.Price;
+import com.zara.prices.domain.model.PriceQuery;
 import com.zara.prices.domain.port.out.PriceRepository;
 import com.zara.prices.domain.service.PriceNotFoundException;
 import org.junit.jupiter.api.BeforeEach;
@@ -33,7 +37,7 @@ class GetApplicablePriceServiceTest {
         Long productId = 35455L;
         Long brandId = 1L;
         LocalDateTime date = LocalDateTime.of(2020, Month.JUNE, 14, 10, 0);
-        Price expectedPrice = new Price(
+        Price expectedPrice = Price.of(
             brandId,
             productId,
             date.minusHours(1),
@@ -51,7 +55,7 @@ class GetApplicablePriceServiceTest {
 
         // Assert
         assertNotNull(result);
-        assertEquals(new BigDecimal("35.50"), result.getPrice());
+        assertEquals(new BigDecimal("35.50"), result.amount());
     }
 
     @Test
@@ -76,7 +80,7 @@ class GetApplicablePriceServiceTest {
         Long brandId = 1L;
         LocalDateTime date = LocalDateTime.of(2020, Month.JUNE, 14, 16, 0);
         // El repositorio ahora retorna directamente el de mayor prioridad
-        Price highestPriority = new Price(
+        Price highestPriority = Price.of(
             brandId,
             productId,
             date.minusHours(1),
@@ -94,8 +98,8 @@ class GetApplicablePriceServiceTest {
 
         // Assert
         assertNotNull(result);
-        assertEquals(new BigDecimal("35.50"), result.getPrice());
-        assertEquals(2, result.getPriority());
+        assertEquals(new BigDecimal("35.50"), result.amount());
+        assertEquals(2, result.priority());
     }
 
     @Test
@@ -115,7 +119,7 @@ class GetApplicablePriceServiceTest {
         Long productId = 35455L;
         Long brandId = 1L;
         LocalDateTime date = LocalDateTime.of(2020, Month.JUNE, 14, 10, 0);
-        Price price = new Price(
+        Price price = Price.of(
             brandId,
             productId,
             date.minusHours(1),
@@ -132,11 +136,53 @@ class GetApplicablePriceServiceTest {
         Price result = service.get(brandId, productId, date);
 
         // Assert - Verifica que se obtuvo el de mayor prioridad desde la BD (sin lógica en memoria)
-        assertEquals(9999, result.getPriority());
-        assertEquals(new BigDecimal("35.50"), result.getPrice());
+        assertEquals(9999, result.priority());
+        assertEquals(new BigDecimal("35.50"), result.amount());
         
         // Verifica que se llamó al método optimizado
         Mockito.verify(repository, Mockito.times(1))
                 .findHighestPriorityApplicable(brandId, productId, date);
     }
-}
\ No newline at end of file
+
+    @Test
+    void testFindApplicablePrice_missReturnsEmptyWithoutException() {
+        LocalDateTime date = LocalDateTime.of(2020, Month.JUNE, 14, 10, 0);
+        Mockito.when(repository.findHighestPriorityApplicable(1L, 35455L, date))
+                .thenReturn(Optional.empty());
+
+        assertTrue(service.find(1L, 35455L, date).isEmpty());
+    }
+
+    @Test
+    void testFindAll_singleRepositoryCallKeepsOrder() {
+        // Arrange
+        LocalDateTime date = LocalDateTime.of(2020, Month.JUNE, 14, 10, 0);
+        PriceQuery known = new PriceQuery(1L, 35455L, date);
+        PriceQuery unknown = new PriceQuery(1L, 99999L, date);
+        PriceQuery expired = new PriceQuery(1L, 35455L, date.minusYears(1));
+        Price price = Price.of(1L, 35455L, date.minusHours(10), date.plusMonths(6),
+                0, new BigDecimal("35.50"), "EUR", 1);
+        Mockito.when(repository.findHighestPriorityApplicable(List.of(known, unknown, expired)))
+                .thenReturn(List.of(Optional.of(price), Optional.empty(), Optional.empty()));
+
+        // Act
+        List<Optional<Price>> results = service.findAll(List.of(known, unknown, expired));
+
+        // Assert: una sola llamada al repositorio con todas las consultas
+        assertEquals(List.of(Optional.of(price), Optional.empty(), Optional.empty()), results);
+        Mockito.verify(repository).findHighestPriorityApplicable(List.of(known, unknown, expired));
+        Mockito.verifyNoMoreInteractions(repository);
+    }
+
+    @Test
+    void testFindApplicableUsesSingleRowLookupWithValidity() {
+        LocalDateTime date = LocalDateTime.of(2020, Month.JUNE, 14, 10, 0);
+        Price price = Price.of(1L, 35455L, date.minusHours(1), date.plusHours(1), 1, new BigDecimal("35.50"), "EUR", 1);
+        ApplicablePrice expected = new ApplicablePrice(price, date.plusHours(1));
+        Mockito.when(repository.findHighestPriorityApplicableWithValidity(1L, 35455L, date))
+                .thenReturn(Optional.of(expected));
+
+        assertEquals(Optional.of(expected), service.findApplicable(1L, 35455L, date));
+        Mockito.verify(repository, Mockito.never()).findTimeline(Mockito.anyLong(), Mockito.anyLong());
+    }
+}
@@ -3,36 +3,39 @@ package com.zara.prices.domain.model;
 import org.junit.jupiter.api.Test;
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.Currency;
 import static org.junit.jupiter.api.Assertions.*;
 
 public class PriceTest {
     @Test
-    public void testBuilderAndGetters() {
-        LocalDateTime start = LocalDateTime.now();
-        LocalDateTime end = start.plusDays(1);
-        Price price = Price.builder()
-                .brandId(1L)
-                .productId(2L)
-                .start(start)
-                .end(end)
-                .priority(3)
-                .price(new BigDecimal("99.99"))
-                .currency("EUR")
-                .priceList(5)
-                .build();
-        assertEquals(1L, price.getBrandId());
-        assertEquals(2L, price.getProductId());
-        assertEquals(start, price.getStart());
-        assertEquals(end, price.getEnd());
-        assertEquals(3, price.getPriority());
-        assertEquals(new BigDecimal("99.99"), price.getPrice());
-        assertEquals("EUR", price.getCurrency());
-        assertEquals(5, price.getPriceList());
+    public void testEdgeConversionsRoundTrip() {
+        LocalDateTime start = LocalDateTime.parse("2020-06-14T15:00:00");
+        LocalDateTime end = LocalDateTime.parse("2020-06-14T18:30:00.123456");
+        Price price = Price.of(1L, 2L, start, end, 3, new BigDecimal("99.99"), "EUR", 5);
+        assertEquals(1L, price.brandId());
+        assertEquals(2L, price.productId());
+        assertEquals(start, price.startDate());
+        assertEquals(end, price.endDate());
+        assertEquals(EpochMicros.of(start), price.startMicros());
+        assertEquals(3, price.priority());
+        assertEquals(9999L, price.priceMinor());
+        assertEquals(2, price.priceScale());
+        assertEquals(new BigDecimal("99.99"), price.amount());
+        assertEquals("EUR", price.currencyCode());
+        assertSame(Currency.getInstance("EUR"), price.currency());
+        assertEquals(5, price.priceList());
+    }
+
+    @Test
+    public void testOfRejectsUnknownCurrency() {
+        LocalDateTime start = LocalDateTime.parse("2020-06-14T15:00:00");
+        assertThrows(IllegalArgumentException.class,
+                () -> Price.of(1L, 2L, start, start, 0, BigDecimal.ONE, "XYZ", 1));
     }
 
     @Test
     public void testToString() {
-        Price price = Price.builder().brandId(1L).productId(2L).build();
+        Price price = price(new BigDecimal("99.99"));
         assertTrue(price.toString().contains("brandId=1"));
         assertTrue(price.toString().contains("productId=2"));
     }
@@ -45,11 +48,15 @@ public class PriceTest {
 
     @Test
     public void testEqualsAndHashCode() {
-        LocalDateTime start = LocalDateTime.now();
-        LocalDateTime end = start.plusDays(1);
-        Price p1 = Price.builder().brandId(1L).productId(2L).start(start).end(end).priority(3).price(new BigDecimal("99.99")).currency("EUR").priceList(5).build();
-        Price p2 = Price.builder().brandId(1L).productId(2L).start(start).end(end).priority(3).price(new BigDecimal("99.99")).currency("EUR").priceList(5).build();
+        Price p1 = price(new BigDecimal("99.99"));
+        Price p2 = price(new BigDecimal("99.99"));
         assertEquals(p1, p2);
         assertEquals(p1.hashCode(), p2.hashCode());
+        assertNotEquals(p1, price(new BigDecimal("99.990")));
+    }
+
+    private static Price price(BigDecimal amount) {
+        return Price.of(1L, 2L, LocalDateTime.parse("2020-06-14T15:00:00"), LocalDateTime.parse("2020-06-15T15:00:00"),
+                3, amount, "EUR", 5);
     }
 }
\ No newline at end of file
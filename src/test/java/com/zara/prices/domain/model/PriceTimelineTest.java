@@ -0,0 +1,163 @@
+package com.zara.prices.domain.model;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+class PriceTimelineTest {
+
+    private static final List<Price> SAMPLE = List.of(
+        price("2020-06-14T00:00:00", "2020-12-31T23:59:59", 0, 1),
+        price("2020-06-14T15:00:00", "2020-06-14T18:30:00", 1, 2),
+        price("2020-06-15T00:00:00", "2020-06-15T11:00:00", 1, 3),
+        price("2020-06-15T16:00:00", "2020-12-31T23:59:59", 1, 4)
+    );
+
+    @Test
+    void testSampleProductFlattenedIntoDisjointSegments() {
+        PriceTimeline timeline = PriceTimeline.of(SAMPLE);
+
+        assertEquals(6, timeline.segmentCount());
+        assertEquals(1, priceListAt(timeline, "2020-06-14T10:00:00"));
+        assertEquals(2, priceListAt(timeline, "2020-06-14T16:00:00"));
+        assertEquals(1, priceListAt(timeline, "2020-06-14T21:00:00"));
+        assertEquals(3, priceListAt(timeline, "2020-06-15T10:00:00"));
+        assertEquals(1, priceListAt(timeline, "2020-06-15T12:00:00"));
+        assertEquals(4, priceListAt(timeline, "2020-06-16T21:00:00"));
+    }
+
+    @Test
+    void testEndDatesAreInclusive() {
+        PriceTimeline timeline = PriceTimeline.of(SAMPLE);
+
+        assertEquals(2, priceListAt(timeline, "2020-06-14T18:30:00"));
+        assertEquals(1, priceListAt(timeline, "2020-06-14T18:30:00.000001"));
+        assertEquals(4, priceListAt(timeline, "2020-12-31T23:59:59"));
+        assertTrue(timeline.priceAt(LocalDateTime.parse("2020-12-31T23:59:59.000001")).isEmpty());
+        assertTrue(timeline.priceAt(LocalDateTime.parse("2020-06-13T23:59:59")).isEmpty());
+    }
+
+    @Test
+    void testApplicablePriceValidUntilNextChange() {
+        PriceTimeline timeline = PriceTimeline.of(SAMPLE);
+
+        ApplicablePrice morning = timeline.applicableAt(LocalDateTime.parse("2020-06-14T10:00:00")).orElseThrow();
+        assertEquals(1, morning.price().priceList());
+        assertEquals(LocalDateTime.parse("2020-06-14T15:00:00"), morning.validUntil());
+
+        ApplicablePrice afternoon = timeline.applicableAt(LocalDateTime.parse("2020-06-14T16:00:00")).orElseThrow();
+        assertEquals(2, afternoon.price().priceList());
+        assertEquals(LocalDateTime.parse("2020-06-14T18:30:00.000001"), afternoon.validUntil());
+
+        assertTrue(timeline.applicableAt(LocalDateTime.parse("2020-06-13T23:59:59")).isEmpty());
+    }
+
+    @Test
+    void testGapsBetweenTariffsHaveNoPrice() {
+        PriceTimeline timeline = PriceTimeline.of(List.of(
+            price("2020-01-01T00:00:00", "2020-01-31T23:59:59", 0, 1),
+            price("2020-03-01T00:00:00", "2020-03-31T23:59:59", 0, 2)
+        ));
+
+        assertEquals(2, timeline.segmentCount());
+        assertTrue(timeline.priceAt(LocalDateTime.parse("2020-02-15T00:00:00")).isEmpty());
+        assertEquals(2, priceListAt(timeline, "2020-03-01T00:00:00"));
+    }
+
+    @Test
+    void testLowerPriorityTariffNestedInsideHigherOneNeverWins() {
+        PriceTimeline timeline = PriceTimeline.of(List.of(
+            price("2020-01-01T00:00:00", "2020-12-31T23:59:59", 5, 1),
+            price("2020-06-01T00:00:00", "2020-06-30T23:59:59", 1, 2)
+        ));
+
+        assertEquals(1, timeline.segmentCount());
+        assertEquals(1, priceListAt(timeline, "2020-06-15T00:00:00"));
+    }
+
+    @Test
+    void testEqualPriorityResolvedByLatestStart() {
+        PriceTimeline timeline = PriceTimeline.of(List.of(
+            price("2020-01-01T00:00:00", "2020-12-31T23:59:59", 1, 1),
+            price("2020-06-01T00:00:00", "2020-06-30T23:59:59", 1, 2)
+        ));
+
+        assertEquals(2, priceListAt(timeline, "2020-06-15T00:00:00"));
+        assertEquals(1, priceListAt(timeline, "2020-07-01T00:00:00"));
+    }
+
+    @Test
+    void testMatchesPerRequestPriorityResolution() {
+        List<Price> tariffs = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            LocalDateTime start = LocalDateTime.parse("2020-01-01T00:00:00").plusHours((i * 37L) % 500);
+            tariffs.add(price(start.toString(), start.plusHours(1 + (i * 13L) % 90).toString(), i % 7, i));
+        }
+        PriceTimeline timeline = PriceTimeline.of(tariffs);
+
+        for (LocalDateTime t = LocalDateTime.parse("2019-12-31T00:00:00");
+                t.isBefore(LocalDateTime.parse("2020-01-27T00:00:00")); t = t.plusMinutes(30)) {
+            LocalDateTime date = t;
+            Integer expected = tariffs.stream()
+                    .filter(p -> !date.isBefore(p.startDate()) && !date.isAfter(p.endDate()))
+                    .map(Price::priority)
+                    .max(Integer::compare)
+                    .orElse(null);
+            assertEquals(expected, timeline.priceAt(date).map(Price::priority).orElse(null), "at " + date);
+        }
+    }
+
+    @Test
+    void testSegmentsBetweenAreClippedToTheRange() {
+        PriceTimeline timeline = PriceTimeline.of(SAMPLE);
+        List<String> segments = new ArrayList<>();
+
+        timeline.forEachSegmentBetween(LocalDateTime.parse("2020-06-14T12:00:00"),
+                LocalDateTime.parse("2020-06-15T10:00:00"),
+                (from, until, price) -> segments.add(EpochMicros.toDateTime(from) + "/"
+                        + EpochMicros.toDateTime(until) + "=" + price.priceList()));
+
+        assertEquals(List.of(
+            "2020-06-14T12:00/2020-06-14T15:00=1",
+            "2020-06-14T15:00/2020-06-14T18:30:00.000001=2",
+            "2020-06-14T18:30:00.000001/2020-06-15T00:00=1",
+            "2020-06-15T00:00/2020-06-15T10:00=3"
+        ), segments);
+    }
+
+    @Test
+    void testSegmentsBetweenOutsideTimelineIsEmpty() {
+        PriceTimeline timeline = PriceTimeline.of(SAMPLE);
+        List<Price> segments = new ArrayList<>();
+
+        timeline.forEachSegmentBetween(LocalDateTime.parse("2019-01-01T00:00:00"),
+                LocalDateTime.parse("2020-06-14T00:00:00"), (from, until, price) -> segments.add(price));
+        timeline.forEachSegmentBetween(LocalDateTime.parse("2021-01-01T00:00:00"),
+                LocalDateTime.parse("2021-02-01T00:00:00"), (from, until, price) -> segments.add(price));
+
+        assertTrue(segments.isEmpty());
+    }
+
+    @Test
+    void testEmptyTimeline() {
+        PriceTimeline timeline = PriceTimeline.of(List.of());
+
+        assertTrue(timeline.isEmpty());
+        assertTrue(timeline.priceAt(LocalDateTime.parse("2020-06-14T10:00:00")).isEmpty());
+    }
+
+    private static int priceListAt(PriceTimeline timeline, String date) {
+        return timeline.priceAt(LocalDateTime.parse(date)).orElseThrow().priceList();
+    }
+
+    private static Price price(String start, String end, int priority, int priceList) {
+        return Price.of(1L, 35455L, LocalDateTime.parse(start), LocalDateTime.parse(end),
+                priority, new BigDecimal("10.00"), "EUR", priceList);
+    }
+}
@@ -14,9 +14,9 @@ class PriceDomainServiceTest {
 
     @Test
     void selectHighestPriority_returnsHighestPriority() {
-        Price p1 = Price.builder().brandId(1L).productId(1L).priority(1).price(new BigDecimal("10.00")).build();
-        Price p2 = Price.builder().brandId(1L).productId(1L).priority(5).price(new BigDecimal("20.00")).build();
-        Price p3 = Price.builder().brandId(1L).productId(1L).priority(3).price(new BigDecimal("15.00")).build();
+        Price p1 = price(1, "10.00");
+        Price p2 = price(5, "20.00");
+        Price p3 = price(3, "15.00");
         List<Price> prices = Arrays.asList(p1, p2, p3);
         Price result = service.selectHighestPriority(prices);
         Assertions.assertEquals(p2, result);
@@ -34,8 +34,8 @@ class PriceDomainServiceTest {
 
     @Test
     void selectHighestPriority_samePriorityReturnsFirst() {
-        Price p1 = Price.builder().brandId(1L).productId(1L).priority(5).price(new BigDecimal("10.00")).build();
-        Price p2 = Price.builder().brandId(1L).productId(1L).priority(5).price(new BigDecimal("20.00")).build();
+        Price p1 = price(5, "10.00");
+        Price p2 = price(5, "20.00");
         List<Price> prices = Arrays.asList(p1, p2);
         Price result = service.selectHighestPriority(prices);
         Assertions.assertTrue(result.equals(p1) || result.equals(p2));
@@ -45,9 +45,14 @@ class PriceDomainServiceTest {
     void selectHighestPriority_largeListPerformance() {
         List<Price> prices = new java.util.ArrayList<>();
         for (int i = 0; i < 10000; i++) {
-            prices.add(Price.builder().brandId(1L).productId(1L).priority(i).price(new BigDecimal("10.00")).build());
+            prices.add(price(i, "10.00"));
         }
         Price result = service.selectHighestPriority(prices);
-        Assertions.assertEquals(9999, result.getPriority());
+        Assertions.assertEquals(9999, result.priority());
     }
-}
\ No newline at end of file
+
+    private static Price price(int priority, String amount) {
+        return Price.of(1L, 1L, LocalDateTime.parse("2020-06-14T00:00:00"), LocalDateTime.parse("2020-12-31T23:59:59"),
+                priority, new BigDecimal(amount), "EUR", 1);
+    }
+}
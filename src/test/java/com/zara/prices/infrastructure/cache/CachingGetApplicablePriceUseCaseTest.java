@@ -0,0 +1,242 @@
+package com.zara.prices.infrastructure.cache;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import com.zara.prices.domain.model.ApplicablePrice;
+import com.zara.prices.domain.model.Price;
+import com.zara.prices.domain.model.PriceInvalidation;
+import com.zara.prices.domain.model.PriceQuery;
+import com.zara.prices.domain.model.PriceTimeline;
+import com.zara.prices.domain.model.ProductKey;
+import com.zara.prices.domain.port.in.GetApplicablePriceUseCase;
+import com.zara.prices.domain.port.out.PriceRepository;
+import com.zara.prices.domain.service.PriceNotFoundException;
+import com.zara.prices.infrastructure.invalidation.LocalPriceInvalidationBus;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentMatchers;
+import org.mockito.Mockito;
+
+class CachingGetApplicablePriceUseCaseTest {
+
+    private PriceRepository repository;
+    private GetApplicablePriceUseCase delegate;
+    private CachingGetApplicablePriceUseCase cache;
+
+    @BeforeEach
+    void setUp() {
+        repository = Mockito.mock(PriceRepository.class);
+        delegate = Mockito.mock(GetApplicablePriceUseCase.class);
+        Mockito.when(repository.findTimeline(1L, 35455L)).thenReturn(Optional.of(PriceTimeline.of(List.of(
+            price(1L, 35455L, "2020-06-14T00:00:00", "2020-12-31T23:59:59", 0, "35.50", 1),
+            price(1L, 35455L, "2020-06-14T15:00:00", "2020-06-14T18:30:00", 1, "25.45", 2),
+            price(1L, 35455L, "2020-06-15T00:00:00", "2020-06-15T11:00:00", 1, "30.50", 3),
+            price(1L, 35455L, "2020-06-15T16:00:00", "2020-12-31T23:59:59", 1, "38.95", 4)
+        ))));
+        cache = new CachingGetApplicablePriceUseCase(delegate, repository, 100, Duration.ofMinutes(1));
+    }
+
+    @Test
+    void testOneLoadServesAnyDateOfTheProduct() {
+        assertEquals(1, priceListAt("2020-06-14T10:00:00"));
+        assertEquals(2, priceListAt("2020-06-14T16:00:00"));
+        assertEquals(1, priceListAt("2020-06-14T21:00:00"));
+        assertEquals(3, priceListAt("2020-06-15T10:00:00"));
+        assertEquals(4, priceListAt("2020-06-16T21:00:00"));
+        assertEquals(4, priceListAt("2020-06-16T21:00:01"));
+
+        Mockito.verify(repository, Mockito.times(1)).findTimeline(1L, 35455L);
+        Mockito.verifyNoInteractions(delegate);
+        assertEquals(1, cache.stats().missCount());
+        assertEquals(5, cache.stats().hitCount());
+    }
+
+    @Test
+    void testApplicablePriceResolvedOnCachedTimeline() {
+        ApplicablePrice applicable = cache.findApplicable(1L, 35455L, LocalDateTime.parse("2020-06-15T10:00:00"))
+                .orElseThrow();
+        cache.findApplicable(1L, 35455L, LocalDateTime.parse("2020-06-14T16:00:00"));
+
+        assertEquals(3, applicable.price().priceList());
+        assertEquals(LocalDateTime.parse("2020-06-15T11:00:00.000001"), applicable.validUntil());
+        Mockito.verify(repository, Mockito.times(1)).findTimeline(1L, 35455L);
+        Mockito.verifyNoInteractions(delegate);
+    }
+
+    @Test
+    void testDateOutsideKnownSegmentsAnsweredFromTheTimeline() {
+        LocalDateTime date = LocalDateTime.parse("2021-01-01T00:00:00");
+
+        assertTrue(cache.find(1L, 35455L, date).isEmpty());
+        assertThrows(PriceNotFoundException.class, () -> cache.get(1L, 35455L, date));
+        assertTrue(cache.findApplicable(1L, 35455L, date).isEmpty());
+
+        Mockito.verify(repository, Mockito.times(1)).findTimeline(1L, 35455L);
+        Mockito.verifyNoInteractions(delegate);
+    }
+
+    @Test
+    void testUnknownProductCachedAsEmptyTimeline() {
+        LocalDateTime date = LocalDateTime.parse("2020-06-14T10:00:00");
+        Mockito.when(repository.findTimeline(1L, 99999L)).thenReturn(Optional.empty());
+
+        assertTrue(cache.find(1L, 99999L, date).isEmpty());
+        assertTrue(cache.find(1L, 99999L, date).isEmpty());
+
+        Mockito.verify(repository, Mockito.times(1)).findTimeline(1L, 99999L);
+        Mockito.verifyNoInteractions(delegate);
+    }
+
+    @Test
+    void testProductRejectedByCatalogFilterQueriedButNotCached() {
+        cache = new CachingGetApplicablePriceUseCase(delegate, repository,
+                (brandId, productId) -> productId == 35455L, 100, Duration.ofMinutes(1));
+        LocalDateTime date = LocalDateTime.parse("2020-06-14T10:00:00");
+        Mockito.when(repository.findTimeline(1L, 99999L)).thenReturn(Optional.of(PriceTimeline.of(List.of(
+            price(1L, 99999L, "2020-06-14T00:00:00", "2020-12-31T23:59:59", 0, "12.00", 7)))));
+
+        // El filtro puede no conocer aún un producto nuevo: se consulta igualmente
+        assertEquals(7, cache.find(1L, 99999L, date).orElseThrow().priceList());
+        assertEquals(7, cache.findApplicable(1L, 99999L, date).orElseThrow().price().priceList());
+        assertEquals(1, priceListAt("2020-06-14T10:00:00"));
+        cache.cleanUp();
+
+        Mockito.verify(repository, Mockito.times(2)).findTimeline(1L, 99999L);
+        Mockito.verifyNoInteractions(delegate);
+        assertEquals(1, cache.size());
+    }
+
+    @Test
+    void testInvalidateReloadsProduct() {
+        priceListAt("2020-06-14T10:00:00");
+        cache.invalidate(new ProductKey(1L, 35455L));
+        priceListAt("2020-06-14T10:00:00");
+
+        Mockito.verify(repository, Mockito.times(2)).findTimeline(1L, 35455L);
+    }
+
+    @Test
+    void testProductInvalidationReachesEveryNodeOnTheBus() {
+        LocalPriceInvalidationBus bus = new LocalPriceInvalidationBus();
+        CachingGetApplicablePriceUseCase otherNode = new CachingGetApplicablePriceUseCase(
+                delegate, repository, 100, Duration.ofMinutes(1));
+        bus.subscribe(cache::invalidate);
+        bus.subscribe(otherNode::invalidate);
+        Mockito.when(repository.findTimeline(1L, 1L)).thenReturn(Optional.empty());
+        LocalDateTime date = LocalDateTime.parse("2020-06-14T10:00:00");
+        for (CachingGetApplicablePriceUseCase node : List.of(cache, otherNode)) {
+            node.get(1L, 35455L, date);
+            node.findTimeline(1L, 1L);
+        }
+
+        bus.publish(PriceInvalidation.product(new ProductKey(1L, 35455L)));
+        for (CachingGetApplicablePriceUseCase node : List.of(cache, otherNode)) {
+            node.get(1L, 35455L, date);
+            node.findTimeline(1L, 1L);
+        }
+
+        Mockito.verify(repository, Mockito.times(4)).findTimeline(1L, 35455L);
+        Mockito.verify(repository, Mockito.times(2)).findTimeline(1L, 1L);
+    }
+
+    @Test
+    void testPriceListInvalidationEvictsEveryProduct() {
+        Mockito.when(repository.findTimeline(1L, 1L)).thenReturn(Optional.of(PriceTimeline.of(List.of(
+                price(1L, 1L, "2020-01-01T00:00:00", "2020-12-31T23:59:59", 0, "1.00", 7)))));
+        LocalDateTime date = LocalDateTime.parse("2020-06-14T10:00:00");
+        cache.get(1L, 35455L, date);
+        cache.get(1L, 1L, date);
+
+        // La tarifa 99 no gana en ningún tramo cacheado: puede ser nueva o haber cambiado de producto
+        cache.invalidate(PriceInvalidation.priceList(99));
+        cache.get(1L, 35455L, date);
+        cache.get(1L, 1L, date);
+
+        Mockito.verify(repository, Mockito.times(2)).findTimeline(1L, 35455L);
+        Mockito.verify(repository, Mockito.times(2)).findTimeline(1L, 1L);
+    }
+
+    @Test
+    void testFullInvalidationEmptiesTheCache() {
+        priceListAt("2020-06-14T10:00:00");
+
+        cache.invalidate(PriceInvalidation.all());
+        cache.cleanUp();
+
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    void testSizeIsBoundedAndEvictionsCounted() {
+        cache = new CachingGetApplicablePriceUseCase(delegate, repository, 10, Duration.ofMinutes(1));
+        Mockito.when(repository.findTimeline(ArgumentMatchers.eq(2L), ArgumentMatchers.anyLong()))
+                .thenAnswer(invocation -> Optional.of(PriceTimeline.of(List.of(
+                        price(2L, invocation.getArgument(1), "2020-01-01T00:00:00", "2020-12-31T23:59:59", 0, "1.00", 1)))));
+
+        for (long product = 1; product <= 1_000; product++) {
+            cache.get(2L, product, LocalDateTime.parse("2020-06-01T00:00:00"));
+        }
+        cache.cleanUp();
+
+        assertEquals(10, cache.size());
+        assertEquals(990, cache.stats().evictionCount());
+    }
+
+    @Test
+    void testBatchServesCachedProductsAndDelegatesTheRestInOneCall() {
+        priceListAt("2020-06-14T10:00:00");
+        LocalDateTime date = LocalDateTime.parse("2020-06-14T16:00:00");
+        PriceQuery cached = new PriceQuery(1L, 35455L, date);
+        PriceQuery notLoaded = new PriceQuery(1L, 12345L, date);
+        Mockito.when(delegate.findAll(List.of(notLoaded))).thenReturn(List.of(Optional.empty()));
+
+        List<Optional<Price>> results = cache.findAll(List.of(notLoaded, cached));
+
+        assertTrue(results.get(0).isEmpty());
+        assertEquals(2, results.get(1).orElseThrow().priceList());
+        Mockito.verify(delegate).findAll(List.of(notLoaded));
+        Mockito.verify(repository, Mockito.never()).findTimeline(1L, 12345L);
+    }
+
+    @Test
+    void testBatchDoesNotDelegateDatesOutsideACachedTimeline() {
+        priceListAt("2020-06-14T10:00:00");
+
+        List<Optional<Price>> results = cache.findAll(List.of(
+                new PriceQuery(1L, 35455L, LocalDateTime.parse("2021-01-01T00:00:00"))));
+
+        assertTrue(results.get(0).isEmpty());
+        Mockito.verifyNoInteractions(delegate);
+    }
+
+    @Test
+    void testFailedLoadPropagatesAndIsNotCached() {
+        LocalDateTime date = LocalDateTime.parse("2020-06-14T10:00:00");
+        Mockito.when(repository.findTimeline(1L, 1L))
+                .thenThrow(new IllegalStateException("BD caída"))
+                .thenReturn(Optional.of(PriceTimeline.of(List.of(
+                        price(1L, 1L, "2020-01-01T00:00:00", "2020-12-31T23:59:59", 0, "1.00", 7)))));
+
+        assertThrows(IllegalStateException.class, () -> cache.find(1L, 1L, date));
+        assertEquals(7, cache.get(1L, 1L, date).priceList());
+        Mockito.verify(repository, Mockito.times(2)).findTimeline(1L, 1L);
+    }
+
+    private int priceListAt(String date) {
+        return cache.get(1L, 35455L, LocalDateTime.parse(date)).priceList();
+    }
+
+    private static Price price(Long brandId, Long productId, String start, String end,
+                               int priority, String amount, int priceList) {
+        return Price.of(brandId, productId, LocalDateTime.parse(start), LocalDateTime.parse(end),
+                priority, new BigDecimal(amount), "EUR", priceList);
+    }
+}
@@ -0,0 +1,83 @@
+package com.zara.prices.infrastructure.invalidation;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import com.zara.prices.domain.model.PriceInvalidation;
+import com.zara.prices.domain.model.ProductKey;
+import com.zara.prices.infrastructure.persistence.PostgreSqlTestDatabase;
+
+/**
+ * Formato de los avisos y ida y vuelta por {@code LISTEN/NOTIFY} contra la base de datos
+ * de {@link PostgreSqlTestDatabase}. Las migraciones se aplican en un esquema propio que se
+ * borra al terminar.
+ */
+class PostgresPriceInvalidationBusTest {
+
+    private static final String SCHEMA = "prices_invalidation_test";
+
+    @Test
+    void testPayloadRoundTrip() {
+        for (PriceInvalidation invalidation : new PriceInvalidation[] {
+                PriceInvalidation.product(new ProductKey(1L, 35455L)),
+                PriceInvalidation.priceList(4),
+                PriceInvalidation.all() }) {
+            assertEquals(invalidation, PostgresPriceInvalidationBus.parse(PostgresPriceInvalidationBus.payload(invalidation)));
+        }
+        assertEquals("product:1:35455", PostgresPriceInvalidationBus.payload(PriceInvalidation.product(new ProductKey(1L, 35455L))));
+    }
+
+    @Test
+    void testUnknownPayloadInvalidatesEverything() {
+        assertEquals(PriceInvalidation.all(), PostgresPriceInvalidationBus.parse("product:1:abc"));
+        assertEquals(PriceInvalidation.all(), PostgresPriceInvalidationBus.parse("brand:1"));
+    }
+
+    @Test
+    void testTriggerAndPublishReachListeners() throws Exception {
+        PostgreSqlTestDatabase database = PostgreSqlTestDatabase.get();
+        String url = database.url();
+        String username = database.username();
+        String password = database.password();
+        database.migrate(SCHEMA);
+        PostgresPriceInvalidationBus bus = new PostgresPriceInvalidationBus(
+                new DriverManagerDataSource(url, username, password), url, username, password, Duration.ofSeconds(1));
+        BlockingQueue<PriceInvalidation> received = new LinkedBlockingQueue<>();
+        bus.subscribe(received::add);
+        bus.start();
+        try (Connection connection = DriverManager.getConnection(url, username, password)) {
+            // Margen para que el hilo de escucha haya ejecutado LISTEN
+            Thread.sleep(1_000);
+            try (Statement statement = connection.createStatement()) {
+                statement.execute("SET search_path TO " + SCHEMA);
+                statement.execute("INSERT INTO prices (brand_id, start_date, end_date, price_list, product_id, priority, price, currency) "
+                        + "VALUES (1, TIMESTAMP '2020-01-01', TIMESTAMP '2020-12-31', 1, 35455, 0, 9.99, 'EUR')");
+            }
+            assertEquals(PriceInvalidation.product(new ProductKey(1L, 35455L)), received.poll(5, TimeUnit.SECONDS));
+
+            bus.publish(PriceInvalidation.priceList(4));
+            assertEquals(PriceInvalidation.priceList(4), received.poll(5, TimeUnit.SECONDS));
+        } finally {
+            bus.destroy();
+            dropSchema(url, username, password);
+        }
+    }
+
+    private static void dropSchema(String url, String username, String password) throws SQLException {
+        try (Connection connection = DriverManager.getConnection(url, username, password);
+             Statement statement = connection.createStatement()) {
+            statement.execute("DROP SCHEMA IF EXISTS " + SCHEMA + " CASCADE");
+        }
+    }
+}
@@ -0,0 +1,114 @@
+package com.zara.prices.infrastructure.metrics;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import com.zara.prices.domain.model.ApplicablePrice;
+import com.zara.prices.domain.model.Price;
+import com.zara.prices.domain.model.PriceQuery;
+import com.zara.prices.domain.port.in.GetApplicablePriceUseCase;
+import com.zara.prices.domain.port.out.PriceRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentMatchers;
+import org.mockito.Mockito;
+
+class MeteredGetApplicablePriceUseCaseTest {
+
+    private static final LocalDateTime DATE = LocalDateTime.parse("2020-06-14T10:00:00");
+
+    private SimpleMeterRegistry registry;
+    private PriceMetrics metrics;
+    private GetApplicablePriceUseCase delegate;
+    private MeteredGetApplicablePriceUseCase useCase;
+
+    @BeforeEach
+    void setUp() {
+        registry = new SimpleMeterRegistry();
+        metrics = new PriceMetrics(registry, Set.of(1L));
+        delegate = Mockito.mock(GetApplicablePriceUseCase.class);
+        useCase = new MeteredGetApplicablePriceUseCase(delegate, metrics);
+        Mockito.when(delegate.find(ArgumentMatchers.anyLong(), ArgumentMatchers.anyLong(), ArgumentMatchers.any()))
+                .thenReturn(Optional.empty());
+        Mockito.when(delegate.find(1L, 35455L, DATE)).thenReturn(Optional.of(price(1L)));
+    }
+
+    @Test
+    void testFindIsTimedAndCountedByOutcome() {
+        useCase.find(1L, 35455L, DATE);
+        useCase.find(1L, 99999L, DATE);
+
+        assertEquals(2, registry.get(PriceMetrics.USE_CASE_TIMER).tags("operation", "find", "brand", "1").timer().count());
+        assertEquals(1, lookups("found", "1"));
+        assertEquals(1, lookups("not_found", "1"));
+    }
+
+    @Test
+    void testApplicableLookupCountsAsFind() {
+        Mockito.when(delegate.findApplicable(1L, 35455L, DATE))
+                .thenReturn(Optional.of(new ApplicablePrice(price(1L), DATE.plusHours(5))));
+
+        useCase.findApplicable(1L, 35455L, DATE);
+        useCase.findApplicable(1L, 99999L, DATE);
+
+        assertEquals(2, registry.get(PriceMetrics.USE_CASE_TIMER).tags("operation", "find", "brand", "1").timer().count());
+        assertEquals(1, lookups("found", "1"));
+        assertEquals(1, lookups("not_found", "1"));
+    }
+
+    @Test
+    void testUnknownBrandsShareOneTag() {
+        for (long brandId = 2; brandId < 50; brandId++) {
+            useCase.find(brandId, 35455L, DATE);
+        }
+
+        assertEquals(48, lookups("not_found", PriceMetrics.OTHER_BRAND));
+        assertNull(registry.find(PriceMetrics.LOOKUPS_COUNTER).tag("brand", "2").counter());
+        assertEquals(Set.of("1", PriceMetrics.OTHER_BRAND, "all"),
+                registry.get(PriceMetrics.USE_CASE_TIMER).meters().stream()
+                        .map(meter -> meter.getId().getTag("brand"))
+                        .collect(Collectors.toSet()));
+    }
+
+    @Test
+    void testBatchCountsEachQuery() {
+        Mockito.when(delegate.findAll(ArgumentMatchers.anyList()))
+                .thenReturn(List.of(Optional.of(price(1L)), Optional.empty(), Optional.empty()));
+
+        useCase.findAll(List.of(new PriceQuery(1L, 35455L, DATE), new PriceQuery(1L, 1L, DATE),
+                new PriceQuery(7L, 1L, DATE)));
+
+        assertEquals(1, registry.get(PriceMetrics.USE_CASE_TIMER).tags("operation", "find_all").timer().count());
+        assertEquals(1, lookups("found", "1"));
+        assertEquals(1, lookups("not_found", "1"));
+        assertEquals(1, lookups("not_found", PriceMetrics.OTHER_BRAND));
+    }
+
+    @Test
+    void testRepositoryTimerIsTaggedWithAdapter() {
+        PriceRepository repository = Mockito.mock(PriceRepository.class);
+        Mockito.when(repository.findHighestPriorityApplicable(1L, 35455L, DATE)).thenReturn(Optional.of(price(1L)));
+
+        new MeteredPriceRepository(repository, "memory", metrics).findHighestPriorityApplicable(1L, 35455L, DATE);
+
+        assertEquals(1, registry.get(PriceMetrics.REPOSITORY_TIMER)
+                .tags("adapter", "memory", "operation", "highest_priority").timer().count());
+    }
+
+    private double lookups(String outcome, String brand) {
+        return registry.get(PriceMetrics.LOOKUPS_COUNTER).tags("outcome", outcome, "brand", brand).counter().count();
+    }
+
+    private static Price price(Long brandId) {
+        return Price.of(brandId, 35455L, LocalDateTime.parse("2020-06-14T00:00:00"),
+                LocalDateTime.parse("2020-12-31T23:59:59"), 0, new BigDecimal("35.50"), "EUR", 1);
+    }
+}
@@ -0,0 +1,106 @@
+package com.zara.prices.infrastructure.persistence;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.sql.DataSource;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+class ConnectionLimitingDataSourceTest {
+
+    private DataSource pool;
+    private Connection pooled;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        pool = Mockito.mock(DataSource.class);
+        pooled = Mockito.mock(Connection.class);
+        Mockito.when(pool.getConnection()).thenReturn(pooled);
+    }
+
+    @Test
+    void testPermitReturnedOnceOnClose() throws SQLException {
+        ConnectionLimitingDataSource dataSource = new ConnectionLimitingDataSource(pool, 2, Duration.ofMillis(10));
+
+        Connection connection = dataSource.getConnection();
+        assertEquals(1, dataSource.availablePermits());
+        connection.close();
+        connection.close();
+
+        assertEquals(2, dataSource.availablePermits());
+        Mockito.verify(pooled, Mockito.times(2)).close();
+    }
+
+    @Test
+    void testOtherCallsReachPooledConnection() throws SQLException {
+        ConnectionLimitingDataSource dataSource = new ConnectionLimitingDataSource(pool, 1, Duration.ofMillis(10));
+        Mockito.when(pooled.isWrapperFor(Connection.class)).thenReturn(true);
+        Mockito.when(pooled.unwrap(Connection.class)).thenReturn(pooled);
+        Mockito.doThrow(new SQLException("rollback")).when(pooled).rollback();
+
+        try (Connection connection = dataSource.getConnection()) {
+            connection.setAutoCommit(false);
+            assertSame(pooled, connection.unwrap(Connection.class));
+            assertThrows(SQLException.class, connection::rollback);
+        }
+        Mockito.verify(pooled).setAutoCommit(false);
+    }
+
+    @Test
+    void testTimesOutWhenAllPermitsAreTaken() throws SQLException {
+        ConnectionLimitingDataSource dataSource = new ConnectionLimitingDataSource(pool, 1, Duration.ofMillis(10));
+
+        try (Connection held = dataSource.getConnection()) {
+            assertThrows(SQLTransientConnectionException.class, dataSource::getConnection);
+        }
+        Mockito.verify(pool, Mockito.times(1)).getConnection();
+    }
+
+    @Test
+    void testPermitReleasedWhenPoolFails() throws SQLException {
+        Mockito.when(pool.getConnection()).thenThrow(new SQLTransientConnectionException("pool agotado"));
+        ConnectionLimitingDataSource dataSource = new ConnectionLimitingDataSource(pool, 1, Duration.ofMillis(10));
+
+        assertThrows(SQLTransientConnectionException.class, dataSource::getConnection);
+        assertEquals(1, dataSource.availablePermits());
+    }
+
+    @Test
+    void testVirtualThreadsNeverExceedPermits() throws Exception {
+        ConnectionLimitingDataSource dataSource = new ConnectionLimitingDataSource(pool, 3, Duration.ofSeconds(10));
+        AtomicInteger inUse = new AtomicInteger();
+        AtomicInteger maxInUse = new AtomicInteger();
+        CountDownLatch done = new CountDownLatch(200);
+
+        for (int i = 0; i < 200; i++) {
+            Thread.ofVirtual().start(() -> {
+                try (Connection connection = dataSource.getConnection()) {
+                    maxInUse.accumulateAndGet(inUse.incrementAndGet(), Math::max);
+                    Thread.sleep(1);
+                    inUse.decrementAndGet();
+                } catch (Exception e) {
+                    throw new IllegalStateException(e);
+                } finally {
+                    done.countDown();
+                }
+            });
+        }
+
+        assertTrue(done.await(30, TimeUnit.SECONDS));
+        assertTrue(maxInUse.get() <= 3);
+        assertEquals(3, dataSource.availablePermits());
+    }
+}
@@ -0,0 +1,79 @@
+package com.zara.prices.infrastructure.persistence;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Plan de la consulta de mayor prioridad en PostgreSQL.
+ *
+ * <p>Usa la base de datos de {@link PostgreSqlTestDatabase}: un contenedor de
+ * Testcontainers o la indicada con {@code -Dtest.postgresql.url}. Las migraciones se aplican
+ * en un esquema propio que se borra al terminar.</p>
+ */
+class PostgreSqlPriceLookupIndexTest {
+
+    private static final String SCHEMA = "prices_lookup_plan_test";
+
+    /** Misma forma que la consulta que genera Hibernate para {@code findApplicableByPriority} */
+    private static final String LOOKUP = "SELECT id, brand_id, currency, end_date, price, price_list, priority, "
+            + "product_id, start_date FROM prices WHERE brand_id = ? AND product_id = ? "
+            + "AND ? BETWEEN start_date AND end_date "
+            + "ORDER BY priority DESC, start_date DESC, price_list DESC FETCH FIRST 1 ROWS ONLY";
+
+    private Connection connection;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        PostgreSqlTestDatabase database = PostgreSqlTestDatabase.get();
+        database.migrate(SCHEMA);
+        connection = DriverManager.getConnection(database.url(), database.username(), database.password());
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("SET search_path TO " + SCHEMA);
+            statement.execute("INSERT INTO prices (brand_id, start_date, end_date, price_list, product_id, priority, price, currency) "
+                    + "SELECT 1, TIMESTAMP '2020-01-01' + (n % 4) * INTERVAL '1 month', TIMESTAMP '2020-12-31 23:59:59', "
+                    + "n % 4 + 1, n / 4, n % 4, 9.99, 'EUR' FROM generate_series(0, 39999) AS n");
+            statement.execute("ANALYZE prices");
+        }
+    }
+
+    @AfterEach
+    void tearDown() throws SQLException {
+        if (connection == null) {
+            return;
+        }
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("DROP SCHEMA " + SCHEMA + " CASCADE");
+        } finally {
+            connection.close();
+        }
+    }
+
+    @Test
+    void testHighestPriorityQueryUsesLookupIndex() throws SQLException {
+        StringBuilder plan = new StringBuilder();
+        try (PreparedStatement explain = connection.prepareStatement("EXPLAIN " + LOOKUP)) {
+            explain.setLong(1, 1L);
+            explain.setLong(2, 4_242L);
+            explain.setTimestamp(3, Timestamp.valueOf(LocalDateTime.parse("2020-06-14T10:00:00")));
+            try (ResultSet rows = explain.executeQuery()) {
+                while (rows.next()) {
+                    plan.append(rows.getString(1)).append('\n');
+                }
+            }
+        }
+
+        assertTrue(plan.toString().contains("idx_prices_lookup"), plan::toString);
+    }
+}
@@ -0,0 +1,63 @@
+package com.zara.prices.infrastructure.persistence;
+
+import java.util.Map;
+
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.Assumptions;
+import org.testcontainers.DockerClientFactory;
+import org.testcontainers.containers.PostgreSQLContainer;
+
+/**
+ * Base de datos PostgreSQL para los tests que la necesitan.
+ *
+ * <p>Con {@code -Dtest.postgresql.url} (y opcionalmente {@code test.postgresql.username} y
+ * {@code test.postgresql.password}) se usa esa base de datos; si no, se arranca un
+ * contenedor con Testcontainers, uno solo para toda la ejecución. Sin ninguna de las dos
+ * cosas el test se omite.</p>
+ *
+ * <p>Las migraciones se aplican con la misma configuración de Flyway que el perfil
+ * {@code prod} (bloqueo de sesión en lugar de transaccional), para que un script que no
+ * termine con ella tampoco termine aquí.</p>
+ */
+public record PostgreSqlTestDatabase(String url, String username, String password) {
+
+    private static final String IMAGE = "postgres:16-alpine";
+
+    private static PostgreSQLContainer<?> container;
+
+    /**
+     * Base de datos configurada o, en su defecto, la del contenedor compartido.
+     *
+     * @return datos de conexión
+     */
+    public static synchronized PostgreSqlTestDatabase get() {
+        String url = System.getProperty("test.postgresql.url", "");
+        if (!url.isBlank()) {
+            return new PostgreSqlTestDatabase(url,
+                    System.getProperty("test.postgresql.username", "postgres"),
+                    System.getProperty("test.postgresql.password", ""));
+        }
+        Assumptions.assumeTrue(DockerClientFactory.instance().isDockerAvailable(),
+                "Sin -Dtest.postgresql.url ni Docker disponible");
+        if (container == null) {
+            container = new PostgreSQLContainer<>(IMAGE);
+            container.start();
+        }
+        return new PostgreSqlTestDatabase(container.getJdbcUrl(), container.getUsername(), container.getPassword());
+    }
+
+    /**
+     * Aplica las migraciones de PostgreSQL en un esquema propio.
+     *
+     * @param schema esquema donde crear las tablas; quien llama lo borra al terminar
+     */
+    public void migrate(String schema) {
+        Flyway.configure()
+                .dataSource(url, username, password)
+                .schemas(schema)
+                .locations("classpath:db/migration/postgresql")
+                .configuration(Map.of("flyway.postgresql.transactional.lock", "false"))
+                .load()
+                .migrate();
+    }
+}
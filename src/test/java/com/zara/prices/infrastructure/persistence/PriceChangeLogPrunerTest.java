@@ -0,0 +1,45 @@
+package com.zara.prices.infrastructure.persistence;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+@SpringBootTest(properties = "app.prices.change-log.retention=PT1H")
+@ActiveProfiles("test")
+class PriceChangeLogPrunerTest {
+
+    @Autowired
+    private PriceChangeLogPruner pruner;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.update("DELETE FROM PRICE_CHANGES");
+    }
+
+    @Test
+    void testPruneDeletesOnlyChangesOlderThanRetention() {
+        insertChange(1L, LocalDateTime.now().minusHours(2));
+        insertChange(2L, LocalDateTime.now().minusMinutes(5));
+
+        assertEquals(1, pruner.prune());
+
+        assertEquals(List.of(2L), jdbcTemplate.queryForList("SELECT PRODUCT_ID FROM PRICE_CHANGES", Long.class));
+        assertEquals(0, pruner.prune());
+    }
+
+    private void insertChange(Long productId, LocalDateTime changedAt) {
+        jdbcTemplate.update("INSERT INTO PRICE_CHANGES (BRAND_ID, PRODUCT_ID, CHANGED_AT) VALUES (1, ?, ?)",
+                productId, changedAt);
+    }
+}
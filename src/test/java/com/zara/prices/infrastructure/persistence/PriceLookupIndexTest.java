@@ -0,0 +1,91 @@
+package com.zara.prices.infrastructure.persistence;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.jdbc.Sql;
+
+import com.zara.prices.domain.model.ApplicablePrice;
+import com.zara.prices.domain.model.PriceTimeline;
+
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+        + "com.zara.prices.infrastructure.persistence.PriceLookupIndexTest$RecordingStatementInspector")
+@ActiveProfiles("test")
+@Sql("/data.sql")
+class PriceLookupIndexTest {
+
+    private static final LocalDateTime DATE = LocalDateTime.parse("2020-06-14T16:00:00");
+
+    @Autowired
+    private PriceJpaRepository repository;
+
+    @Autowired
+    private PriceRepositoryImpl adapter;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void testMigrationsCreateLookupIndex() {
+        assertEquals(5, jdbcTemplate.queryForObject(
+                "SELECT MAX(\"version\") FROM \"flyway_schema_history\" WHERE \"success\"", Integer.class));
+        List<String> indexes = jdbcTemplate.queryForList(
+                "SELECT INDEX_NAME FROM INFORMATION_SCHEMA.INDEXES WHERE TABLE_NAME = 'PRICES'", String.class);
+        assertTrue(indexes.contains("IDX_PRICES_LOOKUP"), indexes::toString);
+        assertTrue(indexes.stream().noneMatch(name -> name.startsWith("IDX_START_DATE")), indexes::toString);
+    }
+
+    @Test
+    void testHighestPriorityQueryFetchesOneRowThroughLookupIndex() {
+        RecordingStatementInspector.STATEMENTS.clear();
+
+        PriceEntity winner = repository.findHighestPriorityApplicable(1L, 35455L, DATE).orElseThrow();
+
+        assertEquals(2, winner.getPriceList());
+        String sql = RecordingStatementInspector.STATEMENTS.stream()
+                .filter(statement -> statement.toLowerCase().contains("from prices"))
+                .findFirst().orElseThrow();
+        assertTrue(sql.toLowerCase().contains("fetch first ? rows only") || sql.toLowerCase().contains("limit ?"), sql);
+
+        String plan = jdbcTemplate.queryForObject("EXPLAIN " + sql, String.class, 1L, 35455L, DATE, 1);
+        assertTrue(plan.toUpperCase().contains("IDX_PRICES_LOOKUP"), plan);
+    }
+
+    @Test
+    void testValidityComesFromOneStatementAndMatchesTimeline() {
+        PriceTimeline timeline = adapter.findTimeline(1L, 35455L).orElseThrow();
+        for (String date : List.of("2020-06-14T10:00:00", "2020-06-14T18:30:00", "2020-06-14T21:00:00",
+                "2020-06-15T12:00:00", "2020-12-31T23:59:59", "2021-01-01T00:00:00")) {
+            LocalDateTime at = LocalDateTime.parse(date);
+            RecordingStatementInspector.STATEMENTS.clear();
+
+            Optional<ApplicablePrice> applicable = adapter.findHighestPriorityApplicableWithValidity(1L, 35455L, at);
+
+            assertEquals(timeline.applicableAt(at), applicable, date);
+            assertEquals(1, RecordingStatementInspector.STATEMENTS.size(), RecordingStatementInspector.STATEMENTS::toString);
+        }
+    }
+
+    /** Guarda el SQL que genera Hibernate para poder pedir su plan de ejecución */
+    public static class RecordingStatementInspector implements StatementInspector {
+
+        static final List<String> STATEMENTS = new CopyOnWriteArrayList<>();
+
+        @Override
+        public String inspect(String sql) {
+            STATEMENTS.add(sql);
+            return sql;
+        }
+    }
+}
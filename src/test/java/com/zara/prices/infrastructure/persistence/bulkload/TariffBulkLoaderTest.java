@@ -0,0 +1,103 @@
+package com.zara.prices.infrastructure.persistence.bulkload;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.jdbc.Sql;
+
+import com.zara.prices.domain.model.PriceInvalidation;
+import com.zara.prices.domain.port.out.PriceInvalidationBus;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@Sql("/data.sql")
+@Sql(scripts = "/data.sql", executionPhase = Sql.ExecutionPhase.AFTER_TEST_METHOD)
+class TariffBulkLoaderTest {
+
+    @Autowired
+    private TariffBulkLoader loader;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PriceInvalidationBus invalidationBus;
+
+    @Test
+    void testLoadReplacesPricesInParallelChunks() throws Exception {
+        StringBuilder csv = new StringBuilder("BRAND_ID,START_DATE,END_DATE,PRICE_LIST,PRODUCT_ID,PRIORITY,PRICE,CURR\n");
+        int rows = TariffBulkLoader.CHUNK_LINES * 3 + 17;
+        for (int i = 0; i < rows; i++) {
+            csv.append("2,2021-01-01-00.00.00,2021-12-31-23.59.59,1,").append(100_000 + i).append(",0,9.99,EUR\n");
+        }
+        csv.append("2,not-a-date,2021-12-31-23.59.59,1,1,0,9.99,EUR\n");
+        List<PriceInvalidation> published = subscribe();
+
+        BulkLoadReport report = loader.load(input(csv.toString()));
+
+        assertTrue(report.swapped());
+        assertEquals(rows, report.rowsLoaded());
+        assertEquals(1, report.rejectedLines());
+        assertTrue(report.rejections().get(0).startsWith("línea " + (rows + 2) + ":"));
+        assertEquals(rows, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM PRICES", Long.class));
+        assertEquals(0, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM PRICES WHERE BRAND_ID = 1", Long.class));
+        assertEquals(0, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM PRICES_STAGING", Long.class));
+        assertEquals(List.of(PriceInvalidation.all()), published);
+    }
+
+    @Test
+    void testSwapWritesSingleFullReloadMarker() throws Exception {
+        jdbcTemplate.update("INSERT INTO PRICE_CHANGES (BRAND_ID, PRODUCT_ID) VALUES (1, 35455)");
+        long before = jdbcTemplate.queryForObject("SELECT COALESCE(MAX(ID), 0) FROM PRICE_CHANGES", Long.class);
+
+        BulkLoadReport report = loader.load(input("""
+                BRAND_ID,START_DATE,END_DATE,PRICE_LIST,PRODUCT_ID,PRIORITY,PRICE,CURR
+                1,2021-01-01-00.00.00,2021-12-31-23.59.59,1,35455,0,9.99,EUR
+                1,2021-01-01-00.00.00,2021-12-31-23.59.59,1,35456,0,9.99,EUR
+                """));
+
+        assertTrue(report.swapped());
+        assertEquals(1, jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM PRICE_CHANGES WHERE ID > ?", Long.class, before));
+        assertEquals(1, jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM PRICE_CHANGES WHERE ID > ? AND BRAND_ID IS NULL AND PRODUCT_ID IS NULL",
+                Long.class, before));
+        // El registro anterior a la marca se vacía
+        assertEquals(1, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM PRICE_CHANGES", Long.class));
+    }
+
+    @Test
+    void testLoadWithoutValidRowsKeepsPrices() throws Exception {
+        List<PriceInvalidation> published = subscribe();
+
+        BulkLoadReport report = loader.load(input("BRAND_ID,START_DATE\nbroken line\n"));
+
+        assertFalse(report.swapped());
+        assertEquals(1, report.rejectedLines());
+        assertEquals(4, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM PRICES", Long.class));
+        assertTrue(published.isEmpty());
+    }
+
+    private List<PriceInvalidation> subscribe() {
+        List<PriceInvalidation> published = new CopyOnWriteArrayList<>();
+        invalidationBus.subscribe(published::add);
+        return published;
+    }
+
+    private static ByteArrayInputStream input(String csv) {
+        return new ByteArrayInputStream(csv.getBytes(StandardCharsets.UTF_8));
+    }
+}
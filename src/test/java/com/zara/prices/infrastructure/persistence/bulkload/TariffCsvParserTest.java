@@ -0,0 +1,54 @@
+package com.zara.prices.infrastructure.persistence.bulkload;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+class TariffCsvParserTest {
+
+    @Test
+    void testHeaderSkippedAndDateFormatsAccepted() {
+        TariffCsvParser.ParsedChunk parsed = TariffCsvParser.parse(List.of(
+            "BRAND_ID,START_DATE,END_DATE,PRICE_LIST,PRODUCT_ID,PRIORITY,PRICE,CURR",
+            "1,2020-06-14-00.00.00,2020-12-31-23.59.59,1,35455,0,35.50,EUR",
+            "1, 2020-06-14T15:00:00 ,2020-06-14 18:30:00,2,35455,1,25.45,EUR",
+            ""
+        ), 1);
+
+        assertEquals(2, parsed.rows().size());
+        assertEquals(0, parsed.rejected());
+        TariffRow first = parsed.rows().get(0);
+        assertEquals(LocalDateTime.parse("2020-12-31T23:59:59"), first.endDate());
+        assertEquals(new BigDecimal("35.50"), first.price());
+        assertEquals(LocalDateTime.parse("2020-06-14T18:30:00"), parsed.rows().get(1).endDate());
+    }
+
+    @Test
+    void testInvalidLinesRejectedWithLineNumber() {
+        TariffCsvParser.ParsedChunk parsed = TariffCsvParser.parse(List.of(
+            "1,2020-06-14-00.00.00,2020-12-31-23.59.59,1,35455,0,35.50,EUR",
+            "1,2020-06-14-00.00.00,2020-12-31-23.59.59,1,35455,0,35.50",
+            "1,2020-12-31-00.00.00,2020-06-14-23.59.59,1,35455,0,35.50,EUR",
+            "x,2020-06-14-00.00.00,2020-12-31-23.59.59,1,35455,0,35.50,EUR",
+            "1,2020-06-14-00.00.00,2020-12-31-23.59.59,1,35455,0,35.50,EU\t",
+            "1,2020-06-14-00.00.00,2020-12-31-23.59.59,1,35455,0,35.50,XYZ"
+        ), 100);
+
+        assertEquals(1, parsed.rows().size());
+        assertEquals(5, parsed.rejected());
+        assertTrue(parsed.rejections().get(0).startsWith("línea 101:"));
+        assertTrue(parsed.rejections().get(1).contains("fin es anterior"));
+    }
+
+    @Test
+    void testHeaderOnlyRecognisedOnFirstLineOfFile() {
+        TariffCsvParser.ParsedChunk parsed = TariffCsvParser.parse(List.of("BRAND_ID,START_DATE"), 8193);
+
+        assertEquals(1, parsed.rejected());
+    }
+}
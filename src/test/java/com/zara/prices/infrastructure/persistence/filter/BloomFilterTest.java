@@ -0,0 +1,67 @@
+package com.zara.prices.infrastructure.persistence.filter;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+class BloomFilterTest {
+
+    @Test
+    void testNoFalseNegatives() {
+        BloomFilter filter = BloomFilter.create(10_000, 0.01);
+        for (long product = 1; product <= 10_000; product++) {
+            filter.put(product % 3 + 1, product);
+        }
+
+        for (long product = 1; product <= 10_000; product++) {
+            assertTrue(filter.mightContain(product % 3 + 1, product));
+        }
+    }
+
+    @Test
+    void testFalsePositiveRateCloseToTarget() {
+        BloomFilter filter = BloomFilter.create(100_000, 0.01);
+        for (long product = 0; product < 100_000; product++) {
+            filter.put(1L, product);
+        }
+
+        int falsePositives = 0;
+        for (long product = 1_000_000; product < 1_100_000; product++) {
+            if (filter.mightContain(1L, product)) {
+                falsePositives++;
+            }
+        }
+
+        assertTrue(falsePositives < 1_500, "falsos positivos: " + falsePositives);
+        assertTrue(filter.estimatedFalsePositiveRate() < 0.015);
+    }
+
+    @Test
+    void testBrandIsPartOfTheKey() {
+        BloomFilter filter = BloomFilter.create(100, 0.001);
+        filter.put(1L, 35455L);
+
+        assertTrue(filter.mightContain(1L, 35455L));
+        assertFalse(filter.mightContain(2L, 35455L));
+        assertFalse(filter.mightContain(35455L, 1L));
+    }
+
+    @Test
+    void testSizedFromTargetRate() {
+        BloomFilter filter = BloomFilter.create(1_000_000, 0.01);
+
+        // ~9,6 bits y 7 hashes por elemento para un 1 %
+        assertEquals(7, filter.hashCount());
+        assertTrue(filter.byteSize() > 1_150_000 && filter.byteSize() < 1_250_000, "bytes: " + filter.byteSize());
+        assertEquals(0.0, filter.estimatedFalsePositiveRate());
+    }
+
+    @Test
+    void testInvalidRateRejected() {
+        assertThrows(IllegalArgumentException.class, () -> BloomFilter.create(10, 0));
+        assertThrows(IllegalArgumentException.class, () -> BloomFilter.create(10, 1));
+    }
+}
@@ -0,0 +1,139 @@
+package com.zara.prices.infrastructure.persistence.jdbc;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import javax.sql.DataSource;
+
+import com.zara.prices.domain.model.Price;
+import com.zara.prices.domain.model.PriceQuery;
+import com.zara.prices.domain.model.PriceTimeline;
+import com.zara.prices.infrastructure.persistence.PriceRepositoryImpl;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.simple.JdbcClient;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.jdbc.Sql;
+
+@SpringBootTest(properties = "app.prices.repository=jdbc")
+@ActiveProfiles("test")
+@Sql("/data.sql")
+class JdbcPriceRepositoryTest {
+
+    @Autowired
+    private JdbcPriceRepository repository;
+
+    @Autowired
+    private Optional<PriceRepositoryImpl> jpaRepository;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Test
+    void testJdbcAdapterReplacesJpaAdapter() {
+        assertTrue(jpaRepository.isEmpty());
+    }
+
+    @Test
+    void testHighestPrioritySelectedForRequiredScenarios() {
+        assertEquals(1, priceListAt("2020-06-14T10:00:00"));
+        assertEquals(2, priceListAt("2020-06-14T16:00:00"));
+        assertEquals(1, priceListAt("2020-06-14T21:00:00"));
+        assertEquals(3, priceListAt("2020-06-15T10:00:00"));
+        assertEquals(4, priceListAt("2020-06-16T21:00:00"));
+    }
+
+    @Test
+    void testRowIsMappedStraightIntoDomain() {
+        Price price = repository.findHighestPriorityApplicable(1L, 35455L, LocalDateTime.parse("2020-06-14T16:00:00"))
+                .orElseThrow();
+
+        assertEquals(Price.of(1L, 35455L, LocalDateTime.parse("2020-06-14T15:00:00"),
+                LocalDateTime.parse("2020-06-14T18:30:00"), 1, new BigDecimal("25.45"), "EUR", 2), price);
+    }
+
+    @Test
+    void testNoMatchReturnsEmpty() {
+        assertTrue(repository.findHighestPriorityApplicable(1L, 99999L, LocalDateTime.parse("2020-06-14T10:00:00")).isEmpty());
+        assertTrue(repository.findTimeline(1L, 99999L).isEmpty());
+    }
+
+    @Test
+    void testBatchKeepsQueryOrder() {
+        List<Optional<Price>> prices = repository.findHighestPriorityApplicable(List.of(
+                new PriceQuery(1L, 35455L, LocalDateTime.parse("2020-06-15T10:00:00")),
+                new PriceQuery(1L, 99999L, LocalDateTime.parse("2020-06-15T10:00:00")),
+                new PriceQuery(1L, 35455L, LocalDateTime.parse("2020-06-14T16:00:00"))));
+
+        assertEquals(3, prices.get(0).orElseThrow().priceList());
+        assertTrue(prices.get(1).isEmpty());
+        assertEquals(2, prices.get(2).orElseThrow().priceList());
+    }
+
+    @Test
+    void testTimelineMatchesSingleLookups() {
+        LocalDateTime date = LocalDateTime.parse("2020-06-15T10:00:00");
+
+        assertEquals(repository.findHighestPriorityApplicable(1L, 35455L, date),
+                repository.findTimeline(1L, 35455L).orElseThrow().priceAt(date));
+    }
+
+    @Test
+    void testValidityMatchesTimelineSegments() {
+        PriceTimeline timeline = repository.findTimeline(1L, 35455L).orElseThrow();
+        for (String date : List.of("2020-06-14T10:00:00", "2020-06-14T15:00:00", "2020-06-14T18:30:00",
+                "2020-06-14T21:00:00", "2020-06-15T10:00:00", "2020-06-15T12:00:00", "2020-06-16T21:00:00",
+                "2020-12-31T23:59:59", "2021-01-01T00:00:00")) {
+            LocalDateTime at = LocalDateTime.parse(date);
+            assertEquals(timeline.applicableAt(at), repository.findHighestPriorityApplicableWithValidity(1L, 35455L, at),
+                    date);
+        }
+        assertEquals(LocalDateTime.parse("2020-06-14T15:00:00"), repository.findHighestPriorityApplicableWithValidity(
+                1L, 35455L, LocalDateTime.parse("2020-06-14T10:00:00")).orElseThrow().validUntil());
+    }
+
+    @Test
+    void testLookupRunsInReadOnlyTransaction() {
+        List<Boolean> readOnly = new ArrayList<>();
+        DataSource recording = new DelegatingDataSource(dataSource) {
+            @Override
+            public Connection getConnection() throws SQLException {
+                Connection connection = super.getConnection();
+                return (Connection) Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[] {Connection.class},
+                        (proxy, method, args) -> {
+                            if (method.getName().equals("setReadOnly")) {
+                                readOnly.add((Boolean) args[0]);
+                            }
+                            try {
+                                return method.invoke(connection, args);
+                            } catch (InvocationTargetException e) {
+                                throw e.getCause();
+                            }
+                        });
+            }
+        };
+
+        new JdbcPriceRepository(JdbcClient.create(recording), recording)
+                .findHighestPriorityApplicable(1L, 35455L, LocalDateTime.parse("2020-06-14T10:00:00"));
+
+        assertEquals(List.of(true, false), readOnly);
+    }
+
+    private Integer priceListAt(String date) {
+        return repository.findHighestPriorityApplicable(1L, 35455L, LocalDateTime.parse(date))
+                .orElseThrow()
+                .priceList();
+    }
+}
@@ -0,0 +1,269 @@
+package com.zara.prices.infrastructure.persistence.memory;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import com.zara.prices.domain.model.Price;
+import com.zara.prices.domain.model.PriceInvalidation;
+import com.zara.prices.domain.model.ProductKey;
+import com.zara.prices.infrastructure.invalidation.LocalPriceInvalidationBus;
+import com.zara.prices.infrastructure.persistence.PriceChangeEntity;
+import com.zara.prices.infrastructure.persistence.PriceChangeJpaRepository;
+import com.zara.prices.infrastructure.persistence.PriceEntity;
+import com.zara.prices.infrastructure.persistence.PriceJpaMapper;
+import com.zara.prices.infrastructure.persistence.PriceJpaRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentMatchers;
+import org.mockito.Mockito;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Sort;
+
+class InMemoryPriceRepositoryTest {
+
+    private PriceJpaRepository jpaRepository;
+    private PriceChangeJpaRepository changeRepository;
+    private LocalPriceInvalidationBus bus;
+    private InMemoryPriceRepository repository;
+
+    @BeforeEach
+    void setUp() {
+        jpaRepository = Mockito.mock(PriceJpaRepository.class);
+        Mockito.when(jpaRepository.findAll(ArgumentMatchers.any(Sort.class))).thenReturn(List.of(
+            entity(1L, "2020-06-14T00:00:00", "2020-12-31T23:59:59", 1, 0, "35.50"),
+            entity(2L, "2020-06-14T15:00:00", "2020-06-14T18:30:00", 2, 1, "25.45"),
+            entity(3L, "2020-06-15T00:00:00", "2020-06-15T11:00:00", 3, 1, "30.50"),
+            entity(4L, "2020-06-15T16:00:00", "2020-12-31T23:59:59", 4, 1, "38.95")
+        ));
+        changeRepository = Mockito.mock(PriceChangeJpaRepository.class);
+        bus = new LocalPriceInvalidationBus();
+        repository = new InMemoryPriceRepository(jpaRepository, changeRepository, new PriceJpaMapper(), 2, bus);
+    }
+
+    @Test
+    void testLookupBeforeFirstLoadFails() {
+        assertThrows(IllegalStateException.class,
+                () -> repository.findHighestPriorityApplicable(1L, 35455L, LocalDateTime.parse("2020-06-14T10:00:00")));
+    }
+
+    @Test
+    void testHighestPrioritySelectedForRequiredScenarios() {
+        repository.refresh();
+
+        assertEquals(1, priceListAt("2020-06-14T10:00:00"));
+        assertEquals(2, priceListAt("2020-06-14T16:00:00"));
+        assertEquals(1, priceListAt("2020-06-14T21:00:00"));
+        assertEquals(3, priceListAt("2020-06-15T10:00:00"));
+        assertEquals(4, priceListAt("2020-06-16T21:00:00"));
+    }
+
+    @Test
+    void testIntervalBoundsAreInclusive() {
+        repository.refresh();
+
+        assertEquals(2, priceListAt("2020-06-14T15:00:00"));
+        assertEquals(2, priceListAt("2020-06-14T18:30:00"));
+        assertEquals(1, priceListAt("2020-06-14T18:30:01"));
+        assertEquals(4, priceListAt("2020-12-31T23:59:59"));
+    }
+
+    @Test
+    void testNotFoundOutsideRangeOrForUnknownProduct() {
+        repository.refresh();
+
+        assertTrue(repository.findHighestPriorityApplicable(1L, 35455L,
+                LocalDateTime.parse("2020-06-13T23:59:59")).isEmpty());
+        assertTrue(repository.findHighestPriorityApplicable(1L, 35455L,
+                LocalDateTime.parse("2021-01-01T00:00:00")).isEmpty());
+        assertTrue(repository.findHighestPriorityApplicable(1L, 99999L,
+                LocalDateTime.parse("2020-06-14T10:00:00")).isEmpty());
+    }
+
+    @Test
+    @SuppressWarnings("deprecation")
+    void testFindApplicableDelegatesToDatabase() {
+        LocalDateTime date = LocalDateTime.parse("2020-06-14T16:00:00");
+        Mockito.when(jpaRepository.findByBrandIdAndProductIdAndDateBetween(1L, 35455L, date)).thenReturn(List.of(
+            entity(2L, "2020-06-14T15:00:00", "2020-06-14T18:30:00", 2, 1, "25.45"),
+            entity(1L, "2020-06-14T00:00:00", "2020-12-31T23:59:59", 1, 0, "35.50")
+        ));
+
+        List<Price> applicable = repository.findApplicable(1L, 35455L, date);
+
+        assertEquals(2, applicable.size());
+        assertEquals(2, applicable.get(0).priceList());
+        assertEquals(1, applicable.get(1).priceList());
+    }
+
+    @Test
+    void testProductsBuiltInParallelAreIsolated() {
+        List<PriceEntity> rows = new ArrayList<>();
+        for (long product = 1; product <= 2_000; product++) {
+            rows.add(new PriceEntity(product, product, 1L, (int) product,
+                    LocalDateTime.parse("2020-01-01T00:00:00"), LocalDateTime.parse("2020-12-31T23:59:59"),
+                    0, BigDecimal.ONE, "EUR"));
+        }
+        Mockito.when(jpaRepository.findAll(ArgumentMatchers.any(Sort.class))).thenReturn(rows);
+        repository.refresh();
+
+        for (long product = 1; product <= 2_000; product += 97) {
+            assertEquals((int) product, repository.findHighestPriorityApplicable(1L, product,
+                    LocalDateTime.parse("2020-06-01T00:00:00")).orElseThrow().priceList());
+        }
+    }
+
+    @Test
+    void testRefreshLoadsFromDatabaseOnlyOnce() {
+        repository.refresh();
+        for (int i = 0; i < 100; i++) {
+            priceListAt("2020-06-14T10:00:00");
+        }
+
+        Mockito.verify(jpaRepository, Mockito.times(1)).findAll(ArgumentMatchers.any(Sort.class));
+        Mockito.verifyNoMoreInteractions(jpaRepository);
+    }
+
+    @Test
+    void testChangesPatchOnlyAffectedProducts() {
+        Mockito.when(changeRepository.findMaxId()).thenReturn(10L);
+        repository.refresh();
+        Mockito.when(changeRepository.findByIdGreaterThanOrderByIdAsc(ArgumentMatchers.eq(10L), ArgumentMatchers.any(Limit.class)))
+                .thenReturn(List.of(change(11L, 35455L), change(12L, 35455L), change(13L, 777L)));
+        Mockito.when(jpaRepository.findByBrandIdAndProductId(1L, 35455L)).thenReturn(List.of(
+            entity(1L, "2020-06-14T00:00:00", "2020-12-31T23:59:59", 1, 0, "35.50"),
+            entity(5L, "2020-06-14T09:00:00", "2020-06-14T11:00:00", 5, 2, "19.99")
+        ));
+        Mockito.when(jpaRepository.findByBrandIdAndProductId(1L, 777L)).thenReturn(List.of(
+            new PriceEntity(6L, 777L, 1L, 6, LocalDateTime.parse("2020-01-01T00:00:00"),
+                    LocalDateTime.parse("2020-12-31T23:59:59"), 0, BigDecimal.TEN, "EUR")
+        ));
+
+        repository.applyChanges();
+
+        assertEquals(5, priceListAt("2020-06-14T10:00:00"));
+        assertEquals(1, priceListAt("2020-06-14T16:00:00"));
+        assertEquals(6, repository.findHighestPriorityApplicable(1L, 777L,
+                LocalDateTime.parse("2020-06-01T00:00:00")).orElseThrow().priceList());
+        Mockito.verify(jpaRepository, Mockito.times(1)).findByBrandIdAndProductId(1L, 35455L);
+        Mockito.verify(jpaRepository, Mockito.times(1)).findAll(ArgumentMatchers.any(Sort.class));
+    }
+
+    @Test
+    void testHighWaterMarkAdvancesAndDeletedProductsDisappear() {
+        repository.refresh();
+        Mockito.when(changeRepository.findByIdGreaterThanOrderByIdAsc(ArgumentMatchers.eq(0L), ArgumentMatchers.any(Limit.class)))
+                .thenReturn(List.of(change(1L, 35455L)));
+        Mockito.when(jpaRepository.findByBrandIdAndProductId(1L, 35455L)).thenReturn(List.of());
+
+        repository.applyChanges();
+        repository.applyChanges();
+
+        assertTrue(repository.findHighestPriorityApplicable(1L, 35455L,
+                LocalDateTime.parse("2020-06-14T10:00:00")).isEmpty());
+        Mockito.verify(changeRepository).findByIdGreaterThanOrderByIdAsc(ArgumentMatchers.eq(1L), ArgumentMatchers.any(Limit.class));
+        Mockito.verify(jpaRepository, Mockito.times(1)).findByBrandIdAndProductId(1L, 35455L);
+    }
+
+    @Test
+    void testLargeBacklogTriggersFullReload() {
+        repository.refresh();
+        Mockito.when(changeRepository.findMaxId()).thenReturn(InMemoryPriceRepository.FULL_RELOAD_BACKLOG + 1);
+
+        repository.applyChanges();
+        repository.applyChanges();
+
+        Mockito.verify(jpaRepository, Mockito.times(2)).findAll(ArgumentMatchers.any(Sort.class));
+        // La segunda pasada ya parte de la marca de la recarga y vuelve al sondeo normal
+        Mockito.verify(changeRepository).findByIdGreaterThanOrderByIdAsc(ArgumentMatchers.anyLong(), ArgumentMatchers.any(Limit.class));
+    }
+
+    @Test
+    void testFullReloadMarkerTriggersFullReload() {
+        repository.refresh();
+        Mockito.when(changeRepository.findByIdGreaterThanOrderByIdAsc(ArgumentMatchers.eq(0L), ArgumentMatchers.any(Limit.class)))
+                .thenReturn(List.of(change(1L, 777L),
+                        new PriceChangeEntity(2L, null, null, LocalDateTime.parse("2026-01-01T00:00:00"))));
+
+        repository.applyChanges();
+
+        Mockito.verify(jpaRepository, Mockito.times(2)).findAll(ArgumentMatchers.any(Sort.class));
+        Mockito.verify(jpaRepository, Mockito.never()).findByBrandIdAndProductId(ArgumentMatchers.anyLong(), ArgumentMatchers.anyLong());
+    }
+
+    @Test
+    void testSubscribersNotifiedOnlyAfterSnapshotIsPatched() {
+        repository.refresh();
+        List<PriceInvalidation> applied = new ArrayList<>();
+        repository.subscribe(invalidation -> {
+            applied.add(invalidation);
+            // El aviso llega con el snapshot ya actualizado
+            assertEquals(5, priceListAt("2020-06-14T10:00:00"));
+        });
+        Mockito.when(changeRepository.findByIdGreaterThanOrderByIdAsc(ArgumentMatchers.eq(0L), ArgumentMatchers.any(Limit.class)))
+                .thenReturn(List.of(change(1L, 35455L)));
+        Mockito.when(jpaRepository.findByBrandIdAndProductId(1L, 35455L)).thenReturn(List.of(
+            entity(1L, "2020-06-14T00:00:00", "2020-12-31T23:59:59", 1, 0, "35.50"),
+            entity(5L, "2020-06-14T09:00:00", "2020-06-14T11:00:00", 5, 2, "19.99")
+        ));
+
+        repository.applyChanges();
+
+        assertEquals(List.of(PriceInvalidation.product(ProductKey.of(1L, 35455L))), applied);
+    }
+
+    @Test
+    void testFullReloadNotifiesEverything() {
+        List<PriceInvalidation> applied = new ArrayList<>();
+        repository.subscribe(applied::add);
+
+        repository.refresh();
+
+        assertEquals(List.of(PriceInvalidation.all()), applied);
+    }
+
+    @Test
+    void testBusNotificationAppliesChangesWithoutWaitingForThePoll() throws InterruptedException {
+        repository.refresh();
+        Mockito.when(changeRepository.findByIdGreaterThanOrderByIdAsc(ArgumentMatchers.eq(0L), ArgumentMatchers.any(Limit.class)))
+                .thenReturn(List.of(change(1L, 35455L)));
+        Mockito.when(jpaRepository.findByBrandIdAndProductId(1L, 35455L)).thenReturn(List.of());
+        CountDownLatch patched = new CountDownLatch(1);
+        repository.subscribe(invalidation -> patched.countDown());
+
+        bus.publish(PriceInvalidation.product(ProductKey.of(1L, 35455L)));
+
+        assertTrue(patched.await(5, TimeUnit.SECONDS));
+        assertTrue(repository.findHighestPriorityApplicable(1L, 35455L,
+                LocalDateTime.parse("2020-06-14T10:00:00")).isEmpty());
+    }
+
+    @Test
+    void testChangesIgnoredBeforeFirstLoad() {
+        repository.applyChanges();
+
+        Mockito.verifyNoInteractions(changeRepository, jpaRepository);
+    }
+
+    private int priceListAt(String date) {
+        return repository.findHighestPriorityApplicable(1L, 35455L, LocalDateTime.parse(date))
+                .orElseThrow()
+                .priceList();
+    }
+
+    private static PriceChangeEntity change(Long id, Long productId) {
+        return new PriceChangeEntity(id, 1L, productId, LocalDateTime.parse("2026-01-01T00:00:00"));
+    }
+
+    private static PriceEntity entity(Long id, String start, String end, int priceList, int priority, String price) {
+        return new PriceEntity(id, 35455L, 1L, priceList, LocalDateTime.parse(start), LocalDateTime.parse(end),
+                priority, new BigDecimal(price), "EUR");
+    }
+}
@@ -0,0 +1,127 @@
+package com.zara.prices.infrastructure.persistence.offheap;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import com.zara.prices.domain.model.EpochMicros;
+import com.zara.prices.domain.model.Price;
+import com.zara.prices.domain.model.PriceTimeline;
+import org.junit.jupiter.api.Test;
+
+class ColumnarPriceStoreTest {
+
+    @Test
+    void testLookupResolvesSampleProductFromColumns() {
+        ColumnarPriceStoreWriter writer = new ColumnarPriceStoreWriter(1);
+        PriceTimeline.of(List.of(
+            price(1L, 35455L, "2020-06-14T00:00:00", "2020-12-31T23:59:59", 0, "35.50", 1),
+            price(1L, 35455L, "2020-06-14T15:00:00", "2020-06-14T18:30:00", 1, "25.45", 2),
+            price(1L, 35455L, "2020-06-15T00:00:00", "2020-06-15T11:00:00", 1, "30.50", 3),
+            price(1L, 35455L, "2020-06-15T16:00:00", "2020-12-31T23:59:59", 1, "38.95", 4)
+        )).forEachSegment(writer::append);
+        ColumnarPriceStore store = writer.finish();
+
+        assertEquals(6, store.rowCount());
+        assertEquals(1, find(store, 1L, 35455L, "2020-06-14T10:00:00").priceList());
+        assertEquals(2, find(store, 1L, 35455L, "2020-06-14T16:00:00").priceList());
+        assertEquals(1, find(store, 1L, 35455L, "2020-06-14T21:00:00").priceList());
+        assertEquals(3, find(store, 1L, 35455L, "2020-06-15T10:00:00").priceList());
+        assertEquals(4, find(store, 1L, 35455L, "2020-06-16T21:00:00").priceList());
+    }
+
+    @Test
+    void testMaterializedPriceMatchesOriginalTariff() {
+        Price original = price(1L, 35455L, "2020-06-14T15:00:00", "2020-06-14T18:30:00", 1, "25.45", 2);
+        ColumnarPriceStoreWriter writer = new ColumnarPriceStoreWriter(1);
+        PriceTimeline.of(List.of(original)).forEachSegment(writer::append);
+
+        Price restored = find(writer.finish(), 1L, 35455L, "2020-06-14T16:00:00");
+
+        assertEquals(original, restored);
+        assertEquals("25.45", restored.amount().toPlainString());
+    }
+
+    @Test
+    void testProductsAreNotMixedUp() {
+        ColumnarPriceStoreWriter writer = new ColumnarPriceStoreWriter(4);
+        for (long brand = 1; brand <= 3; brand++) {
+            for (long product = 1; product <= 100; product++) {
+                PriceTimeline.of(List.of(price(brand, product, "2020-01-01T00:00:00", "2020-12-31T23:59:59",
+                        0, "1.00", (int) (brand * 1000 + product)))).forEachSegment(writer::append);
+            }
+        }
+        ColumnarPriceStore store = writer.finish();
+
+        assertEquals(300, store.rowCount());
+        assertEquals(2042, find(store, 2L, 42L, "2020-06-01T00:00:00").priceList());
+        assertEquals(-1, store.find(2L, 101L, EpochMicros.of(LocalDateTime.parse("2020-06-01T00:00:00"))));
+        assertEquals(-1, store.find(4L, 1L, EpochMicros.of(LocalDateTime.parse("2020-06-01T00:00:00"))));
+        assertEquals(-1, store.find(0L, 1L, EpochMicros.of(LocalDateTime.parse("2020-06-01T00:00:00"))));
+    }
+
+    @Test
+    void testTimelineRebuiltFromProductRows() {
+        ColumnarPriceStoreWriter writer = new ColumnarPriceStoreWriter(4);
+        PriceTimeline.of(List.of(price(1L, 1L, "2020-01-01T00:00:00", "2020-12-31T23:59:59", 0, "1.00", 1)))
+                .forEachSegment(writer::append);
+        PriceTimeline original = PriceTimeline.of(List.of(
+            price(1L, 35455L, "2020-06-14T00:00:00", "2020-12-31T23:59:59", 0, "35.50", 1),
+            price(1L, 35455L, "2020-06-14T15:00:00", "2020-06-14T18:30:00", 1, "25.45", 2)
+        ));
+        original.forEachSegment(writer::append);
+        PriceTimeline.of(List.of(price(2L, 1L, "2020-01-01T00:00:00", "2020-12-31T23:59:59", 0, "1.00", 9)))
+                .forEachSegment(writer::append);
+        ColumnarPriceStore store = writer.finish();
+
+        PriceTimeline rebuilt = store.timeline(1L, 35455L);
+
+        assertEquals(original.segmentCount(), rebuilt.segmentCount());
+        assertEquals(2, rebuilt.priceAt(LocalDateTime.parse("2020-06-14T16:00:00")).orElseThrow().priceList());
+        assertEquals(1, rebuilt.priceAt(LocalDateTime.parse("2020-06-14T19:00:00")).orElseThrow().priceList());
+        assertEquals(0, store.timeline(1L, 2L).segmentCount());
+        assertEquals(0, store.timeline(3L, 1L).segmentCount());
+    }
+
+    @Test
+    void testCurrenciesSharedThroughDictionary() {
+        ColumnarPriceStoreWriter writer = new ColumnarPriceStoreWriter(4);
+        writer.append(0, 10, price(1L, 1L, "2020-01-01T00:00:00", "2020-12-31T23:59:59", 0, "1.00", 1));
+        writer.append(0, 10, price(1L, 2L, "2020-01-01T00:00:00", "2020-12-31T23:59:59", 0, "2.00", 1));
+        writer.append(0, 10, withCurrency(price(1L, 3L, "2020-01-01T00:00:00", "2020-12-31T23:59:59", 0, "300", 1), "JPY"));
+
+        ColumnarPriceStore store = writer.finish();
+
+        assertEquals(2, store.currencies().size());
+        assertEquals("JPY", store.priceAt(2).currencyCode());
+        assertEquals(new BigDecimal("300"), store.priceAt(2).amount());
+    }
+
+    @Test
+    void testOutOfOrderSegmentsRejected() {
+        ColumnarPriceStoreWriter writer = new ColumnarPriceStoreWriter(4);
+        writer.append(100, 200, price(1L, 2L, "2020-01-01T00:00:00", "2020-12-31T23:59:59", 0, "1.00", 1));
+
+        assertThrows(IllegalArgumentException.class, () ->
+                writer.append(0, 10, price(1L, 1L, "2020-01-01T00:00:00", "2020-12-31T23:59:59", 0, "1.00", 1)));
+    }
+
+    private static Price find(ColumnarPriceStore store, long brandId, long productId, String date) {
+        int row = store.find(brandId, productId, EpochMicros.of(LocalDateTime.parse(date)));
+        return store.priceAt(row);
+    }
+
+    private static Price withCurrency(Price price, String currency) {
+        return Price.of(price.brandId(), price.productId(), price.startDate(), price.endDate(),
+                price.priority(), price.amount(), currency, price.priceList());
+    }
+
+    private static Price price(long brandId, long productId, String start, String end,
+                               int priority, String amount, int priceList) {
+        return Price.of(brandId, productId, LocalDateTime.parse(start), LocalDateTime.parse(end),
+                priority, new BigDecimal(amount), "EUR", priceList);
+    }
+}
@@ -0,0 +1,139 @@
+package com.zara.prices.infrastructure.persistence.offheap;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import com.zara.prices.domain.model.EpochMicros;
+import com.zara.prices.domain.model.Price;
+import com.zara.prices.domain.model.PriceTimeline;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class PriceIndexFileTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void testMappedIndexAnswersLikeTheOriginalStore() throws IOException {
+        ColumnarPriceStore original = sampleStore();
+        Path file = directory.resolve("price-index.bin");
+
+        PriceIndexFile.write(original, file);
+        ColumnarPriceStore mapped = PriceIndexFile.map(file).store();
+
+        assertEquals(original.rowCount(), mapped.rowCount());
+        assertEquals(original.currencies(), mapped.currencies());
+        for (String date : List.of("2020-06-14T10:00:00", "2020-06-14T16:00:00", "2020-06-14T21:00:00",
+                "2020-06-15T10:00:00", "2020-06-16T21:00:00")) {
+            long micros = EpochMicros.of(LocalDateTime.parse(date));
+            assertEquals(original.priceAt(original.find(1L, 35455L, micros)),
+                    mapped.priceAt(mapped.find(1L, 35455L, micros)));
+        }
+        assertEquals(-1, mapped.find(1L, 99999L, EpochMicros.of(LocalDateTime.parse("2020-06-14T10:00:00"))));
+    }
+
+    @Test
+    void testRewriteReplacesFileWithoutLeftovers() throws IOException {
+        Path file = directory.resolve("price-index.bin");
+
+        PriceIndexFile.write(sampleStore(), file);
+        PriceIndexFile.write(new ColumnarPriceStoreWriter(1).finish(), file);
+
+        assertEquals(0, PriceIndexFile.map(file).store().rowCount());
+        try (var files = Files.list(directory)) {
+            assertEquals(List.of(file), files.toList());
+        }
+    }
+
+    @Test
+    void testCorruptedFileRejected() throws IOException {
+        Path file = directory.resolve("price-index.bin");
+        PriceIndexFile.write(sampleStore(), file);
+
+        try (RandomAccessFile raw = new RandomAccessFile(file.toFile(), "rw")) {
+            raw.seek(raw.length() - 1);
+            int last = raw.read();
+            raw.seek(raw.length() - 1);
+            raw.write(last ^ 0xFF);
+        }
+
+        PriceIndexFile.MappedIndex mapped = PriceIndexFile.map(file);
+        IllegalStateException error = assertThrows(IllegalStateException.class, mapped::verify);
+        assertTrue(error.getMessage().contains("Checksum"));
+    }
+
+    @Test
+    void testCorruptedDictionaryRejectedBeforeDecoding() throws IOException {
+        Path file = directory.resolve("price-index.bin");
+        PriceIndexFile.write(sampleStore(), file);
+
+        try (RandomAccessFile raw = new RandomAccessFile(file.toFile(), "rw")) {
+            // Primera letra del código de moneda, tras su longitud
+            raw.seek(PriceIndexFile.HEADER_SIZE + Short.BYTES);
+            raw.write('x');
+        }
+
+        IllegalStateException error = assertThrows(IllegalStateException.class, () -> PriceIndexFile.map(file));
+        assertTrue(error.getMessage().contains("Checksum"));
+    }
+
+    @Test
+    void testTruncatedFileRejected() throws IOException {
+        Path file = directory.resolve("price-index.bin");
+        PriceIndexFile.write(sampleStore(), file);
+
+        for (long length : new long[] { PriceIndexFile.HEADER_SIZE + 4, PriceIndexFile.HEADER_SIZE - 1 }) {
+            try (RandomAccessFile raw = new RandomAccessFile(file.toFile(), "rw")) {
+                raw.setLength(length);
+            }
+            assertThrows(IllegalStateException.class, () -> PriceIndexFile.map(file));
+        }
+    }
+
+    @Test
+    void testUnsupportedVersionRejected() throws IOException {
+        Path file = directory.resolve("price-index.bin");
+        PriceIndexFile.write(sampleStore(), file);
+
+        try (RandomAccessFile raw = new RandomAccessFile(file.toFile(), "rw")) {
+            raw.seek(Integer.BYTES);
+            raw.write(PriceIndexFile.FORMAT_VERSION + 1);
+        }
+
+        IllegalStateException error = assertThrows(IllegalStateException.class, () -> PriceIndexFile.map(file));
+        assertTrue(error.getMessage().contains("Versión"));
+    }
+
+    @Test
+    void testForeignFileRejected() throws IOException {
+        Path file = Files.write(directory.resolve("price-index.bin"), new byte[64]);
+
+        assertThrows(IllegalStateException.class, () -> PriceIndexFile.map(file));
+    }
+
+    private static ColumnarPriceStore sampleStore() {
+        ColumnarPriceStoreWriter writer = new ColumnarPriceStoreWriter(1);
+        PriceTimeline.of(List.of(
+            price("2020-06-14T00:00:00", "2020-12-31T23:59:59", 0, "35.50", 1),
+            price("2020-06-14T15:00:00", "2020-06-14T18:30:00", 1, "25.45", 2),
+            price("2020-06-15T00:00:00", "2020-06-15T11:00:00", 1, "30.50", 3),
+            price("2020-06-15T16:00:00", "2020-12-31T23:59:59", 1, "38.95", 4)
+        )).forEachSegment(writer::append);
+        return writer.finish();
+    }
+
+    private static Price price(String start, String end, int priority, String amount, int priceList) {
+        return Price.of(1L, 35455L, LocalDateTime.parse(start), LocalDateTime.parse(end),
+                priority, new BigDecimal(amount), "EUR", priceList);
+    }
+}
@@ -0,0 +1,110 @@
+package com.zara.prices.infrastructure.persistence.replica;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.List;
+import java.util.function.Supplier;
+
+import javax.sql.DataSource;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class HedgedQueryExecutorTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private Connection slow;
+    private Connection fast;
+    private ReplicaRoutingDataSource replicas;
+    private HedgedQueryExecutor hedging;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        slow = Mockito.mock(Connection.class);
+        fast = Mockito.mock(Connection.class);
+        DataSource first = Mockito.mock(DataSource.class);
+        DataSource second = Mockito.mock(DataSource.class);
+        Mockito.when(first.getConnection()).thenReturn(slow);
+        Mockito.when(second.getConnection()).thenReturn(fast);
+        replicas = new ReplicaRoutingDataSource(List.of(first, second), null, Duration.ofMinutes(1));
+        hedging = new HedgedQueryExecutor(replicas, registry, 0.95, Duration.ofSeconds(5));
+    }
+
+    @AfterEach
+    void tearDown() {
+        hedging.close();
+    }
+
+    @Test
+    void testSlowReplicaIsOvertakenByHedge() {
+        hedging.close();
+        hedging = new HedgedQueryExecutor(replicas, registry, 0.95, Duration.ofMillis(20));
+
+        Connection answered = hedging.execute(connectionDelayingOn(slow, 500));
+
+        assertSame(fast, answered);
+        assertEquals(1, hedges("won"));
+        assertEquals(0, hedges("lost"));
+    }
+
+    @Test
+    void testFastReplicaIsNotHedged() {
+        Connection answered = hedging.execute(connectionDelayingOn(slow, 0));
+
+        assertSame(slow, answered);
+        assertEquals(0, hedges("won") + hedges("lost"));
+        assertEquals(1, registry.get(HedgedQueryExecutor.LATENCY_TIMER).timer().count());
+    }
+
+    @Test
+    void testLookupsRotateBetweenReplicas() {
+        assertSame(slow, hedging.execute(connectionDelayingOn(slow, 0)));
+        assertSame(fast, hedging.execute(connectionDelayingOn(slow, 0)));
+    }
+
+    @Test
+    void testErrorBeforeDelayIsNotHedged() {
+        IllegalStateException failure = assertThrows(IllegalStateException.class, () -> hedging.execute(() -> {
+            throw new IllegalStateException("consulta fallida");
+        }));
+
+        assertEquals("consulta fallida", failure.getMessage());
+        assertEquals(0, hedges("won") + hedges("lost"));
+    }
+
+    @Test
+    void testDelayNeverBelowMinimum() {
+        assertEquals(Duration.ofSeconds(5), hedging.delay());
+    }
+
+    /** Consulta que pide una conexión y tarda {@code millis} si le toca la réplica indicada */
+    private Supplier<Connection> connectionDelayingOn(Connection delayed, long millis) {
+        return () -> {
+            try {
+                Connection connection = replicas.getConnection();
+                if (connection == delayed) {
+                    Thread.sleep(millis);
+                }
+                return connection;
+            } catch (SQLException e) {
+                throw new IllegalStateException(e);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException(e);
+            }
+        };
+    }
+
+    private double hedges(String outcome) {
+        return registry.get(HedgedQueryExecutor.HEDGES_COUNTER).tag("outcome", outcome).counter().count();
+    }
+}
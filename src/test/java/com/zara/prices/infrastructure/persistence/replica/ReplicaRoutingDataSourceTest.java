@@ -0,0 +1,155 @@
+package com.zara.prices.infrastructure.persistence.replica;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import javax.sql.DataSource;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.simple.JdbcClient;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.jdbc.Sql;
+
+import com.zara.prices.domain.port.in.GetApplicablePriceUseCase;
+
+@SpringBootTest(properties = {
+        "app.prices.repository=jdbc",
+        "app.prices.replicas.enabled=true",
+        "app.prices.replicas.urls=" + ReplicaRoutingDataSourceTest.REPLICA_A + "," + ReplicaRoutingDataSourceTest.REPLICA_B,
+        "app.prices.replicas.pool-size=2",
+        "app.prices.replicas.hedge.enabled=true",
+        "app.prices.replicas.hedge.min-delay=PT5S"
+})
+@ActiveProfiles("test")
+@Sql("/data.sql")
+class ReplicaRoutingDataSourceTest {
+
+    static final String REPLICA_A = "jdbc:h2:mem:replica-a;DB_CLOSE_DELAY=-1;MODE=MySQL";
+    static final String REPLICA_B = "jdbc:h2:mem:replica-b;DB_CLOSE_DELAY=-1;MODE=MySQL";
+
+    @Autowired
+    private GetApplicablePriceUseCase useCase;
+
+    @Autowired
+    private DataSource dataSource;
+
+    /** Dos H2 con los datos de ejemplo; la tarifa base de cada una tiene un precio distinto */
+    @BeforeAll
+    static void createReplicas() {
+        replica(REPLICA_A, "11.11");
+        replica(REPLICA_B, "22.22");
+    }
+
+    @Test
+    void testLookupsAlternateBetweenReplicas() {
+        Set<BigDecimal> amounts = IntStream.range(0, 4)
+                .mapToObj(i -> useCase.get(1L, 35455L, LocalDateTime.parse("2020-06-14T10:00:00")).amount())
+                .collect(Collectors.toSet());
+
+        assertEquals(Set.of(new BigDecimal("11.11"), new BigDecimal("22.22")), amounts);
+    }
+
+    @Test
+    void testPrimaryDataSourceIsNotReplaced() {
+        assertFalse(dataSource instanceof ReplicaRoutingDataSource);
+        assertEquals(new BigDecimal("35.50"), JdbcClient.create(dataSource)
+                .sql("SELECT PRICE FROM PRICES WHERE PRICE_LIST = 1").query(BigDecimal.class).single());
+    }
+
+    @Test
+    void testFailedReplicaIsSkippedUntilRetryDelay() throws SQLException {
+        DataSource down = Mockito.mock(DataSource.class);
+        DataSource up = Mockito.mock(DataSource.class);
+        Connection connection = Mockito.mock(Connection.class);
+        Mockito.when(down.getConnection()).thenThrow(new SQLTransientConnectionException("réplica caída"));
+        Mockito.when(up.getConnection()).thenReturn(connection);
+        ReplicaRoutingDataSource routing = new ReplicaRoutingDataSource(List.of(down, up), null, Duration.ofMinutes(1));
+
+        assertSame(connection, routing.getConnection());
+        assertSame(connection, routing.getConnection());
+        assertSame(connection, routing.getConnection());
+
+        Mockito.verify(down, Mockito.times(1)).getConnection();
+        assertEquals(1, routing.availableReplicas());
+    }
+
+    @Test
+    void testFailedReplicaRejoinsAfterRetryDelay() throws SQLException {
+        DataSource flaky = Mockito.mock(DataSource.class);
+        DataSource up = Mockito.mock(DataSource.class);
+        Connection recovered = Mockito.mock(Connection.class);
+        Mockito.when(flaky.getConnection()).thenThrow(new SQLTransientConnectionException("réplica caída"))
+                .thenReturn(recovered);
+        Mockito.when(up.getConnection()).thenReturn(Mockito.mock(Connection.class));
+        ReplicaRoutingDataSource routing = new ReplicaRoutingDataSource(List.of(flaky, up), null, Duration.ZERO);
+
+        routing.getConnection();
+        routing.getConnection();
+
+        assertSame(recovered, routing.getConnection());
+        assertEquals(2, routing.availableReplicas());
+    }
+
+    @Test
+    void testPrimaryAnswersWhenNoReplicaDoes() throws SQLException {
+        DataSource down = Mockito.mock(DataSource.class);
+        DataSource primary = Mockito.mock(DataSource.class);
+        Connection connection = Mockito.mock(Connection.class);
+        Mockito.when(down.getConnection()).thenThrow(new IllegalStateException("pool sin arrancar"));
+        Mockito.when(primary.getConnection()).thenReturn(connection);
+
+        assertSame(connection, new ReplicaRoutingDataSource(List.of(down), primary, Duration.ofMinutes(1)).getConnection());
+        SQLException failure = assertThrows(SQLTransientConnectionException.class,
+                () -> new ReplicaRoutingDataSource(List.of(down), null, Duration.ofMinutes(1)).getConnection());
+        assertEquals(1, failure.getSuppressed().length);
+    }
+
+    @Test
+    void testPinnedReplicaStartsTheRotation() throws SQLException {
+        DataSource first = Mockito.mock(DataSource.class);
+        DataSource second = Mockito.mock(DataSource.class);
+        Connection connection = Mockito.mock(Connection.class);
+        Mockito.when(second.getConnection()).thenReturn(connection);
+        ReplicaRoutingDataSource routing = new ReplicaRoutingDataSource(List.of(first, second), null, Duration.ZERO);
+
+        for (int i = 0; i < 3; i++) {
+            assertSame(connection, routing.onReplica(1, () -> {
+                try {
+                    return routing.getConnection();
+                } catch (SQLException e) {
+                    throw new IllegalStateException(e);
+                }
+            }));
+        }
+        Mockito.verifyNoInteractions(first);
+    }
+
+    private static void replica(String url, String basePrice) {
+        DriverManagerDataSource replica = new DriverManagerDataSource(url, "sa", "");
+        new ResourceDatabasePopulator(
+                new ClassPathResource("db/migration/h2/V1__create_prices.sql"),
+                new ClassPathResource("data.sql")).execute(replica);
+        JdbcClient.create(replica).sql("UPDATE PRICES SET PRICE = ? WHERE PRICE_LIST = 1")
+                .param(new BigDecimal(basePrice)).update();
+    }
+}
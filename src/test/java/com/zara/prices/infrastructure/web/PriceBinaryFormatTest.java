@@ -0,0 +1,145 @@
+package com.zara.prices.infrastructure.web;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.time.LocalDateTime;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.jdbc.Sql;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+import com.fasterxml.jackson.dataformat.smile.databind.SmileMapper;
+import com.google.protobuf.CodedInputStream;
+import com.google.protobuf.WireFormat;
+import com.zara.prices.domain.model.EpochMicros;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@Sql("/data.sql")
+class PriceBinaryFormatTest {
+
+    private static final CompactPriceResponse EXPECTED = new CompactPriceResponse(35455L, 1L, 2,
+            EpochMicros.of(LocalDateTime.parse("2020-06-14T15:00:00")),
+            EpochMicros.of(LocalDateTime.parse("2020-06-14T18:30:00")), 2545L, 2, "EUR",
+            EpochMicros.of(LocalDateTime.parse("2020-06-14T18:30:00")) + 1);
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Test
+    void testJsonRemainsDefault() throws Exception {
+        mockMvc.perform(lookup().accept(MediaType.ALL))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+                .andExpect(jsonPath("$.startDate").value("2020-06-14T15:00:00"))
+                .andExpect(jsonPath("$.price").value(25.45));
+    }
+
+    @Test
+    void testCborCarriesEpochDatesAndScaledPrice() throws Exception {
+        byte[] body = mockMvc.perform(lookup().accept(MediaType.APPLICATION_CBOR))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_CBOR))
+                .andReturn().getResponse().getContentAsByteArray();
+
+        assertEquals(EXPECTED, new CBORMapper().readValue(body, CompactPriceResponse.class));
+    }
+
+    @Test
+    void testSmileCarriesEpochDatesAndScaledPrice() throws Exception {
+        byte[] body = mockMvc.perform(lookup().accept(CompactPriceHttpMessageConverter.APPLICATION_SMILE))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(CompactPriceHttpMessageConverter.APPLICATION_SMILE))
+                .andReturn().getResponse().getContentAsByteArray();
+
+        assertEquals(EXPECTED, new SmileMapper().readValue(body, CompactPriceResponse.class));
+    }
+
+    @Test
+    void testProtobufFollowsPublishedSchema() throws Exception {
+        byte[] body = mockMvc.perform(lookup().accept(PriceProtobufHttpMessageConverter.APPLICATION_PROTOBUF))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(PriceProtobufHttpMessageConverter.APPLICATION_PROTOBUF))
+                .andExpect(header().string("X-Protobuf-Schema", "/proto/prices.proto"))
+                .andExpect(header().string("X-Protobuf-Message", "com.zara.prices.PriceResponse"))
+                .andReturn().getResponse().getContentAsByteArray();
+
+        assertEquals(EXPECTED, decode(body));
+        String schema = mockMvc.perform(get("/proto/prices.proto"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        assertTrue(schema.contains("message PriceResponse"), schema);
+        assertTrue(schema.contains("int64 price_minor = 6;"), schema);
+    }
+
+    @Test
+    void testErrorsStayJson() throws Exception {
+        mockMvc.perform(get("/prices")
+                        .param("date", "2020-06-14T16:00:00")
+                        .param("productId", "99999")
+                        .param("brandId", "1")
+                        .accept(MediaType.APPLICATION_CBOR))
+                .andExpect(status().isNotFound())
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+                .andExpect(jsonPath("$.status").value(404));
+    }
+
+    @Test
+    void testOtherEndpointsDoNotNegotiateBinary() throws Exception {
+        mockMvc.perform(post("/prices/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[{\"brandId\":1,\"productId\":35455,\"date\":\"2020-06-14T16:00:00\"}]")
+                        .accept(MediaType.APPLICATION_CBOR))
+                .andExpect(status().isNotAcceptable());
+    }
+
+    private static MockHttpServletRequestBuilder lookup() {
+        return get("/prices")
+                .param("date", "2020-06-14T16:00:00")
+                .param("productId", "35455")
+                .param("brandId", "1");
+    }
+
+    private static CompactPriceResponse decode(byte[] body) throws Exception {
+        CodedInputStream input = CodedInputStream.newInstance(body);
+        long productId = 0;
+        long brandId = 0;
+        int priceList = 0;
+        long start = 0;
+        long end = 0;
+        long priceMinor = 0;
+        int priceScale = 0;
+        String currency = "";
+        Long validUntil = null;
+        for (int tag = input.readTag(); tag != 0; tag = input.readTag()) {
+            switch (WireFormat.getTagFieldNumber(tag)) {
+                case PriceProtobufHttpMessageConverter.PRODUCT_ID -> productId = input.readInt64();
+                case PriceProtobufHttpMessageConverter.BRAND_ID -> brandId = input.readInt64();
+                case PriceProtobufHttpMessageConverter.PRICE_LIST -> priceList = input.readInt32();
+                case PriceProtobufHttpMessageConverter.START_EPOCH_MICROS -> start = input.readInt64();
+                case PriceProtobufHttpMessageConverter.END_EPOCH_MICROS -> end = input.readInt64();
+                case PriceProtobufHttpMessageConverter.PRICE_MINOR -> priceMinor = input.readInt64();
+                case PriceProtobufHttpMessageConverter.PRICE_SCALE -> priceScale = input.readInt32();
+                case PriceProtobufHttpMessageConverter.CURRENCY -> currency = input.readString();
+                case PriceProtobufHttpMessageConverter.VALID_UNTIL_EPOCH_MICROS -> validUntil = input.readInt64();
+                default -> input.skipField(tag);
+            }
+        }
+        return new CompactPriceResponse(productId, brandId, priceList, start, end, priceMinor, priceScale, currency, validUntil);
+    }
+}
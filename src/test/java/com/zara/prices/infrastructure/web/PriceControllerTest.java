@@ -1,17 +1,27 @@
 package com.zara.prices.infrastructure.web;
 
+import static org.hamcrest.Matchers.startsWith;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
+import java.util.Collections;
+
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.context.jdbc.Sql;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 
 @SpringBootTest
 @AutoConfigureMockMvc
@@ -144,4 +154,201 @@ class PriceControllerTest {
                         .param("brandId", "1"))
                 .andExpect(status().isBadRequest());
     }
-}
\ No newline at end of file
+
+    @Test
+    void test12_notFoundBodyIsSharedJson() throws Exception {
+        mockMvc.perform(get("/prices")
+                        .param("date", "2019-01-01T00:00:00")
+                        .param("productId", "35455")
+                        .param("brandId", "1"))
+                .andExpect(status().isNotFound())
+                .andExpect(content().contentType("application/json"))
+                .andExpect(jsonPath("$.status").value(404))
+                .andExpect(jsonPath("$.message").value("No hay precios aplicables para los parámetros proporcionados"))
+                .andExpect(jsonPath("$.path").value("/prices"))
+                .andExpect(jsonPath("$.timestamp").doesNotExist());
+    }
+
+    @Test
+    void test13_missingParameterNamed() throws Exception {
+        mockMvc.perform(get("/prices")
+                        .param("date", "2020-06-14T10:00:00")
+                        .param("productId", "35455"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value("Missing required parameter: brandId"));
+    }
+
+    @Test
+    void test14_batchKeepsOrderAndMarksMisses() throws Exception {
+        mockMvc.perform(post("/prices/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                            [
+                              {"brandId": 1, "productId": 35455, "date": "2020-06-14T16:00:00"},
+                              {"brandId": 1, "productId": 99999, "date": "2020-06-14T10:00:00"},
+                              {"brandId": 1, "productId": 35455, "date": "2020-06-14T10:00:00"},
+                              {"brandId": 1, "productId": 35455, "date": "2019-01-01T00:00:00"},
+                              {"brandId": 1, "productId": 35455, "date": "2020-06-16T21:00:00"}
+                            ]
+                            """))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(5))
+                .andExpect(jsonPath("$[0].found").value(true))
+                .andExpect(jsonPath("$[0].price.priceList").value(2))
+                .andExpect(jsonPath("$[0].date").value("2020-06-14T16:00:00"))
+                .andExpect(jsonPath("$[1].found").value(false))
+                .andExpect(jsonPath("$[1].productId").value(99999))
+                .andExpect(jsonPath("$[1].price").doesNotExist())
+                .andExpect(jsonPath("$[2].price.priceList").value(1))
+                .andExpect(jsonPath("$[3].found").value(false))
+                .andExpect(jsonPath("$[4].price.priceList").value(4))
+                .andExpect(jsonPath("$[4].price.price").value(38.95));
+    }
+
+    @Test
+    void test15_batchOverLimitRejected() throws Exception {
+        String item = "{\"brandId\": 1, \"productId\": 35455, \"date\": \"2020-06-14T10:00:00\"}";
+        String body = "[" + String.join(",", Collections.nCopies(PriceController.MAX_BATCH_SIZE + 1, item)) + "]";
+        mockMvc.perform(post("/prices/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(body))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.status").value(400))
+                .andExpect(jsonPath("$.path").value("/prices/batch"));
+    }
+
+    @Test
+    void test16_batchInvalidItemRejected() throws Exception {
+        mockMvc.perform(post("/prices/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[{\"brandId\": -1, \"productId\": 35455, \"date\": \"2020-06-14T10:00:00\"}]"))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(post("/prices/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[]"))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(post("/prices/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("not json"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void test17_timelineClippedToRange() throws Exception {
+        MvcResult started = mockMvc.perform(get("/prices/timeline")
+                        .param("brandId", "1")
+                        .param("productId", "35455")
+                        .param("from", "2020-06-14T12:00:00")
+                        .param("to", "2020-06-15T10:00:00"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        mockMvc.perform(asyncDispatch(started))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType("application/json"))
+                .andExpect(jsonPath("$.length()").value(4))
+                .andExpect(jsonPath("$[0].start").value("2020-06-14T12:00:00"))
+                .andExpect(jsonPath("$[0].end").value("2020-06-14T15:00:00"))
+                .andExpect(jsonPath("$[0].priceList").value(1))
+                .andExpect(jsonPath("$[1].priceList").value(2))
+                .andExpect(jsonPath("$[1].price").value(25.45))
+                .andExpect(jsonPath("$[2].start").value("2020-06-14T18:30:00.000001"))
+                .andExpect(jsonPath("$[3].priceList").value(3))
+                .andExpect(jsonPath("$[3].end").value("2020-06-15T10:00:00"))
+                .andExpect(jsonPath("$[3].currency").value("EUR"));
+    }
+
+    @Test
+    void test18_timelineUnknownProductIsEmpty() throws Exception {
+        MvcResult started = mockMvc.perform(get("/prices/timeline")
+                        .param("brandId", "1")
+                        .param("productId", "99999")
+                        .param("from", "2020-06-14T00:00:00")
+                        .param("to", "2020-06-15T00:00:00"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        mockMvc.perform(asyncDispatch(started))
+                .andExpect(status().isOk())
+                .andExpect(content().json("[]"));
+    }
+
+    @Test
+    void test19_timelineInvertedRangeRejected() throws Exception {
+        mockMvc.perform(get("/prices/timeline")
+                        .param("brandId", "1")
+                        .param("productId", "35455")
+                        .param("from", "2020-06-15T00:00:00")
+                        .param("to", "2020-06-14T00:00:00"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value("Invalid date range: from must be before to"))
+                .andExpect(jsonPath("$.path").value("/prices/timeline"));
+    }
+
+    @Test
+    void test20_foundPriceWrittenFromCachedBody() throws Exception {
+        byte[] first = mockMvc.perform(get("/prices")
+                        .param("date", "2020-06-14T16:00:00")
+                        .param("productId", "35455")
+                        .param("brandId", "1"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+                .andExpect(jsonPath("$.startDate").value("2020-06-14T15:00:00"))
+                .andReturn().getResponse().getContentAsByteArray();
+
+        mockMvc.perform(get("/prices")
+                        .param("date", "2020-06-14T17:00:00")
+                        .param("productId", "35455")
+                        .param("brandId", "1"))
+                .andExpect(status().isOk())
+                .andExpect(header().longValue("Content-Length", first.length))
+                .andExpect(content().bytes(first));
+    }
+
+    @Test
+    void test21_cacheHeadersFollowValidity() throws Exception {
+        mockMvc.perform(get("/prices")
+                        .param("date", "2020-06-14T14:59:30")
+                        .param("productId", "35455")
+                        .param("brandId", "1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.priceList").value(1))
+                .andExpect(jsonPath("$.validUntil").value("2020-06-14T15:00:00"))
+                .andExpect(header().string("Cache-Control", "max-age=30, public"))
+                .andExpect(header().string("Vary", "Accept"))
+                .andExpect(header().string("ETag", startsWith("W/\"")));
+
+        // Quedan horas hasta el siguiente cambio: max-age se queda en el tope configurado
+        mockMvc.perform(get("/prices")
+                        .param("date", "2020-06-14T16:00:00")
+                        .param("productId", "35455")
+                        .param("brandId", "1"))
+                .andExpect(jsonPath("$.validUntil").value("2020-06-14T18:30:00.000001"))
+                .andExpect(header().string("Cache-Control", "max-age=60, public"));
+    }
+
+    @Test
+    void test22_matchingIfNoneMatchAnswered304() throws Exception {
+        String eTag = mockMvc.perform(get("/prices")
+                        .param("date", "2020-06-14T16:00:00")
+                        .param("productId", "35455")
+                        .param("brandId", "1"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader("ETag");
+
+        mockMvc.perform(get("/prices")
+                        .param("date", "2020-06-14T17:00:00")
+                        .param("productId", "35455")
+                        .param("brandId", "1")
+                        .header("If-None-Match", eTag))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string("ETag", eTag))
+                .andExpect(content().bytes(new byte[0]));
+
+        mockMvc.perform(get("/prices")
+                        .param("date", "2020-06-14T21:00:00")
+                        .param("productId", "35455")
+                        .param("brandId", "1")
+                        .header("If-None-Match", eTag))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.priceList").value(1));
+    }
+}
@@ -0,0 +1,100 @@
+package com.zara.prices.infrastructure.web;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.jdbc.Sql;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@Sql(scripts = "/data.sql", statements = {
+    "INSERT INTO prices (brand_id, start_date, end_date, price_list, product_id, priority, price, currency) "
+        + "VALUES (1, '2020-01-01 00:00:00', '2020-12-31 23:59:59', 1, 35456, 0, 19.95, 'EUR')",
+    "INSERT INTO prices (brand_id, start_date, end_date, price_list, product_id, priority, price, currency) "
+        + "VALUES (2, '2020-01-01 00:00:00', '2020-12-31 23:59:59', 1, 35455, 0, 99.00, 'EUR')"
+})
+class PriceExportControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Test
+    void testOneLinePerProductWithWinningTariff() throws Exception {
+        List<JsonNode> lines = lines(export("2020-06-14T16:00:00", null).getResponse().getContentAsString());
+
+        assertEquals(2, lines.size());
+        assertEquals(35455, lines.get(0).get("productId").asLong());
+        assertEquals(2, lines.get(0).get("priceList").asInt());
+        assertEquals("2020-06-14T15:00:00", lines.get(0).get("startDate").asText());
+        assertEquals(35456, lines.get(1).get("productId").asLong());
+        assertEquals(1, lines.get(1).get("brandId").asLong());
+    }
+
+    @Test
+    void testGzipWhenAccepted() throws Exception {
+        MvcResult result = export("2020-06-16T21:00:00", "gzip, deflate");
+
+        try (GZIPInputStream gzip = new GZIPInputStream(
+                new ByteArrayInputStream(result.getResponse().getContentAsByteArray()))) {
+            List<JsonNode> lines = lines(new String(gzip.readAllBytes(), StandardCharsets.UTF_8));
+            assertEquals(2, lines.size());
+            assertEquals(4, lines.get(0).get("priceList").asInt());
+        }
+    }
+
+    @Test
+    void testNoApplicablePricesGivesEmptyBody() throws Exception {
+        assertTrue(export("2019-01-01T00:00:00", null).getResponse().getContentAsString().isEmpty());
+    }
+
+    private MvcResult export(String date, String acceptEncoding) throws Exception {
+        var builder = get("/prices/export").param("brandId", "1").param("date", date);
+        if (acceptEncoding != null) {
+            builder.header(HttpHeaders.ACCEPT_ENCODING, acceptEncoding);
+        }
+        MvcResult started = mockMvc.perform(builder)
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        return mockMvc.perform(asyncDispatch(started))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CONTENT_TYPE, "application/x-ndjson"))
+                .andReturn();
+    }
+
+    private List<JsonNode> lines(String body) throws IOException {
+        List<JsonNode> nodes = new ArrayList<>();
+        for (String line : body.split("\n")) {
+            if (!line.isEmpty()) {
+                nodes.add(objectMapper.readTree(line));
+            }
+        }
+        return nodes;
+    }
+}
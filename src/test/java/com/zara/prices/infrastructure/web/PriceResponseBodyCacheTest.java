@@ -0,0 +1,97 @@
+package com.zara.prices.infrastructure.web;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.zara.prices.domain.model.ApplicablePrice;
+import com.zara.prices.domain.model.Price;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class PriceResponseBodyCacheTest {
+
+    private final PriceWebMapper mapper = new PriceWebMapper();
+    private ObjectMapper objectMapper;
+    private PriceResponseBodyCache cache;
+
+    @BeforeEach
+    void setUp() {
+        objectMapper = Jackson2ObjectMapperBuilder.json()
+                .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .build();
+        cache = new PriceResponseBodyCache(mapper, objectMapper, 100);
+    }
+
+    @Test
+    void testBodyIsWhatJacksonWritesForTheResponse() throws Exception {
+        ApplicablePrice applicable = applicable("25.45");
+
+        PriceResponseBody body = cache.get(applicable);
+
+        assertEquals(mapper.toResponse(applicable), body.response());
+        assertArrayEquals(objectMapper.writeValueAsBytes(mapper.toResponse(applicable)), body.json());
+        assertEquals("2020-06-14T18:30:00.000001", objectMapper.readTree(body.json()).get("validUntil").asText());
+    }
+
+    @Test
+    void testEqualTariffsShareOneBody() {
+        PriceResponseBody first = cache.get(applicable("25.45"));
+
+        assertSame(first, cache.get(applicable("25.45")));
+    }
+
+    @Test
+    void testChangedTariffGetsItsOwnBody() throws Exception {
+        PriceResponseBody before = cache.get(applicable("25.45"));
+
+        PriceResponseBody after = cache.get(applicable("19.99"));
+
+        assertNotSame(before, after);
+        assertNotEquals(before.eTag(), after.eTag());
+        assertEquals(new BigDecimal("19.99"), objectMapper.readTree(after.json()).get("price").decimalValue());
+    }
+
+    @Test
+    void testChangedValidityGetsItsOwnWeakETag() {
+        PriceResponseBody body = cache.get(applicable("25.45"));
+        PriceResponseBody shortened = cache.get(new ApplicablePrice(applicable("25.45").price(),
+                LocalDateTime.parse("2020-06-14T17:00:00")));
+
+        assertTrue(body.eTag().startsWith("W/\""));
+        assertEquals(body.eTag(), cache.get(applicable("25.45")).eTag());
+        assertNotEquals(body.eTag(), shortened.eTag());
+    }
+
+    @Test
+    void testHitsAndMissesAreMetered() {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        cache.bindTo(registry);
+
+        cache.get(applicable("25.45"));
+        cache.get(applicable("25.45"));
+
+        assertEquals(1, registry.get("cache.gets").tags("cache", PriceResponseBodyCache.CACHE_NAME, "result", "hit")
+                .functionCounter().count());
+        assertEquals(1, registry.get("cache.gets").tags("cache", PriceResponseBodyCache.CACHE_NAME, "result", "miss")
+                .functionCounter().count());
+    }
+
+    private static ApplicablePrice applicable(String amount) {
+        return new ApplicablePrice(Price.of(1L, 35455L, LocalDateTime.parse("2020-06-14T15:00:00"),
+                LocalDateTime.parse("2020-06-14T18:30:00"), 1, new BigDecimal(amount), "EUR", 2),
+                LocalDateTime.parse("2020-06-14T18:30:00.000001"));
+    }
+}
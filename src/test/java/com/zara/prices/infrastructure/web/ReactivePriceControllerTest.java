@@ -0,0 +1,128 @@
+package com.zara.prices.infrastructure.web;
+
+import java.util.Collections;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.reactive.AutoConfigureWebTestClient;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.jdbc.Sql;
+import org.springframework.test.web.reactive.server.WebTestClient;
+
+@SpringBootTest(properties = "spring.main.web-application-type=reactive")
+@AutoConfigureWebTestClient
+@ActiveProfiles("test")
+@Sql("/data.sql")
+class ReactivePriceControllerTest {
+
+    @Autowired
+    private WebTestClient webTestClient;
+
+    @Test
+    void testRequiredScenariosResolvedOverR2dbc() {
+        expectPriceList("2020-06-14T10:00:00", 1, 35.50);
+        expectPriceList("2020-06-14T16:00:00", 2, 25.45);
+        expectPriceList("2020-06-14T21:00:00", 1, 35.50);
+        expectPriceList("2020-06-15T10:00:00", 3, 30.50);
+        expectPriceList("2020-06-16T21:00:00", 4, 38.95);
+    }
+
+    @Test
+    void testNotFoundBodyMatchesServletFlavor() {
+        webTestClient.get().uri("/prices?date=2020-06-14T10:00:00&productId=99999&brandId=1")
+                .exchange()
+                .expectStatus().isNotFound()
+                .expectHeader().contentType(MediaType.APPLICATION_JSON)
+                .expectBody()
+                .jsonPath("$.status").isEqualTo(404)
+                .jsonPath("$.message").isEqualTo("No hay precios aplicables para los parámetros proporcionados")
+                .jsonPath("$.path").isEqualTo("/prices");
+    }
+
+    @Test
+    void testInvalidParametersRejected() {
+        webTestClient.get().uri("/prices?date=2020-06-14T10:00:00&productId=35455")
+                .exchange()
+                .expectStatus().isBadRequest()
+                .expectBody().jsonPath("$.message").isEqualTo("Missing required parameter: brandId");
+        webTestClient.get().uri("/prices?date=2020-06-14T10:00:00&productId=abc&brandId=1")
+                .exchange()
+                .expectStatus().isBadRequest()
+                .expectBody().jsonPath("$.message").isEqualTo("Invalid parameter type");
+        webTestClient.get().uri("/prices?date=2020-06-14T10:00:00&productId=35455&brandId=-1")
+                .exchange()
+                .expectStatus().isBadRequest()
+                .expectBody()
+                .jsonPath("$.message").isEqualTo("Validation failure")
+                .jsonPath("$.path").isEqualTo("/prices");
+    }
+
+    @Test
+    void testBatchKeepsOrderAndMarksMisses() {
+        webTestClient.post().uri("/prices/batch")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue("""
+                    [
+                      {"brandId": 1, "productId": 35455, "date": "2020-06-14T16:00:00"},
+                      {"brandId": 1, "productId": 99999, "date": "2020-06-14T10:00:00"},
+                      {"brandId": 1, "productId": 35455, "date": "2020-06-16T21:00:00"}
+                    ]
+                    """)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.length()").isEqualTo(3)
+                .jsonPath("$[0].price.priceList").isEqualTo(2)
+                .jsonPath("$[1].found").isEqualTo(false)
+                .jsonPath("$[1].price").doesNotExist()
+                .jsonPath("$[2].price.priceList").isEqualTo(4);
+    }
+
+    @Test
+    void testBatchInvalidBodiesRejected() {
+        String item = "{\"brandId\": 1, \"productId\": 35455, \"date\": \"2020-06-14T10:00:00\"}";
+        for (String body : new String[] {
+                "[" + String.join(",", Collections.nCopies(PriceController.MAX_BATCH_SIZE + 1, item)) + "]",
+                "[]",
+                "[{\"brandId\": -1, \"productId\": 35455, \"date\": \"2020-06-14T10:00:00\"}]",
+                "not json" }) {
+            webTestClient.post().uri("/prices/batch")
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .bodyValue(body)
+                    .exchange()
+                    .expectStatus().isBadRequest()
+                    .expectBody().jsonPath("$.status").isEqualTo(400);
+        }
+    }
+
+    @Test
+    void testTimelineClippedToRange() {
+        webTestClient.get().uri("/prices/timeline?brandId=1&productId=35455&from=2020-06-14T12:00:00&to=2020-06-15T00:00:00")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.length()").isEqualTo(3)
+                .jsonPath("$[0].start").isEqualTo("2020-06-14T12:00:00")
+                .jsonPath("$[1].priceList").isEqualTo(2)
+                .jsonPath("$[2].end").isEqualTo("2020-06-15T00:00:00");
+        webTestClient.get().uri("/prices/timeline?brandId=1&productId=99999&from=2020-06-14T12:00:00&to=2020-06-15T00:00:00")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody().json("[]");
+        webTestClient.get().uri("/prices/timeline?brandId=1&productId=35455&from=2020-06-15T00:00:00&to=2020-06-14T00:00:00")
+                .exchange()
+                .expectStatus().isBadRequest()
+                .expectBody().jsonPath("$.message").isEqualTo("Invalid date range: from must be before to");
+    }
+
+    private void expectPriceList(String date, int priceList, double price) {
+        webTestClient.get().uri("/prices?date={date}&productId=35455&brandId=1", date)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.priceList").isEqualTo(priceList)
+                .jsonPath("$.price").isEqualTo(price);
+    }
+}
@@ -0,0 +1,62 @@
+package com.zara.prices.loadtest;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.HdrHistogram.Histogram;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+/**
+ * Resultado de una medición de carga, tal como se escribe en JSON.
+ *
+ * @param scenario nombre del escenario
+ * @param targetRate peticiones por segundo lanzadas
+ * @param requests peticiones medidas (sin calentamiento)
+ * @param errors peticiones sin respuesta {@code 2xx}
+ * @param errorRate proporción de errores, entre 0 y 1
+ * @param throughput respuestas correctas por segundo
+ * @param latencyMillis percentiles de latencia en milisegundos ({@code p50}, {@code p90},
+ *                      {@code p99}, {@code p99.9}, {@code max}), desde la hora de salida prevista
+ */
+record LoadTestReport(String scenario, int targetRate, long requests, long errors, double errorRate,
+                      double throughput, Map<String, Double> latencyMillis) {
+
+    private static final double NANOS_PER_MILLI = TimeUnit.MILLISECONDS.toNanos(1);
+
+    static LoadTestReport of(String scenario, int targetRate, long requests, long errors, long elapsedNanos,
+                             Histogram latencies) {
+        Map<String, Double> percentiles = new LinkedHashMap<>();
+        percentiles.put("p50", millis(latencies.getValueAtPercentile(50)));
+        percentiles.put("p90", millis(latencies.getValueAtPercentile(90)));
+        percentiles.put("p99", millis(latencies.getValueAtPercentile(99)));
+        percentiles.put("p99.9", millis(latencies.getValueAtPercentile(99.9)));
+        percentiles.put("max", millis(latencies.getMaxValue()));
+        double errorRate = requests == 0 ? 0 : (double) errors / requests;
+        double throughput = latencies.getTotalCount() / (elapsedNanos / 1e9);
+        return new LoadTestReport(scenario, targetRate, requests, errors, errorRate, throughput, percentiles);
+    }
+
+    /**
+     * Escribe el informe en {@code target/load-test/<escenario>.json}.
+     *
+     * @param objectMapper serializador JSON
+     * @return fichero escrito
+     * @throws IOException si no se puede escribir
+     */
+    Path write(ObjectMapper objectMapper) throws IOException {
+        Path output = Path.of("target", "load-test", scenario + ".json");
+        Files.createDirectories(output.getParent());
+        objectMapper.writer(SerializationFeature.INDENT_OUTPUT).writeValue(output.toFile(), this);
+        return output;
+    }
+
+    private static double millis(long nanos) {
+        return Math.round(nanos / NANOS_PER_MILLI * 1000) / 1000.0;
+    }
+}
@@ -0,0 +1,128 @@
+package com.zara.prices.loadtest;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Supplier;
+
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+
+/**
+ * Generador de carga de modelo abierto: lanza peticiones a un ritmo constante,
+ * independientemente de lo que tarde el servidor en responder.
+ *
+ * <p>Cada petición tiene una hora de salida prevista ({@code inicio + i / ritmo}) y su
+ * latencia se mide desde esa hora, no desde el envío real. Así, si el servidor o el propio
+ * generador se retrasan, las peticiones que deberían haber salido antes cuentan el retraso
+ * en lugar de ocultarlo (omisión coordinada).</p>
+ *
+ * <p>Las respuestas {@code 2xx} se registran en un histograma HdrHistogram; el resto de
+ * códigos, los errores de conexión y las que superan {@code timeout} cuentan como error.
+ * Las peticiones de calentamiento se envían pero no se registran.</p>
+ */
+final class OpenModelLoadGenerator {
+
+    /** Mayor latencia registrable en el histograma */
+    private static final long HIGHEST_TRACKABLE_NANOS = TimeUnit.MINUTES.toNanos(1);
+
+    private final int ratePerSecond;
+    private final Duration warmup;
+    private final Duration duration;
+    private final Duration timeout;
+
+    /**
+     * Constructor.
+     *
+     * @param ratePerSecond peticiones lanzadas por segundo
+     * @param warmup tiempo de calentamiento, sin registrar
+     * @param duration tiempo de medición
+     * @param timeout espera máxima por cada respuesta
+     */
+    OpenModelLoadGenerator(int ratePerSecond, Duration warmup, Duration duration, Duration timeout) {
+        if (ratePerSecond <= 0) {
+            throw new IllegalArgumentException("ratePerSecond debe ser positivo: " + ratePerSecond);
+        }
+        this.ratePerSecond = ratePerSecond;
+        this.warmup = warmup;
+        this.duration = duration;
+        this.timeout = timeout;
+    }
+
+    /**
+     * Lanza la carga y espera a que lleguen todas las respuestas medidas.
+     *
+     * @param name nombre del escenario, para el informe
+     * @param requests siguiente URI a consultar; se llama desde un único hilo
+     * @return informe de la medición
+     * @throws InterruptedException si se interrumpe la espera
+     */
+    LoadTestReport run(String name, Supplier<URI> requests) throws InterruptedException {
+        Recorder recorder = new Recorder(HIGHEST_TRACKABLE_NANOS, 3);
+        AtomicLong errors = new AtomicLong();
+        long intervalNanos = TimeUnit.SECONDS.toNanos(1) / ratePerSecond;
+        long warmupRequests = warmup.toNanos() / intervalNanos;
+        long totalRequests = warmupRequests + duration.toNanos() / intervalNanos;
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+             HttpClient client = HttpClient.newBuilder()
+                     .version(HttpClient.Version.HTTP_1_1)
+                     .connectTimeout(timeout)
+                     .executor(executor)
+                     .build()) {
+            List<CompletableFuture<?>> measured = new ArrayList<>((int) (totalRequests - warmupRequests));
+            long startNanos = System.nanoTime();
+            long measureStartNanos = startNanos + warmupRequests * intervalNanos;
+            for (long i = 0; i < totalRequests; i++) {
+                long intendedNanos = startNanos + i * intervalNanos;
+                waitUntil(intendedNanos);
+                HttpRequest request = HttpRequest.newBuilder(requests.get()).timeout(timeout).GET().build();
+                CompletableFuture<HttpResponse<Void>> response =
+                        client.sendAsync(request, HttpResponse.BodyHandlers.discarding());
+                if (i >= warmupRequests) {
+                    measured.add(response.whenComplete((result, failure) -> {
+                        if (failure == null && result.statusCode() / 100 == 2) {
+                            recorder.recordValue(Math.min(System.nanoTime() - intendedNanos, HIGHEST_TRACKABLE_NANOS));
+                        } else {
+                            errors.incrementAndGet();
+                        }
+                    }));
+                }
+            }
+            awaitAll(measured);
+            long elapsedNanos = System.nanoTime() - measureStartNanos;
+            Histogram latencies = recorder.getIntervalHistogram();
+            return LoadTestReport.of(name, ratePerSecond, measured.size(), errors.get(), elapsedNanos, latencies);
+        }
+    }
+
+    private void awaitAll(List<CompletableFuture<?>> measured) throws InterruptedException {
+        CompletableFuture<Void> all = CompletableFuture.allOf(measured.toArray(CompletableFuture[]::new));
+        try {
+            all.get(timeout.toNanos() * 2, TimeUnit.NANOSECONDS);
+        } catch (ExecutionException e) {
+            // cada fallo ya se ha contado como error
+        } catch (TimeoutException e) {
+            throw new IllegalStateException("Respuestas pendientes tras " + timeout.multipliedBy(2), e);
+        }
+    }
+
+    private static void waitUntil(long deadlineNanos) {
+        long remaining;
+        while ((remaining = deadlineNanos - System.nanoTime()) > 0) {
+            LockSupport.parkNanos(remaining);
+        }
+    }
+}
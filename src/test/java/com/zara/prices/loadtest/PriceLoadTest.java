@@ -0,0 +1,91 @@
+package com.zara.prices.loadtest;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.jdbc.Sql;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Prueba de carga de {@code GET /prices} sobre la aplicación arrancada en un puerto aleatorio.
+ *
+ * <p>Siembra un catálogo sintético de {@code loadtest.products} productos (una tarifa base
+ * anual y una promoción de junio por producto), lanza {@code loadtest.rate} peticiones por
+ * segundo con {@link OpenModelLoadGenerator} y escribe el informe en
+ * {@code target/load-test/get-prices.json}.</p>
+ *
+ * <p>No forma parte del build normal: {@code mvn test -Pload-test}, con los parámetros como
+ * propiedades del sistema (por ejemplo {@code -Dloadtest.rate=2000}).</p>
+ */
+@Tag("load")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles("test")
+@Sql(scripts = "/data.sql", executionPhase = Sql.ExecutionPhase.AFTER_TEST_METHOD)
+class PriceLoadTest {
+
+    private static final Logger log = LoggerFactory.getLogger(PriceLoadTest.class);
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Value("${loadtest.products:10000}")
+    private int products;
+
+    @Value("${loadtest.rate:100}")
+    private int rate;
+
+    @Value("${loadtest.warmup:PT10S}")
+    private Duration warmup;
+
+    @Value("${loadtest.duration:PT30S}")
+    private Duration duration;
+
+    @Value("${loadtest.timeout:PT5S}")
+    private Duration timeout;
+
+    @Value("${loadtest.max-error-rate:0.001}")
+    private double maxErrorRate;
+
+    /** Límite del p99 en milisegundos; 0 = sin límite */
+    @Value("${loadtest.max-p99-millis:0}")
+    private double maxP99Millis;
+
+    @Test
+    void testGetPricesAtConstantArrivalRate() throws Exception {
+        SyntheticCatalog.seed(jdbcTemplate, products);
+
+        LoadTestReport report = new OpenModelLoadGenerator(rate, warmup, duration, timeout)
+                .run("get-prices", SyntheticCatalog.randomLookups(port, products));
+
+        Path output = report.write(objectMapper);
+        log.info("Prueba de carga {}: {} peticiones a {}/s, {} errores, {} resp/s, latencias (ms) {}. Informe en {}",
+                report.scenario(), report.requests(), report.targetRate(), report.errors(),
+                Math.round(report.throughput()), report.latencyMillis(), output.toAbsolutePath());
+
+        assertTrue(report.errorRate() <= maxErrorRate,
+                "Tasa de errores " + report.errorRate() + " por encima de " + maxErrorRate);
+        if (maxP99Millis > 0) {
+            assertTrue(report.latencyMillis().get("p99") <= maxP99Millis,
+                    "p99 de " + report.latencyMillis().get("p99") + " ms por encima de " + maxP99Millis + " ms");
+        }
+    }
+}
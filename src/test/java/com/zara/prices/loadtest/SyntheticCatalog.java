@@ -0,0 +1,69 @@
+package com.zara.prices.loadtest;
+
+import java.math.BigDecimal;
+import java.net.URI;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.function.Supplier;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+
+/**
+ * Catálogo sintético de las pruebas de carga: una tarifa base para todo 2020 y una
+ * promoción de junio por producto, todos de la misma cadena.
+ */
+final class SyntheticCatalog {
+
+    private static final long BRAND_ID = 1L;
+    private static final long FIRST_PRODUCT = 100_000L;
+    private static final int INSERT_BATCH = 1_000;
+    private static final LocalDateTime YEAR_START = LocalDateTime.of(2020, 1, 1, 0, 0);
+
+    private SyntheticCatalog() {
+    }
+
+    /**
+     * Inserta las dos tarifas de cada producto en lotes.
+     *
+     * @param jdbcTemplate acceso a la base de datos de la aplicación
+     * @param products número de productos
+     */
+    static void seed(JdbcTemplate jdbcTemplate, int products) {
+        String sql = "INSERT INTO prices (brand_id, start_date, end_date, price_list, product_id, priority, price, currency) "
+                + "VALUES (?, ?, ?, ?, ?, ?, ?, 'EUR')";
+        Timestamp yearStart = Timestamp.valueOf(YEAR_START);
+        Timestamp yearEnd = Timestamp.valueOf(LocalDateTime.of(2020, 12, 31, 23, 59, 59));
+        Timestamp juneStart = Timestamp.valueOf(LocalDateTime.of(2020, 6, 1, 0, 0));
+        Timestamp juneEnd = Timestamp.valueOf(LocalDateTime.of(2020, 6, 30, 23, 59, 59));
+        List<Object[]> batch = new ArrayList<>(INSERT_BATCH);
+        for (int i = 0; i < products; i++) {
+            long productId = FIRST_PRODUCT + i;
+            batch.add(new Object[] { BRAND_ID, yearStart, yearEnd, 1, productId, 0, new BigDecimal("29.95") });
+            batch.add(new Object[] { BRAND_ID, juneStart, juneEnd, 2, productId, 1, new BigDecimal("19.95") });
+            if (batch.size() >= INSERT_BATCH) {
+                jdbcTemplate.batchUpdate(sql, batch);
+                batch.clear();
+            }
+        }
+        if (!batch.isEmpty()) {
+            jdbcTemplate.batchUpdate(sql, batch);
+        }
+    }
+
+    /**
+     * Consultas de {@code GET /prices} a productos y fechas de 2020 al azar, con semilla fija.
+     *
+     * @param port puerto de la aplicación
+     * @param products número de productos sembrados
+     * @return siguiente URI a consultar; no es seguro entre hilos
+     */
+    static Supplier<URI> randomLookups(int port, int products) {
+        SplittableRandom random = new SplittableRandom(42);
+        String base = "http://localhost:" + port + "/prices?brandId=" + BRAND_ID;
+        return () -> URI.create(base + "&productId=" + (FIRST_PRODUCT + random.nextInt(products))
+                + "&date=" + YEAR_START.plusMinutes(random.nextInt(366 * 24 * 60)));
+    }
+}
@@ -0,0 +1,89 @@
+package com.zara.prices.loadtest;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.zara.DemoApplication;
+
+/**
+ * Comparativa de {@code GET /prices} con hilos virtuales y con el pool de hilos de Tomcat.
+ *
+ * <p>Arranca la aplicación dos veces con el perfil {@code test}, primero con
+ * {@code spring.threads.virtual.enabled=true} y después con {@code false}, cada una con su
+ * propia base de datos H2 y el mismo pool de {@code loadtest.pool-size} conexiones. Antes
+ * hace una pasada completa sin registrar: las dos comparten JVM y, sin ella, el primer modo
+ * paga la compilación JIT y sale peor sea cual sea. En las dos siembra el mismo catálogo sintético, lanza la misma carga que {@link PriceLoadTest}
+ * (mismas propiedades {@code loadtest.*}) y escribe un informe por modo en
+ * {@code target/load-test/get-prices-virtual-threads.json} y
+ * {@code get-prices-platform-threads.json}, con el rendimiento y los percentiles de cada uno.</p>
+ *
+ * <p>No compara los resultados entre sí, porque dependen de la máquina; solo exige la tasa
+ * de errores en ambos modos. Se ejecuta con {@code mvn test -Pload-test
+ * -Dtest=VirtualThreadsLoadTest}.</p>
+ */
+@Tag("load")
+class VirtualThreadsLoadTest {
+
+    private static final Logger log = LoggerFactory.getLogger(VirtualThreadsLoadTest.class);
+
+    @Test
+    void testVirtualAndPlatformThreadsUnderSameLoad() throws Exception {
+        run(true, false);
+        Map<String, LoadTestReport> reports = new LinkedHashMap<>();
+        reports.put("virtual", run(true, true));
+        reports.put("platform", run(false, true));
+
+        reports.forEach((mode, report) -> log.info("Hilos {}: {} resp/s, p99 {} ms, {} errores de {} peticiones",
+                mode, Math.round(report.throughput()), report.latencyMillis().get("p99"), report.errors(),
+                report.requests()));
+        double maxErrorRate = Double.parseDouble(System.getProperty("loadtest.max-error-rate", "0.001"));
+        reports.forEach((mode, report) -> assertTrue(report.errorRate() <= maxErrorRate,
+                "Tasa de errores con hilos " + mode + " de " + report.errorRate() + ", por encima de " + maxErrorRate));
+    }
+
+    /**
+     * Arranca la aplicación en el modo indicado, la somete a la carga y la detiene; con
+     * {@code record} escribe además el informe.
+     */
+    private static LoadTestReport run(boolean virtualThreads, boolean record) throws Exception {
+        String mode = virtualThreads ? "virtual" : "platform";
+        String database = "loadtest-" + mode + (record ? "" : "-warmup");
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(DemoApplication.class)
+                .profiles("test")
+                .properties(
+                        "server.port=0",
+                        "spring.threads.virtual.enabled=" + virtualThreads,
+                        "spring.datasource.url=jdbc:h2:mem:" + database + ";DB_CLOSE_DELAY=-1;MODE=MySQL",
+                        "spring.datasource.hikari.maximum-pool-size=${loadtest.pool-size:20}")
+                .run()) {
+            Environment environment = context.getEnvironment();
+            int products = environment.getProperty("loadtest.products", Integer.class, 10_000);
+            int port = environment.getRequiredProperty("local.server.port", Integer.class);
+            SyntheticCatalog.seed(context.getBean(JdbcTemplate.class), products);
+
+            LoadTestReport report = new OpenModelLoadGenerator(
+                    environment.getProperty("loadtest.rate", Integer.class, 100),
+                    environment.getProperty("loadtest.warmup", Duration.class, Duration.ofSeconds(10)),
+                    environment.getProperty("loadtest.duration", Duration.class, Duration.ofSeconds(30)),
+                    environment.getProperty("loadtest.timeout", Duration.class, Duration.ofSeconds(5)))
+                    .run("get-prices-" + mode + "-threads", SyntheticCatalog.randomLookups(port, products));
+            if (record) {
+                log.info("Informe con hilos {} en {}", mode, report.write(context.getBean(ObjectMapper.class)).toAbsolutePath());
+            }
+            return report;
+        }
+    }
+}